@@ -8,6 +8,7 @@ import ch.qos.logback.core.FileAppender;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Date;
 import javax.imageio.ImageIO;
 import javax.swing.JOptionPane;
@@ -15,6 +16,7 @@ import javax.swing.LookAndFeel;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import lombok.extern.slf4j.Slf4j;
+import net.blerf.ftl.batch.BatchCommandLine;
 import net.blerf.ftl.core.EditorConfig;
 import net.blerf.ftl.parser.DataManager;
 import net.blerf.ftl.parser.DefaultDataManager;
@@ -48,6 +50,15 @@ public class FTLProfileEditor {
             }
         });
 
+        // Headless analysis of save files, for archives and benchmarks.
+        if (Arrays.asList(args).contains("--batch")) {
+            // Rendering needs no display, so don't require one.
+            if (System.getProperty("java.awt.headless") == null) {
+                System.setProperty("java.awt.headless", "true");
+            }
+            System.exit(BatchCommandLine.run(args));
+        }
+
         // Ensure all popups are triggered from the event dispatch thread.
 
         SwingUtilities.invokeLater(new Runnable() {
@@ -224,6 +235,24 @@ public class FTLProfileEditor {
                 throw new ExitException();
             }
 
+            // Heavy resources are read on first use. Get a head start on them,
+            // now that the window is interactive.
+            if ("true".equals(appConfig.getProperty(EditorConfig.WARM_UP_RESOURCES, "true"))) {
+                Thread warmUpThread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            DataManager.get().warmUp();
+                        } catch (Exception e) {
+                            log.error("Error reading FTL resources in the background", e);
+                        }
+                    }
+                }, "Resource Warm-up");
+                warmUpThread.setDaemon(true);
+                warmUpThread.setPriority(Thread.MIN_PRIORITY);
+                warmUpThread.start();
+            }
+
             new Thread(new Runnable() {
                 @Override
                 public void run() {
@@ -0,0 +1,99 @@
+package net.blerf.ftl.batch;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import java.io.File;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import net.blerf.ftl.batch.FileAnalysis.FileKind;
+
+
+/**
+ * Parses files and reports how each one went, and how long it took.
+ *
+ * @see BatchAnalyzer
+ * @see BatchReport
+ */
+@Slf4j
+@Parameters(commandDescription = "Parse profiles and saved games, reporting timings and errors (the default)")
+public class AnalyzeCommand extends BatchCommand {
+
+    @Parameter(description = "<directory or file>...")
+    public List<String> paths = new ArrayList<String>();
+
+    @Parameter(names = "--threads", description = "Number of parsing threads")
+    public int threads = Runtime.getRuntime().availableProcessors();
+
+    @Parameter(names = "--passes", description = "Times to parse everything; the fastest time per file is reported")
+    public int passes = 1;
+
+    @Parameter(names = "--header-only", description = "Read only saved games' headers (no FTL resources needed)")
+    public boolean headerOnly = false;
+
+    @Parameter(names = "--format", description = "Report format: csv or json")
+    public String format = "csv";
+
+    @Parameter(names = "--out", description = "Report file (default: stdout)")
+    public String outPath = null;
+
+
+    @Override
+    public int run() {
+        if (paths.isEmpty()) {
+            System.err.println("No files or directories to analyze.");
+            return 1;
+        }
+        String format = this.format.toLowerCase();
+        if (!format.equals("csv") && !format.equals("json")) {
+            System.err.println(String.format("Unsupported report format: %s", this.format));
+            return 1;
+        }
+
+        List<File> roots = new ArrayList<File>();
+        for (String path : paths) {
+            roots.add(new File(path));
+        }
+
+        try {
+            BatchAnalyzer analyzer = new BatchAnalyzer(threads);
+            analyzer.setHeaderOnly(headerOnly);
+            List<FileAnalysis> files = BatchAnalyzer.findFiles(roots);
+
+            boolean needResources = false;
+            for (FileAnalysis r : files) {
+                if (r.getKind() == FileKind.SAVED_GAME && !headerOnly) needResources = true;
+            }
+            // Keep lazy loading out of the timings.
+            if (needResources && !initDataManager(true)) {
+                System.err.println("FTL resources were not found, and saved games need them. Use --dats <path>.");
+                return 1;
+            }
+
+            log.info("Analyzing {} files on {} threads", files.size(), threads);
+            BatchReport report = analyzer.analyze(files, Math.max(1, passes));
+
+            Writer out = openOutput(outPath);
+            try {
+                if (format.equals("json")) {
+                    report.writeJson(out);
+                } else {
+                    report.writeCsv(out);
+                }
+            } finally {
+                closeOutput(out, outPath);
+            }
+
+            StringBuilder summary = new StringBuilder();
+            report.writeSummary(summary);
+            System.err.print(summary);
+
+            return (report.getFailureCount() > 0 ? 2 : 0);
+        } catch (Exception e) {
+            log.error("Batch analysis failed", e);
+            System.err.println(String.format("Batch analysis failed: %s", e));
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package net.blerf.ftl.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import net.blerf.ftl.batch.FileAnalysis.FileKind;
+import net.blerf.ftl.model.Profile;
+import net.blerf.ftl.model.state.SavedGameState;
+import net.blerf.ftl.parser.ByteBufferInputStream;
+import net.blerf.ftl.parser.MysteryBytes;
+import net.blerf.ftl.parser.ProfileParser;
+import net.blerf.ftl.parser.SavedGameParser;
+
+
+/**
+ * Parses directories full of profiles and saved games, without the GUI.
+ * <p>
+ * Files are parsed in parallel on a fixed pool, each thread with its own
+ * parsers (they remember string encoding between calls). At most a few
+ * files per thread are queued at once, so memory stays flat however many
+ * files there are.
+ * <p>
+ * Files named "*prof*.sav" are profiles. Other "*.sav" files are saved
+ * games. Saved games need the FTL resources, via DataManager.
+ * <p>
+ * Each file is timed separately: reading it into memory, then parsing
+ * from that buffer. With several passes, the fastest time is kept, which
+ * makes the numbers steadier for comparing builds.
+ * <p>
+ * In header-only mode, saved games are read just far enough for their
+ * header, which needs neither the whole file nor the FTL resources. Each
+ * one's read and parse are then timed together, as parse time.
+ *
+ * @see AnalyzeCommand
+ * @see BatchReport
+ */
+@Slf4j
+public class BatchAnalyzer {
+
+    private static final int QUEUED_FILES_PER_THREAD = 4;
+
+    private final int threadCount;
+    private boolean headerOnly = false;
+
+    private final ThreadLocal<ProfileParser> profileParsers = new ThreadLocal<ProfileParser>() {
+        @Override
+        protected ProfileParser initialValue() {
+            return new ProfileParser();
+        }
+    };
+
+    private final ThreadLocal<SavedGameParser> savedGameParsers = new ThreadLocal<SavedGameParser>() {
+        @Override
+        protected SavedGameParser initialValue() {
+            return new SavedGameParser();
+        }
+    };
+
+
+    public BatchAnalyzer(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException(String.format("Thread count must be positive: %d", threadCount));
+        }
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Toggles reading only saved games' headers.
+     *
+     * @see SavedGameParser#readSavedGameHeader(File)
+     */
+    public void setHeaderOnly(boolean b) {
+        headerOnly = b;
+    }
+
+    public boolean isHeaderOnly() {
+        return headerOnly;
+    }
+
+    /**
+     * Collects profiles and saved games, recursively.
+     *
+     * @param roots directories to search, or individual files
+     * @return results awaiting analysis, sorted by path
+     */
+    public static List<FileAnalysis> findFiles(List<File> roots) throws IOException {
+        final List<FileAnalysis> result = new ArrayList<FileAnalysis>();
+
+        for (File root : roots) {
+            if (root.isFile()) {
+                FileKind kind = getKind(root);
+                if (kind != null) result.add(new FileAnalysis(root, kind));
+                continue;
+            }
+            if (!root.isDirectory()) {
+                throw new IOException(String.format("No such file or directory: %s", root.getPath()));
+            }
+
+            Files.walkFileTree(root.toPath(), new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile()) {
+                        File f = path.toFile();
+                        FileKind kind = getKind(f);
+                        if (kind != null) result.add(new FileAnalysis(f, kind));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path path, IOException e) {
+                    log.warn("Could not visit {}: {}", path, e.toString());
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+
+        Collections.sort(result, new Comparator<FileAnalysis>() {
+            @Override
+            public int compare(FileAnalysis a, FileAnalysis b) {
+                return a.getFile().getPath().compareTo(b.getFile().getPath());
+            }
+        });
+        return result;
+    }
+
+    private static FileKind getKind(File f) {
+        String name = f.getName().toLowerCase();
+        if (!name.endsWith(".sav")) return null;
+
+        return (name.contains("prof") ? FileKind.PROFILE : FileKind.SAVED_GAME);
+    }
+
+    /**
+     * Parses files, possibly several times over.
+     *
+     * @param files  from findFiles()
+     * @param passes how many times to parse everything
+     */
+    public BatchReport analyze(List<FileAnalysis> files, int passes) throws InterruptedException {
+        long[] passNanos = new long[passes];
+
+        final AtomicInteger threadNum = new AtomicInteger(0);
+        ExecutorService pool = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "Batch Analyzer-" + threadNum.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        try {
+            for (int pass = 0; pass < passes; pass++) {
+                long passStart = System.nanoTime();
+                runPass(pool, files);
+                passNanos[pass] = System.nanoTime() - passStart;
+
+                log.info("Pass {} of {} took {} ms", pass + 1, passes, passNanos[pass] / 1000000);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return new BatchReport(files, threadCount, passNanos);
+    }
+
+    private void runPass(ExecutorService pool, List<FileAnalysis> files) throws InterruptedException {
+        final Semaphore queueSlots = new Semaphore(threadCount * QUEUED_FILES_PER_THREAD);
+        List<Future<?>> futures = new ArrayList<Future<?>>(files.size());
+
+        // Failed files are retried too, so every pass does the same work.
+        for (final FileAnalysis r : files) {
+            queueSlots.acquire();
+            futures.add(pool.submit(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        analyzeFile(r);
+                    } finally {
+                        queueSlots.release();
+                    }
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                log.error("Unexpected error in batch analysis", e.getCause());
+            }
+        }
+    }
+
+    private void analyzeFile(FileAnalysis r) {
+        if (headerOnly && r.getKind() == FileKind.SAVED_GAME) {
+            analyzeSavedGameHeader(r);
+            return;
+        }
+
+        ByteBufferInputStream in;
+        try {
+            long readStart = System.nanoTime();
+            in = ByteBufferInputStream.readFile(r.getFile());
+            r.addReadNanos(System.nanoTime() - readStart);
+            r.setSize(in.size());
+        } catch (IOException e) {
+            r.setError(e.toString(), -1);
+            return;
+        }
+
+        try {
+            long parseStart = System.nanoTime();
+            if (r.getKind() == FileKind.PROFILE) {
+                Profile p = profileParsers.get().readProfile(in);
+                r.addParseNanos(System.nanoTime() - parseStart);
+                r.setFileFormat(p.getFileFormat());
+            } else {
+                SavedGameState gameState = savedGameParsers.get().readSavedGame(in);
+                r.addParseNanos(System.nanoTime() - parseStart);
+                r.setFileFormat(gameState.getFileFormat());
+
+                int mysteryByteCount = 0;
+                for (MysteryBytes m : gameState.getMysteryList()) {
+                    mysteryByteCount += m.getLength();
+                }
+                r.setMysteries(gameState.getMysteryList().size(), mysteryByteCount);
+            }
+        } catch (Exception e) {
+            // The format is the first int, if the file's long enough to have one.
+            ByteBuffer buf = in.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+            if (buf.remaining() >= 4) r.setFileFormat(buf.getInt(0));
+
+            r.setError(e.toString(), in.position());
+            log.debug("Error parsing {} at offset {}", r.getFile().getPath(), in.position(), e);
+        }
+    }
+
+
+    private void analyzeSavedGameHeader(FileAnalysis r) {
+        r.setSize(r.getFile().length());
+        try {
+            long parseStart = System.nanoTime();
+            SavedGameState gameState = savedGameParsers.get().readSavedGameHeader(r.getFile());
+            r.addParseNanos(System.nanoTime() - parseStart);
+            r.setFileFormat(gameState.getFileFormat());
+        } catch (Exception e) {
+            r.setError(e.toString(), -1);
+            log.debug("Error parsing the header of {}", r.getFile().getPath(), e);
+        }
+    }
+}
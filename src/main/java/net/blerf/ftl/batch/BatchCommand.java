@@ -0,0 +1,109 @@
+package net.blerf.ftl.batch;
+
+import com.beust.jcommander.Parameter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import javax.xml.bind.JAXBException;
+import lombok.extern.slf4j.Slf4j;
+import net.blerf.ftl.core.EditorConfig;
+import net.blerf.ftl.parser.DataManager;
+import net.blerf.ftl.parser.DefaultDataManager;
+import net.vhati.modmanager.core.FTLUtilities;
+import org.jdom2.JDOMException;
+
+
+/**
+ * A subcommand of the headless batch mode.
+ * <p>
+ * Each subclass declares its own JCommander parameters, on top of the
+ * common ones here, and is registered by BatchCommandLine under a name.
+ *
+ * @see BatchCommandLine
+ */
+@Slf4j
+public abstract class BatchCommand {
+
+    @Parameter(names = "--dats", description = "Path to FTL's resources (default: from the config, or autodetected)")
+    public String datsPath = null;
+
+    @Parameter(names = {"-h", "--help"}, help = true, description = "Show usage")
+    public boolean help = false;
+
+
+    /**
+     * Runs this command, once its parameters have been parsed.
+     *
+     * @return an exit status: 0 if everything succeeded, 1 for usage or
+     * setup errors, 2 if any file failed
+     */
+    public abstract int run();
+
+    /**
+     * Sets up DataManager from FTL's resources, unless there is one already.
+     *
+     * @param warmUp true to load everything up front, to keep lazy
+     *               loading out of later timings
+     * @return false if the resources weren't found
+     * @see DefaultDataManager#warmUp()
+     */
+    protected boolean initDataManager(boolean warmUp) throws IOException, JAXBException, JDOMException {
+        if (DataManager.get() != null) return true;
+
+        File datsDir = findDatsDir(datsPath);
+        if (datsDir == null) return false;
+
+        DefaultDataManager dataManager = new DefaultDataManager(datsDir);
+        DataManager.setInstance(dataManager);
+        dataManager.setDLCEnabledByDefault(true);
+        if (warmUp) dataManager.warmUp();
+
+        return true;
+    }
+
+    /**
+     * Opens a report file, or stdout if there's no path.
+     *
+     * @see #closeOutput(Writer, String)
+     */
+    protected static Writer openOutput(String outPath) throws IOException {
+        if (outPath != null) {
+            return new OutputStreamWriter(new FileOutputStream(outPath), StandardCharsets.UTF_8);
+        } else {
+            return new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Closes what openOutput() returned, only flushing stdout.
+     */
+    protected static void closeOutput(Writer out, String outPath) throws IOException {
+        if (outPath != null) {
+            out.close();
+        } else {
+            out.flush();
+        }
+    }
+
+    private static File findDatsDir(String datsPath) {
+        if (datsPath == null) {
+            EditorConfig appConfig = new EditorConfig();
+            appConfig.readConfigFile();
+            datsPath = appConfig.getProperty(EditorConfig.FTL_DATS_PATH, "");
+        }
+
+        if (datsPath.length() > 0) {
+            File datsDir = new File(datsPath);
+            if (FTLUtilities.isDatsDirValid(datsDir)) return datsDir;
+
+            log.error("FTL dats path does not exist, or it is invalid: {}", datsPath);
+            return null;
+        }
+
+        return FTLUtilities.findDatsDir();
+    }
+}
@@ -0,0 +1,102 @@
+package net.blerf.ftl.batch;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParameterException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Parses the "--batch" command line, and runs a subcommand.
+ * <p>
+ * Subcommands:
+ * "analyze" parses files (see AnalyzeCommand),
+ * "diff" compares saved games (see DiffCommand),
+ * "render" draws saved games to PNGs (see RenderCommand),
+ * "tint-bench" times tinting (see TintBenchCommand).
+ * <p>
+ * Without a subcommand, "analyze" is assumed, so
+ * "--batch [options] &lt;paths&gt;" analyzes files.
+ */
+public class BatchCommandLine {
+
+    private static final String DEFAULT_COMMAND = "analyze";
+
+
+    /**
+     * Runs a batch subcommand from command line arguments.
+     *
+     * @return an exit status: 0 on success, 1 for usage or setup errors,
+     * 2 if any file failed
+     */
+    public static int run(String[] args) {
+        Map<String, BatchCommand> commands = new LinkedHashMap<String, BatchCommand>();
+        commands.put("analyze", new AnalyzeCommand());
+        commands.put("diff", new DiffCommand());
+        commands.put("render", new RenderCommand());
+        commands.put("tint-bench", new TintBenchCommand());
+
+        MainArgs mainArgs = new MainArgs();
+        JCommander jc = new JCommander(mainArgs);
+        jc.setProgramName("ftl-profile-editor --batch");
+        for (Map.Entry<String, BatchCommand> entry : commands.entrySet()) {
+            jc.addCommand(entry.getKey(), entry.getValue());
+        }
+
+        try {
+            jc.parse(withDefaultCommand(args, commands.keySet()));
+        } catch (ParameterException e) {
+            System.err.println(e.getMessage());
+            return 1;
+        }
+
+        String commandName = jc.getParsedCommand();
+        if (mainArgs.help || commandName == null) {
+            StringBuilder usage = new StringBuilder();
+            jc.usage(usage);
+            System.err.print(usage);
+            return (mainArgs.help ? 0 : 1);
+        }
+
+        BatchCommand command = commands.get(commandName);
+        if (command.help) {
+            StringBuilder usage = new StringBuilder();
+            jc.usage(commandName, usage);
+            System.err.print(usage);
+            return 0;
+        }
+
+        return command.run();
+    }
+
+    /**
+     * Inserts the default command before the first argument that isn't
+     * a top-level option, unless that argument is a command already.
+     */
+    private static String[] withDefaultCommand(String[] args, Set<String> commandNames) {
+        List<String> result = new ArrayList<String>(Arrays.asList(args));
+        for (int i = 0; i < result.size(); i++) {
+            String arg = result.get(i);
+            if (arg.equals("--batch") || arg.equals("-h") || arg.equals("--help")) continue;
+
+            if (!commandNames.contains(arg)) result.add(i, DEFAULT_COMMAND);
+            break;
+        }
+        return result.toArray(new String[result.size()]);
+    }
+
+
+
+    private static class MainArgs {
+        @Parameter(names = "--batch", description = "Run a batch command without the GUI")
+        public boolean batch = false;
+
+        @Parameter(names = {"-h", "--help"}, help = true, description = "Show usage")
+        public boolean help = false;
+    }
+}
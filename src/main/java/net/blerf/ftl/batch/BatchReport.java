@@ -0,0 +1,261 @@
+package net.blerf.ftl.batch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * Per-file results and aggregate statistics from a BatchAnalyzer run.
+ * <p>
+ * Reports can be written as CSV (one row per file) or JSON (aggregates
+ * plus every file), and a plain-text throughput summary is available for
+ * comparing parser performance between builds.
+ */
+public class BatchReport {
+
+    private final List<FileAnalysis> results;
+    private final int threadCount;
+    private final long[] passNanos;
+
+
+    /**
+     * Constructor.
+     *
+     * @param results   per-file results, in a stable order
+     * @param threadCount the size of the pool that parsed them
+     * @param passNanos wall-clock time of each pass over the files
+     */
+    public BatchReport(List<FileAnalysis> results, int threadCount, long[] passNanos) {
+        this.results = Collections.unmodifiableList(new ArrayList<FileAnalysis>(results));
+        this.threadCount = threadCount;
+        this.passNanos = passNanos.clone();
+    }
+
+    public List<FileAnalysis> getResults() {
+        return results;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public int getPassCount() {
+        return passNanos.length;
+    }
+
+    public int getFailureCount() {
+        int n = 0;
+        for (FileAnalysis r : results) {
+            if (r.isFailed()) n++;
+        }
+        return n;
+    }
+
+    public long getTotalBytes() {
+        long n = 0;
+        for (FileAnalysis r : results) {
+            if (r.getSize() > 0) n += r.getSize();
+        }
+        return n;
+    }
+
+    /**
+     * Returns the number of files with MysteryBytes.
+     */
+    public int getMysteryFileCount() {
+        int n = 0;
+        for (FileAnalysis r : results) {
+            if (r.getMysteryCount() > 0) n++;
+        }
+        return n;
+    }
+
+    /**
+     * Returns file counts, keyed by kind and format (e.g., "SAVED_GAME 11").
+     * <p>
+     * Files that failed before their format was read count under -1.
+     */
+    public Map<String, Integer> getFormatHistogram() {
+        Map<String, Integer> result = new TreeMap<String, Integer>();
+        for (FileAnalysis r : results) {
+            String key = String.format("%s %d", r.getKind(), r.getFileFormat());
+            Integer n = result.get(key);
+            result.put(key, (n == null ? 1 : n + 1));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the fastest wall-clock pass, in nanoseconds.
+     */
+    public long getBestPassNanos() {
+        long best = Long.MAX_VALUE;
+        for (long n : passNanos) {
+            best = Math.min(best, n);
+        }
+        return (passNanos.length > 0 ? best : 0);
+    }
+
+    /**
+     * Returns a percentile (0-100) of successful files' parse times, in
+     * nanoseconds.
+     */
+    public long getParseNanosPercentile(int percentile) {
+        long[] times = new long[results.size()];
+        int count = 0;
+        for (FileAnalysis r : results) {
+            if (!r.isFailed() && r.getParseNanos() >= 0) times[count++] = r.getParseNanos();
+        }
+        if (count == 0) return 0;
+
+        Arrays.sort(times, 0, count);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return times[Math.max(0, Math.min(count - 1, index))];
+    }
+
+
+    public void writeCsv(Appendable out) throws IOException {
+        out.append("path,kind,size,format,read_us,parse_us,mystery_count,mystery_bytes,error_offset,error\n");
+        for (FileAnalysis r : results) {
+            out.append(csvField(r.getFile().getPath())).append(',');
+            out.append(r.getKind().toString()).append(',');
+            out.append(Long.toString(r.getSize())).append(',');
+            out.append(Integer.toString(r.getFileFormat())).append(',');
+            out.append(Long.toString(toMicros(r.getReadNanos()))).append(',');
+            out.append(Long.toString(toMicros(r.getParseNanos()))).append(',');
+            out.append(Integer.toString(r.getMysteryCount())).append(',');
+            out.append(Integer.toString(r.getMysteryByteCount())).append(',');
+            out.append(Long.toString(r.getErrorOffset())).append(',');
+            out.append(csvField(r.getError() != null ? r.getError() : ""));
+            out.append('\n');
+        }
+    }
+
+    public void writeJson(Appendable out) throws IOException {
+        out.append("{\n");
+        out.append("  \"summary\": {\n");
+        out.append(String.format("    \"files\": %d,%n", results.size()));
+        out.append(String.format("    \"bytes\": %d,%n", getTotalBytes()));
+        out.append(String.format("    \"failures\": %d,%n", getFailureCount()));
+        out.append(String.format("    \"filesWithMysteryBytes\": %d,%n", getMysteryFileCount()));
+        out.append(String.format("    \"threads\": %d,%n", threadCount));
+        out.append(String.format("    \"passes\": %d,%n", passNanos.length));
+        out.append(String.format("    \"bestPassMillis\": %d,%n", getBestPassNanos() / 1000000));
+        out.append(String.format(Locale.ROOT, "    \"filesPerSecond\": %.1f,%n", getFilesPerSecond()));
+        out.append(String.format(Locale.ROOT, "    \"megabytesPerSecond\": %.3f,%n", getMegabytesPerSecond()));
+        out.append(String.format("    \"parseMicrosP50\": %d,%n", toMicros(getParseNanosPercentile(50))));
+        out.append(String.format("    \"parseMicrosP95\": %d,%n", toMicros(getParseNanosPercentile(95))));
+        out.append(String.format("    \"parseMicrosMax\": %d,%n", toMicros(getParseNanosPercentile(100))));
+        out.append("    \"formats\": {");
+        boolean first = true;
+        for (Map.Entry<String, Integer> entry : getFormatHistogram().entrySet()) {
+            out.append(first ? "\n" : ",\n");
+            first = false;
+            out.append("      ").append(jsonString(entry.getKey())).append(": ").append(entry.getValue().toString());
+        }
+        out.append(first ? "}\n" : "\n    }\n");
+        out.append("  },\n");
+
+        out.append("  \"files\": [");
+        first = true;
+        for (FileAnalysis r : results) {
+            out.append(first ? "\n" : ",\n");
+            first = false;
+            out.append("    {");
+            out.append("\"path\": ").append(jsonString(r.getFile().getPath()));
+            out.append(", \"kind\": ").append(jsonString(r.getKind().toString()));
+            out.append(", \"size\": ").append(Long.toString(r.getSize()));
+            out.append(", \"format\": ").append(Integer.toString(r.getFileFormat()));
+            out.append(", \"readMicros\": ").append(Long.toString(toMicros(r.getReadNanos())));
+            out.append(", \"parseMicros\": ").append(Long.toString(toMicros(r.getParseNanos())));
+            out.append(", \"mysteryCount\": ").append(Integer.toString(r.getMysteryCount()));
+            out.append(", \"mysteryBytes\": ").append(Integer.toString(r.getMysteryByteCount()));
+            if (r.isFailed()) {
+                out.append(", \"errorOffset\": ").append(Long.toString(r.getErrorOffset()));
+                out.append(", \"error\": ").append(jsonString(r.getError()));
+            }
+            out.append("}");
+        }
+        out.append(first ? "]\n" : "\n  ]\n");
+        out.append("}\n");
+    }
+
+    /**
+     * Writes a human-readable throughput report.
+     */
+    public void writeSummary(Appendable out) throws IOException {
+        out.append(String.format("Files:      %d (%d bytes)%n", results.size(), getTotalBytes()));
+        out.append(String.format("Failures:   %d%n", getFailureCount()));
+        out.append(String.format("Mysteries:  %d files with MysteryBytes%n", getMysteryFileCount()));
+        out.append(String.format("Threads:    %d%n", threadCount));
+        for (Map.Entry<String, Integer> entry : getFormatHistogram().entrySet()) {
+            out.append(String.format("Format:     %-16s %6d%n", entry.getKey(), entry.getValue()));
+        }
+        for (int i = 0; i < passNanos.length; i++) {
+            out.append(String.format("Pass %-5d  %8d ms%n", i + 1, passNanos[i] / 1000000));
+        }
+        out.append(String.format(Locale.ROOT, "Throughput: %.1f files/s, %.3f MB/s (best pass)%n", getFilesPerSecond(), getMegabytesPerSecond()));
+        out.append(String.format("Parse time: p50 %d us, p95 %d us, max %d us%n",
+                toMicros(getParseNanosPercentile(50)), toMicros(getParseNanosPercentile(95)), toMicros(getParseNanosPercentile(100))));
+    }
+
+    public double getFilesPerSecond() {
+        long nanos = getBestPassNanos();
+        return (nanos > 0 ? results.size() * 1e9 / nanos : 0);
+    }
+
+    public double getMegabytesPerSecond() {
+        long nanos = getBestPassNanos();
+        return (nanos > 0 ? getTotalBytes() / 1e6 * 1e9 / nanos : 0);
+    }
+
+    private static long toMicros(long nanos) {
+        return (nanos < 0 ? -1 : nanos / 1000);
+    }
+
+    static String csvField(String s) {
+        if (s.indexOf(',') == -1 && s.indexOf('"') == -1 && s.indexOf('\n') == -1 && s.indexOf('\r') == -1) {
+            return s;
+        }
+        return "\"" + s.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String jsonString(String s) {
+        StringBuilder buf = new StringBuilder(s.length() + 2);
+        buf.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    buf.append("\\\"");
+                    break;
+                case '\\':
+                    buf.append("\\\\");
+                    break;
+                case '\n':
+                    buf.append("\\n");
+                    break;
+                case '\r':
+                    buf.append("\\r");
+                    break;
+                case '\t':
+                    buf.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        buf.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        buf.append(c);
+                    }
+            }
+        }
+        buf.append('"');
+        return buf.toString();
+    }
+}
@@ -0,0 +1,204 @@
+package net.blerf.ftl.batch;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import net.blerf.ftl.batch.FileAnalysis.FileKind;
+import net.blerf.ftl.parser.ByteBufferInputStream;
+import net.blerf.ftl.parser.SavedGameDiff;
+
+
+/**
+ * Reports field-level differences between pairs of saved games, as CSV.
+ * <p>
+ * Saved games under two roots are paired by relative path. Pairs are
+ * diffed in parallel, each thread with its own SavedGameDiff, but
+ * reported in order. Only a few pairs per thread are held in memory at
+ * once.
+ *
+ * @see SavedGameDiff
+ */
+@Slf4j
+@Parameters(commandDescription = "Diff saved games: two files, or two directories paired by relative path")
+public class DiffCommand extends BatchCommand {
+
+    private static final int QUEUED_PAIRS_PER_THREAD = 4;
+
+    @Parameter(description = "<old> <new>")
+    public List<String> paths = new ArrayList<String>();
+
+    @Parameter(names = "--threads", description = "Number of diffing threads")
+    public int threads = Runtime.getRuntime().availableProcessors();
+
+    @Parameter(names = "--out", description = "CSV file (default: stdout)")
+    public String outPath = null;
+
+    private final ThreadLocal<SavedGameDiff> savedGameDiffs = new ThreadLocal<SavedGameDiff>() {
+        @Override
+        protected SavedGameDiff initialValue() {
+            return new SavedGameDiff();
+        }
+    };
+
+
+    @Override
+    public int run() {
+        if (paths.size() != 2) {
+            System.err.println("A diff needs exactly two files or directories: old and new.");
+            return 1;
+        }
+        if (threads < 1) {
+            System.err.println(String.format("Thread count must be positive: %d", threads));
+            return 1;
+        }
+
+        try {
+            List<File[]> pairs = findPairs(new File(paths.get(0)), new File(paths.get(1)));
+
+            if (!pairs.isEmpty() && !initDataManager(false)) {
+                System.err.println("FTL resources were not found, and saved games need them. Use --dats <path>.");
+                return 1;
+            }
+
+            log.info("Diffing {} pairs on {} threads", pairs.size(), threads);
+
+            Writer out = openOutput(outPath);
+            int failureCount;
+            try {
+                failureCount = diff(pairs, out);
+            } finally {
+                closeOutput(out, outPath);
+            }
+
+            System.err.println(String.format("Pairs:      %d%nFailures:   %d", pairs.size(), failureCount));
+            return (failureCount > 0 ? 2 : 0);
+        } catch (Exception e) {
+            log.error("Batch diff failed", e);
+            System.err.println(String.format("Batch diff failed: %s", e));
+            return 1;
+        }
+    }
+
+    /**
+     * Pairs up saved games under two roots, by relative path.
+     * <p>
+     * If both roots are files, they're the only pair. Saved games without
+     * a counterpart are skipped, with a warning.
+     *
+     * @return {old, new} pairs, sorted by path
+     */
+    public static List<File[]> findPairs(File oldRoot, File newRoot) throws IOException {
+        List<File[]> result = new ArrayList<File[]>();
+
+        if (oldRoot.isFile() && newRoot.isFile()) {
+            result.add(new File[]{oldRoot, newRoot});
+            return result;
+        }
+        if (!oldRoot.isDirectory() || !newRoot.isDirectory()) {
+            throw new IOException(String.format("Expected two files or two directories: %s, %s", oldRoot.getPath(), newRoot.getPath()));
+        }
+
+        Path oldBase = oldRoot.toPath();
+        for (FileAnalysis r : BatchAnalyzer.findFiles(Collections.singletonList(oldRoot))) {
+            if (r.getKind() != FileKind.SAVED_GAME) continue;
+
+            File newFile = newRoot.toPath().resolve(oldBase.relativize(r.getFile().toPath())).toFile();
+            if (newFile.isFile()) {
+                result.add(new File[]{r.getFile(), newFile});
+            } else {
+                log.warn("No counterpart for {}", r.getFile().getPath());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Diffs pairs of saved games, writing every difference as CSV.
+     *
+     * @param pairs from findPairs()
+     * @return the number of pairs that couldn't be diffed
+     */
+    public int diff(List<File[]> pairs, Appendable out) throws IOException, InterruptedException {
+        final AtomicInteger threadNum = new AtomicInteger(0);
+        ExecutorService pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "Batch Differ-" + threadNum.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+
+        out.append("old,new,path,old_value,new_value\n");
+        int failureCount = 0;
+        try {
+            Deque<Future<List<SavedGameDiff.Difference>>> pending = new ArrayDeque<Future<List<SavedGameDiff.Difference>>>();
+            int maxPending = threads * QUEUED_PAIRS_PER_THREAD;
+            int written = 0;
+
+            for (final File[] pair : pairs) {
+                if (pending.size() >= maxPending) {
+                    if (!writeDiff(pairs.get(written++), pending.removeFirst(), out)) failureCount++;
+                }
+                pending.addLast(pool.submit(new Callable<List<SavedGameDiff.Difference>>() {
+                    @Override
+                    public List<SavedGameDiff.Difference> call() throws IOException {
+                        ByteBuffer oldBytes = ByteBufferInputStream.readFile(pair[0]).asReadOnlyBuffer();
+                        ByteBuffer newBytes = ByteBufferInputStream.readFile(pair[1]).asReadOnlyBuffer();
+                        return savedGameDiffs.get().diff(oldBytes, newBytes);
+                    }
+                }));
+            }
+            while (!pending.isEmpty()) {
+                if (!writeDiff(pairs.get(written++), pending.removeFirst(), out)) failureCount++;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return failureCount;
+    }
+
+    /**
+     * Writes one pair's differences, once they're ready.
+     *
+     * @return false if the pair couldn't be diffed
+     */
+    private static boolean writeDiff(File[] pair, Future<List<SavedGameDiff.Difference>> future, Appendable out) throws IOException, InterruptedException {
+        List<SavedGameDiff.Difference> differences;
+        try {
+            differences = future.get();
+        } catch (ExecutionException e) {
+            log.error("Error diffing {} and {}", pair[0].getPath(), pair[1].getPath(), e.getCause());
+            return false;
+        }
+
+        String prefix = BatchReport.csvField(pair[0].getPath()) + "," + BatchReport.csvField(pair[1].getPath()) + ",";
+        for (SavedGameDiff.Difference d : differences) {
+            out.append(prefix);
+            out.append(BatchReport.csvField(d.getPath())).append(',');
+            out.append(BatchReport.csvField(d.getOldValue() != null ? d.getOldValue() : "")).append(',');
+            out.append(BatchReport.csvField(d.getNewValue() != null ? d.getNewValue() : ""));
+            out.append('\n');
+        }
+        return true;
+    }
+}
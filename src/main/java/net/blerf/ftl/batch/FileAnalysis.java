@@ -0,0 +1,69 @@
+package net.blerf.ftl.batch;
+
+import java.io.File;
+import lombok.Getter;
+
+
+/**
+ * What BatchAnalyzer learned about one file.
+ */
+@Getter
+public class FileAnalysis {
+
+    public enum FileKind {PROFILE, SAVED_GAME}
+
+    private final File file;
+    private final FileKind kind;
+    private long size = -1;
+    private int fileFormat = -1;
+
+    /** Nanoseconds spent reading the file into memory. */
+    private long readNanos = -1;
+
+    /** Fastest parse across all passes, in nanoseconds. */
+    private long parseNanos = -1;
+
+    private int mysteryCount = 0;
+    private int mysteryByteCount = 0;
+
+    private String error = null;
+
+    /** The offset the parser had reached when it failed, or -1. */
+    private long errorOffset = -1;
+
+
+    public FileAnalysis(File file, FileKind kind) {
+        this.file = file;
+        this.kind = kind;
+    }
+
+    public boolean isFailed() {
+        return (error != null);
+    }
+
+    void setSize(long n) {
+        size = n;
+    }
+
+    void setFileFormat(int n) {
+        fileFormat = n;
+    }
+
+    void addReadNanos(long n) {
+        readNanos = (readNanos < 0 ? n : Math.min(readNanos, n));
+    }
+
+    void addParseNanos(long n) {
+        parseNanos = (parseNanos < 0 ? n : Math.min(parseNanos, n));
+    }
+
+    void setMysteries(int count, int byteCount) {
+        mysteryCount = count;
+        mysteryByteCount = byteCount;
+    }
+
+    void setError(String message, long offset) {
+        error = message;
+        errorOffset = offset;
+    }
+}
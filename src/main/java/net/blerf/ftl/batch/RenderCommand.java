@@ -0,0 +1,81 @@
+package net.blerf.ftl.batch;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import net.blerf.ftl.batch.FileAnalysis.FileKind;
+
+
+/**
+ * Draws saved games' ships and sector maps to PNGs.
+ * <p>
+ * This works in headless mode.
+ *
+ * @see ThumbnailRenderer
+ */
+@Slf4j
+@Parameters(commandDescription = "Draw saved games' ships and sector maps as PNGs")
+public class RenderCommand extends BatchCommand {
+
+    @Parameter(description = "<directory or file>...")
+    public List<String> paths = new ArrayList<String>();
+
+    @Parameter(names = "--threads", description = "Number of rendering threads")
+    public int threads = Runtime.getRuntime().availableProcessors();
+
+    @Parameter(names = "--out-dir", required = true, description = "Directory to write PNGs into")
+    public String outDirPath = null;
+
+    @Parameter(names = "--scale", description = "Size factor for PNGs (e.g., 0.25 for thumbnails)")
+    public double scale = 1.0;
+
+
+    @Override
+    public int run() {
+        if (paths.isEmpty()) {
+            System.err.println("No files or directories to render.");
+            return 1;
+        }
+        if (scale <= 0) {
+            System.err.println(String.format("Scale must be positive: %s", scale));
+            return 1;
+        }
+        if (threads < 1) {
+            System.err.println(String.format("Thread count must be positive: %d", threads));
+            return 1;
+        }
+
+        List<File> roots = new ArrayList<File>();
+        for (String path : paths) {
+            roots.add(new File(path));
+        }
+
+        try {
+            List<FileAnalysis> files = BatchAnalyzer.findFiles(roots);
+
+            int savedGameCount = 0;
+            for (FileAnalysis r : files) {
+                if (r.getKind() == FileKind.SAVED_GAME) savedGameCount++;
+            }
+
+            if (savedGameCount > 0 && !initDataManager(true)) {
+                System.err.println("FTL resources were not found, and saved games need them. Use --dats <path>.");
+                return 1;
+            }
+
+            log.info("Rendering {} saved games on {} threads", savedGameCount, threads);
+            ThumbnailRenderer renderer = new ThumbnailRenderer(threads, new File(outDirPath), scale);
+            int failureCount = renderer.renderAll(files);
+
+            System.err.println(String.format("Saved games: %d%nFailures:    %d", savedGameCount, failureCount));
+            return (failureCount > 0 ? 2 : 0);
+        } catch (Exception e) {
+            log.error("Batch rendering failed", e);
+            System.err.println(String.format("Batch rendering failed: %s", e));
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package net.blerf.ftl.batch;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import lombok.extern.slf4j.Slf4j;
+import net.blerf.ftl.batch.FileAnalysis.FileKind;
+import net.blerf.ftl.model.state.SavedGameState;
+import net.blerf.ftl.model.state.ShipState;
+import net.blerf.ftl.parser.ByteBufferInputStream;
+import net.blerf.ftl.parser.SavedGameParser;
+import net.blerf.ftl.ui.SectorMapRenderer;
+import net.blerf.ftl.ui.floorplan.DefaultSpriteImageProvider;
+import net.blerf.ftl.ui.floorplan.FloorplanRenderer;
+
+
+/**
+ * Renders saved games' ships and sector maps to PNGs, without the GUI.
+ * <p>
+ * For each saved game, up to three images are written: the player's ship
+ * ("[name]_ship.png"), the nearby ship if there is one
+ * ("[name]_nearby.png"), and the sector map ("[name]_map.png"). The name
+ * is the saved game's path, with separators replaced by underscores, so
+ * files from different directories don't collide.
+ * <p>
+ * Saved games are rendered in parallel. All threads share one
+ * DefaultSpriteImageProvider, so sprites are decoded once.
+ *
+ * @see FloorplanRenderer
+ * @see SectorMapRenderer
+ */
+@Slf4j
+public class ThumbnailRenderer {
+
+    private static final int QUEUED_FILES_PER_THREAD = 4;
+    private static final int SHIP_PADDING = 8;
+
+    private final int threadCount;
+    private final File outDir;
+    private final double scale;
+
+    private final FloorplanRenderer floorplanRenderer = new FloorplanRenderer(new DefaultSpriteImageProvider(), SHIP_PADDING);
+    private final SectorMapRenderer sectorMapRenderer = new SectorMapRenderer();
+
+    private final ThreadLocal<SavedGameParser> savedGameParsers = new ThreadLocal<SavedGameParser>() {
+        @Override
+        protected SavedGameParser initialValue() {
+            return new SavedGameParser();
+        }
+    };
+
+
+    /**
+     * Constructor.
+     *
+     * @param threadCount the number of rendering threads
+     * @param outDir      a directory to write images into
+     * @param scale       a factor to resize images by (e.g., 0.25 for thumbnails)
+     */
+    public ThumbnailRenderer(int threadCount, File outDir, double scale) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException(String.format("Thread count must be positive: %d", threadCount));
+        }
+        if (scale <= 0) {
+            throw new IllegalArgumentException(String.format("Scale must be positive: %f", scale));
+        }
+        this.threadCount = threadCount;
+        this.outDir = outDir;
+        this.scale = scale;
+    }
+
+    /**
+     * Renders saved games, skipping profiles.
+     *
+     * @param files from BatchAnalyzer.findFiles()
+     * @return the number of saved games that couldn't be rendered
+     */
+    public int renderAll(List<FileAnalysis> files) throws IOException, InterruptedException {
+        if (!outDir.isDirectory() && !outDir.mkdirs()) {
+            throw new IOException(String.format("Could not create output directory: %s", outDir.getPath()));
+        }
+
+        final AtomicInteger threadNum = new AtomicInteger(0);
+        ExecutorService pool = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "Batch Renderer-" + threadNum.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+
+        final Semaphore queueSlots = new Semaphore(threadCount * QUEUED_FILES_PER_THREAD);
+        final AtomicInteger failureCount = new AtomicInteger(0);
+        List<Future<?>> futures = new ArrayList<Future<?>>(files.size());
+        try {
+            for (final FileAnalysis r : files) {
+                if (r.getKind() != FileKind.SAVED_GAME) continue;
+
+                queueSlots.acquire();
+                futures.add(pool.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            renderFile(r.getFile());
+                        } catch (Exception e) {
+                            failureCount.incrementAndGet();
+                            log.error("Error rendering {}", r.getFile().getPath(), e);
+                        } finally {
+                            queueSlots.release();
+                        }
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failureCount.incrementAndGet();
+                    log.error("Unexpected error in batch rendering", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return failureCount.get();
+    }
+
+    /**
+     * Renders one saved game's images.
+     */
+    public void renderFile(File f) throws IOException {
+        ByteBufferInputStream in = ByteBufferInputStream.readFile(f);
+        SavedGameState gameState = savedGameParsers.get().readSavedGame(in);
+
+        String baseName = getBaseName(f);
+
+        BufferedImage shipImage = floorplanRenderer.render(gameState.getPlayerShip(), true, scale);
+        writePng(shipImage, baseName + "_ship.png");
+
+        ShipState nearbyShipState = gameState.getNearbyShip();
+        if (nearbyShipState != null) {
+            BufferedImage nearbyImage = floorplanRenderer.render(nearbyShipState, false, scale);
+            writePng(nearbyImage, baseName + "_nearby.png");
+        }
+
+        BufferedImage mapImage = sectorMapRenderer.render(gameState, scale);
+        writePng(mapImage, baseName + "_map.png");
+    }
+
+    private void writePng(BufferedImage image, String fileName) throws IOException {
+        File outFile = new File(outDir, fileName);
+        if (!ImageIO.write(image, "png", outFile)) {
+            throw new IOException(String.format("No PNG writer for image type %d: %s", image.getType(), outFile.getPath()));
+        }
+    }
+
+    /**
+     * Returns a file's path without its extension, flattened into a name.
+     */
+    private static String getBaseName(File f) {
+        String path = f.getPath();
+        int dot = path.lastIndexOf('.');
+        if (dot > path.lastIndexOf(File.separatorChar)) path = path.substring(0, dot);
+
+        return path.replaceAll("^[/\\\\.]+", "").replaceAll("[/\\\\:]+", "_");
+    }
+}
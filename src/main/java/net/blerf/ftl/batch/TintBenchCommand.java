@@ -0,0 +1,34 @@
+package net.blerf.ftl.batch;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Runs the tint benchmark, with FTL resources if they can be found.
+ *
+ * @see TintBenchmark
+ */
+@Slf4j
+@Parameters(commandDescription = "Time tinting the crew roster (no paths needed)")
+public class TintBenchCommand extends BatchCommand {
+
+    @Parameter(names = "--passes", description = "Timed passes, after as many warm-up passes; the fastest is reported")
+    public int passes = 1;
+
+
+    @Override
+    public int run() {
+        try {
+            if (!initDataManager(false)) {
+                log.warn("FTL resources were not found, tinting synthetic sheets instead");
+            }
+            return TintBenchmark.run(passes);
+        } catch (Exception e) {
+            log.error("Tint benchmark failed", e);
+            System.err.println(String.format("Tint benchmark failed: %s", e));
+            return 1;
+        }
+    }
+}
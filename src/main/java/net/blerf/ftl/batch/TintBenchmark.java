@@ -0,0 +1,212 @@
+package net.blerf.ftl.batch;
+
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.RescaleOp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import lombok.extern.slf4j.Slf4j;
+import net.blerf.ftl.model.type.CrewType;
+import net.blerf.ftl.parser.DataManager;
+import net.blerf.ftl.ui.ImageUtilities;
+import net.blerf.ftl.ui.ImageUtilities.Tint;
+import net.blerf.ftl.ui.floorplan.DefaultSpriteImageProvider;
+
+
+/**
+ * Times tinting a full crew roster, comparing the old RescaleOp pipeline
+ * with ImageUtilities.tintImage().
+ * <p>
+ * Every race's color sheet is tinted for the player and for NPCs, and
+ * ghosts' base sheets get the ghost tint too. Without FTL resources,
+ * synthetic sheets of 35x35 frames with translucent edges are used.
+ * <p>
+ * The results of both pipelines are compared pixel for pixel.
+ *
+ * @see ImageUtilities#tintImage(BufferedImage, Tint)
+ */
+@Slf4j
+public class TintBenchmark {
+
+    private static final int FRAME_SIZE = 35;
+    private static final int SYNTHETIC_COLS = 10;
+    private static final int SYNTHETIC_ROWS = 4;
+
+    private final List<BufferedImage> images = new ArrayList<BufferedImage>();
+    private final List<Tint> tints = new ArrayList<Tint>();
+
+
+    /**
+     * Collects each roster image and the tint it'd get.
+     *
+     * @param useResources true to read sheets with DataManager
+     */
+    public void prepare(boolean useResources) {
+        images.clear();
+        tints.clear();
+
+        Random random = new Random(1);
+        for (CrewType crewType : CrewType.values()) {
+            String imgRace = (CrewType.GHOST.equals(crewType) ? CrewType.HUMAN.getId() : crewType.getId());
+
+            BufferedImage colorImage;
+            BufferedImage baseImage;
+            if (useResources) {
+                colorImage = ImageUtilities.getSheetImage("img/people/" + imgRace + "_color.png", null);
+                baseImage = ImageUtilities.getSheetImage("img/people/" + imgRace + "_base.png", null);
+            } else {
+                colorImage = createSyntheticSheet(random);
+                baseImage = createSyntheticSheet(random);
+            }
+
+            if (colorImage != null) {
+                addJob(colorImage, DefaultSpriteImageProvider.PLAYER_CREW_TINT);
+                addJob(colorImage, DefaultSpriteImageProvider.NPC_CREW_TINT);
+            }
+            if (baseImage != null && CrewType.GHOST.equals(crewType)) {
+                addJob(baseImage, DefaultSpriteImageProvider.GHOST_TINT);
+            }
+        }
+    }
+
+    private void addJob(BufferedImage image, Tint tint) {
+        images.add(image);
+        tints.add(tint);
+    }
+
+    /**
+     * Returns a sheet of frames with opaque bodies and translucent edges.
+     */
+    private static BufferedImage createSyntheticSheet(Random random) {
+        int w = FRAME_SIZE * SYNTHETIC_COLS;
+        int h = FRAME_SIZE * SYNTHETIC_ROWS;
+        BufferedImage result = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int dx = (x % FRAME_SIZE) - FRAME_SIZE / 2;
+                int dy = (y % FRAME_SIZE) - FRAME_SIZE / 2;
+                int dist = dx * dx + dy * dy;
+
+                int alpha;
+                if (dist < 100) {
+                    alpha = 0xFF;
+                } else if (dist < 196) {
+                    alpha = random.nextInt(0x100);
+                } else {
+                    alpha = 0;
+                }
+                result.setRGB(x, y, (alpha << 24) | random.nextInt(0x1000000));
+            }
+        }
+        return result;
+    }
+
+    public int getImageCount() {
+        return images.size();
+    }
+
+    public long getPixelCount() {
+        long result = 0;
+        for (BufferedImage image : images) {
+            result += (long) image.getWidth() * image.getHeight();
+        }
+        return result;
+    }
+
+    /**
+     * Tints every image the old way: draw onto a canvas, then RescaleOp.
+     *
+     * @return the elapsed nanoseconds
+     */
+    public long runRescaleOp(List<BufferedImage> results) {
+        results.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < images.size(); i++) {
+            results.add(rescale(images.get(i), tints.get(i)));
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Tints every image with the int[] kernel.
+     *
+     * @return the elapsed nanoseconds
+     */
+    public long runKernel(List<BufferedImage> results) {
+        results.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < images.size(); i++) {
+            results.add(ImageUtilities.tintImage(images.get(i), tints.get(i)));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static BufferedImage rescale(BufferedImage srcImage, Tint tint) {
+        BufferedImage canvas = ImageUtilities.createCompatibleImage(srcImage.getWidth(), srcImage.getHeight(), Transparency.TRANSLUCENT);
+        Graphics2D g2d = canvas.createGraphics();
+        g2d.drawImage(srcImage, 0, 0, null);
+        g2d.dispose();
+        RescaleOp op = new RescaleOp(tint.getScaleFactors(), tint.getOffsets(), null);
+        return op.filter(canvas, null);
+    }
+
+    /**
+     * Returns the number of pixels that differ between two sets of results.
+     */
+    public static long countMismatches(List<BufferedImage> a, List<BufferedImage> b) {
+        long result = 0;
+        for (int i = 0; i < a.size(); i++) {
+            BufferedImage aImage = a.get(i);
+            BufferedImage bImage = b.get(i);
+            int w = aImage.getWidth();
+            int h = aImage.getHeight();
+            int[] aPixels = aImage.getRGB(0, 0, w, h, null, 0, w);
+            int[] bPixels = bImage.getRGB(0, 0, w, h, null, 0, w);
+            for (int p = 0; p < aPixels.length; p++) {
+                if (aPixels[p] != bPixels[p]) result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Runs the benchmark and prints a summary to stderr.
+     *
+     * @param passes how many timed passes, after as many warm-up passes
+     * @return an exit status: 0 if both pipelines agreed, 2 if not
+     */
+    public static int run(int passes) {
+        passes = Math.max(1, passes);
+
+        TintBenchmark bench = new TintBenchmark();
+        boolean useResources = (DataManager.get() != null);
+        bench.prepare(useResources);
+        log.info("Tinting {} images ({} pixels), from {}", bench.getImageCount(), bench.getPixelCount(), (useResources ? "FTL resources" : "synthetic sheets"));
+
+        List<BufferedImage> opResults = new ArrayList<BufferedImage>();
+        List<BufferedImage> kernelResults = new ArrayList<BufferedImage>();
+        for (int pass = 0; pass < passes; pass++) {  // Warm up.
+            bench.runRescaleOp(opResults);
+            bench.runKernel(kernelResults);
+        }
+
+        long bestOpNanos = Long.MAX_VALUE;
+        long bestKernelNanos = Long.MAX_VALUE;
+        for (int pass = 0; pass < passes; pass++) {
+            bestOpNanos = Math.min(bestOpNanos, bench.runRescaleOp(opResults));
+            bestKernelNanos = Math.min(bestKernelNanos, bench.runKernel(kernelResults));
+        }
+
+        long mismatches = countMismatches(opResults, kernelResults);
+
+        System.err.println(String.format("Images:     %d (%d pixels, %s)", bench.getImageCount(), bench.getPixelCount(), (useResources ? "resources" : "synthetic")));
+        System.err.println(String.format("RescaleOp:  %.3f ms", bestOpNanos / 1000000.0));
+        System.err.println(String.format("Kernel:     %.3f ms (%.1fx)", bestKernelNanos / 1000000.0, (double) bestOpNanos / Math.max(1, bestKernelNanos)));
+        System.err.println(String.format("Mismatches: %d pixels", mismatches));
+
+        return (mismatches > 0 ? 2 : 0);
+    }
+}
@@ -23,6 +23,7 @@ public class EditorConfig {
     public static final String FTL_DATS_PATH = "ftl_dats_path";
     public static final String UPDATE_APP = "update_app";
     public static final String USE_DEFAULT_UI = "use_default_ui";
+    public static final String WARM_UP_RESOURCES = "warm_up_resources";
     public static final String APP_UPDATE_TIMESTAMP = "app_update_timestamp";
     public static final String APP_UPDATE_ETAG = "app_update_etag";
     public static final String APP_UPDATE_AVAILABLE = "app_update_available";
@@ -41,6 +42,7 @@ public class EditorConfig {
         properties.setProperty(FTL_DATS_PATH, "");  // Prompt.
         properties.setProperty(UPDATE_APP, "");     // Prompt.
         properties.setProperty(USE_DEFAULT_UI, "false");
+        properties.setProperty(WARM_UP_RESOURCES, "true");
         properties.setProperty(LAUNCHES, "0");
         properties.setProperty(FRAME_WIDTH, "" + DEFAULT_WIDTH);
         properties.setProperty(FRAME_HEIGHT, "" + DEFAULT_HEIGHT);
@@ -121,6 +123,7 @@ public class EditorConfig {
 
             userFieldsMap.put(FTL_DATS_PATH, "The path to FTL's resources folder. If invalid, you'll be prompted.");
             userFieldsMap.put(USE_DEFAULT_UI, "If true, no attempt will be made to resemble a native GUI. Default: false.");
+            userFieldsMap.put(WARM_UP_RESOURCES, "If true, read FTL's events and animations in the background at startup, rather than on first use. Default: true.");
             userFieldsMap.put(UPDATE_APP, "If a number greater than 0, check for newer app versions every N days.");
 
             appFieldsMap.put(APP_UPDATE_TIMESTAMP, "Last update check's timestamp.");
@@ -0,0 +1,121 @@
+package net.blerf.ftl.model;
+
+import java.io.IOException;
+
+
+/**
+ * An Appendable that indents nested text as it's written.
+ * <p>
+ * Dumps used to indent each child by formatting it to a String, then
+ * running a regex over it, once per level of nesting. Deep objects like
+ * SavedGameState were copied and rescanned several times over. Here,
+ * every character is written once, straight to the destination, and two
+ * spaces per level are inserted at the start of each non-empty line.
+ * <p>
+ * Appendable's IOExceptions are rethrown unchecked. With a StringBuilder
+ * destination, they never happen.
+ *
+ * @see Dumpable
+ */
+public class DumpWriter implements Appendable {
+
+    private static final String INDENT = "  ";
+
+    private final Appendable out;
+    private int depth = 0;
+    private boolean lineStart = true;
+
+
+    public DumpWriter(Appendable out) {
+        this.out = out;
+    }
+
+    /**
+     * Dumps an object to a new String.
+     */
+    public static String toString(Dumpable d) {
+        StringBuilder buf = new StringBuilder(1024);
+        d.dump(new DumpWriter(buf));
+        return buf.toString();
+    }
+
+    /**
+     * Writes an object one level deeper than the current text.
+     * <p>
+     * Dumpable objects stream their fields directly. Anything else
+     * (including null) goes through String.valueOf().
+     */
+    public DumpWriter appendChild(Object child) {
+        depth++;
+        try {
+            if (child instanceof Dumpable) {
+                ((Dumpable) child).dump(this);
+            } else {
+                append(String.valueOf(child));
+            }
+        } finally {
+            depth--;
+        }
+        return this;
+    }
+
+    /**
+     * Returns the current level of nesting.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    private void writeIndent() throws IOException {
+        for (int i = 0; i < depth; i++) {
+            out.append(INDENT);
+        }
+    }
+
+    @Override
+    public DumpWriter append(CharSequence csq) {
+        if (csq == null) csq = "null";
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public DumpWriter append(CharSequence csq, int start, int end) {
+        if (csq == null) csq = "null";
+
+        try {
+            // Copy whole runs of text, breaking only to indent new lines.
+            int runStart = start;
+            for (int i = start; i < end; i++) {
+                char c = csq.charAt(i);
+                if (c == '\n') {
+                    lineStart = true;
+                } else if (lineStart) {
+                    out.append(csq, runStart, i);
+                    runStart = i;
+                    writeIndent();
+                    lineStart = false;
+                }
+            }
+            out.append(csq, runStart, end);
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing dump", e);
+        }
+        return this;
+    }
+
+    @Override
+    public DumpWriter append(char c) {
+        try {
+            if (c == '\n') {
+                lineStart = true;
+            } else if (lineStart) {
+                writeIndent();
+                lineStart = false;
+            }
+            out.append(c);
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing dump", e);
+        }
+        return this;
+    }
+}
@@ -0,0 +1,14 @@
+package net.blerf.ftl.model;
+
+
+/**
+ * A model object that can describe itself for the editor's dump tabs.
+ * <p>
+ * Implementors write their fields to a DumpWriter, and nested objects
+ * through appendChild(), which indents them as they stream by. Their
+ * toString() should simply be DumpWriter.toString(this).
+ */
+public interface Dumpable {
+
+    void dump(DumpWriter out);
+}
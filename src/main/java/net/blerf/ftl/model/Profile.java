@@ -8,7 +8,7 @@ import net.blerf.ftl.constants.NewbieTipLevel;
 import net.blerf.ftl.model.Stats.StatType;
 
 
-public class Profile {
+public class Profile implements Dumpable {
 
     private int fileFormat;
     private List<AchievementRecord> achievements;
@@ -153,7 +153,11 @@ public class Profile {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
+        return DumpWriter.toString(this);
+    }
+
+    @Override
+    public void dump(DumpWriter out) {
         boolean first = true;
 
         StatType[] intStatTypes = {StatType.MOST_SHIPS_DEFEATED, StatType.MOST_BEACONS_EXPLORED,
@@ -178,76 +182,74 @@ public class Profile {
                 break;
         }
 
-        result.append(String.format("File Format:            %4d (%s)%n", fileFormat, formatDesc));
-        result.append(String.format("Newbie Tip Level:       %4s%n", newbieTipLevel.toString()));
+        out.append(String.format("File Format:            %4d (%s)%n", fileFormat, formatDesc));
+        out.append(String.format("Newbie Tip Level:       %4s%n", newbieTipLevel.toString()));
 
-        result.append("\nShip Unlocks...\n");
+        out.append("\nShip Unlocks...\n");
         first = true;
         for (ShipAvailability shipAvail : shipUnlockMap.values()) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(shipAvail.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(shipAvail);
         }
 
-        result.append("\nStats...\n");
+        out.append("\nStats...\n");
         for (StatType type : intStatTypes) {
-            result.append(String.format("%-25s %5d%n", type, stats.getIntRecord(type)));
+            out.append(String.format("%-25s %5d%n", type, stats.getIntRecord(type)));
         }
 
-        result.append("\nCrew Records...\n");
+        out.append("\nCrew Records...\n");
         first = true;
         for (StatType type : crewStatTypes) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
 
             CrewRecord rec = stats.getCrewRecord(type);
-            result.append(String.format("%s%n", type));
+            out.append(String.format("%s%n", type));
             if (rec != null) {
-                result.append(rec.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+                out.appendChild(rec);
             } else {
-                result.append("N/A\n");
+                out.append("N/A\n");
             }
         }
 
-        result.append("\nTop Scores...\n");
+        out.append("\nTop Scores...\n");
         first = true;
         for (Score score : stats.getTopScores()) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(score.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(score);
         }
 
-        result.append("\nShip Best...\n");
+        out.append("\nShip Best...\n");
         first = true;
         for (Score score : stats.getShipBest()) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(score.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(score);
         }
 
-        result.append("\nAchievements...\n");
+        out.append("\nAchievements...\n");
         first = true;
         for (AchievementRecord rec : achievements) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(rec.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(rec);
         }
-
-        return result.toString();
     }
 }
@@ -1,8 +1,10 @@
 package net.blerf.ftl.model.pod;
 
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 import net.blerf.ftl.model.state.AnimState;
 
-public class HackingDronePodInfo extends ExtendedDronePodInfo {
+public class HackingDronePodInfo extends ExtendedDronePodInfo implements Dumpable {
     private int attachPositionX = 0;
     private int attachPositionY = 0;
     private int unknownGamma = 0;
@@ -146,22 +148,23 @@ public class HackingDronePodInfo extends ExtendedDronePodInfo {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
+        return DumpWriter.toString(this);
+    }
 
-        result.append(String.format("Attach Position: %7s,%7s%n", attachPositionX, attachPositionY));
-        result.append(String.format("Gamma?:              %7d%n", unknownGamma));
-        result.append(String.format("Delta?:              %7d%n", unknownDelta));
+    @Override
+    public void dump(DumpWriter out) {
+        out.append(String.format("Attach Position: %7s,%7s%n", attachPositionX, attachPositionY));
+        out.append(String.format("Gamma?:              %7d%n", unknownGamma));
+        out.append(String.format("Delta?:              %7d%n", unknownDelta));
 
-        result.append(String.format("\nLanding Anim?...%n"));
+        out.append(String.format("\nLanding Anim?...%n"));
         if (landingAnim != null) {
-            result.append(landingAnim.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(landingAnim);
         }
 
-        result.append(String.format("\nExtension Anim?...%n"));
+        out.append(String.format("\nExtension Anim?...%n"));
         if (extensionAnim != null) {
-            result.append(extensionAnim.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(extensionAnim);
         }
-
-        return result.toString();
     }
 }
@@ -1,5 +1,7 @@
 package net.blerf.ftl.model.projectileinfo;
 
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 import net.blerf.ftl.model.state.AnimState;
 
 /**
@@ -7,7 +9,7 @@ import net.blerf.ftl.model.state.AnimState;
  * <p>
  * This was introduced in FTL 1.6.1.
  */
-public class PDSProjectileInfo extends ExtendedProjectileInfo {
+public class PDSProjectileInfo extends ExtendedProjectileInfo implements Dumpable {
     private int unknownAlpha = 0;
     private int unknownBeta = 0;
     private int unknownGamma = 0;
@@ -133,20 +135,21 @@ public class PDSProjectileInfo extends ExtendedProjectileInfo {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
-
-        result.append(String.format("Type:               PDS Info%n"));
-        result.append(String.format("Alpha?:             %7d%n", unknownAlpha));
-        result.append(String.format("Beta?:              %7d%n", unknownBeta));
-        result.append(String.format("Gamma?:             %7d%n", unknownGamma));
-        result.append(String.format("Delta?:             %7d%n", unknownDelta));
-        result.append(String.format("Epsilon?:           %7d%n", unknownEpsilon));
+        return DumpWriter.toString(this);
+    }
 
-        result.append("\nZeta? Anim...\n");
+    @Override
+    public void dump(DumpWriter out) {
+        out.append(String.format("Type:               PDS Info%n"));
+        out.append(String.format("Alpha?:             %7d%n", unknownAlpha));
+        out.append(String.format("Beta?:              %7d%n", unknownBeta));
+        out.append(String.format("Gamma?:             %7d%n", unknownGamma));
+        out.append(String.format("Delta?:             %7d%n", unknownDelta));
+        out.append(String.format("Epsilon?:           %7d%n", unknownEpsilon));
+
+        out.append("\nZeta? Anim...\n");
         if (unknownZeta != null) {
-            result.append(unknownZeta.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(unknownZeta);
         }
-
-        return result.toString();
     }
 }
@@ -1,6 +1,8 @@
 package net.blerf.ftl.model.state;
 
 import net.blerf.ftl.constants.FleetPresence;
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 
 /**
  * A beacon on the sector map.
@@ -14,7 +16,7 @@ import net.blerf.ftl.constants.FleetPresence;
  *
  * @see SavedGameState#setSectorLayoutSeed(int)
  */
-public class BeaconState {
+public class BeaconState implements Dumpable {
     private int visitCount = 0;
     private String bgStarscapeImageInnerPath = null;
     private String bgSpriteImageInnerPath = null;
@@ -256,34 +258,35 @@ public class BeaconState {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
+        return DumpWriter.toString(this);
+    }
 
-        result.append(String.format("Visit Count:           %5d%n", visitCount));
+    @Override
+    public void dump(DumpWriter out) {
+        out.append(String.format("Visit Count:           %5d%n", visitCount));
         if (visitCount > 0) {
-            result.append(String.format("  Bkg Starscape:       %s%n", bgStarscapeImageInnerPath));
-            result.append(String.format("  Bkg Sprite:          %s%n", bgSpriteImageInnerPath));
-            result.append(String.format("  Bkg Sprite Position:   %3d,%3d%n", bgSpritePosX, bgSpritePosY));
-            result.append(String.format("  Bkg Sprite Rotation:   %3d%n", bgSpriteRotation));
+            out.append(String.format("  Bkg Starscape:       %s%n", bgStarscapeImageInnerPath));
+            out.append(String.format("  Bkg Sprite:          %s%n", bgSpriteImageInnerPath));
+            out.append(String.format("  Bkg Sprite Position:   %3d,%3d%n", bgSpritePosX, bgSpritePosY));
+            out.append(String.format("  Bkg Sprite Rotation:   %3d%n", bgSpriteRotation));
         }
 
-        result.append(String.format("Seen:                  %5b%n", seen));
+        out.append(String.format("Seen:                  %5b%n", seen));
 
-        result.append(String.format("Enemy Present:         %5b%n", enemyPresent));
+        out.append(String.format("Enemy Present:         %5b%n", enemyPresent));
         if (enemyPresent) {
-            result.append(String.format("  Ship Event ID:       %s%n", shipEventId));
-            result.append(String.format("  Auto Blueprint ID:   %s%n", autoBlueprintId));
-            result.append(String.format("  Ship Event Seed:     %5d%n", shipEventSeed));
+            out.append(String.format("  Ship Event ID:       %s%n", shipEventId));
+            out.append(String.format("  Auto Blueprint ID:   %s%n", autoBlueprintId));
+            out.append(String.format("  Ship Event Seed:     %5d%n", shipEventSeed));
         }
 
-        result.append(String.format("Fleets Present:        %s%n", fleetPresence));
+        out.append(String.format("Fleets Present:        %s%n", fleetPresence));
 
-        result.append(String.format("Under Attack:          %5b%n", underAttack));
+        out.append(String.format("Under Attack:          %5b%n", underAttack));
 
         if (store != null) {
-            result.append("\nStore...\n");
-            result.append(store.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.append("\nStore...\n");
+            out.appendChild(store);
         }
-
-        return result.toString();
     }
 }
@@ -8,6 +8,8 @@ import lombok.Setter;
 import net.blerf.ftl.constants.AdvancedFTLConstants;
 import net.blerf.ftl.constants.FTLConstants;
 import net.blerf.ftl.constants.OriginalFTLConstants;
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 import net.blerf.ftl.model.type.CrewType;
 import net.blerf.ftl.parser.DataManager;
 import net.blerf.ftl.xml.CrewBlueprint;
@@ -23,7 +25,7 @@ import net.blerf.ftl.xml.CrewBlueprint;
 @Getter
 @Setter
 @NoArgsConstructor
-public class CrewState {
+public class CrewState implements Dumpable {
 
     private String name = "Frank";
     private CrewType race = CrewType.HUMAN;
@@ -504,7 +506,11 @@ public class CrewState {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
+        return DumpWriter.toString(this);
+    }
+
+    @Override
+    public void dump(DumpWriter out) {
         boolean first = true;
 
         CrewBlueprint crewBlueprint = DataManager.get().getCrew(race.getId());
@@ -514,19 +520,19 @@ public class CrewState {
             tintLayerList = crewBlueprint.getSpriteTintLayerList();
         }
 
-        result.append(String.format("Name:                   %s%n", name));
-        result.append(String.format("Race:                   %s%n", race.getId()));
-        result.append(String.format("Enemy Drone:            %5b%n", enemyBoardingDrone));
-        result.append(String.format("Sex:                    %s%n", (male ? "Male" : "Female")));
-        result.append(String.format("Health:                 %5d%n", health));
-        result.append(String.format("Sprite Position:          %3d,%3d%n", spriteX, spriteY));
-        result.append(String.format("Room Id:                %5d%n", roomId));
-        result.append(String.format("Room Square:            %5d%n", roomSquare));
-        result.append(String.format("Player Controlled:      %5b%n", playerControlled));
-        result.append(String.format("Clone Ready?:           %5d%n", cloneReady));
-        result.append(String.format("Mind Controlled:        %5b%n", mindControlled));
-
-        result.append("\nSprite Tints...\n");
+        out.append(String.format("Name:                   %s%n", name));
+        out.append(String.format("Race:                   %s%n", race.getId()));
+        out.append(String.format("Enemy Drone:            %5b%n", enemyBoardingDrone));
+        out.append(String.format("Sex:                    %s%n", (male ? "Male" : "Female")));
+        out.append(String.format("Health:                 %5d%n", health));
+        out.append(String.format("Sprite Position:          %3d,%3d%n", spriteX, spriteY));
+        out.append(String.format("Room Id:                %5d%n", roomId));
+        out.append(String.format("Room Square:            %5d%n", roomSquare));
+        out.append(String.format("Player Controlled:      %5b%n", playerControlled));
+        out.append(String.format("Clone Ready?:           %5d%n", cloneReady));
+        out.append(String.format("Mind Controlled:        %5b%n", mindControlled));
+
+        out.append("\nSprite Tints...\n");
         for (int i = 0; i < spriteTintIndices.size(); i++) {
             Integer colorIndex = spriteTintIndices.get(i);
 
@@ -543,51 +549,50 @@ public class CrewState {
                 colorHint = "Layer not in blueprint's colorList.";
             }
 
-            result.append(String.format("  Layer %2d: Color: %3d (%s)%n", i, colorIndex, colorHint));
+            out.append(String.format("  Layer %2d: Color: %3d (%s)%n", i, colorIndex, colorHint));
         }
-        result.append("\n");
+        out.append("\n");
 
         FTLConstants origConstants = new OriginalFTLConstants();
         FTLConstants advConstants = new AdvancedFTLConstants();
 
-        result.append(String.format("Saved Room Id:          %5d%n", savedRoomId));
-        result.append(String.format("Saved Room Square:      %5d%n", savedRoomSquare));
-        result.append(String.format("Pilot Skill:            %5d (Mastery Interval: %2d in FTL:AE, Originally %2d)%n", pilotSkill, origConstants.getMasteryIntervalPilot(race), advConstants.getMasteryIntervalPilot(race)));
-        result.append(String.format("Engine Skill:           %5d (Mastery Interval: %2d in FTL:AE, Originally %2d)%n", engineSkill, origConstants.getMasteryIntervalEngine(race), advConstants.getMasteryIntervalEngine(race)));
-        result.append(String.format("Shield Skill:           %5d (Mastery Interval: %2d in FTL:AE, Originally %2d)%n", shieldSkill, origConstants.getMasteryIntervalShield(race), advConstants.getMasteryIntervalShield(race)));
-        result.append(String.format("Weapon Skill:           %5d (Mastery Interval: %2d in FTL:AE, Originally %2d)%n", weaponSkill, origConstants.getMasteryIntervalWeapon(race), advConstants.getMasteryIntervalWeapon(race)));
-        result.append(String.format("Repair Skill:           %5d (Mastery Interval: %2d in FTL:AE, Originally %2d)%n", repairSkill, origConstants.getMasteryIntervalRepair(race), advConstants.getMasteryIntervalRepair(race)));
-        result.append(String.format("Combat Skill:           %5d (Mastery Interval: %2d in FTL:AE, Originally %2d)%n", combatSkill, origConstants.getMasteryIntervalCombat(race), advConstants.getMasteryIntervalCombat(race)));
-        result.append(String.format("Repairs:                %5d%n", repairs));
-        result.append(String.format("Combat Kills:           %5d%n", combatKills));
-        result.append(String.format("Piloted Evasions:       %5d%n", pilotedEvasions));
-        result.append(String.format("Jumps Survived:         %5d%n", jumpsSurvived));
-        result.append(String.format("Skill Masteries Earned: %5d%n", skillMasteriesEarned));
-        result.append(String.format("Stun Ticks:            %6d (Decrements to 0)%n", stunTicks));
-        result.append(String.format("Health Boost:          %6d (Subtracted from health when Mind Ctrl expires)%n", healthBoost));
-        result.append(String.format("Clonebay Priority:     %6d (On death, copies Universal Death Count for a big number)%n", clonebayPriority));
-        result.append(String.format("Damage Boost:          %6d (%5.03f)%n", damageBoost, damageBoost / 1000f));
-        result.append(String.format("Dying Ticks?:          %6d%n", unknownLambda));
-        result.append(String.format("Universal Death Count:  %5d (Shared across crew everywhere, for assigning next Clonebay priority)%n", universalDeathCount));
-        result.append(String.format("Pilot Mastery (1,2):   %6b, %5b%n", pilotMasteryOne, pilotMasteryTwo));
-        result.append(String.format("Engine Mastery (1,2):  %6b, %5b%n", engineMasteryOne, engineMasteryTwo));
-        result.append(String.format("Shield Mastery (1,2):  %6b, %5b%n", shieldMasteryOne, shieldMasteryTwo));
-        result.append(String.format("Weapon Mastery (1,2):  %6b, %5b%n", weaponMasteryOne, weaponMasteryTwo));
-        result.append(String.format("Repair Mastery (1,2):  %6b, %5b%n", repairMasteryOne, repairMasteryTwo));
-        result.append(String.format("Combat Mastery (1,2):  %6b, %5b%n", combatMasteryOne, combatMasteryTwo));
-        result.append(String.format("Nu?:                   %6b%n", unknownNu));
-
-        result.append("\nTeleport Anim...\n");
+        out.append(String.format("Saved Room Id:          %5d%n", savedRoomId));
+        out.append(String.format("Saved Room Square:      %5d%n", savedRoomSquare));
+        out.append(String.format("Pilot Skill:            %5d (Mastery Interval: %2d in FTL:AE, Originally %2d)%n", pilotSkill, origConstants.getMasteryIntervalPilot(race), advConstants.getMasteryIntervalPilot(race)));
+        out.append(String.format("Engine Skill:           %5d (Mastery Interval: %2d in FTL:AE, Originally %2d)%n", engineSkill, origConstants.getMasteryIntervalEngine(race), advConstants.getMasteryIntervalEngine(race)));
+        out.append(String.format("Shield Skill:           %5d (Mastery Interval: %2d in FTL:AE, Originally %2d)%n", shieldSkill, origConstants.getMasteryIntervalShield(race), advConstants.getMasteryIntervalShield(race)));
+        out.append(String.format("Weapon Skill:           %5d (Mastery Interval: %2d in FTL:AE, Originally %2d)%n", weaponSkill, origConstants.getMasteryIntervalWeapon(race), advConstants.getMasteryIntervalWeapon(race)));
+        out.append(String.format("Repair Skill:           %5d (Mastery Interval: %2d in FTL:AE, Originally %2d)%n", repairSkill, origConstants.getMasteryIntervalRepair(race), advConstants.getMasteryIntervalRepair(race)));
+        out.append(String.format("Combat Skill:           %5d (Mastery Interval: %2d in FTL:AE, Originally %2d)%n", combatSkill, origConstants.getMasteryIntervalCombat(race), advConstants.getMasteryIntervalCombat(race)));
+        out.append(String.format("Repairs:                %5d%n", repairs));
+        out.append(String.format("Combat Kills:           %5d%n", combatKills));
+        out.append(String.format("Piloted Evasions:       %5d%n", pilotedEvasions));
+        out.append(String.format("Jumps Survived:         %5d%n", jumpsSurvived));
+        out.append(String.format("Skill Masteries Earned: %5d%n", skillMasteriesEarned));
+        out.append(String.format("Stun Ticks:            %6d (Decrements to 0)%n", stunTicks));
+        out.append(String.format("Health Boost:          %6d (Subtracted from health when Mind Ctrl expires)%n", healthBoost));
+        out.append(String.format("Clonebay Priority:     %6d (On death, copies Universal Death Count for a big number)%n", clonebayPriority));
+        out.append(String.format("Damage Boost:          %6d (%5.03f)%n", damageBoost, damageBoost / 1000f));
+        out.append(String.format("Dying Ticks?:          %6d%n", unknownLambda));
+        out.append(String.format("Universal Death Count:  %5d (Shared across crew everywhere, for assigning next Clonebay priority)%n", universalDeathCount));
+        out.append(String.format("Pilot Mastery (1,2):   %6b, %5b%n", pilotMasteryOne, pilotMasteryTwo));
+        out.append(String.format("Engine Mastery (1,2):  %6b, %5b%n", engineMasteryOne, engineMasteryTwo));
+        out.append(String.format("Shield Mastery (1,2):  %6b, %5b%n", shieldMasteryOne, shieldMasteryTwo));
+        out.append(String.format("Weapon Mastery (1,2):  %6b, %5b%n", weaponMasteryOne, weaponMasteryTwo));
+        out.append(String.format("Repair Mastery (1,2):  %6b, %5b%n", repairMasteryOne, repairMasteryTwo));
+        out.append(String.format("Combat Mastery (1,2):  %6b, %5b%n", combatMasteryOne, combatMasteryTwo));
+        out.append(String.format("Nu?:                   %6b%n", unknownNu));
+
+        out.append("\nTeleport Anim...\n");
         if (teleportAnim != null) {
-            result.append(teleportAnim.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(teleportAnim);
         }
 
-        result.append("%n");
+        out.append("%n");
 
-        result.append(String.format("Phi?:                  %6b%n", unknownPhi));
-        result.append(String.format("Lockdown Ticks:        %6d (Crystal only, time elapsed recharging ability)%n", lockdownRechargeTicks));
-        result.append(String.format("Lockdown Ticks Goal:   %6d (Crystal only, time needed to recharge)%n", lockdownRechargeTicksGoal));
-        result.append(String.format("Omega?:                %6d (Crystal only)%n", unknownOmega));
-        return result.toString();
+        out.append(String.format("Phi?:                  %6b%n", unknownPhi));
+        out.append(String.format("Lockdown Ticks:        %6d (Crystal only, time elapsed recharging ability)%n", lockdownRechargeTicks));
+        out.append(String.format("Lockdown Ticks Goal:   %6d (Crystal only, time needed to recharge)%n", lockdownRechargeTicksGoal));
+        out.append(String.format("Omega?:                %6d (Crystal only)%n", unknownOmega));
     }
 }
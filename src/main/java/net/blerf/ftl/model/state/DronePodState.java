@@ -4,13 +4,15 @@ import java.util.List;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 import net.blerf.ftl.model.pod.ExtendedDronePodInfo;
 import net.blerf.ftl.model.type.DroneType;
 
 @Getter
 @Setter
 @NoArgsConstructor
-public class DronePodState {
+public class DronePodState implements Dumpable {
     private DroneType droneType = null;
     /**
      * Sets time elapsed while this drone is un-redeployable after
@@ -420,45 +422,47 @@ public class DronePodState {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
-        result.append(String.format("Drone Type:        %s%n", droneType.getId()));
-        result.append(String.format("Mourning Ticks:    %7d (Decrements to 0 from 10000)%n", mourningTicks));
-        result.append(String.format("Current Space:     %7d%n", currentSpace));
-        result.append(String.format("Destination Space: %7d%n", destinationSpace));
-        result.append(String.format("Current Position:  %7s,%7s%n", prettyInt(currentPositionX), prettyInt(currentPositionY)));
-        result.append(String.format("Previous Position: %7s,%7s%n", prettyInt(previousPositionX), prettyInt(previousPositionY)));
-        result.append(String.format("Goal Position:     %7s,%7s%n", prettyInt(goalPositionX), prettyInt(goalPositionY)));
-
-        result.append(String.format("%n"));
-        result.append(String.format("Epsilon?, Zeta?:   %7s,%7s%n", prettyInt(unknownEpsilon), prettyInt(unknownZeta)));
-        result.append(String.format("Next Target:       %7s,%7s%n", prettyInt(nextTargetX), prettyInt(nextTargetY)));
-        result.append(String.format("Iota?, Kappa?:     %7s,%7s%n", prettyInt(unknownIota), prettyInt(unknownKappa)));
-
-        result.append(String.format("%n"));
-        result.append(String.format("Buildup Ticks:     %7d (Decrements to 0 while about to fire)%n", buildupTicks));
-        result.append(String.format("Stationary Ticks:  %7d (Decrements to 0 while stationary)%n", stationaryTicks));
-        result.append(String.format("Cooldown Ticks:    %7d (Decrements to 0 while passive, Defense/Shield only)%n", cooldownTicks));
-        result.append(String.format("Orbit Angle:       %7d%n", orbitAngle));
-        result.append(String.format("Turret Angle:      %7d%n", turretAngle));
-        result.append(String.format("Xi?:               %7d%n", unknownXi));
-        result.append(String.format("Hops to Live:      %7s (Waypoints to idle at before undeploying)%n", prettyInt(hopsToLive)));
-        result.append(String.format("Pi?:               %7d%n", unknownPi));
-        result.append(String.format("Rho?:              %7d%n", unknownRho));
-        result.append(String.format("Overload Ticks:    %7d (Decrements to 0 while shocked by ion weapons)%n", overloadTicks));
-        result.append(String.format("Tau?:              %7d%n", unknownTau));
-        result.append(String.format("Upsilon?:          %7d%n", unknownUpsilon));
-        result.append(String.format("Delta Position:    %7d,%7d (Current - Previous + 1)%n", deltaPositionX, deltaPositionY));
-
-        result.append("\nDeath Anim...\n");
+        return DumpWriter.toString(this);
+    }
+
+    @Override
+    public void dump(DumpWriter out) {
+        out.append(String.format("Drone Type:        %s%n", droneType.getId()));
+        out.append(String.format("Mourning Ticks:    %7d (Decrements to 0 from 10000)%n", mourningTicks));
+        out.append(String.format("Current Space:     %7d%n", currentSpace));
+        out.append(String.format("Destination Space: %7d%n", destinationSpace));
+        out.append(String.format("Current Position:  %7s,%7s%n", prettyInt(currentPositionX), prettyInt(currentPositionY)));
+        out.append(String.format("Previous Position: %7s,%7s%n", prettyInt(previousPositionX), prettyInt(previousPositionY)));
+        out.append(String.format("Goal Position:     %7s,%7s%n", prettyInt(goalPositionX), prettyInt(goalPositionY)));
+
+        out.append(String.format("%n"));
+        out.append(String.format("Epsilon?, Zeta?:   %7s,%7s%n", prettyInt(unknownEpsilon), prettyInt(unknownZeta)));
+        out.append(String.format("Next Target:       %7s,%7s%n", prettyInt(nextTargetX), prettyInt(nextTargetY)));
+        out.append(String.format("Iota?, Kappa?:     %7s,%7s%n", prettyInt(unknownIota), prettyInt(unknownKappa)));
+
+        out.append(String.format("%n"));
+        out.append(String.format("Buildup Ticks:     %7d (Decrements to 0 while about to fire)%n", buildupTicks));
+        out.append(String.format("Stationary Ticks:  %7d (Decrements to 0 while stationary)%n", stationaryTicks));
+        out.append(String.format("Cooldown Ticks:    %7d (Decrements to 0 while passive, Defense/Shield only)%n", cooldownTicks));
+        out.append(String.format("Orbit Angle:       %7d%n", orbitAngle));
+        out.append(String.format("Turret Angle:      %7d%n", turretAngle));
+        out.append(String.format("Xi?:               %7d%n", unknownXi));
+        out.append(String.format("Hops to Live:      %7s (Waypoints to idle at before undeploying)%n", prettyInt(hopsToLive)));
+        out.append(String.format("Pi?:               %7d%n", unknownPi));
+        out.append(String.format("Rho?:              %7d%n", unknownRho));
+        out.append(String.format("Overload Ticks:    %7d (Decrements to 0 while shocked by ion weapons)%n", overloadTicks));
+        out.append(String.format("Tau?:              %7d%n", unknownTau));
+        out.append(String.format("Upsilon?:          %7d%n", unknownUpsilon));
+        out.append(String.format("Delta Position:    %7d,%7d (Current - Previous + 1)%n", deltaPositionX, deltaPositionY));
+
+        out.append("\nDeath Anim...\n");
         if (deathAnim != null) {
-            result.append(deathAnim.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(deathAnim);
         }
 
-        result.append("\nExtended Drone Pod Info... (Varies by Drone Type)\n");
+        out.append("\nExtended Drone Pod Info... (Varies by Drone Type)\n");
         if (extendedInfo != null) {
-            result.append(extendedInfo.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(extendedInfo);
         }
-
-        return result.toString();
     }
 }
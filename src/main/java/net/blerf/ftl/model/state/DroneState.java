@@ -3,6 +3,8 @@ package net.blerf.ftl.model.state;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 
 /**
  * For FTL 1.5.4+ saved games, extended info may be needed.
@@ -10,7 +12,7 @@ import lombok.Setter;
 @Getter
 @Setter
 @NoArgsConstructor
-public class DroneState {
+public class DroneState implements Dumpable {
     private String droneId = null;
     /**
      * Sets whether this drone is powered.
@@ -102,21 +104,22 @@ public class DroneState {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
+        return DumpWriter.toString(this);
+    }
 
-        result.append(String.format("DroneId:           %s%n", droneId));
-        result.append(String.format("Armed:             %5b%n", armed));
-        result.append(String.format("Health:            %5d%n", health));
-        result.append(String.format("Body Position:     %3d,%3d%n", bodyX, bodyY));
-        result.append(String.format("Body Room Id:      %5d%n", bodyRoomId));
-        result.append(String.format("Body Room Square:  %5d%n", bodyRoomSquare));
-        result.append(String.format("Player Controlled: %5b%n", playerControlled));
+    @Override
+    public void dump(DumpWriter out) {
+        out.append(String.format("DroneId:           %s%n", droneId));
+        out.append(String.format("Armed:             %5b%n", armed));
+        out.append(String.format("Health:            %5d%n", health));
+        out.append(String.format("Body Position:     %3d,%3d%n", bodyX, bodyY));
+        out.append(String.format("Body Room Id:      %5d%n", bodyRoomId));
+        out.append(String.format("Body Room Square:  %5d%n", bodyRoomSquare));
+        out.append(String.format("Player Controlled: %5b%n", playerControlled));
 
-        result.append("\nExtended Drone Info...\n");
+        out.append("\nExtended Drone Info...\n");
         if (extendedDroneInfo != null) {
-            result.append(extendedDroneInfo.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(extendedDroneInfo);
         }
-
-        return result.toString();
     }
 }
@@ -1,8 +1,10 @@
 package net.blerf.ftl.model.state;
 
 import net.blerf.ftl.constants.HazardVulnerability;
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 
-public class EnvironmentState {
+public class EnvironmentState implements Dumpable {
     private boolean redGiantPresent = false;
     private boolean pulsarPresent = false;
     private boolean pdsPresent = false;
@@ -124,23 +126,24 @@ public class EnvironmentState {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
+        return DumpWriter.toString(this);
+    }
 
-        result.append(String.format("Red Giant Present: %5b%n", redGiantPresent));
-        result.append(String.format("Pulsar Present:    %5b%n", pulsarPresent));
-        result.append(String.format("PDS Present:       %5b%n", pdsPresent));
-        result.append(String.format("Vulnerable Ships:  %s (PDS only)%n", vulnerableShips.toString()));
+    @Override
+    public void dump(DumpWriter out) {
+        out.append(String.format("Red Giant Present: %5b%n", redGiantPresent));
+        out.append(String.format("Pulsar Present:    %5b%n", pulsarPresent));
+        out.append(String.format("PDS Present:       %5b%n", pdsPresent));
+        out.append(String.format("Vulnerable Ships:  %s (PDS only)%n", vulnerableShips.toString()));
 
-        result.append("\nAsteroid Field...\n");
+        out.append("\nAsteroid Field...\n");
         if (asteroidField != null)
-            result.append(asteroidField.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
-
-        result.append("\n");
+            out.appendChild(asteroidField);
 
-        result.append(String.format("Flare Fade Ticks?: %7d%n", solarFlareFadeTicks));
-        result.append(String.format("Havoc Ticks?:      %7d (Red Giant/Pulsar/PDS only, Goal varies)%n", havocTicks));
-        result.append(String.format("PDS Ticks?:        %7d (PDS only)%n", pdsTicks));
+        out.append("\n");
 
-        return result.toString();
+        out.append(String.format("Flare Fade Ticks?: %7d%n", solarFlareFadeTicks));
+        out.append(String.format("Havoc Ticks?:      %7d (Red Giant/Pulsar/PDS only, Goal varies)%n", havocTicks));
+        out.append(String.format("PDS Ticks?:        %7d (PDS only)%n", pdsTicks));
     }
 }
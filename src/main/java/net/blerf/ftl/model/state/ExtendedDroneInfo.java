@@ -1,11 +1,14 @@
 package net.blerf.ftl.model.state;
 
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
+
 /**
  * Extra drone info stored separately from the original DroneState.
  * <p>
  * This was introduced in FTL 1.5.4.
  */
-public class ExtendedDroneInfo {
+public class ExtendedDroneInfo implements Dumpable {
     /**
      * Sets whether the drone's body/pod exists.
      * <p>
@@ -100,18 +103,19 @@ public class ExtendedDroneInfo {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
+        return DumpWriter.toString(this);
+    }
 
-        result.append(String.format("Deployed:        %5b%n", deployed));
-        result.append(String.format("Armed:           %5b%n", armed));
+    @Override
+    public void dump(DumpWriter out) {
+        out.append(String.format("Deployed:        %5b%n", deployed));
+        out.append(String.format("Armed:           %5b%n", armed));
 
-        result.append("\nDrone Pod...\n");
+        out.append("\nDrone Pod...\n");
         if (dronePod != null) {
-            result.append(dronePod.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(dronePod);
         } else {
-            result.append("N/A\n");
+            out.append("N/A\n");
         }
-
-        return result.toString();
     }
 }
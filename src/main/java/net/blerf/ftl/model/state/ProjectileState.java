@@ -1,9 +1,11 @@
 package net.blerf.ftl.model.state;
 
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 import net.blerf.ftl.model.projectileinfo.ExtendedProjectileInfo;
 import net.blerf.ftl.model.type.ProjectileType;
 
-public class ProjectileState {
+public class ProjectileState implements Dumpable {
     private ProjectileType projectileType = ProjectileType.INVALID;
     private int currentPosX = 0, currentPosY = 0;
     private int prevPosX = 0, prevPosY = 0;
@@ -514,71 +516,72 @@ public class ProjectileState {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
+        return DumpWriter.toString(this);
+    }
 
-        result.append(String.format("Projectile Type:   %s%n", projectileType.toString()));
+    @Override
+    public void dump(DumpWriter out) {
+        out.append(String.format("Projectile Type:   %s%n", projectileType.toString()));
 
         if (ProjectileType.INVALID.equals(projectileType)) {
-            result.append("\n");
-            result.append("(When Projectile Type is INVALID, no other fields are set.)\n");
-            return result.toString();
+            out.append("\n");
+            out.append("(When Projectile Type is INVALID, no other fields are set.)\n");
+            return;
         }
 
-        result.append(String.format("Current Position:  %8d,%8d (%9.03f,%9.03f)%n", currentPosX, currentPosY, currentPosX / 1000f, currentPosY / 1000f));
-        result.append(String.format("Previous Position: %8d,%8d (%9.03f,%9.03f)%n", prevPosX, prevPosY, prevPosX / 1000f, prevPosY / 1000f));
-        result.append(String.format("Speed:             %8d (%7.03f)%n", speed, speed / 1000f));
-        result.append(String.format("Goal Position:     %8d,%8d (%9.03f,%9.03f)%n", goalPosX, goalPosY, goalPosX / 1000f, goalPosY / 1000f));
-        result.append(String.format("Heading:           %8d%n", heading));
-        result.append(String.format("Owner Id?:         %8d%n", ownerId));
-        result.append(String.format("Self Id?:          %8d%n", selfId));
+        out.append(String.format("Current Position:  %8d,%8d (%9.03f,%9.03f)%n", currentPosX, currentPosY, currentPosX / 1000f, currentPosY / 1000f));
+        out.append(String.format("Previous Position: %8d,%8d (%9.03f,%9.03f)%n", prevPosX, prevPosY, prevPosX / 1000f, prevPosY / 1000f));
+        out.append(String.format("Speed:             %8d (%7.03f)%n", speed, speed / 1000f));
+        out.append(String.format("Goal Position:     %8d,%8d (%9.03f,%9.03f)%n", goalPosX, goalPosY, goalPosX / 1000f, goalPosY / 1000f));
+        out.append(String.format("Heading:           %8d%n", heading));
+        out.append(String.format("Owner Id?:         %8d%n", ownerId));
+        out.append(String.format("Self Id?:          %8d%n", selfId));
 
-        result.append(String.format("%nDamage...%n"));
+        out.append(String.format("%nDamage...%n"));
         if (damage != null) {
-            result.append(damage.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(damage);
         }
 
-        result.append("\n");
+        out.append("\n");
 
-        result.append(String.format("Lifespan:          %8d%n", lifespan));
-        result.append(String.format("Destination Space: %8d%n", destinationSpace));
-        result.append(String.format("Current Space:     %8d%n", currentSpace));
-        result.append(String.format("Target Id?:        %8d%n", targetId));
-        result.append(String.format("Dead:              %8b%n", dead));
-        result.append(String.format("Death AnimId:      %s%n", deathAnimId));
-        result.append(String.format("Flight AnimId:     %s%n", flightAnimId));
+        out.append(String.format("Lifespan:          %8d%n", lifespan));
+        out.append(String.format("Destination Space: %8d%n", destinationSpace));
+        out.append(String.format("Current Space:     %8d%n", currentSpace));
+        out.append(String.format("Target Id?:        %8d%n", targetId));
+        out.append(String.format("Dead:              %8b%n", dead));
+        out.append(String.format("Death AnimId:      %s%n", deathAnimId));
+        out.append(String.format("Flight AnimId:     %s%n", flightAnimId));
 
-        result.append(String.format("%nDeath Anim?...%n"));
+        out.append(String.format("%nDeath Anim?...%n"));
         if (deathAnim != null) {
-            result.append(deathAnim.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(deathAnim);
         }
 
-        result.append(String.format("%nFlight Anim?...%n"));
+        out.append(String.format("%nFlight Anim?...%n"));
         if (flightAnim != null) {
-            result.append(flightAnim.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(flightAnim);
         }
 
-        result.append("\n");
+        out.append("\n");
 
-        result.append(String.format("Velocity (x,y):    %8d,%6d (%7.03f,%7.03f)%n", velocityX, velocityY, velocityX / 1000f, velocityY / 1000f));
-        result.append(String.format("Missed:            %8b%n", missed));
-        result.append(String.format("Hit Target:        %8b%n", hitTarget));
-        result.append(String.format("Hit Solid Sound:   %s%n", hitSolidSound));
-        result.append(String.format("Hit Shield Sound:  %s%n", hitShieldSound));
-        result.append(String.format("Miss Sound:        %s%n", missSound));
-        result.append(String.format("Entry Angle?:      %8s%n", prettyInt(entryAngle)));
-        result.append(String.format("Started Dying:     %8b%n", startedDying));
-        result.append(String.format("Passed Target?:    %8b%n", passedTarget));
+        out.append(String.format("Velocity (x,y):    %8d,%6d (%7.03f,%7.03f)%n", velocityX, velocityY, velocityX / 1000f, velocityY / 1000f));
+        out.append(String.format("Missed:            %8b%n", missed));
+        out.append(String.format("Hit Target:        %8b%n", hitTarget));
+        out.append(String.format("Hit Solid Sound:   %s%n", hitSolidSound));
+        out.append(String.format("Hit Shield Sound:  %s%n", hitShieldSound));
+        out.append(String.format("Miss Sound:        %s%n", missSound));
+        out.append(String.format("Entry Angle?:      %8s%n", prettyInt(entryAngle)));
+        out.append(String.format("Started Dying:     %8b%n", startedDying));
+        out.append(String.format("Passed Target?:    %8b%n", passedTarget));
 
-        result.append("\n");
+        out.append("\n");
 
-        result.append(String.format("Type?:             %8d%n", type));
-        result.append(String.format("Broadcast Target:  %8b (Red dot at targeted location)%n", broadcastTarget));
+        out.append(String.format("Type?:             %8d%n", type));
+        out.append(String.format("Broadcast Target:  %8b (Red dot at targeted location)%n", broadcastTarget));
 
-        result.append(String.format("%nExtended Projectile Info...%n"));
+        out.append(String.format("%nExtended Projectile Info...%n"));
         if (extendedInfo != null) {
-            result.append(extendedInfo.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(extendedInfo);
         }
-
-        return result.toString();
     }
 }
@@ -2,9 +2,11 @@ package net.blerf.ftl.model.state;
 
 import java.util.ArrayList;
 import java.util.List;
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 import net.blerf.ftl.model.type.StationDirection;
 
-public class RoomState {
+public class RoomState implements Dumpable {
     private int oxygen = 100;
     private final List<SquareState> squareList = new ArrayList<>();
     private int stationSquare = -1;
@@ -114,16 +116,17 @@ public class RoomState {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
+        return DumpWriter.toString(this);
+    }
 
-        result.append(String.format("Oxygen: %3d%%%n", oxygen));
-        result.append(String.format("Station Square: %2d, Station Direction: %s%n", stationSquare, stationDirection.toString()));
+    @Override
+    public void dump(DumpWriter out) {
+        out.append(String.format("Oxygen: %3d%%%n", oxygen));
+        out.append(String.format("Station Square: %2d, Station Direction: %s%n", stationSquare, stationDirection.toString()));
 
-        result.append("Squares...\n");
+        out.append("Squares...\n");
         for (SquareState square : squareList) {
-            result.append(square.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(square);
         }
-
-        return result.toString();
     }
 }
@@ -0,0 +1,40 @@
+package net.blerf.ftl.model.state;
+
+
+/**
+ * Consecutive parts of a saved game, in file order.
+ * <p>
+ * The format has no lengths or offsets to skip by, so reading any section
+ * means decoding every section before it. Partial reads save time by
+ * stopping early.
+ *
+ * @see net.blerf.ftl.parser.SavedGameParser#readSavedGame(java.io.InputStream, java.util.Set)
+ */
+public enum SavedGameSection {
+
+    /**
+     * File format, difficulty, totals, ship name and type, sector number,
+     * and state vars.
+     * <p>
+     * Doesn't need DataManager.
+     */
+    HEADER,
+
+    /** The player ship and cargo. */
+    PLAYER_SHIP,
+
+    /**
+     * Sector tree and layout seeds, the rebel fleet and flagship's
+     * progress, sector visitation, and the current sector number.
+     */
+    SECTOR,
+
+    /** Beacons and quest events. */
+    BEACONS,
+
+    /**
+     * Everything else: the current encounter, nearby ship, environment,
+     * projectiles, extended system info, and the rebel flagship.
+     */
+    ENCOUNTER
+}
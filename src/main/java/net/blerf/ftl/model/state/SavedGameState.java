@@ -1,15 +1,23 @@
 package net.blerf.ftl.model.state;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import net.blerf.ftl.constants.Difficulty;
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 import net.blerf.ftl.parser.MysteryBytes;
+import net.blerf.ftl.parser.SavedGameIndex;
+import net.blerf.ftl.parser.SavedGameIndex.Span;
 
 @Slf4j
-public class SavedGameState {
+public class SavedGameState implements Dumpable {
     private int fileFormat = 0;
     private boolean randomNative = true;
     private boolean dlcEnabled = false;
@@ -58,10 +66,115 @@ public class SavedGameState {
     private RebelFlagshipState rebelFlagshipState = null;
     private final List<MysteryBytes> mysteryList = new ArrayList<>();
 
+    // Editor bookkeeping, not saved data. Transient, so SavedGameDiff skips them.
+    private transient Set<SavedGameSection> parsedSections = EnumSet.allOf(SavedGameSection.class);
+    private transient SavedGameIndex fileIndex = null;
+    private final transient Set<Span> dirtySpans = EnumSet.noneOf(Span.class);
+    private final transient Set<Span> changedSpans = EnumSet.noneOf(Span.class);
+
 
     public SavedGameState() {
     }
 
+    /**
+     * Sets which sections were read from a file.
+     * <p>
+     * Fields in other sections keep their defaults.
+     */
+    public void setParsedSections(Set<SavedGameSection> sections) {
+        parsedSections = EnumSet.copyOf(sections);
+    }
+
+    public Set<SavedGameSection> getParsedSections() {
+        return Collections.unmodifiableSet(parsedSections);
+    }
+
+    /**
+     * Sets where each span was found in the file this was read from.
+     * <p>
+     * After saving, this should describe the new file.
+     */
+    public void setFileIndex(SavedGameIndex index) {
+        fileIndex = index;
+    }
+
+    /**
+     * Returns the index of the file this was read from, or null.
+     */
+    public SavedGameIndex getFileIndex() {
+        return fileIndex;
+    }
+
+    /**
+     * Notes spans that have changed since the file was read or saved.
+     * <p>
+     * When saving, only dirty spans need to be re-encoded.
+     *
+     * @see #getChangedSpans()
+     */
+    public void markDirty(Collection<Span> spans) {
+        dirtySpans.addAll(spans);
+    }
+
+    /**
+     * Returns spans that have changed since the file was read or saved.
+     */
+    public Set<Span> getDirtySpans() {
+        return Collections.unmodifiableSet(dirtySpans);
+    }
+
+    public boolean isDirty() {
+        return !dirtySpans.isEmpty();
+    }
+
+    /**
+     * Forgets all changes, after the state has been saved.
+     */
+    public void clearDirty() {
+        dirtySpans.clear();
+    }
+
+    /**
+     * Notes spans that may have been modified since the last call to
+     * clearChangedSpans().
+     * <p>
+     * Setters here call this themselves. Code that modifies nested
+     * objects (ships, beacons, etc.), or lists and maps returned by
+     * getters, must call it for the spans those are written in.
+     * <p>
+     * This is a change log for the editor's undo history, which only
+     * re-encodes these spans after an edit. It's separate from the dirty
+     * spans, which are relative to the file on disk.
+     *
+     * @see net.blerf.ftl.parser.SavedGameParser#encodeSpans(SavedGameState, Set)
+     */
+    public void markChanged(Span... spans) {
+        Collections.addAll(changedSpans, spans);
+    }
+
+    public void markChanged(Collection<Span> spans) {
+        changedSpans.addAll(spans);
+    }
+
+    /**
+     * Returns spans that may have been modified since the last call to
+     * clearChangedSpans().
+     */
+    public Set<Span> getChangedSpans() {
+        return Collections.unmodifiableSet(changedSpans);
+    }
+
+    public void clearChangedSpans() {
+        changedSpans.clear();
+    }
+
+    /**
+     * Returns true if this was only partially read, and mustn't be saved.
+     */
+    public boolean isPartial() {
+        return !parsedSections.containsAll(EnumSet.allOf(SavedGameSection.class));
+    }
+
     /**
      * Sets the magic number indicating file format.
      * <p>
@@ -81,6 +194,7 @@ public class SavedGameState {
      */
     public void setFileFormat(int n) {
         fileFormat = n;
+        markChanged(EnumSet.allOf(Span.class));
     }
 
     public int getFileFormat() {
@@ -101,6 +215,7 @@ public class SavedGameState {
      */
     public void setRandomNative(boolean b) {
         randomNative = b;
+        markChanged(Span.HEADER);
     }
 
     public boolean isRandomNative() {
@@ -116,6 +231,7 @@ public class SavedGameState {
      */
     public void setDifficulty(Difficulty d) {
         difficulty = d;
+        markChanged(Span.HEADER);
     }
 
     public Difficulty getDifficulty() {
@@ -129,6 +245,7 @@ public class SavedGameState {
      */
     public void setTotalShipsDefeated(int n) {
         totalShipsDefeated = n;
+        markChanged(Span.HEADER);
     }
 
     public int getTotalShipsDefeated() {
@@ -137,6 +254,7 @@ public class SavedGameState {
 
     public void setTotalBeaconsExplored(int n) {
         totalBeaconsExplored = n;
+        markChanged(Span.HEADER);
     }
 
     public int getTotalBeaconsExplored() {
@@ -150,6 +268,7 @@ public class SavedGameState {
      */
     public void setTotalScrapCollected(int n) {
         totalScrapCollected = n;
+        markChanged(Span.HEADER);
     }
 
     public int getTotalScrapCollected() {
@@ -158,6 +277,7 @@ public class SavedGameState {
 
     public void setTotalCrewHired(int n) {
         totalCrewHired = n;
+        markChanged(Span.HEADER);
     }
 
     public int getTotalCrewHired() {
@@ -192,6 +312,7 @@ public class SavedGameState {
      */
     public void setPlayerShipName(String shipName) {
         playerShipName = shipName;
+        markChanged(Span.HEADER);
     }
 
     public String getPlayerShipName() {
@@ -203,6 +324,7 @@ public class SavedGameState {
      */
     public void setPlayerShipBlueprintId(String shipBlueprintId) {
         playerShipBlueprintId = shipBlueprintId;
+        markChanged(Span.HEADER);
     }
 
     public String getPlayerShipBlueprintId() {
@@ -214,10 +336,12 @@ public class SavedGameState {
      */
     public void addCargoItemId(String cargoItemId) {
         cargoIdList.add(cargoItemId);
+        markChanged(Span.SECTOR);
     }
 
     public void setCargoList(List<String> cargoIdList) {
         this.cargoIdList = cargoIdList;
+        markChanged(Span.SECTOR);
     }
 
     public List<String> getCargoIdList() {
@@ -250,6 +374,7 @@ public class SavedGameState {
      */
     public void setSectorNumber(int n) {
         sectorNumber = n;
+        markChanged(Span.HEADER, Span.SECTOR);
     }
 
     public int getSectorNumber() {
@@ -271,6 +396,7 @@ public class SavedGameState {
      */
     public void setDLCEnabled(boolean b) {
         dlcEnabled = b;
+        markChanged(Span.HEADER);
     }
 
     public boolean isDLCEnabled() {
@@ -284,6 +410,7 @@ public class SavedGameState {
      */
     public void setUnknownBeta(int n) {
         unknownBeta = n;
+        markChanged(Span.HEADER);
     }
 
     public int getUnknownBeta() {
@@ -299,6 +426,7 @@ public class SavedGameState {
      */
     public void setStateVar(String stateVarId, int stateVarValue) {
         stateVars.put(stateVarId, stateVarValue);
+        markChanged(Span.HEADER);
     }
 
     /**
@@ -325,6 +453,7 @@ public class SavedGameState {
 
     public void setPlayerShip(ShipState shipState) {
         this.playerShipState = shipState;
+        markChanged(Span.PLAYER_SHIP, Span.PLAYER_SHIP_EXTENDED);
     }
 
     public ShipState getPlayerShip() {
@@ -341,6 +470,7 @@ public class SavedGameState {
      */
     public void setSectorTreeSeed(int n) {
         sectorTreeSeed = n;
+        markChanged(Span.SECTOR);
     }
 
     public int getSectorTreeSeed() {
@@ -369,6 +499,7 @@ public class SavedGameState {
      */
     public void setSectorLayoutSeed(int n) {
         sectorLayoutSeed = n;
+        markChanged(Span.SECTOR);
     }
 
     public int getSectorLayoutSeed() {
@@ -400,6 +531,7 @@ public class SavedGameState {
      */
     public void setRebelFleetOffset(int n) {
         rebelFleetOffset = n;
+        markChanged(Span.SECTOR);
     }
 
     public int getRebelFleetOffset() {
@@ -423,6 +555,7 @@ public class SavedGameState {
      */
     public void setRebelFleetFudge(int n) {
         rebelFleetFudge = n;
+        markChanged(Span.SECTOR);
     }
 
     public int getRebelFleetFudge() {
@@ -437,6 +570,7 @@ public class SavedGameState {
      */
     public void setRebelPursuitMod(int n) {
         rebelPursuitMod = n;
+        markChanged(Span.SECTOR);
     }
 
     public int getRebelPursuitMod() {
@@ -467,6 +601,7 @@ public class SavedGameState {
      */
     public void setWaiting(boolean b) {
         waiting = b;
+        markChanged(Span.SECTOR);
     }
 
     public boolean isWaiting() {
@@ -488,6 +623,7 @@ public class SavedGameState {
      */
     public void setWaitEventSeed(int n) {
         waitEventSeed = n;
+        markChanged(Span.SECTOR);
     }
 
     public int getWaitEventSeed() {
@@ -506,6 +642,7 @@ public class SavedGameState {
      */
     public void setUnknownEpsilon(String s) {
         unknownEpsilon = s;
+        markChanged(Span.SECTOR);
     }
 
     public String getUnknownEpsilon() {
@@ -517,6 +654,7 @@ public class SavedGameState {
      */
     public void setSectorHazardsVisible(boolean b) {
         sectorHazardsVisible = b;
+        markChanged(Span.SECTOR);
     }
 
     public boolean areSectorHazardsVisible() {
@@ -530,6 +668,7 @@ public class SavedGameState {
      */
     public void setRebelFlagshipVisible(boolean b) {
         rebelFlagshipVisible = b;
+        markChanged(Span.SECTOR);
     }
 
     public boolean isRebelFlagshipVisible() {
@@ -552,6 +691,7 @@ public class SavedGameState {
      */
     public void setRebelFlagshipHop(int n) {
         rebelFlagshipHop = n;
+        markChanged(Span.SECTOR);
     }
 
     public int getRebelFlagshipHop() {
@@ -563,6 +703,7 @@ public class SavedGameState {
      */
     public void setRebelFlagshipMoving(boolean b) {
         rebelFlagshipMoving = b;
+        markChanged(Span.SECTOR);
     }
 
     public boolean isRebelFlagshipMoving() {
@@ -587,6 +728,7 @@ public class SavedGameState {
      */
     public void setRebelFlagshipRetreating(boolean b) {
         rebelFlagshipRetreating = b;
+        markChanged(Span.SECTOR);
     }
 
     public boolean isRebelFlagshipRetreating() {
@@ -607,6 +749,7 @@ public class SavedGameState {
      */
     public void setRebelFlagshipBaseTurns(int n) {
         rebelFlagshipBaseTurns = n;
+        markChanged(Span.SECTOR);
     }
 
     public int getRebelFlagshipBaseTurns() {
@@ -621,6 +764,7 @@ public class SavedGameState {
      */
     public void setSectorVisited(int sector, boolean visited) {
         sectorVisitationList.set(sector, visited);
+        markChanged(Span.SECTOR);
     }
 
     /**
@@ -638,6 +782,7 @@ public class SavedGameState {
      */
     public void setSectorVisitation(List<Boolean> route) {
         sectorVisitationList = route;
+        markChanged(Span.SECTOR);
     }
 
     public List<Boolean> getSectorVisitation() {
@@ -654,6 +799,7 @@ public class SavedGameState {
      */
     public void setSectorIsHiddenCrystalWorlds(boolean b) {
         sectorIsHiddenCrystalWorlds = b;
+        markChanged(Span.SECTOR);
     }
 
     public boolean isSectorHiddenCrystalWorlds() {
@@ -676,6 +822,7 @@ public class SavedGameState {
      */
     public void addBeacon(BeaconState beacon) {
         beaconList.add(beacon);
+        markChanged(Span.BEACONS);
     }
 
     public List<BeaconState> getBeaconList() {
@@ -684,6 +831,7 @@ public class SavedGameState {
 
     public void addQuestEvent(String questEventId, int questBeaconId) {
         questEventMap.put(questEventId, questBeaconId);
+        markChanged(Span.ENCOUNTER);
     }
 
     public Map<String, Integer> getQuestEventMap() {
@@ -692,6 +840,7 @@ public class SavedGameState {
 
     public void addDistantQuestEvent(String questEventId) {
         distantQuestEventList.add(questEventId);
+        markChanged(Span.ENCOUNTER);
     }
 
     public List<String> getDistantQuestEventList() {
@@ -705,6 +854,7 @@ public class SavedGameState {
      */
     public void setCurrentBeaconId(int n) {
         currentBeaconId = n;
+        markChanged(Span.SECTOR, Span.ENCOUNTER);
     }
 
     public int getCurrentBeaconId() {
@@ -720,6 +870,7 @@ public class SavedGameState {
      */
     public void setUnknownMu(int n) {
         unknownMu = n;
+        markChanged(Span.ENCOUNTER);
     }
 
     public int getUnknownMu() {
@@ -735,6 +886,7 @@ public class SavedGameState {
      */
     public void setEncounter(EncounterState encounter) {
         this.encounter = encounter;
+        markChanged(Span.ENCOUNTER);
     }
 
     public EncounterState getEncounter() {
@@ -752,6 +904,7 @@ public class SavedGameState {
      */
     public void setRebelFlagshipNearby(boolean b) {
         rebelFlagshipNearby = b;
+        markChanged(Span.ENCOUNTER);
     }
 
     public boolean isRebelFlagshipNearby() {
@@ -767,6 +920,7 @@ public class SavedGameState {
      */
     public void setNearbyShip(ShipState shipState) {
         this.nearbyShipState = shipState;
+        markChanged(Span.NEARBY_SHIP, Span.NEARBY_SHIP_EXTENDED, Span.ENCOUNTER, Span.TRAILER);
     }
 
     public ShipState getNearbyShip() {
@@ -782,6 +936,7 @@ public class SavedGameState {
      */
     public void setNearbyShipAI(NearbyShipAIState ai) {
         nearbyShipAI = ai;
+        markChanged(Span.NEARBY_SHIP);
     }
 
     public NearbyShipAIState getNearbyShipAI() {
@@ -795,6 +950,7 @@ public class SavedGameState {
      */
     public void setEnvironment(EnvironmentState env) {
         environment = env;
+        markChanged(Span.ENVIRONMENT);
     }
 
     public EnvironmentState getEnvironment() {
@@ -809,6 +965,7 @@ public class SavedGameState {
      */
     public void addProjectile(ProjectileState projectile) {
         projectileList.add(projectile);
+        markChanged(Span.PROJECTILES);
     }
 
     public List<ProjectileState> getProjectileList() {
@@ -825,6 +982,7 @@ public class SavedGameState {
      */
     public void setUnknownNu(int n) {
         unknownNu = n;
+        markChanged(Span.TRAILER);
     }
 
     public int getUnknownNu() {
@@ -842,6 +1000,7 @@ public class SavedGameState {
      */
     public void setUnknownXi(Integer n) {
         unknownXi = n;
+        markChanged(Span.TRAILER);
     }
 
     public Integer getUnknownXi() {
@@ -855,6 +1014,7 @@ public class SavedGameState {
      */
     public void setAutofire(boolean b) {
         autofire = b;
+        markChanged(Span.TRAILER);
     }
 
     public boolean getAutofire() {
@@ -866,6 +1026,7 @@ public class SavedGameState {
      */
     public void setRebelFlagshipState(RebelFlagshipState flagshipState) {
         this.rebelFlagshipState = flagshipState;
+        markChanged(Span.TRAILER);
     }
 
     public RebelFlagshipState getRebelFlagshipState() {
@@ -884,8 +1045,11 @@ public class SavedGameState {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
+        return DumpWriter.toString(this);
+    }
 
+    @Override
+    public void dump(DumpWriter out) {
         String formatDesc = null;
         switch (fileFormat) {
             case (2):
@@ -909,150 +1073,157 @@ public class SavedGameState {
         }
 
         boolean first = true;
-        result.append(String.format("File Format:            %5d (%s)%n", fileFormat, formatDesc));
-        result.append(String.format("Native RNG:             %5b (True for games migrated into FTL 1.6.1+)%n", randomNative));
-        result.append(String.format("AE Content:             %5s%n", (dlcEnabled ? "Enabled" : "Disabled")));
-        result.append(String.format("Ship Name:              %s%n", playerShipName));
-        result.append(String.format("Ship Type:              %s%n", playerShipBlueprintId));
-        result.append(String.format("Difficulty:             %s%n", difficulty.toString()));
-        result.append(String.format("Sector:                 %5d (%d)%n", sectorNumber, sectorNumber + 1));
-        result.append(String.format("Beta?:                  %5d (Always 0?)%n", unknownBeta));
-        result.append(String.format("Total Ships Defeated:   %5d%n", totalShipsDefeated));
-        result.append(String.format("Total Beacons Explored: %5d%n", totalBeaconsExplored));
-        result.append(String.format("Total Scrap Collected:  %5d%n", totalScrapCollected));
-        result.append(String.format("Total Crew Hired:       %5d%n", totalCrewHired));
-
-        result.append("\nState Vars...\n");
+        out.append(String.format("File Format:            %5d (%s)%n", fileFormat, formatDesc));
+        if (isPartial()) {
+            out.append(String.format("Parsed Sections:        %s (Other fields are defaults)%n", parsedSections));
+        }
+        out.append(String.format("Native RNG:             %5b (True for games migrated into FTL 1.6.1+)%n", randomNative));
+        out.append(String.format("AE Content:             %5s%n", (dlcEnabled ? "Enabled" : "Disabled")));
+        out.append(String.format("Ship Name:              %s%n", playerShipName));
+        out.append(String.format("Ship Type:              %s%n", playerShipBlueprintId));
+        out.append(String.format("Difficulty:             %s%n", difficulty.toString()));
+        out.append(String.format("Sector:                 %5d (%d)%n", sectorNumber, sectorNumber + 1));
+        out.append(String.format("Beta?:                  %5d (Always 0?)%n", unknownBeta));
+        out.append(String.format("Total Ships Defeated:   %5d%n", totalShipsDefeated));
+        out.append(String.format("Total Beacons Explored: %5d%n", totalBeaconsExplored));
+        out.append(String.format("Total Scrap Collected:  %5d%n", totalScrapCollected));
+        out.append(String.format("Total Crew Hired:       %5d%n", totalCrewHired));
+
+        out.append("\nState Vars...\n");
         for (Map.Entry<String, Integer> entry : stateVars.entrySet()) {
-            result.append(String.format("%-16s %4d%n", entry.getKey() + ":", entry.getValue()));
+            out.append(String.format("%-16s %4d%n", entry.getKey() + ":", entry.getValue()));
         }
 
-        result.append("\nPlayer Ship...\n");
+        out.append("\nPlayer Ship...\n");
         if (playerShipState != null)
-            result.append(playerShipState.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(playerShipState);
 
-        result.append("\nCargo...\n");
+        out.append("\nCargo...\n");
         for (String cargoItemId : cargoIdList) {
-            result.append(String.format("CargoItemId: %s%n", cargoItemId));
+            out.append(String.format("CargoItemId: %s%n", cargoItemId));
         }
 
-        result.append("\nSector Data...\n");
-        result.append(String.format("Sector Tree Seed:    %5d%n", sectorTreeSeed));
-        result.append(String.format("Sector Layout Seed:  %5d%n", sectorLayoutSeed));
-        result.append(String.format("Rebel Fleet Offset:  %5d%n", rebelFleetOffset));
-        result.append(String.format("Rebel Fleet Fudge:   %5d%n", rebelFleetFudge));
-        result.append(String.format("Rebel Pursuit Mod:   %5d%n", rebelPursuitMod));
-        result.append(String.format("Player BeaconId:     %5d%n", currentBeaconId));
-        result.append(String.format("Waiting:             %5b%n", waiting));
-        result.append(String.format("Wait Event Seed:     %5d%n", waitEventSeed));
-        result.append(String.format("Epsilon?:            %s%n", unknownEpsilon));
-        result.append(String.format("Sector Hazards Map:  %5b%n", sectorHazardsVisible));
-        result.append(String.format("In Hidden Sector:    %5b%n", sectorIsHiddenCrystalWorlds));
-        result.append("\n");
-        result.append(String.format("Flagship Visible:    %5b%n", rebelFlagshipVisible));
-        result.append(String.format("Flagship Nth Hop:    %5d%n", rebelFlagshipHop));
-        result.append(String.format("Flagship Moving:     %5b%n", rebelFlagshipMoving));
-        result.append(String.format("Flagship Retreating: %5b%n", rebelFlagshipRetreating));
-        result.append(String.format("Flagship Base Turns: %5d%n", rebelFlagshipBaseTurns));
-
-        result.append("\nSector Tree Breadcrumbs...\n");
+        out.append("\nSector Data...\n");
+        out.append(String.format("Sector Tree Seed:    %5d%n", sectorTreeSeed));
+        out.append(String.format("Sector Layout Seed:  %5d%n", sectorLayoutSeed));
+        out.append(String.format("Rebel Fleet Offset:  %5d%n", rebelFleetOffset));
+        out.append(String.format("Rebel Fleet Fudge:   %5d%n", rebelFleetFudge));
+        out.append(String.format("Rebel Pursuit Mod:   %5d%n", rebelPursuitMod));
+        out.append(String.format("Player BeaconId:     %5d%n", currentBeaconId));
+        out.append(String.format("Waiting:             %5b%n", waiting));
+        out.append(String.format("Wait Event Seed:     %5d%n", waitEventSeed));
+        out.append(String.format("Epsilon?:            %s%n", unknownEpsilon));
+        out.append(String.format("Sector Hazards Map:  %5b%n", sectorHazardsVisible));
+        out.append(String.format("In Hidden Sector:    %5b%n", sectorIsHiddenCrystalWorlds));
+        out.append("\n");
+        out.append(String.format("Flagship Visible:    %5b%n", rebelFlagshipVisible));
+        out.append(String.format("Flagship Nth Hop:    %5d%n", rebelFlagshipHop));
+        out.append(String.format("Flagship Moving:     %5b%n", rebelFlagshipMoving));
+        out.append(String.format("Flagship Retreating: %5b%n", rebelFlagshipRetreating));
+        out.append(String.format("Flagship Base Turns: %5d%n", rebelFlagshipBaseTurns));
+
+        out.append("\nSector Tree Breadcrumbs...\n");
         first = true;
         for (Boolean b : sectorVisitationList) {
             if (first) {
                 first = false;
             } else {
-                result.append(",");
+                out.append(",");
             }
-            result.append((b ? "T" : "F"));
+            out.append((b ? "T" : "F"));
         }
-        result.append("\n");
+        out.append("\n");
 
-        result.append("\nSector Beacons...\n");
+        out.append("\nSector Beacons...\n");
         int beaconId = 0;
         first = true;
         for (BeaconState beacon : beaconList) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(String.format("BeaconId: %2d%n", beaconId++));
-            result.append(beacon.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.append(String.format("BeaconId: %2d%n", beaconId++));
+            out.appendChild(beacon);
         }
 
-        result.append("\nQuests...\n");
+        out.append("\nQuests...\n");
         for (Map.Entry<String, Integer> entry : questEventMap.entrySet()) {
             String questEventId = entry.getKey();
             int questBeaconId = entry.getValue();
-            result.append(String.format("QuestEventId: %s, BeaconId: %d%n", questEventId, questBeaconId));
+            out.append(String.format("QuestEventId: %s, BeaconId: %d%n", questEventId, questBeaconId));
         }
 
-        result.append("\nNext Sector Quests...\n");
+        out.append("\nNext Sector Quests...\n");
         for (String questEventId : distantQuestEventList) {
-            result.append(String.format("QuestEventId: %s%n", questEventId));
+            out.append(String.format("QuestEventId: %s%n", questEventId));
         }
 
-        result.append("\n");
-        result.append(String.format("Mu?:                %5d%n", unknownMu));
+        out.append("\n");
+        out.append(String.format("Mu?:                %5d%n", unknownMu));
 
-        result.append("\nCurrent Encounter...\n");
+        out.append("\nCurrent Encounter...\n");
         if (encounter != null) {
-            result.append(encounter.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(encounter);
         }
 
-        result.append("\n");
-        result.append(String.format("Flagship Nearby:    %5b (Only set when a nearby ship is present)%n", rebelFlagshipNearby));
+        out.append("\n");
+        out.append(String.format("Flagship Nearby:    %5b (Only set when a nearby ship is present)%n", rebelFlagshipNearby));
 
-        result.append("\nNearby Ship...\n");
+        out.append("\nNearby Ship...\n");
         if (nearbyShipState != null) {
-            result.append(nearbyShipState.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(nearbyShipState);
         }
 
-        result.append("\nNearby Ship AI...\n");
+        out.append("\nNearby Ship AI...\n");
         if (nearbyShipAI != null) {
-            result.append(nearbyShipAI.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(nearbyShipAI);
         }
 
-        result.append("\nEnvironment Hazards...\n");
+        out.append("\nEnvironment Hazards...\n");
         if (environment != null) {
-            result.append(environment.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(environment);
         }
 
-        result.append("\nProjectiles...\n");
+        out.append("\nProjectiles...\n");
         int projectileIndex = 0;
         first = true;
         for (ProjectileState projectile : projectileList) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(String.format("Projectile # %2d:%n", projectileIndex++));
-            result.append(projectile.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.append(String.format("Projectile # %2d:%n", projectileIndex++));
+            out.appendChild(projectile);
         }
 
-        result.append("\n");
-        result.append(String.format("Nu?:          %11d (Player Ship)%n", unknownNu));
-        result.append(String.format("Xi?:          %11s (Nearby Ship)%n", (unknownXi != null ? unknownXi.intValue() : "N/A")));
-        result.append(String.format("Autofire:           %5b%n", autofire));
+        out.append("\n");
+        out.append(String.format("Nu?:          %11d (Player Ship)%n", unknownNu));
+        out.append(String.format("Xi?:          %11s (Nearby Ship)%n", (unknownXi != null ? unknownXi.intValue() : "N/A")));
+        out.append(String.format("Autofire:           %5b%n", autofire));
 
-        result.append("\nRebel Flagship...\n");
+        out.append("\nRebel Flagship...\n");
         if (rebelFlagshipState != null) {
-            result.append(rebelFlagshipState.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(rebelFlagshipState);
         }
 
-        result.append("\nMystery Bytes...\n");
+        out.append("\nMystery Bytes...\n");
         first = true;
         for (MysteryBytes m : mysteryList) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(m.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(m);
+        }
+
+        if (fileIndex != null) {
+            out.append("\nFile Sections...\n");
+            out.appendChild(fileIndex);
         }
 
         // ...
-        return result.toString();
     }
 }
\ No newline at end of file
@@ -5,6 +5,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 import net.blerf.ftl.model.XYPair;
 import net.blerf.ftl.model.shiplayout.DoorCoordinate;
 import net.blerf.ftl.model.shiplayout.ShipLayout;
@@ -19,7 +21,7 @@ import net.blerf.ftl.xml.ship.ShipBlueprint;
 import net.blerf.ftl.xml.ship.SystemList;
 import net.blerf.ftl.xml.ship.SystemRoom;
 
-public class ShipState {
+public class ShipState implements Dumpable {
     private String shipName;
     private String shipBlueprintId;
     private String shipLayoutId;
@@ -657,6 +659,11 @@ public class ShipState {
 
     @Override
     public String toString() {
+        return DumpWriter.toString(this);
+    }
+
+    @Override
+    public void dump(DumpWriter out) {
         // The blueprint fetching might vary if auto == true.
         // See "autoBlueprints.xml" vs "blueprints.xml".
         ShipBlueprint shipBlueprint = DataManager.get().getShip(shipBlueprintId);
@@ -666,179 +673,176 @@ public class ShipState {
         if (shipLayout == null)
             throw new RuntimeException(String.format("Could not find layout for%s ship: %s", (auto ? " auto" : ""), shipName));
 
-        StringBuilder result = new StringBuilder();
         boolean first = true;
-        result.append(String.format("Ship Name:    %s%n", shipName));
-        result.append(String.format("Ship Type:    %s%n", shipBlueprintId));
-        result.append(String.format("Ship Layout:  %s%n", shipLayoutId));
-        result.append(String.format("Gfx BaseName: %s%n", shipGfxBaseName));
-
-        result.append("\nSupplies...\n");
-        result.append(String.format("Hull:        %3d%n", hullAmt));
-        result.append(String.format("Fuel:        %3d%n", fuelAmt));
-        result.append(String.format("Drone Parts: %3d%n", dronePartsAmt));
-        result.append(String.format("Missiles:    %3d%n", missilesAmt));
-        result.append(String.format("Scrap:       %3d%n", scrapAmt));
-        result.append("\n");
-        result.append(String.format("Hostile:           %7b%n", hostile));
-        result.append(String.format("Jump Charge Ticks: %7d (85000 is fully charged)%n", jumpChargeTicks));
-        result.append(String.format("Jumping:           %7b%n", jumping));
-        result.append(String.format("Jump Anim Ticks:   %7d (0=Normal to 2000=Gone)%n", jumpAnimTicks));
-
-        result.append("\nStarting Crew...\n");
+        out.append(String.format("Ship Name:    %s%n", shipName));
+        out.append(String.format("Ship Type:    %s%n", shipBlueprintId));
+        out.append(String.format("Ship Layout:  %s%n", shipLayoutId));
+        out.append(String.format("Gfx BaseName: %s%n", shipGfxBaseName));
+
+        out.append("\nSupplies...\n");
+        out.append(String.format("Hull:        %3d%n", hullAmt));
+        out.append(String.format("Fuel:        %3d%n", fuelAmt));
+        out.append(String.format("Drone Parts: %3d%n", dronePartsAmt));
+        out.append(String.format("Missiles:    %3d%n", missilesAmt));
+        out.append(String.format("Scrap:       %3d%n", scrapAmt));
+        out.append("\n");
+        out.append(String.format("Hostile:           %7b%n", hostile));
+        out.append(String.format("Jump Charge Ticks: %7d (85000 is fully charged)%n", jumpChargeTicks));
+        out.append(String.format("Jumping:           %7b%n", jumping));
+        out.append(String.format("Jump Anim Ticks:   %7d (0=Normal to 2000=Gone)%n", jumpAnimTicks));
+
+        out.append("\nStarting Crew...\n");
         first = true;
         for (StartingCrewState sc : startingCrewList) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(sc.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(sc);
         }
 
-        result.append("\nCurrent Crew...\n");
+        out.append("\nCurrent Crew...\n");
         first = true;
         for (CrewState c : crewList) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(c.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(c);
         }
 
-        result.append("\nSystems...\n");
-        result.append(String.format("  Reserve Power Capacity: %2d%n", reservePowerCapacity));
-        result.append("\n");
+        out.append("\nSystems...\n");
+        out.append(String.format("  Reserve Power Capacity: %2d%n", reservePowerCapacity));
+        out.append("\n");
         first = true;
         for (Map.Entry<SystemType, List<SystemState>> entry : systemsMap.entrySet()) {
             for (SystemState s : entry.getValue()) {
                 if (first) {
                     first = false;
                 } else {
-                    result.append(",\n");
+                    out.append(",\n");
                 }
-                result.append(s.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+                out.appendChild(s);
             }
         }
 
-        result.append("\nExtended System Info...\n");
+        out.append("\nExtended System Info...\n");
         first = true;
         for (ExtendedSystemInfo info : extendedSystemInfoList) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(info.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(info);
         }
 
-        result.append("\nRooms...\n");
+        out.append("\nRooms...\n");
         first = true;
         for (ListIterator<RoomState> it = roomList.listIterator(); it.hasNext(); ) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
             int roomId = it.nextIndex();
 
             SystemType systemType = blueprintSystems.getSystemTypeByRoomId(roomId);
             String systemId = (systemType != null) ? systemType.getId() : "empty";
 
-            result.append(String.format("Room Id: %2d (%s)%n", roomId, systemId));
-            result.append(it.next().toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.append(String.format("Room Id: %2d (%s)%n", roomId, systemId));
+            out.appendChild(it.next());
         }
 
-        result.append("\nHull Breaches...\n");
+        out.append("\nHull Breaches...\n");
         int breachId = -1;
         first = true;
         for (Map.Entry<XYPair, Integer> entry : breachMap.entrySet()) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
 
             XYPair breachCoord = entry.getKey();
             int breachHealth = entry.getValue();
 
-            result.append(String.format("BreachId: %2d, Raw Coords: %2d,%2d (-Layout Offset: %2d,%2d)%n", ++breachId, breachCoord.x, breachCoord.y, breachCoord.x - shipLayout.getOffsetX(), breachCoord.y - shipLayout.getOffsetY()));
-            result.append(String.format("  Breach HP: %3d%n", breachHealth));
+            out.append(String.format("BreachId: %2d, Raw Coords: %2d,%2d (-Layout Offset: %2d,%2d)%n", ++breachId, breachCoord.x, breachCoord.y, breachCoord.x - shipLayout.getOffsetX(), breachCoord.y - shipLayout.getOffsetY()));
+            out.append(String.format("  Breach HP: %3d%n", breachHealth));
         }
 
-        result.append("\nDoors...\n");
+        out.append("\nDoors...\n");
         int doorId = -1;
         first = true;
         for (Map.Entry<DoorCoordinate, DoorState> entry : doorMap.entrySet()) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
 
             DoorCoordinate doorCoord = entry.getKey();
             DoorState d = entry.getValue();
             String orientation = (doorCoord.v == 1) ? "V" : "H";
 
-            result.append(String.format("DoorId: %2d (%2d,%2d,%2s)%n", ++doorId, doorCoord.x, doorCoord.y, orientation));
-            result.append(d.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.append(String.format("DoorId: %2d (%2d,%2d,%2s)%n", ++doorId, doorCoord.x, doorCoord.y, orientation));
+            out.appendChild(d);
         }
 
-        result.append(String.format("%nCloak Anim Ticks:  %3d (0=Uncloaked to 500=Cloaked)%n", cloakAnimTicks));
+        out.append(String.format("%nCloak Anim Ticks:  %3d (0=Uncloaked to 500=Cloaked)%n", cloakAnimTicks));
 
-        result.append("\nLockdown Crystals...\n");
+        out.append("\nLockdown Crystals...\n");
         first = true;
         for (LockdownCrystal c : lockdownCrystalList) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(c.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(c);
         }
 
-        result.append("\nWeapons...\n");
+        out.append("\nWeapons...\n");
         first = true;
         for (WeaponState w : weaponList) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(w.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(w);
         }
 
-        result.append("\nDrones...\n");
+        out.append("\nDrones...\n");
         first = true;
         for (DroneState d : droneList) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(d.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(d);
         }
 
 
-        result.append("\nStandalone Drones... (Surge)\n");
+        out.append("\nStandalone Drones... (Surge)\n");
         int standaloneDroneIndex = 0;
         first = true;
         for (StandaloneDroneState standaloneDrone : standaloneDroneList) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(String.format("Surge Drone # %2d:%n", standaloneDroneIndex++));
-            result.append(standaloneDrone.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.append(String.format("Surge Drone # %2d:%n", standaloneDroneIndex++));
+            out.appendChild(standaloneDrone);
         }
 
-        result.append("\nAugments...\n");
+        out.append("\nAugments...\n");
         for (String augmentId : augmentIdList) {
-            result.append(String.format("AugmentId: %s%n", augmentId));
+            out.append(String.format("AugmentId: %s%n", augmentId));
         }
-
-        return result.toString();
     }
 }
@@ -3,11 +3,13 @@ package net.blerf.ftl.model.state;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 
 @Getter
 @Setter
 @NoArgsConstructor
-public class StandaloneDroneState {
+public class StandaloneDroneState implements Dumpable {
     private String droneId = null;
     private DronePodState dronePod = null;
     private int unknownAlpha = 0;
@@ -16,12 +18,17 @@ public class StandaloneDroneState {
 
     @Override
     public String toString() {
-        return String.format("DroneId:           %s%n", droneId) +
-                "\nDrone Pod...\n" +
-                dronePod.toString().replaceAll("(^|\n)(.+)", "$1  $2") +
-                "\n" +
-                String.format("Alpha?:            %3d%n", unknownAlpha) +
-                String.format("Beta?:             %3d%n", unknownBeta) +
-                String.format("Gamma?:            %3d%n", unknownGamma);
+        return DumpWriter.toString(this);
+    }
+
+    @Override
+    public void dump(DumpWriter out) {
+        out.append(String.format("DroneId:           %s%n", droneId));
+        out.append("\nDrone Pod...\n");
+        out.appendChild(dronePod);
+        out.append("\n");
+        out.append(String.format("Alpha?:            %3d%n", unknownAlpha));
+        out.append(String.format("Beta?:             %3d%n", unknownBeta));
+        out.append(String.format("Gamma?:            %3d%n", unknownGamma));
     }
 }
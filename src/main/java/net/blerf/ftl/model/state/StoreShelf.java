@@ -5,6 +5,8 @@ import java.util.List;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 import net.blerf.ftl.model.type.StoreItemType;
 
 /**
@@ -14,7 +16,7 @@ import net.blerf.ftl.model.type.StoreItemType;
 @Getter
 @Setter
 @NoArgsConstructor
-public class StoreShelf {
+public class StoreShelf implements Dumpable {
     private StoreItemType itemType = StoreItemType.WEAPON;
     private final List<StoreItem> items = new ArrayList<>();
 
@@ -38,19 +40,21 @@ public class StoreShelf {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
+        return DumpWriter.toString(this);
+    }
+
+    @Override
+    public void dump(DumpWriter out) {
         boolean first = true;
 
-        result.append(String.format("Item Type: %s%n", itemType));
+        out.append(String.format("Item Type: %s%n", itemType));
         for (StoreItem item : items) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(item.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(item);
         }
-
-        return result.toString();
     }
 }
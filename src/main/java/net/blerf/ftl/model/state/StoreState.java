@@ -5,6 +5,8 @@ import java.util.List;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 
 /**
  * A store, which contains supplies and item shelves of various types.
@@ -21,7 +23,7 @@ import lombok.Setter;
 @Getter
 @Setter
 @NoArgsConstructor
-public class StoreState {
+public class StoreState implements Dumpable {
     private int fuel = 0;
     private int missiles = 0;
     private int droneParts = 0;
@@ -48,17 +50,18 @@ public class StoreState {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
+        return DumpWriter.toString(this);
+    }
 
-        result.append(String.format("Fuel:        %2d%n", fuel));
-        result.append(String.format("Missiles:    %2d%n", missiles));
-        result.append(String.format("Drone Parts: %2d%n", droneParts));
+    @Override
+    public void dump(DumpWriter out) {
+        out.append(String.format("Fuel:        %2d%n", fuel));
+        out.append(String.format("Missiles:    %2d%n", missiles));
+        out.append(String.format("Drone Parts: %2d%n", droneParts));
 
         for (int i = 0; i < shelfList.size(); i++) {
-            result.append(String.format("%nShelf %d...%n", i));
-            result.append(shelfList.get(i).toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.append(String.format("%nShelf %d...%n", i));
+            out.appendChild(shelfList.get(i));
         }
-
-        return result.toString();
     }
 }
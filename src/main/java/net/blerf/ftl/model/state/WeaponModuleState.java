@@ -2,9 +2,11 @@ package net.blerf.ftl.model.state;
 
 import java.util.ArrayList;
 import java.util.List;
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 import net.blerf.ftl.model.XYPair;
 
-public class WeaponModuleState {
+public class WeaponModuleState implements Dumpable {
     private int cooldownTicks = 0;
     private int cooldownTicksGoal = 0;
     private int subcooldownTicks = 0;
@@ -432,78 +434,80 @@ public class WeaponModuleState {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
+        return DumpWriter.toString(this);
+    }
+
+    @Override
+    public void dump(DumpWriter out) {
         boolean first = true;
 
-        result.append(String.format("Cooldown Ticks:          %7d%n", cooldownTicks));
-        result.append(String.format("Cooldown Goal:           %7d%n", cooldownTicksGoal));
-        result.append(String.format("Subcooldown Ticks?:      %7d%n", subcooldownTicks));
-        result.append(String.format("Subcooldown Ticks Goal?: %7d%n", subcooldownTicksGoal));
-        result.append(String.format("Boost:                   %7d%n", boost));
-        result.append(String.format("Charge:                  %7d%n", charge));
+        out.append(String.format("Cooldown Ticks:          %7d%n", cooldownTicks));
+        out.append(String.format("Cooldown Goal:           %7d%n", cooldownTicksGoal));
+        out.append(String.format("Subcooldown Ticks?:      %7d%n", subcooldownTicks));
+        out.append(String.format("Subcooldown Ticks Goal?: %7d%n", subcooldownTicksGoal));
+        out.append(String.format("Boost:                   %7d%n", boost));
+        out.append(String.format("Charge:                  %7d%n", charge));
 
-        result.append("\nCurrent Targets?... (Reticle Coords)\n");
+        out.append("\nCurrent Targets?... (Reticle Coords)\n");
         first = true;
         for (XYPair target : currentTargets) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(String.format("  X,Y: %3d,%3d%n", target.x, target.y));
+            out.append(String.format("  X,Y: %3d,%3d%n", target.x, target.y));
         }
 
-        result.append("\nPrevious Targets?... (Reticle Coords)\n");
+        out.append("\nPrevious Targets?... (Reticle Coords)\n");
         first = true;
         for (XYPair target : prevTargets) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(String.format("  X,Y: %3d,%3d%n", target.x, target.y));
+            out.append(String.format("  X,Y: %3d,%3d%n", target.x, target.y));
         }
 
-        result.append("\n");
+        out.append("\n");
 
-        result.append(String.format("Autofire:                %7b%n", autofire));
-        result.append(String.format("Fire When Ready?:        %7b%n", fireWhenReady));
-        result.append(String.format("Target Id?:              %7d%n", targetId));
+        out.append(String.format("Autofire:                %7b%n", autofire));
+        out.append(String.format("Fire When Ready?:        %7b%n", fireWhenReady));
+        out.append(String.format("Target Id?:              %7d%n", targetId));
 
-        result.append("\nWeapon Anim...\n");
+        out.append("\nWeapon Anim...\n");
         if (weaponAnim != null) {
-            result.append(weaponAnim.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(weaponAnim);
         }
 
-        result.append("\n");
+        out.append("\n");
 
-        result.append(String.format("Protract Anim Ticks:     %7d (0=Retracted or 1000=Protracted)%n", protractAnimTicks));
-        result.append(String.format("Firing:                  %7b%n", firing));
-        result.append(String.format("Phi?:                    %7b%n", unknownPhi));
-        result.append(String.format("Anim Charge:             %7d (Caches charge while firing to use in chargeAnim)%n", animCharge));
+        out.append(String.format("Protract Anim Ticks:     %7d (0=Retracted or 1000=Protracted)%n", protractAnimTicks));
+        out.append(String.format("Firing:                  %7b%n", firing));
+        out.append(String.format("Phi?:                    %7b%n", unknownPhi));
+        out.append(String.format("Anim Charge:             %7d (Caches charge while firing to use in chargeAnim)%n", animCharge));
 
-        result.append("\nCharge Anim?...\n");
+        out.append("\nCharge Anim?...\n");
         if (chargeAnim != null) {
-            result.append(chargeAnim.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(chargeAnim);
         }
 
-        result.append("\n");
+        out.append("\n");
 
-        result.append(String.format("Last Projectile Id?:     %7d%n", lastProjectileId));
+        out.append(String.format("Last Projectile Id?:     %7d%n", lastProjectileId));
 
-        result.append("\nPending Projectiles... (Queued before firing)\n");
+        out.append("\nPending Projectiles... (Queued before firing)\n");
         int projectileIndex = 0;
         first = true;
         for (ProjectileState projectile : pendingProjectiles) {
             if (first) {
                 first = false;
             } else {
-                result.append(",\n");
+                out.append(",\n");
             }
-            result.append(String.format("Projectile # %2d:%n", projectileIndex++));
-            result.append(projectile.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.append(String.format("Projectile # %2d:%n", projectileIndex++));
+            out.appendChild(projectile);
         }
-
-        return result.toString();
     }
 }
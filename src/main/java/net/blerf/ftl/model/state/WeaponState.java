@@ -3,6 +3,8 @@ package net.blerf.ftl.model.state;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 import net.blerf.ftl.parser.DataManager;
 import net.blerf.ftl.xml.WeaponBlueprint;
 
@@ -16,7 +18,7 @@ import net.blerf.ftl.xml.WeaponBlueprint;
 @Getter
 @Setter
 @NoArgsConstructor
-public class WeaponState {
+public class WeaponState implements Dumpable {
     private String weaponId = null;
     private boolean armed = false;
     private int cooldownTicks = 0;
@@ -88,20 +90,21 @@ public class WeaponState {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
+        return DumpWriter.toString(this);
+    }
 
+    @Override
+    public void dump(DumpWriter out) {
         WeaponBlueprint weaponBlueprint = DataManager.get().getWeapon(weaponId);
         String cooldownString = (weaponBlueprint != null ? weaponBlueprint.getCooldown() + "" : "?");
 
-        result.append(String.format("WeaponId:       %s%n", weaponId));
-        result.append(String.format("Armed:          %b%n", armed));
-        result.append(String.format("Cooldown Ticks: %2d (max: %2s) (Not used as of FTL 1.5.4)%n", cooldownTicks, cooldownString));
+        out.append(String.format("WeaponId:       %s%n", weaponId));
+        out.append(String.format("Armed:          %b%n", armed));
+        out.append(String.format("Cooldown Ticks: %2d (max: %2s) (Not used as of FTL 1.5.4)%n", cooldownTicks, cooldownString));
 
-        result.append("\nWeapon Module...\n");
+        out.append("\nWeapon Module...\n");
         if (weaponModule != null) {
-            result.append(weaponModule.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(weaponModule);
         }
-
-        return result.toString();
     }
 }
@@ -1,9 +1,11 @@
 package net.blerf.ftl.model.systeminfo;
 
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 import net.blerf.ftl.model.state.WeaponModuleState;
 import net.blerf.ftl.model.type.SystemType;
 
-public class ArtilleryInfo extends ExtendedSystemInfo {
+public class ArtilleryInfo extends ExtendedSystemInfo implements Dumpable {
     private WeaponModuleState weaponMod = null;
 
 
@@ -53,15 +55,16 @@ public class ArtilleryInfo extends ExtendedSystemInfo {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
+        return DumpWriter.toString(this);
+    }
 
-        result.append(String.format("SystemId:                 %s%n", SystemType.ARTILLERY.getId()));
+    @Override
+    public void dump(DumpWriter out) {
+        out.append(String.format("SystemId:                 %s%n", SystemType.ARTILLERY.getId()));
 
-        result.append("\nWeapon Module...\n");
+        out.append("\nWeapon Module...\n");
         if (weaponMod != null) {
-            result.append(weaponMod.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(weaponMod);
         }
-
-        return result.toString();
     }
 }
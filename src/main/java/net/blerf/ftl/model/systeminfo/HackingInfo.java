@@ -1,5 +1,7 @@
 package net.blerf.ftl.model.systeminfo;
 
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 import net.blerf.ftl.model.state.DoorState;
 import net.blerf.ftl.model.state.DronePodState;
 import net.blerf.ftl.model.state.SystemState;
@@ -12,7 +14,7 @@ import net.blerf.ftl.model.type.SystemType;
  * @see SystemState#setHacked(boolean)
  * @see SystemState#setHackLevel(int)
  */
-public class HackingInfo extends ExtendedSystemInfo {
+public class HackingInfo extends ExtendedSystemInfo implements Dumpable {
     private SystemType targetSystemType = null;
     private int unknownBeta = 0;
     private boolean dronePodVisible = false;
@@ -264,26 +266,28 @@ public class HackingInfo extends ExtendedSystemInfo {
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
+        return DumpWriter.toString(this);
+    }
+
+    @Override
+    public void dump(DumpWriter out) {
         boolean first = true;
 
-        result.append(String.format("SystemId:                 %s%n", SystemType.HACKING.getId()));
-        result.append(String.format("Target SystemId:          %s%n", (targetSystemType != null ? targetSystemType.getId() : "N/A")));
-        result.append(String.format("Beta?:                  %7d%n", unknownBeta));
-        result.append(String.format("Drone Pod Visible:      %7b%n", dronePodVisible));
-        result.append(String.format("Delta?:                 %7d%n", unknownDelta));
-        result.append(String.format("Epsilon?:               %7d%n", unknownEpsilon));
-        result.append(String.format("Zeta?:                  %7d%n", unknownZeta));
-        result.append(String.format("Eta?:                   %7d%n", unknownEta));
-        result.append(String.format("Disruption Ticks:       %7d%n", disruptionTicks));
-        result.append(String.format("Disruption Ticks Goal:  %7d%n", disruptionTicksGoal));
-        result.append(String.format("Disrupting:             %7b%n", disrupting));
-
-        result.append("\nDrone Pod...\n");
+        out.append(String.format("SystemId:                 %s%n", SystemType.HACKING.getId()));
+        out.append(String.format("Target SystemId:          %s%n", (targetSystemType != null ? targetSystemType.getId() : "N/A")));
+        out.append(String.format("Beta?:                  %7d%n", unknownBeta));
+        out.append(String.format("Drone Pod Visible:      %7b%n", dronePodVisible));
+        out.append(String.format("Delta?:                 %7d%n", unknownDelta));
+        out.append(String.format("Epsilon?:               %7d%n", unknownEpsilon));
+        out.append(String.format("Zeta?:                  %7d%n", unknownZeta));
+        out.append(String.format("Eta?:                   %7d%n", unknownEta));
+        out.append(String.format("Disruption Ticks:       %7d%n", disruptionTicks));
+        out.append(String.format("Disruption Ticks Goal:  %7d%n", disruptionTicksGoal));
+        out.append(String.format("Disrupting:             %7b%n", disrupting));
+
+        out.append("\nDrone Pod...\n");
         if (dronePod != null) {
-            result.append(dronePod.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+            out.appendChild(dronePod);
         }
-
-        return result.toString();
     }
 }
@@ -0,0 +1,136 @@
+package net.blerf.ftl.parser;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Replaces a file's content without ever leaving it half-written.
+ * <p>
+ * Content goes to a temp file in the same directory, which is then renamed
+ * over the destination. If anything fails before the rename, including the
+ * JVM dying, the original file is untouched.
+ * <p>
+ * Where the file system has POSIX attributes, the temp file is given the
+ * original's permissions, owner, and group first, so replacing a file
+ * doesn't change who can read it.
+ */
+@Slf4j
+public final class AtomicFileWriter {
+
+    private AtomicFileWriter() {
+    }
+
+    /**
+     * Something that writes a file's new content.
+     */
+    public interface ContentWriter {
+
+        /**
+         * Writes the complete content to a temp file's channel.
+         * <p>
+         * The destination file is still intact at this point, and may be
+         * read from.
+         */
+        void writeTo(FileChannel channel) throws IOException;
+    }
+
+    /**
+     * Writes content to a file.
+     *
+     * @param dstFile the file to create or replace
+     * @param content the complete new content
+     * @param bakFile if not null and dstFile exists, a copy of the old
+     *                content is left here first
+     */
+    public static void write(File dstFile, final ByteBufferOutputStream content, File bakFile) throws IOException {
+        write(dstFile, new ContentWriter() {
+            @Override
+            public void writeTo(FileChannel channel) throws IOException {
+                content.writeTo(channel);
+            }
+        }, bakFile);
+    }
+
+    /**
+     * Writes content to a file, as it's generated.
+     *
+     * @param dstFile the file to create or replace
+     * @param content writes the complete new content
+     * @param bakFile if not null and dstFile exists, a copy of the old
+     *                content is left here first
+     */
+    public static void write(File dstFile, ContentWriter content, File bakFile) throws IOException {
+        File dstDir = dstFile.getAbsoluteFile().getParentFile();
+
+        if (bakFile != null && dstFile.exists()) {
+            try {
+                Files.copy(dstFile.toPath(), bakFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                log.info("Existing file was backed up: {}", bakFile.getName());
+            } catch (IOException e) {
+                // The original stays put either way.
+                log.warn("Could not back up the existing file: {}", dstFile.getName(), e);
+            }
+        }
+
+        File tmpFile = File.createTempFile(dstFile.getName() + ".", ".tmp", dstDir);
+        boolean moved = false;
+        try {
+            if (dstFile.exists()) copyPosixAttributes(dstFile.toPath(), tmpFile.toPath());
+
+            FileOutputStream out = new FileOutputStream(tmpFile);
+            try {
+                FileChannel channel = out.getChannel();
+                content.writeTo(channel);
+                channel.force(false);
+            } finally {
+                out.close();
+            }
+
+            try {
+                Files.move(tmpFile.toPath(), dstFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                log.debug("Atomic rename is not supported here, replacing {} non-atomically", dstFile.getName());
+                Files.move(tmpFile.toPath(), dstFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            moved = true;
+        } finally {
+            if (!moved && tmpFile.exists() && !tmpFile.delete()) {
+                log.warn("Could not delete the temp file: {}", tmpFile.getAbsolutePath());
+            }
+        }
+    }
+
+    /**
+     * Copies POSIX permissions, owner, and group from one file to another.
+     * <p>
+     * Does nothing on file systems without POSIX attributes. Permissions
+     * must be copied, but only a privileged user can give a file away, so
+     * failing to copy the owner or group is merely logged.
+     */
+    private static void copyPosixAttributes(Path srcPath, Path dstPath) throws IOException {
+        PosixFileAttributeView srcView = Files.getFileAttributeView(srcPath, PosixFileAttributeView.class);
+        PosixFileAttributeView dstView = Files.getFileAttributeView(dstPath, PosixFileAttributeView.class);
+        if (srcView == null || dstView == null) return;
+
+        PosixFileAttributes srcAttrs = srcView.readAttributes();
+        dstView.setPermissions(srcAttrs.permissions());
+
+        PosixFileAttributes dstAttrs = dstView.readAttributes();
+        try {
+            if (!srcAttrs.group().equals(dstAttrs.group())) dstView.setGroup(srcAttrs.group());
+            if (!srcAttrs.owner().equals(dstAttrs.owner())) dstView.setOwner(srcAttrs.owner());
+        } catch (IOException e) {
+            log.warn("Could not keep the owner and group of {}", srcPath.getFileName(), e);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package net.blerf.ftl.parser;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+
+/**
+ * An InputStream over a little-endian ByteBuffer, which knows its position.
+ * <p>
+ * A file can be read into one of these once, then parsed, hex-dumped and
+ * compared against without touching the disk again.
+ * <p>
+ * Parser.readInt() recognizes this class and skips its scratch array.
+ * Like FileInputStream, this can be asked for its offset and how many
+ * bytes remain, for MysteryBytes and sanity checks on string lengths.
+ */
+public class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buf;
+    private int mark = 0;
+
+
+    /**
+     * Constructor.
+     * <p>
+     * The buffer is shared, not copied. Reading starts at its current
+     * position and ends at its limit.
+     */
+    public ByteBufferInputStream(ByteBuffer buf) {
+        this.buf = buf.slice();
+        this.buf.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public ByteBufferInputStream(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Reads an entire file into a new stream.
+     */
+    public static ByteBufferInputStream readFile(File f) throws IOException {
+        return readFile(f, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads the start of a file into a new stream.
+     * <p>
+     * For parsers that can stop early, and retry with the whole file if
+     * the prefix was too short.
+     *
+     * @param maxBytes the most to read; Integer.MAX_VALUE to require the
+     *                 entire file
+     */
+    public static ByteBufferInputStream readFile(File f, int maxBytes) throws IOException {
+        try (FileInputStream in = new FileInputStream(f)) {
+            FileChannel channel = in.getChannel();
+            long size = channel.size();
+            if (maxBytes == Integer.MAX_VALUE && size > Integer.MAX_VALUE) {
+                throw new IOException(String.format("File is too large to buffer (%d bytes): %s", size, f.getName()));
+            }
+            size = Math.min(size, maxBytes);
+
+            ByteBuffer buf = ByteBuffer.allocate((int) size);
+            while (buf.hasRemaining()) {
+                if (channel.read(buf) < 0) {
+                    throw new EOFException(String.format("File shrank while being read: %s", f.getName()));
+                }
+            }
+            buf.flip();
+            return new ByteBufferInputStream(buf);
+        }
+    }
+
+    @Override
+    public int read() {
+        if (!buf.hasRemaining()) return -1;
+        return buf.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (len == 0) return 0;
+        if (!buf.hasRemaining()) return -1;
+
+        int n = Math.min(len, buf.remaining());
+        buf.get(b, off, n);
+        return n;
+    }
+
+    /**
+     * Reads a little-endian int.
+     */
+    public int readInt() throws IOException {
+        if (buf.remaining() < 4) {
+            throw new IOException("End of stream reached before reading enough bytes for an int");
+        }
+        return buf.getInt();
+    }
+
+    @Override
+    public long skip(long n) {
+        int count = (int) Math.max(0, Math.min(n, buf.remaining()));
+        buf.position(buf.position() + count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return buf.remaining();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public void mark(int readlimit) {
+        mark = buf.position();
+    }
+
+    @Override
+    public void reset() {
+        buf.position(mark);
+    }
+
+    /**
+     * Returns the offset of the next byte to be read.
+     */
+    public int position() {
+        return buf.position();
+    }
+
+    /**
+     * Moves to an offset.
+     */
+    public void position(int newPosition) {
+        buf.position(newPosition);
+    }
+
+    /**
+     * Returns the total number of bytes, read or not.
+     */
+    public int size() {
+        return buf.limit();
+    }
+
+    /**
+     * Returns a read-only view of all the bytes, positioned at the start.
+     */
+    public ByteBuffer asReadOnlyBuffer() {
+        ByteBuffer result = buf.asReadOnlyBuffer();
+        result.clear();
+        return result;
+    }
+}
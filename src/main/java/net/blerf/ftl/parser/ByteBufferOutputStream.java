@@ -0,0 +1,118 @@
+package net.blerf.ftl.parser;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+
+
+/**
+ * An OutputStream that collects bytes in a growable little-endian ByteBuffer.
+ * <p>
+ * Parsers encode a whole file into one of these, so that it reaches the
+ * disk in a single sequential write, instead of one write() per int.
+ * <p>
+ * Parser.writeInt() recognizes this class and skips its scratch array.
+ *
+ * @see AtomicFileWriter
+ */
+public class ByteBufferOutputStream extends OutputStream {
+
+    private ByteBuffer buf;
+
+
+    public ByteBufferOutputStream() {
+        this(8192);
+    }
+
+    public ByteBufferOutputStream(int initialCapacity) {
+        buf = ByteBuffer.allocate(Math.max(16, initialCapacity));
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Ensures there's room for another n bytes, doubling as needed.
+     */
+    private void ensureRemaining(int n) {
+        if (buf.remaining() >= n) return;
+
+        int newCapacity = buf.capacity();
+        while (newCapacity - buf.position() < n) {
+            newCapacity *= 2;
+        }
+        ByteBuffer newBuf = ByteBuffer.allocate(newCapacity);
+        newBuf.order(ByteOrder.LITTLE_ENDIAN);
+        buf.flip();
+        newBuf.put(buf);
+        buf = newBuf;
+    }
+
+    @Override
+    public void write(int b) {
+        ensureRemaining(1);
+        buf.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureRemaining(len);
+        buf.put(b, off, len);
+    }
+
+    /**
+     * Writes a little-endian int.
+     */
+    public void writeInt(int value) {
+        ensureRemaining(4);
+        buf.putInt(value);
+    }
+
+    /**
+     * Returns the number of bytes written so far.
+     */
+    public int size() {
+        return buf.position();
+    }
+
+    /**
+     * Discards everything written so far, keeping the allocated capacity.
+     */
+    public void reset() {
+        buf.clear();
+    }
+
+    /**
+     * Returns a read-only view of the bytes written so far.
+     * <p>
+     * The view is invalidated by further writes.
+     */
+    public ByteBuffer asReadOnlyBuffer() {
+        ByteBuffer result = buf.asReadOnlyBuffer();
+        result.flip();
+        return result;
+    }
+
+    public byte[] toByteArray() {
+        byte[] result = new byte[buf.position()];
+        System.arraycopy(buf.array(), buf.arrayOffset(), result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Writes everything to another stream, in one call.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buf.array(), buf.arrayOffset(), buf.position());
+    }
+
+    /**
+     * Writes everything to a channel.
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer view = asReadOnlyBuffer();
+        while (view.hasRemaining()) {
+            channel.write(view);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package net.blerf.ftl.parser;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+
+/**
+ * An OutputStream that checks what's written against expected bytes.
+ * <p>
+ * This verifies that a parsed file re-serializes identically, without
+ * buffering the re-serialized copy. Comparison stops at the first
+ * difference. Later writes are only counted.
+ */
+public class ComparingOutputStream extends OutputStream {
+
+    private final ByteBuffer expected;
+    private long written = 0;
+    private long mismatchOffset = -1;
+
+
+    /**
+     * Constructor.
+     *
+     * @param expected the original bytes, from position 0 to the limit
+     */
+    public ComparingOutputStream(ByteBuffer expected) {
+        this.expected = expected.duplicate();
+        this.expected.clear();
+    }
+
+    @Override
+    public void write(int b) {
+        if (mismatchOffset == -1) {
+            if (written >= expected.limit() || expected.get((int) written) != (byte) b) {
+                mismatchOffset = written;
+            }
+        }
+        written++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (mismatchOffset == -1) {
+            for (int i = 0; i < len; i++) {
+                long n = written + i;
+                if (n >= expected.limit() || expected.get((int) n) != b[off + i]) {
+                    mismatchOffset = n;
+                    break;
+                }
+            }
+        }
+        written += len;
+    }
+
+    /**
+     * Returns the number of bytes written.
+     */
+    public long getWrittenCount() {
+        return written;
+    }
+
+    /**
+     * Returns the offset of the first byte that differed, or -1.
+     * <p>
+     * If everything written matched, but the lengths differ, the result
+     * is the offset where the shorter one ended.
+     */
+    public long getMismatchOffset() {
+        if (mismatchOffset != -1) return mismatchOffset;
+        if (written != expected.limit()) return Math.min(written, expected.limit());
+        return -1;
+    }
+
+    /**
+     * Returns true if everything written so far matched, and the lengths
+     * agree.
+     */
+    public boolean matches() {
+        return (getMismatchOffset() == -1);
+    }
+}
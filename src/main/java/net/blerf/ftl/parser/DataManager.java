@@ -70,6 +70,35 @@ public abstract class DataManager implements Closeable {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Reads any resources that would otherwise be read on first use.
+     * <p>
+     * This may take a while. It's meant to be called from a background
+     * thread, once the UI is up.
+     */
+    public void warmUp() {
+    }
+
+    /**
+     * Returns the interned symbol for a blueprint, event, event list or
+     * text list id, or SymbolTable.NO_SYMBOL.
+     * <p>
+     * Symbols can be passed to the int overloads of getters, to skip
+     * repeated string lookups in inner loops.
+     *
+     * @see SymbolTable
+     */
+    public int getSymbol(String id) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the id a symbol was interned from, or null.
+     */
+    public String getSymbolName(int symbol) {
+        throw new UnsupportedOperationException();
+    }
+
     public Achievement getAchievement(String id) {
         throw new UnsupportedOperationException();
     }
@@ -82,6 +111,10 @@ public abstract class DataManager implements Closeable {
         throw new UnsupportedOperationException();
     }
 
+    public AugBlueprint getAugment(int symbol, boolean dlcEnabled) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * A frontend using the global DLC default.
      */
@@ -104,6 +137,10 @@ public abstract class DataManager implements Closeable {
         throw new UnsupportedOperationException();
     }
 
+    public CrewBlueprint getCrew(int symbol, boolean dlcEnabled) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * A frontend using the global DLC default.
      */
@@ -126,6 +163,10 @@ public abstract class DataManager implements Closeable {
         throw new UnsupportedOperationException();
     }
 
+    public DroneBlueprint getDrone(int symbol, boolean dlcEnabled) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * A frontend using the global DLC default.
      */
@@ -148,6 +189,10 @@ public abstract class DataManager implements Closeable {
         throw new UnsupportedOperationException();
     }
 
+    public SystemBlueprint getSystem(int symbol, boolean dlcEnabled) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * A frontend using the global DLC default.
      */
@@ -159,6 +204,10 @@ public abstract class DataManager implements Closeable {
         throw new UnsupportedOperationException();
     }
 
+    public WeaponBlueprint getWeapon(int symbol, boolean dlcEnabled) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * A frontend using the global DLC default.
      */
@@ -178,6 +227,10 @@ public abstract class DataManager implements Closeable {
         throw new UnsupportedOperationException();
     }
 
+    public ShipBlueprint getShip(int symbol, boolean dlcEnabled) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * A frontend using the global DLC default.
      */
@@ -267,6 +320,10 @@ public abstract class DataManager implements Closeable {
         throw new UnsupportedOperationException();
     }
 
+    public FTLEvent getEventById(int symbol, boolean dlcEnabled) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * A frontend using the global DLC default.
      */
@@ -278,6 +335,10 @@ public abstract class DataManager implements Closeable {
         throw new UnsupportedOperationException();
     }
 
+    public FTLEventList getEventListById(int symbol, boolean dlcEnabled) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * A frontend using the global DLC default.
      */
@@ -289,6 +350,10 @@ public abstract class DataManager implements Closeable {
         throw new UnsupportedOperationException();
     }
 
+    public TextList getTextListById(int symbol, boolean dlcEnabled) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * A frontend using the global DLC default.
      */
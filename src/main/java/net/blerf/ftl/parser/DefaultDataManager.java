@@ -9,7 +9,8 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.xml.bind.JAXBException;
@@ -50,6 +51,8 @@ import org.jdom2.JDOMException;
 @Slf4j
 public class DefaultDataManager extends DataManager {
 
+    private static final Pattern overridePtn = Pattern.compile("^OVERRIDE_(.*)");
+
     private final List<String> stdPlayerShipBaseIds;
     private final List<String> dlcPlayerShipBaseIds;
     private final List<String> stdPlayerShipIds;
@@ -60,35 +63,36 @@ public class DefaultDataManager extends DataManager {
     private final Map<String, Blueprints> stdBlueprintsFileMap;
     private final Map<String, Blueprints> dlcBlueprintsFileMap;
 
-    private final Map<String, Encounters> stdEventsFileMap;
-    private final Map<String, Encounters> dlcEventsFileMap;
-
-    private final Map<String, FTLEvent> stdEventIdMap;
-    private final Map<String, FTLEvent> dlcEventIdMap;
-
-    private final Map<String, FTLEventList> stdEventListIdMap;
-    private final Map<String, FTLEventList> dlcEventListIdMap;
-
-    private final Map<String, TextList> stdTextListIdMap;
-    private final Map<String, TextList> dlcTextListIdMap;
+    // Heavy resources are read on first use, by whichever thread gets there
+    // first. Each group is guarded by its lock, and published once its
+    // volatile flag is set.
 
-    private final Map<String, AugBlueprint> stdAugmentIdMap;
-    private final Map<String, AugBlueprint> dlcAugmentIdMap;
+    private final Object eventsLock = new Object();
+    private volatile boolean eventsLoaded = false;
+    private Map<String, Encounters> stdEventsFileMap;
+    private Map<String, Encounters> dlcEventsFileMap;
+    private Map<String, ShipEvent> stdShipEventIdMap;
+    private Map<String, ShipEvent> dlcShipEventIdMap;
 
-    private final Map<String, CrewBlueprint> stdCrewIdMap;
-    private final Map<String, CrewBlueprint> dlcCrewIdMap;
+    private final Object backgroundImageListsLock = new Object();
+    private volatile boolean backgroundImageListsLoaded = false;
+    private Map<String, BackgroundImageList> backgroundImageListIdMap;
 
-    private final Map<String, DroneBlueprint> stdDroneIdMap;
-    private final Map<String, DroneBlueprint> dlcDroneIdMap;
+    private final Object animationsLock = new Object();
+    private volatile boolean animationsLoaded = false;
 
-    private final Map<String, SystemBlueprint> stdSystemIdMap;
-    private final Map<String, SystemBlueprint> dlcSystemIdMap;
+    private final SymbolTable symbols = new SymbolTable();
 
-    private final Map<String, WeaponBlueprint> stdWeaponIdMap;
-    private final Map<String, WeaponBlueprint> dlcWeaponIdMap;
+    private final Registry<FTLEvent> eventRegistry = new Registry<>(symbols, false);
+    private final Registry<FTLEventList> eventListRegistry = new Registry<>(symbols, false);
+    private final Registry<TextList> textListRegistry = new Registry<>(symbols, false);
 
-    private final Map<String, ShipBlueprint> stdShipIdMap;
-    private final Map<String, ShipBlueprint> dlcShipIdMap;
+    private final Registry<AugBlueprint> augmentRegistry = new Registry<>(symbols, true);
+    private final Registry<CrewBlueprint> crewRegistry = new Registry<>(symbols, true);
+    private final Registry<DroneBlueprint> droneRegistry = new Registry<>(symbols, true);
+    private final Registry<SystemBlueprint> systemRegistry = new Registry<>(symbols, false);
+    private final Registry<WeaponBlueprint> weaponRegistry = new Registry<>(symbols, true);
+    private final Registry<ShipBlueprint> shipRegistry = new Registry<>(symbols, false);
 
     private final Map<String, List<ShipBlueprint>> stdPlayerShipVariantsMap;
     private final Map<String, List<ShipBlueprint>> dlcPlayerShipVariantsMap;
@@ -97,31 +101,24 @@ public class DefaultDataManager extends DataManager {
     private final Map<String, ShipBlueprint> stdAutoShipIdMap;
     private final Map<String, ShipBlueprint> dlcAutoShipIdMap;
 
-    private final Map<String, ShipEvent> stdShipEventIdMap;
-    private final Map<String, ShipEvent> dlcShipEventIdMap;
-
     private final Map<String, Achievement> achievementIdMap;
     private final Map<ShipBlueprint, List<Achievement>> stdShipAchievementIdMap;
     private final Map<ShipBlueprint, List<Achievement>> dlcShipAchievementIdMap;
     private final List<Achievement> generalAchievements;
 
-    private final Map<String, ShipLayout> shipLayoutIdMap;
-    private final Map<String, ShipChassis> shipChassisIdMap;
+    // These'll populate as files are requested.
+    private final ConcurrentMap<String, ShipLayout> shipLayoutIdMap = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ShipChassis> shipChassisIdMap = new ConcurrentHashMap<>();
     private final List<CrewNameList.CrewName> crewNamesMale;
     private final List<CrewNameList.CrewName> crewNamesFemale;
 
     private final Map<String, SectorDescription> sectorDescriptionIdMap;
-    private final Map<String, SectorType> stdSectorTypeIdMap;
-    private final Map<String, SectorType> dlcSectorTypeIdMap;
 
-    private final Map<String, BackgroundImageList> backgroundImageListIdMap;
+    private final Registry<SectorType> sectorTypeRegistry = new Registry<>(symbols, false);
 
-    private final Map<String, AnimSheet> stdAnimSheetIdMap;
-    private final Map<String, AnimSheet> dlcAnimSheetIdMap;
-    private final Map<String, Anim> stdAnimIdMap;
-    private final Map<String, Anim> dlcAnimIdMap;
-    private final Map<String, WeaponAnim> stdWeaponAnimIdMap;
-    private final Map<String, WeaponAnim> dlcWeaponAnimIdMap;
+    private final Registry<AnimSheet> animSheetRegistry = new Registry<>(symbols, false);
+    private final Registry<Anim> animRegistry = new Registry<>(symbols, false);
+    private final Registry<WeaponAnim> weaponAnimRegistry = new Registry<>(symbols, false);
 
     private PackContainer packContainer = null;
 
@@ -232,118 +229,6 @@ public class DefaultDataManager extends DataManager {
                 dlcBlueprintsFileMap.put(blueprintsFileName, tmpBlueprints);
             }
 
-            log.info("Reading Events...");
-
-            List<String> stdEventsFileNames = new ArrayList<>();
-            stdEventsFileNames.add("events.xml");
-            stdEventsFileNames.add("newEvents.xml");
-            stdEventsFileNames.add("events_crystal.xml");
-            stdEventsFileNames.add("events_engi.xml");
-            stdEventsFileNames.add("events_mantis.xml");
-            stdEventsFileNames.add("events_rock.xml");
-            stdEventsFileNames.add("events_slug.xml");
-            stdEventsFileNames.add("events_zoltan.xml");
-            stdEventsFileNames.add("events_nebula.xml");
-            stdEventsFileNames.add("events_pirate.xml");
-            stdEventsFileNames.add("events_rebel.xml");
-            //stdEventsFileNames.add( "nameEvents.xml" );  // Unused ancient experiments.
-            stdEventsFileNames.add("events_fuel.xml");
-            stdEventsFileNames.add("events_boss.xml");
-            stdEventsFileNames.add("events_ships.xml");
-
-            List<String> dlcEventsFileNames = new ArrayList<>();
-            dlcEventsFileNames.add("dlcEvents.xml");
-            dlcEventsFileNames.add("dlcEventsOverwrite.xml");
-            dlcEventsFileNames.add("dlcEvents_anaerobic.xml");
-
-            stdEventsFileMap = new LinkedHashMap<>(stdEventsFileNames.size());
-            dlcEventsFileMap = new LinkedHashMap<>(dlcEventsFileNames.size() + stdEventsFileNames.size());
-            for (String eventsFileName : stdEventsFileNames) {
-                log.debug(String.format("Reading \"data/%s\"...", eventsFileName));
-                InputStream tmpStream = getResourceInputStream("data/" + eventsFileName);
-                streams.add(tmpStream);
-                Encounters tmpEncounters = DatParser.readEvents(tmpStream, eventsFileName, textLookupMap);
-                stdEventsFileMap.put(eventsFileName, tmpEncounters);
-                dlcEventsFileMap.put(eventsFileName, tmpEncounters);
-            }
-
-            for (String eventsFileName : dlcEventsFileNames) {
-                if (!hasResourceInputStream("data/" + eventsFileName)) continue;
-
-                log.debug(String.format("Reading \"data/%s\"...", eventsFileName));
-                InputStream tmpStream = getResourceInputStream("data/" + eventsFileName);
-                streams.add(tmpStream);
-                Encounters tmpEncounters = DatParser.readEvents(tmpStream, eventsFileName, textLookupMap);
-                dlcEventsFileMap.put(eventsFileName, tmpEncounters);
-            }
-
-            final Pattern overridePtn = Pattern.compile("^OVERRIDE_(.*)");
-
-            stdEventIdMap = new LinkedHashMap<>();
-            stdEventListIdMap = new LinkedHashMap<>();
-            stdTextListIdMap = new LinkedHashMap<>();
-
-            for (Map.Entry<String, Encounters> entry : stdEventsFileMap.entrySet()) {
-                Encounters tmpEncounters = entry.getValue();
-                List<FTLEvent> eventList = tmpEncounters.getEvents();
-                for (FTLEvent event : eventList) {
-                    if (overridePtn.matcher(event.getId()).matches()) continue;
-                    stdEventIdMap.put(event.getId(), event);
-                }
-
-                List<FTLEventList> eventListsList = tmpEncounters.getEventLists();
-                for (FTLEventList eventLists : eventListsList) {
-                    if (overridePtn.matcher(eventLists.getId()).matches()) continue;
-                    stdEventListIdMap.put(eventLists.getId(), eventLists);
-                }
-
-                List<TextList> textListsList = tmpEncounters.getTextLists();
-                for (TextList textLists : textListsList) {
-                    if (overridePtn.matcher(textLists.getId()).matches()) continue;
-                    stdTextListIdMap.put(textLists.getId(), textLists);
-                }
-            }
-
-            dlcEventIdMap = new LinkedHashMap<>(stdEventIdMap);
-            dlcEventListIdMap = new LinkedHashMap<>(stdEventListIdMap);
-            dlcTextListIdMap = new LinkedHashMap<>(stdTextListIdMap);
-
-            for (Map.Entry<String, Encounters> entry : dlcEventsFileMap.entrySet()) {
-                Encounters tmpEncounters = entry.getValue();
-                List<FTLEvent> eventList = tmpEncounters.getEvents();
-                for (FTLEvent event : eventList) {
-                    Matcher m = overridePtn.matcher(event.getId());
-                    if (m.matches()) {
-                        String baseId = m.group(1);
-                        dlcEventIdMap.put(baseId, event);
-                    } else {
-                        dlcEventIdMap.put(event.getId(), event);
-                    }
-                }
-
-                List<FTLEventList> eventListsList = tmpEncounters.getEventLists();
-                for (FTLEventList eventLists : eventListsList) {
-                    Matcher m = overridePtn.matcher(eventLists.getId());
-                    if (m.matches()) {
-                        String baseId = m.group(1);
-                        dlcEventListIdMap.put(baseId, eventLists);
-                    } else {
-                        dlcEventListIdMap.put(eventLists.getId(), eventLists);
-                    }
-                }
-
-                List<TextList> textListsList = tmpEncounters.getTextLists();
-                for (TextList textLists : textListsList) {
-                    Matcher m = overridePtn.matcher(textLists.getId());
-                    if (m.matches()) {
-                        String baseId = m.group(1);
-                        dlcTextListIdMap.put(baseId, textLists);
-                    } else {
-                        dlcTextListIdMap.put(textLists.getId(), textLists);
-                    }
-                }
-            }
-
             log.info("Reading Crew Names...");
 
             List<CrewNameList> crewNameLists;
@@ -365,46 +250,20 @@ public class DefaultDataManager extends DataManager {
                 sectorDescriptionIdMap.put(tmpDesc.getId(), tmpDesc);
             }
 
-            stdSectorTypeIdMap = new LinkedHashMap<>();
             for (SectorType tmpType : tmpSectorData.getSectorTypes()) {
                 if (overridePtn.matcher(tmpType.getId()).matches()) continue;
 
-                stdSectorTypeIdMap.put(tmpType.getId(), tmpType);
+                sectorTypeRegistry.putStd(tmpType.getId(), tmpType);
             }
 
-            dlcSectorTypeIdMap = new LinkedHashMap<>(stdSectorTypeIdMap);
             for (SectorType tmpType : tmpSectorData.getSectorTypes()) {
                 Matcher m = overridePtn.matcher(tmpType.getId());
                 if (m.matches()) {
                     String baseId = m.group(1);
-                    dlcSectorTypeIdMap.put(baseId, tmpType);
+                    sectorTypeRegistry.putDlc(baseId, tmpType);
                 }
             }
 
-            log.info("Reading Background Image Lists...");
-
-            List<BackgroundImageList> tmpBgImageLists;
-            log.debug("Reading \"data/events_imageList.xml\"...");
-            InputStream imageListsStream = getResourceInputStream("data/events_imageList.xml");
-            streams.add(imageListsStream);
-            tmpBgImageLists = DatParser.readImageLists(imageListsStream, "events_imageList.xml");
-
-            log.info("Reading Animations...");
-
-            Animations stdAnimations;
-            log.debug("Reading \"data/animations.xml\"...");
-            InputStream stdAnimationsStream = getResourceInputStream("data/animations.xml");
-            streams.add(stdAnimationsStream);
-            stdAnimations = DatParser.readAnimations(stdAnimationsStream, "animations.xml");
-
-            Animations dlcAnimations = null;
-            if (hasResourceInputStream("data/dlcAnimations.xml")) {
-                log.debug("Reading \"data/dlcAnimations.xml\"...");
-                InputStream dlcAnimationsStream = getResourceInputStream("data/dlcAnimations.xml");
-                streams.add(dlcAnimationsStream);
-                dlcAnimations = DatParser.readAnimations(dlcAnimationsStream, "dlcAnimations.xml");
-            }
-
             log.info("Finished reading FTL resources.");
 
             achievementIdMap = new LinkedHashMap<>();
@@ -474,105 +333,99 @@ public class DefaultDataManager extends DataManager {
                 }
             }
 
-            stdAugmentIdMap = new TreeMap<>();
             for (Map.Entry<String, Blueprints> entry : stdBlueprintsFileMap.entrySet()) {
                 Blueprints blueprints = entry.getValue();
 
                 for (AugBlueprint augment : blueprints.getAugBlueprints()) {
-                    stdAugmentIdMap.put(augment.getId(), augment);
+                    augmentRegistry.putStd(augment.getId(), augment);
                 }
             }
-            dlcAugmentIdMap = new TreeMap<>(stdAugmentIdMap);
+
             for (Map.Entry<String, Blueprints> entry : dlcBlueprintsFileMap.entrySet()) {
                 Blueprints blueprints = entry.getValue();
 
                 for (AugBlueprint augment : blueprints.getAugBlueprints()) {
-                    dlcAugmentIdMap.put(augment.getId(), augment);
+                    augmentRegistry.putDlc(augment.getId(), augment);
                 }
             }
 
-            stdCrewIdMap = new TreeMap<>();
             for (Map.Entry<String, Blueprints> entry : stdBlueprintsFileMap.entrySet()) {
                 Blueprints blueprints = entry.getValue();
 
                 for (CrewBlueprint crew : blueprints.getCrewBlueprints()) {
-                    stdCrewIdMap.put(crew.getId(), crew);
+                    crewRegistry.putStd(crew.getId(), crew);
                 }
             }
-            dlcCrewIdMap = new TreeMap<>(stdCrewIdMap);
+
             for (Map.Entry<String, Blueprints> entry : dlcBlueprintsFileMap.entrySet()) {
                 Blueprints blueprints = entry.getValue();
 
                 for (CrewBlueprint crew : blueprints.getCrewBlueprints()) {
-                    dlcCrewIdMap.put(crew.getId(), crew);
+                    crewRegistry.putDlc(crew.getId(), crew);
                 }
             }
 
-            stdDroneIdMap = new TreeMap<>();
             for (Map.Entry<String, Blueprints> entry : stdBlueprintsFileMap.entrySet()) {
                 Blueprints blueprints = entry.getValue();
 
                 for (DroneBlueprint drone : blueprints.getDroneBlueprints()) {
-                    stdDroneIdMap.put(drone.getId(), drone);
+                    droneRegistry.putStd(drone.getId(), drone);
                 }
             }
-            dlcDroneIdMap = new TreeMap<>(stdDroneIdMap);
+
             for (Map.Entry<String, Blueprints> entry : dlcBlueprintsFileMap.entrySet()) {
                 Blueprints blueprints = entry.getValue();
 
                 for (DroneBlueprint drone : blueprints.getDroneBlueprints()) {
-                    dlcDroneIdMap.put(drone.getId(), drone);
+                    droneRegistry.putDlc(drone.getId(), drone);
                 }
             }
 
-            stdSystemIdMap = new LinkedHashMap<>();
             for (Map.Entry<String, Blueprints> entry : stdBlueprintsFileMap.entrySet()) {
                 Blueprints blueprints = entry.getValue();
 
                 for (SystemBlueprint system : blueprints.getSystemBlueprints()) {
-                    stdSystemIdMap.put(system.getId(), system);
+                    systemRegistry.putStd(system.getId(), system);
                 }
             }
-            dlcSystemIdMap = new LinkedHashMap<>(stdSystemIdMap);
+
             for (Map.Entry<String, Blueprints> entry : dlcBlueprintsFileMap.entrySet()) {
                 Blueprints blueprints = entry.getValue();
 
                 for (SystemBlueprint system : blueprints.getSystemBlueprints()) {
-                    dlcSystemIdMap.put(system.getId(), system);
+                    systemRegistry.putDlc(system.getId(), system);
                 }
             }
 
-            stdWeaponIdMap = new TreeMap<>();
             for (Map.Entry<String, Blueprints> entry : stdBlueprintsFileMap.entrySet()) {
                 Blueprints blueprints = entry.getValue();
 
                 for (WeaponBlueprint weapon : blueprints.getWeaponBlueprints()) {
-                    stdWeaponIdMap.put(weapon.getId(), weapon);
+                    weaponRegistry.putStd(weapon.getId(), weapon);
                 }
             }
-            dlcWeaponIdMap = new TreeMap<>(stdWeaponIdMap);
+
             for (Map.Entry<String, Blueprints> entry : dlcBlueprintsFileMap.entrySet()) {
                 Blueprints blueprints = entry.getValue();
 
                 for (WeaponBlueprint weapon : blueprints.getWeaponBlueprints()) {
-                    dlcWeaponIdMap.put(weapon.getId(), weapon);
+                    weaponRegistry.putDlc(weapon.getId(), weapon);
                 }
             }
 
-            stdShipIdMap = new LinkedHashMap<>();
             for (Map.Entry<String, Blueprints> entry : stdBlueprintsFileMap.entrySet()) {
                 Blueprints blueprints = entry.getValue();
 
                 for (ShipBlueprint ship : blueprints.getShipBlueprints()) {
-                    stdShipIdMap.put(ship.getId(), ship);
+                    shipRegistry.putStd(ship.getId(), ship);
                 }
             }
-            dlcShipIdMap = new LinkedHashMap<>(stdShipIdMap);
+
             for (Map.Entry<String, Blueprints> entry : dlcBlueprintsFileMap.entrySet()) {
                 Blueprints blueprints = entry.getValue();
 
                 for (ShipBlueprint ship : blueprints.getShipBlueprints()) {
-                    dlcShipIdMap.put(ship.getId(), ship);
+                    shipRegistry.putDlc(ship.getId(), ship);
                 }
             }
 
@@ -597,12 +450,12 @@ public class DefaultDataManager extends DataManager {
 
                 List<ShipBlueprint> variantList = new ArrayList<>(2);
                 stdPlayerShipVariantsMap.put(baseId, variantList);
-                variantList.add(stdShipIdMap.get(baseId));
+                variantList.add(shipRegistry.get(baseId, false));
 
                 // All ships have a Type-B layout.
                 String variantId = String.format("%s_%d", baseId, 2);
                 stdPlayerShipIds.add(variantId);
-                variantList.add(stdShipIdMap.get(variantId));
+                variantList.add(shipRegistry.get(variantId, false));
             }
             dlcPlayerShipIds = new ArrayList<>();
             dlcPlayerShipVariantsMap = new LinkedHashMap<>(dlcPlayerShipBaseIds.size());
@@ -611,18 +464,18 @@ public class DefaultDataManager extends DataManager {
 
                 List<ShipBlueprint> variantList = new ArrayList<>(3);
                 dlcPlayerShipVariantsMap.put(baseId, variantList);
-                variantList.add(dlcShipIdMap.get(baseId));
+                variantList.add(shipRegistry.get(baseId, true));
 
                 // All ships have a Type-B layout.
                 String variantId = String.format("%s_%d", baseId, 2);
                 dlcPlayerShipIds.add(variantId);
-                variantList.add(dlcShipIdMap.get(variantId));
+                variantList.add(shipRegistry.get(variantId, true));
 
                 // Most ships have a Type-C layout.
                 if (!baseId.equals("PLAYER_SHIP_CRYSTAL") && !baseId.equals("PLAYER_SHIP_ANAEROBIC")) {
                     variantId = String.format("%s_%d", baseId, 3);
                     dlcPlayerShipIds.add(variantId);
-                    variantList.add(dlcShipIdMap.get(variantId));
+                    variantList.add(shipRegistry.get(variantId, true));
                 } else {
                     variantList.add(null);
                 }
@@ -630,25 +483,25 @@ public class DefaultDataManager extends DataManager {
 
             stdPlayerShipIdMap = new LinkedHashMap<>(stdPlayerShipIds.size());
             for (String playerShipId : stdPlayerShipIds) {
-                ShipBlueprint ship = stdShipIdMap.get(playerShipId);
+                ShipBlueprint ship = shipRegistry.get(playerShipId, false);
                 if (ship == null) continue;
                 stdPlayerShipIdMap.put(playerShipId, ship);
             }
             dlcPlayerShipIdMap = new LinkedHashMap<>(dlcPlayerShipIds.size());
             for (String playerShipId : dlcPlayerShipIds) {
-                ShipBlueprint ship = dlcShipIdMap.get(playerShipId);
+                ShipBlueprint ship = shipRegistry.get(playerShipId, true);
                 if (ship == null) continue;
                 dlcPlayerShipIdMap.put(playerShipId, ship);
             }
 
             stdAutoShipIdMap = new LinkedHashMap<>();
-            for (Map.Entry<String, ShipBlueprint> entry : stdShipIdMap.entrySet()) {
+            for (Map.Entry<String, ShipBlueprint> entry : shipRegistry.getMap(false).entrySet()) {
                 if (!stdPlayerShipIdMap.containsKey(entry.getKey())) {
                     stdAutoShipIdMap.put(entry.getKey(), entry.getValue());
                 }
             }
             dlcAutoShipIdMap = new LinkedHashMap<>();
-            for (Map.Entry<String, ShipBlueprint> entry : dlcShipIdMap.entrySet()) {
+            for (Map.Entry<String, ShipBlueprint> entry : shipRegistry.getMap(true).entrySet()) {
                 if (!dlcPlayerShipIdMap.containsKey(entry.getKey())) {
                     dlcAutoShipIdMap.put(entry.getKey(), entry.getValue());
                 }
@@ -676,10 +529,6 @@ public class DefaultDataManager extends DataManager {
                 dlcShipAchievementIdMap.put(entry.getValue(), shipAchs);
             }
 
-            // These'll populate as files are requested.
-            shipLayoutIdMap = new HashMap<>();
-            shipChassisIdMap = new HashMap<>();
-
             crewNamesMale = new ArrayList<>();
             crewNamesFemale = new ArrayList<>();
             for (CrewNameList crewNameList : crewNameLists) {
@@ -690,61 +539,6 @@ public class DefaultDataManager extends DataManager {
                 }
             }
 
-            backgroundImageListIdMap = new LinkedHashMap<>();
-            for (BackgroundImageList imageList : tmpBgImageLists) {
-                backgroundImageListIdMap.put(imageList.getId(), imageList);
-            }
-
-            stdShipEventIdMap = new LinkedHashMap<>();
-            for (Map.Entry<String, Encounters> entry : stdEventsFileMap.entrySet()) {
-                Encounters tmpEncounters = entry.getValue();
-                List<ShipEvent> shipEventList = tmpEncounters.getShipEvents();
-                for (ShipEvent shipEvent : shipEventList) {
-                    stdShipEventIdMap.put(shipEvent.getId(), shipEvent);
-                }
-            }
-            dlcShipEventIdMap = new LinkedHashMap<>(stdShipEventIdMap);
-            for (Map.Entry<String, Encounters> entry : dlcEventsFileMap.entrySet()) {
-                Encounters tmpEncounters = entry.getValue();
-                List<ShipEvent> shipEventList = tmpEncounters.getShipEvents();
-                for (ShipEvent shipEvent : shipEventList) {
-                    Matcher m = overridePtn.matcher(shipEvent.getId());
-                    if (m.matches()) {
-                        String baseId = m.group(1);
-                        dlcShipEventIdMap.put(baseId, shipEvent);
-                    }
-                }
-            }
-
-            stdAnimSheetIdMap = new LinkedHashMap<>();
-            stdAnimIdMap = new LinkedHashMap<>();
-            stdWeaponAnimIdMap = new LinkedHashMap<>();
-
-            for (AnimSheet sheet : stdAnimations.getSheets()) {
-                stdAnimSheetIdMap.put(sheet.getId(), sheet);
-            }
-            for (Anim anim : stdAnimations.getAnims()) {
-                stdAnimIdMap.put(anim.getId(), anim);
-            }
-            for (WeaponAnim weaponAnim : stdAnimations.getWeaponAnims()) {
-                stdWeaponAnimIdMap.put(weaponAnim.getId(), weaponAnim);
-            }
-
-            dlcAnimSheetIdMap = new LinkedHashMap<>(stdAnimSheetIdMap);
-            dlcAnimIdMap = new LinkedHashMap<>(stdAnimIdMap);
-            dlcWeaponAnimIdMap = new LinkedHashMap<>(stdWeaponAnimIdMap);
-
-            if (dlcAnimations != null) {
-                for (AnimSheet sheet : dlcAnimations.getSheets()) {
-                    dlcAnimSheetIdMap.put(sheet.getId(), sheet);
-                }
-                for (Anim anim : dlcAnimations.getAnims()) {
-                    dlcAnimIdMap.put(anim.getId(), anim);
-                }
-                for (WeaponAnim weaponAnim : dlcAnimations.getWeaponAnims()) {
-                    dlcWeaponAnimIdMap.put(weaponAnim.getId(), weaponAnim);
-                }
-            }
         } catch (JDOMException e) {
             meltdown = true;
             throw e;
@@ -766,6 +560,267 @@ public class DefaultDataManager extends DataManager {
         }
     }
 
+    /**
+     * Reads the event xml files, if that hasn't happened yet.
+     * <p>
+     * These are the bulk of FTL's data, and a profile never needs them.
+     */
+    private void ensureEventsLoaded() {
+        if (eventsLoaded) return;
+
+        synchronized (eventsLock) {
+            if (eventsLoaded) return;
+
+            List<InputStream> streams = new ArrayList<>();
+            try {
+                log.info("Reading Events...");
+
+                List<String> stdEventsFileNames = new ArrayList<>();
+                stdEventsFileNames.add("events.xml");
+                stdEventsFileNames.add("newEvents.xml");
+                stdEventsFileNames.add("events_crystal.xml");
+                stdEventsFileNames.add("events_engi.xml");
+                stdEventsFileNames.add("events_mantis.xml");
+                stdEventsFileNames.add("events_rock.xml");
+                stdEventsFileNames.add("events_slug.xml");
+                stdEventsFileNames.add("events_zoltan.xml");
+                stdEventsFileNames.add("events_nebula.xml");
+                stdEventsFileNames.add("events_pirate.xml");
+                stdEventsFileNames.add("events_rebel.xml");
+                //stdEventsFileNames.add( "nameEvents.xml" );  // Unused ancient experiments.
+                stdEventsFileNames.add("events_fuel.xml");
+                stdEventsFileNames.add("events_boss.xml");
+                stdEventsFileNames.add("events_ships.xml");
+
+                List<String> dlcEventsFileNames = new ArrayList<>();
+                dlcEventsFileNames.add("dlcEvents.xml");
+                dlcEventsFileNames.add("dlcEventsOverwrite.xml");
+                dlcEventsFileNames.add("dlcEvents_anaerobic.xml");
+
+                stdEventsFileMap = new LinkedHashMap<>(stdEventsFileNames.size());
+                dlcEventsFileMap = new LinkedHashMap<>(dlcEventsFileNames.size() + stdEventsFileNames.size());
+                for (String eventsFileName : stdEventsFileNames) {
+                    log.debug(String.format("Reading \"data/%s\"...", eventsFileName));
+                    InputStream tmpStream = getResourceInputStream("data/" + eventsFileName);
+                    streams.add(tmpStream);
+                    Encounters tmpEncounters = DatParser.readEvents(tmpStream, eventsFileName, textLookupMap);
+                    stdEventsFileMap.put(eventsFileName, tmpEncounters);
+                    dlcEventsFileMap.put(eventsFileName, tmpEncounters);
+                }
+
+                for (String eventsFileName : dlcEventsFileNames) {
+                    if (!hasResourceInputStream("data/" + eventsFileName)) continue;
+
+                    log.debug(String.format("Reading \"data/%s\"...", eventsFileName));
+                    InputStream tmpStream = getResourceInputStream("data/" + eventsFileName);
+                    streams.add(tmpStream);
+                    Encounters tmpEncounters = DatParser.readEvents(tmpStream, eventsFileName, textLookupMap);
+                    dlcEventsFileMap.put(eventsFileName, tmpEncounters);
+                }
+
+                for (Map.Entry<String, Encounters> entry : stdEventsFileMap.entrySet()) {
+                    Encounters tmpEncounters = entry.getValue();
+                    List<FTLEvent> eventList = tmpEncounters.getEvents();
+                    for (FTLEvent event : eventList) {
+                        if (overridePtn.matcher(event.getId()).matches()) continue;
+                        eventRegistry.putStd(event.getId(), event);
+                    }
+
+                    List<FTLEventList> eventListsList = tmpEncounters.getEventLists();
+                    for (FTLEventList eventLists : eventListsList) {
+                        if (overridePtn.matcher(eventLists.getId()).matches()) continue;
+                        eventListRegistry.putStd(eventLists.getId(), eventLists);
+                    }
+
+                    List<TextList> textListsList = tmpEncounters.getTextLists();
+                    for (TextList textLists : textListsList) {
+                        if (overridePtn.matcher(textLists.getId()).matches()) continue;
+                        textListRegistry.putStd(textLists.getId(), textLists);
+                    }
+                }
+
+                for (Map.Entry<String, Encounters> entry : dlcEventsFileMap.entrySet()) {
+                    Encounters tmpEncounters = entry.getValue();
+                    List<FTLEvent> eventList = tmpEncounters.getEvents();
+                    for (FTLEvent event : eventList) {
+                        Matcher m = overridePtn.matcher(event.getId());
+                        if (m.matches()) {
+                            String baseId = m.group(1);
+                            eventRegistry.putDlc(baseId, event);
+                        } else {
+                            eventRegistry.putDlc(event.getId(), event);
+                        }
+                    }
+
+                    List<FTLEventList> eventListsList = tmpEncounters.getEventLists();
+                    for (FTLEventList eventLists : eventListsList) {
+                        Matcher m = overridePtn.matcher(eventLists.getId());
+                        if (m.matches()) {
+                            String baseId = m.group(1);
+                            eventListRegistry.putDlc(baseId, eventLists);
+                        } else {
+                            eventListRegistry.putDlc(eventLists.getId(), eventLists);
+                        }
+                    }
+
+                    List<TextList> textListsList = tmpEncounters.getTextLists();
+                    for (TextList textLists : textListsList) {
+                        Matcher m = overridePtn.matcher(textLists.getId());
+                        if (m.matches()) {
+                            String baseId = m.group(1);
+                            textListRegistry.putDlc(baseId, textLists);
+                        } else {
+                            textListRegistry.putDlc(textLists.getId(), textLists);
+                        }
+                    }
+                }
+
+                stdShipEventIdMap = new LinkedHashMap<>();
+                for (Map.Entry<String, Encounters> entry : stdEventsFileMap.entrySet()) {
+                    Encounters tmpEncounters = entry.getValue();
+                    List<ShipEvent> shipEventList = tmpEncounters.getShipEvents();
+                    for (ShipEvent shipEvent : shipEventList) {
+                        stdShipEventIdMap.put(shipEvent.getId(), shipEvent);
+                    }
+                }
+                dlcShipEventIdMap = new LinkedHashMap<>(stdShipEventIdMap);
+                for (Map.Entry<String, Encounters> entry : dlcEventsFileMap.entrySet()) {
+                    Encounters tmpEncounters = entry.getValue();
+                    List<ShipEvent> shipEventList = tmpEncounters.getShipEvents();
+                    for (ShipEvent shipEvent : shipEventList) {
+                        Matcher m = overridePtn.matcher(shipEvent.getId());
+                        if (m.matches()) {
+                            String baseId = m.group(1);
+                            dlcShipEventIdMap.put(baseId, shipEvent);
+                        }
+                    }
+                }
+                eventsLoaded = true;
+            } catch (JDOMException | JAXBException | IOException e) {
+                throw new RuntimeException("Error parsing FTL events", e);
+            } finally {
+                for (InputStream stream : streams) {
+                    try {
+                        if (stream != null) stream.close();
+                    } catch (IOException f) {
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads background image lists, if that hasn't happened yet.
+     */
+    private void ensureBackgroundImageListsLoaded() {
+        if (backgroundImageListsLoaded) return;
+
+        synchronized (backgroundImageListsLock) {
+            if (backgroundImageListsLoaded) return;
+
+            List<InputStream> streams = new ArrayList<>();
+            try {
+                log.info("Reading Background Image Lists...");
+
+                List<BackgroundImageList> tmpBgImageLists;
+                log.debug("Reading \"data/events_imageList.xml\"...");
+                InputStream imageListsStream = getResourceInputStream("data/events_imageList.xml");
+                streams.add(imageListsStream);
+                tmpBgImageLists = DatParser.readImageLists(imageListsStream, "events_imageList.xml");
+
+                backgroundImageListIdMap = new LinkedHashMap<>();
+                for (BackgroundImageList imageList : tmpBgImageLists) {
+                    backgroundImageListIdMap.put(imageList.getId(), imageList);
+                }
+                backgroundImageListsLoaded = true;
+            } catch (JDOMException | JAXBException | IOException e) {
+                throw new RuntimeException("Error parsing FTL background image lists", e);
+            } finally {
+                for (InputStream stream : streams) {
+                    try {
+                        if (stream != null) stream.close();
+                    } catch (IOException f) {
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads animations, if that hasn't happened yet.
+     */
+    private void ensureAnimationsLoaded() {
+        if (animationsLoaded) return;
+
+        synchronized (animationsLock) {
+            if (animationsLoaded) return;
+
+            List<InputStream> streams = new ArrayList<>();
+            try {
+                log.info("Reading Animations...");
+
+                Animations stdAnimations;
+                log.debug("Reading \"data/animations.xml\"...");
+                InputStream stdAnimationsStream = getResourceInputStream("data/animations.xml");
+                streams.add(stdAnimationsStream);
+                stdAnimations = DatParser.readAnimations(stdAnimationsStream, "animations.xml");
+
+                Animations dlcAnimations = null;
+                if (hasResourceInputStream("data/dlcAnimations.xml")) {
+                    log.debug("Reading \"data/dlcAnimations.xml\"...");
+                    InputStream dlcAnimationsStream = getResourceInputStream("data/dlcAnimations.xml");
+                    streams.add(dlcAnimationsStream);
+                    dlcAnimations = DatParser.readAnimations(dlcAnimationsStream, "dlcAnimations.xml");
+                }
+
+                for (AnimSheet sheet : stdAnimations.getSheets()) {
+                    animSheetRegistry.putStd(sheet.getId(), sheet);
+                }
+                for (Anim anim : stdAnimations.getAnims()) {
+                    animRegistry.putStd(anim.getId(), anim);
+                }
+                for (WeaponAnim weaponAnim : stdAnimations.getWeaponAnims()) {
+                    weaponAnimRegistry.putStd(weaponAnim.getId(), weaponAnim);
+                }
+
+                if (dlcAnimations != null) {
+                    for (AnimSheet sheet : dlcAnimations.getSheets()) {
+                        animSheetRegistry.putDlc(sheet.getId(), sheet);
+                    }
+                    for (Anim anim : dlcAnimations.getAnims()) {
+                        animRegistry.putDlc(anim.getId(), anim);
+                    }
+                    for (WeaponAnim weaponAnim : dlcAnimations.getWeaponAnims()) {
+                        weaponAnimRegistry.putDlc(weaponAnim.getId(), weaponAnim);
+                    }
+                }
+                animationsLoaded = true;
+            } catch (JDOMException | JAXBException | IOException e) {
+                throw new RuntimeException("Error parsing FTL animations", e);
+            } finally {
+                for (InputStream stream : streams) {
+                    try {
+                        if (stream != null) stream.close();
+                    } catch (IOException f) {
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads everything that would otherwise be read on first use.
+     * <p>
+     * Each kind of resource is read once, and getters wait for it if
+     * they need it while it's still being read.
+     */
+    @Override
+    public void warmUp() {
+        ensureEventsLoaded();
+        ensureBackgroundImageListsLoaded();
+        ensureAnimationsLoaded();
+    }
+
     @Override
     public void close() {
         if (packContainer != null) {
@@ -832,6 +887,23 @@ public class DefaultDataManager extends DataManager {
         }
     }
 
+    @Override
+    public int getSymbol(String id) {
+        int result = symbols.lookup(id);
+
+        // Event ids aren't interned until events are read.
+        if (result == SymbolTable.NO_SYMBOL && !eventsLoaded && id != null) {
+            ensureEventsLoaded();
+            result = symbols.lookup(id);
+        }
+        return result;
+    }
+
+    @Override
+    public String getSymbolName(int symbol) {
+        return symbols.getName(symbol);
+    }
+
     @Override
     public Achievement getAchievement(String id) {
         Achievement result = achievementIdMap.get(id);
@@ -848,14 +920,7 @@ public class DefaultDataManager extends DataManager {
 
     @Override
     public AugBlueprint getAugment(String id, boolean dlcEnabled) {
-        Map<String, AugBlueprint> augments = null;
-        if (dlcEnabled) {
-            augments = dlcAugmentIdMap;
-        } else {
-            augments = stdAugmentIdMap;
-        }
-
-        AugBlueprint result = augments.get(id);
+        AugBlueprint result = augmentRegistry.get(id, dlcEnabled);
         if (result == null) {
             log.error("No AugBlueprint found for id: {}", id);
         }
@@ -863,27 +928,18 @@ public class DefaultDataManager extends DataManager {
     }
 
     @Override
-    public Map<String, AugBlueprint> getAugments(boolean dlcEnabled) {
-        Map<String, AugBlueprint> augments = null;
-        if (dlcEnabled) {
-            augments = dlcAugmentIdMap;
-        } else {
-            augments = stdAugmentIdMap;
-        }
+    public AugBlueprint getAugment(int symbol, boolean dlcEnabled) {
+        return augmentRegistry.get(symbol, dlcEnabled);
+    }
 
-        return augments;
+    @Override
+    public Map<String, AugBlueprint> getAugments(boolean dlcEnabled) {
+        return augmentRegistry.getMap(dlcEnabled);
     }
 
     @Override
     public CrewBlueprint getCrew(String id, boolean dlcEnabled) {
-        Map<String, CrewBlueprint> crews = null;
-        if (dlcEnabled) {
-            crews = dlcCrewIdMap;
-        } else {
-            crews = stdCrewIdMap;
-        }
-
-        CrewBlueprint result = crews.get(id);
+        CrewBlueprint result = crewRegistry.get(id, dlcEnabled);
         if (result == null) {
             log.error("No CrewBlueprint found for id: {}", id);
         }
@@ -891,27 +947,18 @@ public class DefaultDataManager extends DataManager {
     }
 
     @Override
-    public Map<String, CrewBlueprint> getCrews(boolean dlcEnabled) {
-        Map<String, CrewBlueprint> crews = null;
-        if (dlcEnabled) {
-            crews = dlcCrewIdMap;
-        } else {
-            crews = stdCrewIdMap;
-        }
+    public CrewBlueprint getCrew(int symbol, boolean dlcEnabled) {
+        return crewRegistry.get(symbol, dlcEnabled);
+    }
 
-        return crews;
+    @Override
+    public Map<String, CrewBlueprint> getCrews(boolean dlcEnabled) {
+        return crewRegistry.getMap(dlcEnabled);
     }
 
     @Override
     public DroneBlueprint getDrone(String id, boolean dlcEnabled) {
-        Map<String, DroneBlueprint> drones = null;
-        if (dlcEnabled) {
-            drones = dlcDroneIdMap;
-        } else {
-            drones = stdDroneIdMap;
-        }
-
-        DroneBlueprint result = drones.get(id);
+        DroneBlueprint result = droneRegistry.get(id, dlcEnabled);
         if (result == null) {
             log.error("No DroneBlueprint found for id: {}", id);
         }
@@ -919,27 +966,18 @@ public class DefaultDataManager extends DataManager {
     }
 
     @Override
-    public Map<String, DroneBlueprint> getDrones(boolean dlcEnabled) {
-        Map<String, DroneBlueprint> drones = null;
-        if (dlcEnabled) {
-            drones = dlcDroneIdMap;
-        } else {
-            drones = stdDroneIdMap;
-        }
+    public DroneBlueprint getDrone(int symbol, boolean dlcEnabled) {
+        return droneRegistry.get(symbol, dlcEnabled);
+    }
 
-        return drones;
+    @Override
+    public Map<String, DroneBlueprint> getDrones(boolean dlcEnabled) {
+        return droneRegistry.getMap(dlcEnabled);
     }
 
     @Override
     public SystemBlueprint getSystem(String id, boolean dlcEnabled) {
-        Map<String, SystemBlueprint> systems = null;
-        if (dlcEnabled) {
-            systems = dlcSystemIdMap;
-        } else {
-            systems = stdSystemIdMap;
-        }
-
-        SystemBlueprint result = systems.get(id);
+        SystemBlueprint result = systemRegistry.get(id, dlcEnabled);
         if (result == null) {
             log.error("No SystemBlueprint found for id: {}", id);
         }
@@ -947,15 +985,13 @@ public class DefaultDataManager extends DataManager {
     }
 
     @Override
-    public WeaponBlueprint getWeapon(String id, boolean dlcEnabled) {
-        Map<String, WeaponBlueprint> weapons = null;
-        if (dlcEnabled) {
-            weapons = dlcWeaponIdMap;
-        } else {
-            weapons = stdWeaponIdMap;
-        }
+    public SystemBlueprint getSystem(int symbol, boolean dlcEnabled) {
+        return systemRegistry.get(symbol, dlcEnabled);
+    }
 
-        WeaponBlueprint result = weapons.get(id);
+    @Override
+    public WeaponBlueprint getWeapon(String id, boolean dlcEnabled) {
+        WeaponBlueprint result = weaponRegistry.get(id, dlcEnabled);
         if (result == null) {
             log.error("No WeaponBlueprint found for id: {}", id);
         }
@@ -963,27 +999,18 @@ public class DefaultDataManager extends DataManager {
     }
 
     @Override
-    public Map<String, WeaponBlueprint> getWeapons(boolean dlcEnabled) {
-        Map<String, WeaponBlueprint> weapons = null;
-        if (dlcEnabled) {
-            weapons = dlcWeaponIdMap;
-        } else {
-            weapons = stdWeaponIdMap;
-        }
+    public WeaponBlueprint getWeapon(int symbol, boolean dlcEnabled) {
+        return weaponRegistry.get(symbol, dlcEnabled);
+    }
 
-        return weapons;
+    @Override
+    public Map<String, WeaponBlueprint> getWeapons(boolean dlcEnabled) {
+        return weaponRegistry.getMap(dlcEnabled);
     }
 
     @Override
     public ShipBlueprint getShip(String id, boolean dlcEnabled) {
-        Map<String, ShipBlueprint> ships = null;
-        if (dlcEnabled) {
-            ships = dlcShipIdMap;
-        } else {
-            ships = stdShipIdMap;
-        }
-
-        ShipBlueprint result = ships.get(id);
+        ShipBlueprint result = shipRegistry.get(id, dlcEnabled);
         if (result == null) {
             log.error("No ShipBlueprint found for id: {}", id);
         }
@@ -991,15 +1018,13 @@ public class DefaultDataManager extends DataManager {
     }
 
     @Override
-    public Map<String, ShipBlueprint> getShips(boolean dlcEnabled) {
-        Map<String, ShipBlueprint> ships = null;
-        if (dlcEnabled) {
-            ships = dlcShipIdMap;
-        } else {
-            ships = stdShipIdMap;
-        }
+    public ShipBlueprint getShip(int symbol, boolean dlcEnabled) {
+        return shipRegistry.get(symbol, dlcEnabled);
+    }
 
-        return ships;
+    @Override
+    public Map<String, ShipBlueprint> getShips(boolean dlcEnabled) {
+        return shipRegistry.getMap(dlcEnabled);
     }
 
     @Override
@@ -1089,7 +1114,10 @@ public class DefaultDataManager extends DataManager {
             try {
                 in = getResourceInputStream("data/" + id + ".txt");
                 result = DatParser.readLayout(in, id + ".txt");
-                shipLayoutIdMap.put(id, result);
+
+                // Another thread may have parsed it in the meantime.
+                ShipLayout existing = shipLayoutIdMap.putIfAbsent(id, result);
+                if (existing != null) result = existing;
             } catch (FileNotFoundException e) {
                 log.error("No ShipLayout found for id: {}", id);
             } catch (IOException e) {
@@ -1122,7 +1150,9 @@ public class DefaultDataManager extends DataManager {
                 log.debug(String.format("Reading ship chassis (data/%s.xml)...", id));
                 in = getResourceInputStream("data/" + id + ".xml");
                 result = DatParser.readChassis(in, id + ".xml");
-                shipChassisIdMap.put(id, result);
+
+                ShipChassis existing = shipChassisIdMap.putIfAbsent(id, result);
+                if (existing != null) result = existing;
             } catch (JDOMException e) {
                 log.error("Parsing XML failed for ShipChassis id: {}", id, e);
             } catch (JAXBException e) {
@@ -1152,20 +1182,22 @@ public class DefaultDataManager extends DataManager {
      */
     @Override
     public FTLEvent getEventById(String id, boolean dlcEnabled) {
-        Map<String, FTLEvent> events = null;
-        if (dlcEnabled) {
-            events = dlcEventIdMap;
-        } else {
-            events = stdEventIdMap;
-        }
+        ensureEventsLoaded();
 
-        FTLEvent result = events.get(id);
+        FTLEvent result = eventRegistry.get(id, dlcEnabled);
         if (result == null) {
             log.error("No Event found for id: {}", id);
         }
         return result;
     }
 
+    @Override
+    public FTLEvent getEventById(int symbol, boolean dlcEnabled) {
+        ensureEventsLoaded();
+
+        return eventRegistry.get(symbol, dlcEnabled);
+    }
+
     /**
      * Returns an EventList with a given id.
      * All event xml files are searched.
@@ -1175,15 +1207,16 @@ public class DefaultDataManager extends DataManager {
      */
     @Override
     public FTLEventList getEventListById(String id, boolean dlcEnabled) {
-        Map<String, FTLEventList> eventLists = null;
-        if (dlcEnabled) {
-            eventLists = dlcEventListIdMap;
-        } else {
-            eventLists = stdEventListIdMap;
-        }
+        ensureEventsLoaded();
 
-        FTLEventList result = eventLists.get(id);
-        return result;
+        return eventListRegistry.get(id, dlcEnabled);
+    }
+
+    @Override
+    public FTLEventList getEventListById(int symbol, boolean dlcEnabled) {
+        ensureEventsLoaded();
+
+        return eventListRegistry.get(symbol, dlcEnabled);
     }
 
     /**
@@ -1192,20 +1225,22 @@ public class DefaultDataManager extends DataManager {
      */
     @Override
     public TextList getTextListById(String id, boolean dlcEnabled) {
-        Map<String, TextList> textLists = null;
-        if (dlcEnabled) {
-            textLists = dlcTextListIdMap;
-        } else {
-            textLists = stdTextListIdMap;
-        }
+        ensureEventsLoaded();
 
-        TextList result = textLists.get(id);
+        TextList result = textListRegistry.get(id, dlcEnabled);
         if (result == null) {
             log.error("No TextList found for id: {}", id);
         }
         return result;
     }
 
+    @Override
+    public TextList getTextListById(int symbol, boolean dlcEnabled) {
+        ensureEventsLoaded();
+
+        return textListRegistry.get(symbol, dlcEnabled);
+    }
+
     /**
      * Returns all Encounters objects, mapped to xml file names.
      * <p>
@@ -1213,6 +1248,8 @@ public class DefaultDataManager extends DataManager {
      */
     @Override
     public Map<String, Encounters> getEncounters(boolean dlcEnabled) {
+        ensureEventsLoaded();
+
         Map<String, Encounters> events = null;
         if (dlcEnabled) {
             events = dlcEventsFileMap;
@@ -1225,6 +1262,8 @@ public class DefaultDataManager extends DataManager {
 
     @Override
     public ShipEvent getShipEventById(String id, boolean dlcEnabled) {
+        ensureEventsLoaded();
+
         Map<String, ShipEvent> shipEvents = null;
         if (dlcEnabled) {
             shipEvents = dlcShipEventIdMap;
@@ -1241,6 +1280,8 @@ public class DefaultDataManager extends DataManager {
 
     @Override
     public Map<String, ShipEvent> getShipEvents(boolean dlcEnabled) {
+        ensureEventsLoaded();
+
         Map<String, ShipEvent> shipEvents = null;
         if (dlcEnabled) {
             shipEvents = dlcShipEventIdMap;
@@ -1279,14 +1320,7 @@ public class DefaultDataManager extends DataManager {
 
     @Override
     public SectorType getSectorTypeById(String id, boolean dlcEnabled) {
-        Map<String, SectorType> sectorTypes = null;
-        if (dlcEnabled) {
-            sectorTypes = dlcSectorTypeIdMap;
-        } else {
-            sectorTypes = stdSectorTypeIdMap;
-        }
-
-        SectorType result = sectorTypes.get(id);
+        SectorType result = sectorTypeRegistry.get(id, dlcEnabled);
         if (result == null) {
             log.error("No SectorType found for id: {}", id);
         }
@@ -1313,6 +1347,8 @@ public class DefaultDataManager extends DataManager {
      */
     @Override
     public Map<String, BackgroundImageList> getBackgroundImageLists() {
+        ensureBackgroundImageListsLoaded();
+
         return backgroundImageListIdMap;
     }
 
@@ -1321,15 +1357,10 @@ public class DefaultDataManager extends DataManager {
      */
     @Override
     public List<Anim> getAnimsBySheetId(String id, boolean dlcEnabled) {
-        Map<String, Anim> anims;
-        if (dlcEnabled) {
-            anims = dlcAnimIdMap;
-        } else {
-            anims = stdAnimIdMap;
-        }
+        ensureAnimationsLoaded();
 
         List<Anim> results = new ArrayList<Anim>();
-        for (Anim anim : anims.values()) {
+        for (Anim anim : animRegistry.getMap(dlcEnabled).values()) {
             if (anim.getSheetId().equals(id)) results.add(anim);
         }
 
@@ -1344,14 +1375,9 @@ public class DefaultDataManager extends DataManager {
      */
     @Override
     public Anim getAnim(String id, boolean dlcEnabled) {
-        Map<String, Anim> anims;
-        if (dlcEnabled) {
-            anims = dlcAnimIdMap;
-        } else {
-            anims = stdAnimIdMap;
-        }
+        ensureAnimationsLoaded();
 
-        Anim result = anims.get(id);
+        Anim result = animRegistry.get(id, dlcEnabled);
         if (result == null) {
             log.error("No Anim found for id: {}", id);
         }
@@ -1363,14 +1389,9 @@ public class DefaultDataManager extends DataManager {
      */
     @Override
     public AnimSheet getAnimSheet(String id, boolean dlcEnabled) {
-        Map<String, AnimSheet> sheets;
-        if (dlcEnabled) {
-            sheets = dlcAnimSheetIdMap;
-        } else {
-            sheets = stdAnimSheetIdMap;
-        }
+        ensureAnimationsLoaded();
 
-        AnimSheet result = sheets.get(id);
+        AnimSheet result = animSheetRegistry.get(id, dlcEnabled);
         if (result == null) {
             log.error("No AnimSheet found for id: {}", id);
         }
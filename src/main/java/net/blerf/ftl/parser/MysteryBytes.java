@@ -22,7 +22,8 @@ public class MysteryBytes {
      * Constructor using bytes from an InputStream.
      *
      * @param in     a stream to read from. Instances of
-     *               FileInputStream will be interrogated for an offset.
+     *               FileInputStream or ByteBufferInputStream will be
+     *               interrogated for an offset.
      * @param length the number of bytes to read.
      */
     public MysteryBytes(InputStream in, int length) throws IOException {
@@ -35,10 +36,23 @@ public class MysteryBytes {
 
         if (in instanceof FileInputStream) {
             this.offset = ((FileInputStream) in).getChannel().position() - unBytes.length;
+        } else if (in instanceof ByteBufferInputStream) {
+            this.offset = ((ByteBufferInputStream) in).position() - unBytes.length;
         }
         this.bytes = unBytes;
     }
 
+    /**
+     * Returns the offset these bytes were read from, or -1 if unknown.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return bytes.length;
+    }
+
     public String toString() {
         StringBuilder result = new StringBuilder();
         StringBuilder ascii = new StringBuilder();
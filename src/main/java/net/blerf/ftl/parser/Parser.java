@@ -10,7 +10,6 @@ import java.nio.charset.StandardCharsets;
 
 public class Parser {
 
-    private static final byte[] intbuf = new byte[4];
     /**
      * Toggles string encoding between windows-1252 (default) and UTF-8.
      * <p>
@@ -45,9 +44,15 @@ public class Parser {
      * Reads a little-endian int from a stream.
      */
     protected static int readInt(InputStream in) throws IOException {
+        if (in instanceof ByteBufferInputStream) {
+            return ((ByteBufferInputStream) in).readInt();
+        }
+
+        // A local scratch array: parsers may run on several threads at once.
+        byte[] intbuf = new byte[4];
         int numRead = 0;
         int offset = 0;
-        while (offset < intbuf.length && (numRead = in.read(intbuf, offset, intbuf.length)) >= 0) {
+        while (offset < intbuf.length && (numRead = in.read(intbuf, offset, intbuf.length - offset)) > 0) {
             offset += numRead;
         }
         if (offset < intbuf.length) {
@@ -66,6 +71,12 @@ public class Parser {
      * Writes a little-endian int to a stream.
      */
     protected static void writeInt(OutputStream out, int value) throws IOException {
+        if (out instanceof ByteBufferOutputStream) {
+            ((ByteBufferOutputStream) out).writeInt(value);
+            return;
+        }
+
+        byte[] intbuf = new byte[4];
         for (int i = 0; i < intbuf.length; i++) {
             intbuf[i] = (byte) (value >> (i * 8));
         }
@@ -96,8 +107,8 @@ public class Parser {
         } else {
             // Call available on streams that really end.
             int remaining = -1;
-            if (in instanceof ByteArrayInputStream) {
-                remaining = ((ByteArrayInputStream) in).available();
+            if (in instanceof ByteArrayInputStream || in instanceof ByteBufferInputStream) {
+                remaining = in.available();
             }
             if (remaining != -1 && length > remaining) {
                 throw new IOException(String.format("Expected string length (%d) would extend beyond the end of the stream", length));
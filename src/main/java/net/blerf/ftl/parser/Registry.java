@@ -0,0 +1,292 @@
+package net.blerf.ftl.parser;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+
+/**
+ * Std and dlc lookups for one kind of resource, indexed by symbol.
+ * <p>
+ * Each id is stored once, with flags for whether it's available without
+ * and with the DLC. Where a dlc file replaced a std entry, the dlc value is
+ * kept on the side. The std and dlc maps returned by getMap() are
+ * unmodifiable filtered views, rather than copies.
+ * <p>
+ * Entries are added while loading: all std entries first, then dlc ones.
+ * That mirrors how the maps used to be built (the dlc map started as a
+ * copy of the std map), so iteration order is unchanged: insertion order,
+ * or id order if the registry is sorted (formerly a TreeMap).
+ * <p>
+ * Values are kept in arrays, offset by the lowest symbol this registry
+ * has seen, since symbols are shared across all registries. Unlike the
+ * former std/dlc map pairs, an id shared by both is stored once, with no
+ * per-entry map nodes.
+ *
+ * @see SymbolTable
+ */
+final class Registry<T> {
+
+    private static final byte IN_STD = 1;
+    private static final byte IN_DLC = 2;
+    private static final byte DLC_REPLACED = 4;
+
+    private final SymbolTable symbols;
+    private final boolean sorted;
+
+    private int baseSymbol = -1;
+    private Object[] values = new Object[0];
+    private byte[] flags = new byte[0];
+    private final Map<Integer, T> dlcReplacements = new HashMap<Integer, T>();
+
+    private int[] order = new int[16];
+    private int orderCount = 0;
+    private boolean orderSorted = true;
+    private int stdCount = 0;
+
+    private final Map<String, T> stdView = new RegistryView(false);
+    private final Map<String, T> dlcView = new RegistryView(true);
+
+
+    /**
+     * Constructor.
+     *
+     * @param sorted true to iterate in id order, false for insertion order
+     */
+    public Registry(SymbolTable symbols, boolean sorted) {
+        this.symbols = symbols;
+        this.sorted = sorted;
+    }
+
+    /**
+     * Adds or replaces an entry available with and without the DLC.
+     */
+    public void putStd(String id, T value) {
+        int symbol = symbols.intern(id);
+        int i = ensureSlot(symbol);
+
+        if (flags[i] == 0) {
+            appendOrder(symbol);
+            stdCount++;
+        } else if ((flags[i] & IN_STD) == 0) {
+            throw new IllegalStateException(String.format("Std entry \"%s\" was added after dlc entries", id));
+        }
+        values[i] = value;
+        flags[i] = IN_STD | IN_DLC;
+    }
+
+    /**
+     * Adds or replaces an entry available only with the DLC.
+     * <p>
+     * If a std entry has the same id, it'll still be seen without the DLC.
+     */
+    public void putDlc(String id, T value) {
+        int symbol = symbols.intern(id);
+        int i = ensureSlot(symbol);
+
+        if (flags[i] == 0) {
+            appendOrder(symbol);
+            values[i] = value;
+            flags[i] = IN_DLC;
+        } else if ((flags[i] & IN_STD) == 0) {
+            values[i] = value;
+        } else if (values[i] == value) {
+            dlcReplacements.remove(symbol);
+            flags[i] &= ~DLC_REPLACED;
+        } else {
+            dlcReplacements.put(symbol, value);
+            flags[i] |= DLC_REPLACED;
+        }
+    }
+
+    /**
+     * Returns the value for a symbol, or null.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int symbol, boolean dlcEnabled) {
+        int i = symbol - baseSymbol;
+        if (symbol < 0 || i < 0 || i >= flags.length) return null;
+
+        byte f = flags[i];
+        if (dlcEnabled) {
+            if ((f & DLC_REPLACED) != 0) return dlcReplacements.get(symbol);
+            if ((f & IN_DLC) == 0) return null;
+        } else {
+            if ((f & IN_STD) == 0) return null;
+        }
+        return (T) values[i];
+    }
+
+    public T get(String id, boolean dlcEnabled) {
+        return get(symbols.lookup(id), dlcEnabled);
+    }
+
+    /**
+     * Returns an unmodifiable view of all entries available with or without
+     * the DLC.
+     */
+    public Map<String, T> getMap(boolean dlcEnabled) {
+        return (dlcEnabled ? dlcView : stdView);
+    }
+
+    /**
+     * Returns the slot index for a symbol, growing the arrays as needed.
+     */
+    private int ensureSlot(int symbol) {
+        if (baseSymbol == -1) {
+            baseSymbol = symbol;
+        }
+
+        if (symbol < baseSymbol) {
+            int shift = baseSymbol - symbol;
+            Object[] newValues = new Object[values.length + shift];
+            byte[] newFlags = new byte[flags.length + shift];
+            System.arraycopy(values, 0, newValues, shift, values.length);
+            System.arraycopy(flags, 0, newFlags, shift, flags.length);
+            values = newValues;
+            flags = newFlags;
+            baseSymbol = symbol;
+        }
+
+        int i = symbol - baseSymbol;
+        if (i >= flags.length) {
+            int newLength = Math.max(i + 1, flags.length + (flags.length >> 1));
+            values = Arrays.copyOf(values, newLength);
+            flags = Arrays.copyOf(flags, newLength);
+        }
+        return i;
+    }
+
+    private void appendOrder(int symbol) {
+        if (orderCount == order.length) {
+            order = Arrays.copyOf(order, Math.max(16, orderCount * 2));
+        }
+        order[orderCount++] = symbol;
+        orderSorted = false;
+    }
+
+    /**
+     * Returns symbols in iteration order.
+     */
+    private synchronized int[] getOrder() {
+        if (!orderSorted) {
+            if (sorted) {
+                List<Integer> tmpList = new ArrayList<Integer>(orderCount);
+                for (int n = 0; n < orderCount; n++) {
+                    tmpList.add(order[n]);
+                }
+                Collections.sort(tmpList, new Comparator<Integer>() {
+                    @Override
+                    public int compare(Integer a, Integer b) {
+                        return symbols.getName(a).compareTo(symbols.getName(b));
+                    }
+                });
+                for (int n = 0; n < orderCount; n++) {
+                    order[n] = tmpList.get(n);
+                }
+            }
+            order = Arrays.copyOf(order, orderCount);
+            orderSorted = true;
+        }
+        return order;
+    }
+
+
+
+    /**
+     * A read-only map over a registry, filtered for std or dlc.
+     */
+    private class RegistryView extends AbstractMap<String, T> {
+        private final boolean dlcEnabled;
+        private final Set<Map.Entry<String, T>> entrySet;
+
+
+        public RegistryView(final boolean dlcEnabled) {
+            this.dlcEnabled = dlcEnabled;
+
+            entrySet = new AbstractSet<Map.Entry<String, T>>() {
+                @Override
+                public Iterator<Map.Entry<String, T>> iterator() {
+                    return new RegistryIterator(getOrder(), dlcEnabled);
+                }
+
+                @Override
+                public int size() {
+                    return RegistryView.this.size();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return (dlcEnabled ? orderCount : stdCount);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return (key instanceof String && Registry.this.get((String) key, dlcEnabled) != null);
+        }
+
+        @Override
+        public T get(Object key) {
+            if (!(key instanceof String)) return null;
+            return Registry.this.get((String) key, dlcEnabled);
+        }
+
+        @Override
+        public Set<Map.Entry<String, T>> entrySet() {
+            return entrySet;
+        }
+    }
+
+    private class RegistryIterator implements Iterator<Map.Entry<String, T>> {
+        private final int[] symbolOrder;
+        private final boolean dlcEnabled;
+        private int next = 0;
+        private T nextValue = null;
+
+
+        public RegistryIterator(int[] symbolOrder, boolean dlcEnabled) {
+            this.symbolOrder = symbolOrder;
+            this.dlcEnabled = dlcEnabled;
+            advance();
+        }
+
+        private void advance() {
+            nextValue = null;
+            while (next < symbolOrder.length && nextValue == null) {
+                nextValue = Registry.this.get(symbolOrder[next], dlcEnabled);
+                if (nextValue == null) next++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return (nextValue != null);
+        }
+
+        @Override
+        public Map.Entry<String, T> next() {
+            if (nextValue == null) throw new NoSuchElementException();
+
+            Map.Entry<String, T> result = new AbstractMap.SimpleImmutableEntry<String, T>(symbols.getName(symbolOrder[next]), nextValue);
+            next++;
+            advance();
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package net.blerf.ftl.parser;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import net.blerf.ftl.model.state.SavedGameState;
+import net.blerf.ftl.parser.SavedGameIndex.Span;
+
+
+/**
+ * Field-level differences between two saved games.
+ * <p>
+ * The two gameStates are walked in parallel, reporting each differing
+ * value with a path like "playerShip.crew[3].health". Field names lose
+ * any "List" or "State" suffix, lists are indexed by position, and maps
+ * by key. Model classes are walked field by field, while classes that
+ * define their own equals() (and anything outside the model) are
+ * compared whole.
+ * <p>
+ * Spans are compared first, as encoded bytes, and SavedGameState fields
+ * that only live in identical spans aren't walked at all. That only
+ * prunes the reflective walk: both gameStates must still be parsed (or
+ * encoded) in full, since a span's boundaries can only be found by
+ * decoding everything before it. The walk is linear in what's left.
+ * <p>
+ * Transient fields are editor bookkeeping (file index, change logs,
+ * parsed sections), not saved data, so they're ignored, as are
+ * MysteryBytes.
+ * <p>
+ * Instances aren't thread-safe, but the walk itself needs no GUI or
+ * DataManager, so one per thread can diff in batch.
+ */
+public class SavedGameDiff {
+
+    /**
+     * One differing value.
+     * <p>
+     * For something only present on one side, the other value is null.
+     * Model objects are described by their class name.
+     */
+    public static class Difference {
+        private final String path;
+        private final String oldValue;
+        private final String newValue;
+
+        public Difference(String path, String oldValue, String newValue) {
+            this.path = path;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getOldValue() {
+            return oldValue;
+        }
+
+        public String getNewValue() {
+            return newValue;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %s -> %s", path, oldValue, newValue);
+        }
+    }
+
+    /** SavedGameState fields that aren't worth comparing, besides transient ones. */
+    private static final Set<String> IGNORED_ROOT_FIELDS = new LinkedHashSet<String>(Arrays.asList(
+            "mysteryList"));
+
+    /**
+     * Spans holding each bulky SavedGameState field.
+     * <p>
+     * Other fields are cheap, and always compared.
+     */
+    private static final Map<String, Set<Span>> ROOT_FIELD_SPANS = new HashMap<String, Set<Span>>();
+
+    static {
+        ROOT_FIELD_SPANS.put("stateVars", EnumSet.of(Span.HEADER));
+        ROOT_FIELD_SPANS.put("playerShipState", EnumSet.of(Span.PLAYER_SHIP, Span.PLAYER_SHIP_EXTENDED));
+        ROOT_FIELD_SPANS.put("cargoIdList", EnumSet.of(Span.SECTOR));
+        ROOT_FIELD_SPANS.put("sectorVisitationList", EnumSet.of(Span.SECTOR));
+        ROOT_FIELD_SPANS.put("beaconList", EnumSet.of(Span.BEACONS));
+        ROOT_FIELD_SPANS.put("questEventMap", EnumSet.of(Span.ENCOUNTER));
+        ROOT_FIELD_SPANS.put("distantQuestEventList", EnumSet.of(Span.ENCOUNTER));
+        ROOT_FIELD_SPANS.put("encounter", EnumSet.of(Span.ENCOUNTER));
+        ROOT_FIELD_SPANS.put("nearbyShipState", EnumSet.of(Span.NEARBY_SHIP, Span.NEARBY_SHIP_EXTENDED));
+        ROOT_FIELD_SPANS.put("nearbyShipAI", EnumSet.of(Span.NEARBY_SHIP));
+        ROOT_FIELD_SPANS.put("environment", EnumSet.of(Span.ENVIRONMENT));
+        ROOT_FIELD_SPANS.put("projectileList", EnumSet.of(Span.PROJECTILES));
+        ROOT_FIELD_SPANS.put("rebelFlagshipState", EnumSet.of(Span.TRAILER));
+    }
+
+    private static final Map<Class<?>, ClassInfo> classInfoCache = new ConcurrentHashMap<Class<?>, ClassInfo>();
+
+    private final SavedGameParser parser = new SavedGameParser();
+
+    private final List<Difference> results = new ArrayList<Difference>();
+    private final Map<Object, Boolean> walking = new IdentityHashMap<Object, Boolean>();
+
+
+    public SavedGameDiff() {
+    }
+
+    /**
+     * Compares two parsed gameStates.
+     * <p>
+     * Both are encoded, span by span, to find which spans are identical.
+     */
+    public List<Difference> diff(SavedGameState oldState, SavedGameState newState) throws IOException {
+        Map<Span, byte[]> oldSpans = parser.encodeSpans(oldState);
+        Map<Span, byte[]> newSpans = parser.encodeSpans(newState);
+
+        Set<Span> changed = EnumSet.noneOf(Span.class);
+        for (Span span : Span.values()) {
+            byte[] oldBytes = oldSpans.get(span);
+            byte[] newBytes = newSpans.get(span);
+            if (oldBytes == null ? newBytes != null : !Arrays.equals(oldBytes, newBytes)) {
+                changed.add(span);
+            }
+        }
+        return diff(oldState, newState, changed);
+    }
+
+    /**
+     * Compares two whole saved game files, already in memory.
+     * <p>
+     * Identical files aren't parsed at all. Otherwise both are parsed in
+     * full, to find their spans, which are then compared as they were
+     * found in each file. If every span is identical (the files only
+     * differ in trailing MysteryBytes), nothing further is done.
+     *
+     * @param oldBytes a whole file, from position 0 to the limit
+     * @param newBytes another, likewise
+     */
+    public List<Difference> diff(ByteBuffer oldBytes, ByteBuffer newBytes) throws IOException {
+        if (oldBytes.equals(newBytes)) return Collections.emptyList();
+
+        SavedGameState oldState = parser.readSavedGame(new ByteBufferInputStream(oldBytes.duplicate()));
+        SavedGameState newState = parser.readSavedGame(new ByteBufferInputStream(newBytes.duplicate()));
+
+        SavedGameIndex oldIndex = oldState.getFileIndex();
+        SavedGameIndex newIndex = newState.getFileIndex();
+
+        Set<Span> changed = EnumSet.noneOf(Span.class);
+        for (Span span : Span.values()) {
+            ByteBuffer oldSlice = oldIndex.slice(oldBytes, span);
+            ByteBuffer newSlice = newIndex.slice(newBytes, span);
+            if (oldSlice == null ? newSlice != null : !oldSlice.equals(newSlice)) {
+                changed.add(span);
+            }
+        }
+        if (changed.isEmpty()) return Collections.emptyList();
+
+        return diff(oldState, newState, changed);
+    }
+
+    /**
+     * Compares two gameStates, skipping fields that only live in spans
+     * known to be identical.
+     *
+     * @param changed spans that differ
+     */
+    public List<Difference> diff(SavedGameState oldState, SavedGameState newState, Set<Span> changed) {
+        results.clear();
+        walking.clear();
+
+        for (Map.Entry<String, Field> entry : getClassInfo(SavedGameState.class).fields.entrySet()) {
+            Field field = entry.getValue();
+            if (IGNORED_ROOT_FIELDS.contains(field.getName())) continue;
+
+            Set<Span> spans = ROOT_FIELD_SPANS.get(field.getName());
+            if (spans != null && Collections.disjoint(spans, changed)) continue;
+
+            compare(entry.getKey(), getFieldValue(field, oldState), getFieldValue(field, newState));
+        }
+
+        List<Difference> result = new ArrayList<Difference>(results);
+        results.clear();
+        return result;
+    }
+
+    private void compare(String path, Object a, Object b) {
+        if (a == b) return;
+
+        if (a == null || b == null || a.getClass() != b.getClass()) {
+            results.add(new Difference(path, describe(a), describe(b)));
+            return;
+        }
+
+        if (a instanceof List) {
+            compareLists(path, (List<?>) a, (List<?>) b);
+        } else if (a instanceof Map) {
+            compareMaps(path, (Map<?, ?>) a, (Map<?, ?>) b);
+        } else if (a.getClass().isArray()) {
+            compareArrays(path, a, b);
+        } else {
+            ClassInfo info = getClassInfo(a.getClass());
+
+            if (info.leaf) {
+                if (!a.equals(b)) {
+                    results.add(new Difference(path, describe(a), describe(b)));
+                }
+                return;
+            }
+            if (walking.put(a, Boolean.TRUE) != null) return;  // A cycle.
+
+            try {
+                for (Map.Entry<String, Field> entry : info.fields.entrySet()) {
+                    Field field = entry.getValue();
+                    compare(path + "." + entry.getKey(), getFieldValue(field, a), getFieldValue(field, b));
+                }
+            } finally {
+                walking.remove(a);
+            }
+        }
+    }
+
+    private void compareLists(String path, List<?> a, List<?> b) {
+        int common = Math.min(a.size(), b.size());
+        for (int i = 0; i < common; i++) {
+            compare(path + "[" + i + "]", a.get(i), b.get(i));
+        }
+        for (int i = common; i < a.size(); i++) {
+            results.add(new Difference(path + "[" + i + "]", describe(a.get(i)), null));
+        }
+        for (int i = common; i < b.size(); i++) {
+            results.add(new Difference(path + "[" + i + "]", null, describe(b.get(i))));
+        }
+    }
+
+    private void compareMaps(String path, Map<?, ?> a, Map<?, ?> b) {
+        for (Map.Entry<?, ?> entry : a.entrySet()) {
+            String keyPath = path + "[" + entry.getKey() + "]";
+            if (b.containsKey(entry.getKey())) {
+                compare(keyPath, entry.getValue(), b.get(entry.getKey()));
+            } else {
+                results.add(new Difference(keyPath, describe(entry.getValue()), null));
+            }
+        }
+        for (Map.Entry<?, ?> entry : b.entrySet()) {
+            if (!a.containsKey(entry.getKey())) {
+                results.add(new Difference(path + "[" + entry.getKey() + "]", null, describe(entry.getValue())));
+            }
+        }
+    }
+
+    private void compareArrays(String path, Object a, Object b) {
+        int aLength = Array.getLength(a);
+        int bLength = Array.getLength(b);
+        int common = Math.min(aLength, bLength);
+        for (int i = 0; i < common; i++) {
+            compare(path + "[" + i + "]", Array.get(a, i), Array.get(b, i));
+        }
+        for (int i = common; i < aLength; i++) {
+            results.add(new Difference(path + "[" + i + "]", describe(Array.get(a, i)), null));
+        }
+        for (int i = common; i < bLength; i++) {
+            results.add(new Difference(path + "[" + i + "]", null, describe(Array.get(b, i))));
+        }
+    }
+
+    /**
+     * Returns a short description of a value, without dumping model objects.
+     */
+    private static String describe(Object o) {
+        if (o == null) return null;
+        if (o instanceof List) return String.format("%s(%d)", o.getClass().getSimpleName(), ((List<?>) o).size());
+        if (o instanceof Map) return String.format("%s(%d)", o.getClass().getSimpleName(), ((Map<?, ?>) o).size());
+        if (o.getClass().isArray()) return String.format("%s[%d]", o.getClass().getComponentType().getSimpleName(), Array.getLength(o));
+
+        if (getClassInfo(o.getClass()).leaf) return String.valueOf(o);
+        return o.getClass().getSimpleName();
+    }
+
+    private static Object getFieldValue(Field field, Object o) {
+        try {
+            return field.get(o);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(String.format("Could not read field: %s", field), e);
+        }
+    }
+
+    private static ClassInfo getClassInfo(Class<?> c) {
+        ClassInfo result = classInfoCache.get(c);
+        if (result == null) {
+            result = new ClassInfo(c);
+            classInfoCache.put(c, result);
+        }
+        return result;
+    }
+
+
+    /**
+     * How to compare instances of a class.
+     */
+    private static class ClassInfo {
+        /** True to compare with equals(), rather than field by field. */
+        public final boolean leaf;
+
+        /** Instance fields, keyed by path name, superclass fields first. */
+        public final Map<String, Field> fields;
+
+        public ClassInfo(Class<?> c) {
+            leaf = isLeaf(c);
+
+            Map<String, Field> fieldMap = new LinkedHashMap<String, Field>();
+            if (!leaf) {
+                List<Field> allFields = new ArrayList<Field>();
+                for (Class<?> k = c; k != null && k != Object.class; k = k.getSuperclass()) {
+                    List<Field> declared = new ArrayList<Field>();
+                    for (Field f : k.getDeclaredFields()) {
+                        int mods = f.getModifiers();
+                        if (Modifier.isStatic(mods) || Modifier.isTransient(mods) || f.isSynthetic()) continue;
+                        f.setAccessible(true);
+                        declared.add(f);
+                    }
+                    allFields.addAll(0, declared);
+                }
+
+                Set<String> rawNames = new LinkedHashSet<String>();
+                for (Field f : allFields) {
+                    rawNames.add(f.getName());
+                }
+                for (Field f : allFields) {
+                    String name = getPathName(f.getName());
+                    if (rawNames.contains(name) || fieldMap.containsKey(name)) {
+                        name = f.getName();
+                    }
+                    fieldMap.put(name, f);
+                }
+            }
+            fields = Collections.unmodifiableMap(fieldMap);
+        }
+
+        private static boolean isLeaf(Class<?> c) {
+            if (c.isPrimitive() || c.isEnum() || c.getName().startsWith("java.")) return true;
+            if (!c.getName().startsWith("net.blerf.")) return true;
+
+            try {
+                return (c.getMethod("equals", Object.class).getDeclaringClass() != Object.class);
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+
+        /**
+         * Returns a field's name with any "List" or "State" suffix removed.
+         */
+        private static String getPathName(String name) {
+            for (String suffix : new String[]{"List", "State"}) {
+                if (name.length() > suffix.length() && name.endsWith(suffix)) {
+                    return name.substring(0, name.length() - suffix.length());
+                }
+            }
+            return name;
+        }
+    }
+}
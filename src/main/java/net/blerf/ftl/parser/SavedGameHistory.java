@@ -0,0 +1,275 @@
+package net.blerf.ftl.parser;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import net.blerf.ftl.model.state.SavedGameState;
+import net.blerf.ftl.parser.SavedGameIndex.Span;
+
+
+/**
+ * Undo/redo snapshots of a SavedGameState.
+ * <p>
+ * Each snapshot holds the encoded bytes of every span. A span that didn't
+ * change shares its array with the previous snapshot, so a step only costs
+ * the spans it touched, and a long history of small edits stays small.
+ * <p>
+ * Recording only re-encodes the spans in the gameState's change log, so
+ * the cost of a step depends on what was edited, not on the size of the
+ * save. Undo and redo decode only the spans that differ between two
+ * snapshots, into the existing gameState, rather than re-reading the
+ * whole file. Afterward, the change log is cleared.
+ * <p>
+ * The snapshot last saved (or loaded) is remembered too, so the spans
+ * that differ from the file on disk are known after any undo or redo.
+ *
+ * @see SavedGameState#getChangedSpans()
+ * @see SavedGameParser#encodeSpans(SavedGameState, Set)
+ * @see SavedGameParser#readSpans(SavedGameState, Map, Set)
+ */
+public class SavedGameHistory {
+
+    private final SavedGameParser parser = new SavedGameParser();
+    private final int maxSteps;
+
+    private final Deque<Map<Span, byte[]>> undoStack = new ArrayDeque<>();
+    private final Deque<Map<Span, byte[]>> redoStack = new ArrayDeque<>();
+    private Map<Span, byte[]> current = null;
+    private Map<Span, byte[]> saved = null;
+
+
+    /**
+     * Constructor.
+     *
+     * @param maxSteps how many undo steps to keep, before dropping the oldest
+     */
+    public SavedGameHistory(int maxSteps) {
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Forgets all history, and starts anew from a gameState as it is on disk.
+     *
+     * @param gameState the new baseline, or null to just clear
+     */
+    public void reset(SavedGameState gameState) throws IOException {
+        undoStack.clear();
+        redoStack.clear();
+        current = null;
+        saved = null;
+
+        if (gameState != null) {
+            current = parser.encodeSpans(gameState);
+            saved = current;
+            gameState.clearChangedSpans();
+        }
+    }
+
+    /**
+     * Returns true if there's a baseline to compare edits to.
+     */
+    public boolean isActive() {
+        return (current != null);
+    }
+
+    /**
+     * Takes a snapshot, if the gameState has changed since the last one.
+     * <p>
+     * Only spans in the gameState's change log are encoded. The rest are
+     * assumed to be as they were in the last snapshot. Any redo steps are
+     * discarded when something changed.
+     *
+     * @return the spans that changed, possibly none
+     */
+    public Set<Span> record(SavedGameState gameState) throws IOException {
+        checkActive();
+
+        Set<Span> changedSpans = gameState.getChangedSpans();
+        Map<Span, byte[]> next = new EnumMap<Span, byte[]>(Span.class);
+        next.putAll(current);
+
+        if (!changedSpans.isEmpty()) {
+            Map<Span, byte[]> encoded = parser.encodeSpans(gameState, changedSpans);
+            for (Span span : changedSpans) {
+                byte[] bytes = encoded.get(span);
+                if (bytes != null) {
+                    next.put(span, bytes);
+                } else {
+                    next.remove(span);  // Gone, like a departed nearby ship.
+                }
+            }
+            share(next, current);
+        }
+        gameState.clearChangedSpans();
+
+        Set<Span> changed = diff(current, next);
+        if (changed.isEmpty()) return changed;
+
+        undoStack.push(current);
+        while (undoStack.size() > maxSteps) {
+            undoStack.removeLast();
+        }
+        redoStack.clear();
+        current = next;
+
+        return changed;
+    }
+
+    public boolean canUndo() {
+        return !undoStack.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redoStack.isEmpty();
+    }
+
+    /**
+     * Reverts a gameState to the previous snapshot.
+     * <p>
+     * The gameState must be as of the latest record(), undo(), or redo().
+     *
+     * @return the spans that changed, or null if there was nothing to undo
+     */
+    public Set<Span> undo(SavedGameState gameState) throws IOException {
+        checkActive();
+        if (undoStack.isEmpty()) return null;
+
+        return restore(gameState, undoStack, redoStack);
+    }
+
+    /**
+     * Reapplies the snapshot most recently undone.
+     *
+     * @return the spans that changed, or null if there was nothing to redo
+     */
+    public Set<Span> redo(SavedGameState gameState) throws IOException {
+        checkActive();
+        if (redoStack.isEmpty()) return null;
+
+        return restore(gameState, redoStack, undoStack);
+    }
+
+    private Set<Span> restore(SavedGameState gameState, Deque<Map<Span, byte[]>> from, Deque<Map<Span, byte[]>> to) throws IOException {
+        Map<Span, byte[]> target = from.peek();
+        Set<Span> changed = diff(current, target);
+
+        parser.readSpans(gameState, target, changed);
+        gameState.clearChangedSpans();
+
+        from.pop();
+        to.push(current);
+        current = target;
+
+        return changed;
+    }
+
+    /**
+     * Returns the current snapshot.
+     * <p>
+     * Snapshots' arrays are never modified once taken, so this can be
+     * decoded on another thread, e.g. to dump it.
+     *
+     * @see SavedGameParser#readSpans(Map)
+     */
+    public Map<Span, byte[]> getCurrentSpans() {
+        checkActive();
+        return Collections.unmodifiableMap(current);
+    }
+
+    /**
+     * Notes that the current snapshot has been written to disk.
+     */
+    public void markSaved() {
+        saved = current;
+    }
+
+    /**
+     * Returns the spans that differ from the file last loaded or saved.
+     */
+    public Set<Span> getUnsavedSpans() {
+        checkActive();
+        return diff(saved, current);
+    }
+
+    /**
+     * Returns the number of undo steps available.
+     */
+    public int getUndoCount() {
+        return undoStack.size();
+    }
+
+    public int getRedoCount() {
+        return redoStack.size();
+    }
+
+    /**
+     * Returns the bytes held by all snapshots, counting shared spans once.
+     */
+    public long getRetainedBytes() {
+        Map<byte[], Boolean> seen = new IdentityHashMap<>();
+        long result = 0;
+        for (Map<Span, byte[]> snapshot : Arrays.asList(current, saved)) {
+            result += countUnseen(snapshot, seen);
+        }
+        for (Map<Span, byte[]> snapshot : undoStack) {
+            result += countUnseen(snapshot, seen);
+        }
+        for (Map<Span, byte[]> snapshot : redoStack) {
+            result += countUnseen(snapshot, seen);
+        }
+        return result;
+    }
+
+    private static long countUnseen(Map<Span, byte[]> snapshot, Map<byte[], Boolean> seen) {
+        if (snapshot == null) return 0;
+
+        long result = 0;
+        for (byte[] bytes : snapshot.values()) {
+            if (seen.put(bytes, Boolean.TRUE) == null) result += bytes.length;
+        }
+        return result;
+    }
+
+    /**
+     * Replaces arrays in a new snapshot with equal ones from an older one.
+     */
+    private static Map<Span, byte[]> share(Map<Span, byte[]> snapshot, Map<Span, byte[]> older) {
+        for (Map.Entry<Span, byte[]> entry : snapshot.entrySet()) {
+            byte[] olderBytes = older.get(entry.getKey());
+            if (olderBytes != null && Arrays.equals(olderBytes, entry.getValue())) {
+                entry.setValue(olderBytes);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the spans that differ between two snapshots.
+     * <p>
+     * Shared arrays are equal, so most spans are compared by identity.
+     */
+    private static Set<Span> diff(Map<Span, byte[]> a, Map<Span, byte[]> b) {
+        Set<Span> result = EnumSet.noneOf(Span.class);
+        for (Span span : Span.values()) {
+            byte[] aBytes = a.get(span);
+            byte[] bBytes = b.get(span);
+            if (aBytes != bBytes && (aBytes == null || bBytes == null || !Arrays.equals(aBytes, bBytes))) {
+                result.add(span);
+            }
+        }
+        return result;
+    }
+
+    private void checkActive() {
+        if (current == null) {
+            throw new IllegalStateException("The history has no baseline gameState");
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package net.blerf.ftl.parser;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+
+/**
+ * Where each span of a saved game was found in its file.
+ * <p>
+ * SavedGameParser records this while reading. Spans are consecutive: each
+ * one ends where the next begins, and the last ends before any trailing
+ * MysteryBytes. Spans for a nearby ship are absent if there wasn't one.
+ * <p>
+ * With this, unchanged spans can be copied verbatim from the original
+ * file when saving, and any span can be sliced out for inspection
+ * without parsing its predecessors.
+ *
+ * @see SavedGameParser#writeSavedGame(java.nio.channels.FileChannel, net.blerf.ftl.model.state.SavedGameState, java.nio.channels.FileChannel, java.util.Set)
+ */
+public class SavedGameIndex {
+
+    /**
+     * Consecutive byte ranges of a saved game, in file order.
+     * <p>
+     * These are finer than SavedGameSection, which groups fields by what
+     * a partial read needs, rather than by what can be re-encoded alone.
+     */
+    public enum Span {
+        /** File format through state vars. */
+        HEADER,
+        PLAYER_SHIP,
+        /** Cargo, seeds, rebel fleet, and sector visitation. */
+        SECTOR,
+        BEACONS,
+        /** Quest events, the current encounter, and nearby ship flags. */
+        ENCOUNTER,
+        /** The nearby ship and its AI. */
+        NEARBY_SHIP,
+        ENVIRONMENT,
+        PROJECTILES,
+        /** Drone pods, system info, and weapon modules. */
+        PLAYER_SHIP_EXTENDED,
+        NEARBY_SHIP_EXTENDED,
+        /** Autofire and the rebel flagship. */
+        TRAILER
+    }
+
+    private final Map<Span, long[]> entries = new EnumMap<Span, long[]>(Span.class);
+    private Span openSpan = null;
+    private long openOffset = -1;
+    private long dataLength = -1;
+    private long sourceLength = -1;
+    private File sourceFile = null;
+    private long sourceModified = -1;
+
+
+    SavedGameIndex() {
+    }
+
+    /**
+     * Ends the previous span, if any, and starts another.
+     */
+    void mark(Span span, long offset) {
+        closeSpan(offset);
+        openSpan = span;
+        openOffset = offset;
+    }
+
+    /**
+     * Ends the last span.
+     *
+     * @param offset where the parsed data ended
+     * @param sourceLength the size of the whole file
+     */
+    void finish(long offset, long sourceLength) {
+        closeSpan(offset);
+        this.dataLength = offset;
+        this.sourceLength = sourceLength;
+    }
+
+    private void closeSpan(long offset) {
+        if (openSpan != null) {
+            entries.put(openSpan, new long[]{openOffset, offset - openOffset});
+            openSpan = null;
+        }
+    }
+
+    /**
+     * Remembers which file this describes, to detect outside changes.
+     *
+     * @param timestamp the file's modification time, from before it was read
+     */
+    public void setSourceFile(File f, long timestamp) {
+        sourceFile = f.getAbsoluteFile();
+        sourceModified = timestamp;
+    }
+
+    /**
+     * Returns true if a file appears to be the one this index describes.
+     * <p>
+     * The length must match, and the path and modification time too, if
+     * known.
+     */
+    public boolean isCurrentFor(File f) {
+        if (!f.isFile() || f.length() != sourceLength) return false;
+        if (sourceFile != null && !sourceFile.equals(f.getAbsoluteFile())) return false;
+        return (sourceModified == -1 || f.lastModified() == sourceModified);
+    }
+
+    public boolean contains(Span span) {
+        return entries.containsKey(span);
+    }
+
+    /**
+     * Returns a span's offset, or -1 if absent.
+     */
+    public long getOffset(Span span) {
+        long[] entry = entries.get(span);
+        return (entry != null ? entry[0] : -1);
+    }
+
+    /**
+     * Returns a span's length in bytes, or -1 if absent.
+     */
+    public long getLength(Span span) {
+        long[] entry = entries.get(span);
+        return (entry != null ? entry[1] : -1);
+    }
+
+    /**
+     * Returns the offset where parsed data ended (and MysteryBytes began).
+     */
+    public long getDataLength() {
+        return dataLength;
+    }
+
+    public long getSourceLength() {
+        return sourceLength;
+    }
+
+    /**
+     * Returns the spans present, in file order, with {offset, length}.
+     */
+    public Map<Span, long[]> getEntries() {
+        return Collections.unmodifiableMap(entries);
+    }
+
+    /**
+     * Returns a span's bytes, out of the whole file's content.
+     *
+     * @param fileBytes the file, from position 0 to the limit
+     * @return a slice sharing fileBytes' content, or null if absent
+     */
+    public ByteBuffer slice(ByteBuffer fileBytes, Span span) {
+        long[] entry = entries.get(span);
+        if (entry == null) return null;
+
+        ByteBuffer result = fileBytes.duplicate();
+        result.limit((int) (entry[0] + entry[1]));
+        result.position((int) entry[0]);
+        return result.slice();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        for (Map.Entry<Span, long[]> entry : entries.entrySet()) {
+            long[] range = entry.getValue();
+            result.append(String.format("%-21s %8d-%8d (%d bytes)%n", entry.getKey().toString() + ":", range[0], range[0] + range[1], range[1]));
+        }
+        return result.toString();
+    }
+}
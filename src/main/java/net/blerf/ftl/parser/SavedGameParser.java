@@ -13,10 +13,15 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import net.blerf.ftl.constants.Difficulty;
 import net.blerf.ftl.constants.FleetPresence;
@@ -56,6 +61,7 @@ import net.blerf.ftl.model.state.NearbyShipAIState;
 import net.blerf.ftl.model.state.ProjectileState;
 import net.blerf.ftl.model.state.RebelFlagshipState;
 import net.blerf.ftl.model.state.RoomState;
+import net.blerf.ftl.model.state.SavedGameSection;
 import net.blerf.ftl.model.state.SavedGameState;
 import net.blerf.ftl.model.state.ShipState;
 import net.blerf.ftl.model.state.SquareState;
@@ -80,6 +86,7 @@ import net.blerf.ftl.model.type.ProjectileType;
 import net.blerf.ftl.model.type.StationDirection;
 import net.blerf.ftl.model.type.StoreItemType;
 import net.blerf.ftl.model.type.SystemType;
+import net.blerf.ftl.parser.SavedGameIndex.Span;
 import net.blerf.ftl.xml.DroneBlueprint;
 import net.blerf.ftl.xml.ship.ShipBlueprint;
 import net.blerf.ftl.xml.ship.SystemRoom;
@@ -87,18 +94,239 @@ import net.blerf.ftl.xml.ship.SystemRoom;
 @Slf4j
 public class SavedGameParser extends Parser {
 
+    /**
+     * How much of a file to read for the header, at first.
+     * <p>
+     * Saved games usually have a few dozen state vars. If there are
+     * enough to overflow this, the whole file is read after all.
+     */
+    private static final int HEADER_PREFIX_SIZE = 16 * 1024;
+
+
     public SavedGameParser() {
     }
 
     public SavedGameState readSavedGame(File savFile) throws IOException {
-        try (FileInputStream in = new FileInputStream(savFile)) {
-            return readSavedGame(in);
+        long modified = savFile.lastModified();
+
+        SavedGameState gameState = readSavedGame(ByteBufferInputStream.readFile(savFile));
+        gameState.getFileIndex().setSourceFile(savFile, modified);
+        return gameState;
+    }
+
+    /**
+     * Reads only a saved game's header, from the start of a file.
+     * <p>
+     * This reads a small prefix of the file, and doesn't touch
+     * DataManager, so it's suitable for indexing large archives.
+     *
+     * @see SavedGameSection#HEADER
+     */
+    public SavedGameState readSavedGameHeader(File savFile) throws IOException {
+        Set<SavedGameSection> sections = EnumSet.of(SavedGameSection.HEADER);
+
+        ByteBufferInputStream in = ByteBufferInputStream.readFile(savFile, HEADER_PREFIX_SIZE);
+        try {
+            return readSavedGame(in, sections);
+        } catch (IOException e) {
+            if (savFile.length() <= in.size()) throw e;
+
+            log.debug("Header of {} extends beyond {} bytes, reading the whole file", savFile.getName(), in.size());
+            return readSavedGame(ByteBufferInputStream.readFile(savFile), sections);
         }
     }
 
-    public SavedGameState readSavedGame(FileInputStream in) throws IOException {
+    /**
+     * Reads a gameState from a stream.
+     * <p>
+     * Trailing bytes become MysteryBytes, so the stream needs to know its
+     * size. Streams other than FileInputStream and ByteBufferInputStream
+     * will be read into memory first.
+     */
+    public SavedGameState readSavedGame(InputStream in) throws IOException {
+        return readSavedGame(in, EnumSet.allOf(SavedGameSection.class));
+    }
+
+    /**
+     * Reads some sections of a gameState from a stream.
+     * <p>
+     * Reading stops after the last requested section. Since sections can
+     * only be found by decoding their predecessors, those are decoded
+     * and kept too: the result's parsed sections may include more than
+     * were asked for. Unless every section was read, the stream isn't
+     * checked for trailing MysteryBytes, and the result can't be written.
+     *
+     * @param sections at least one section
+     * @see SavedGameState#isPartial()
+     */
+    public SavedGameState readSavedGame(InputStream in, Set<SavedGameSection> sections) throws IOException {
+        if (sections.isEmpty()) {
+            throw new IllegalArgumentException("At least one saved game section must be requested");
+        }
+        SavedGameSection lastSection = Collections.max(sections);
+
+        // Only a complete read needs the size, for MysteryBytes.
+        boolean complete = (lastSection == SavedGameSection.ENCOUNTER);
+        if (complete && !(in instanceof FileInputStream || in instanceof ByteBufferInputStream)) {
+            ByteBufferOutputStream tmpOut = new ByteBufferOutputStream();
+            byte[] buf = new byte[4096];
+            int len;
+            while ((len = in.read(buf)) >= 0) {
+                tmpOut.write(buf, 0, len);
+            }
+            in = new ByteBufferInputStream(tmpOut.asReadOnlyBuffer());
+        }
+
         SavedGameState gameState = new SavedGameState();
+        gameState.setParsedSections(EnumSet.range(SavedGameSection.HEADER, lastSection));
+
+        // Spans can only be indexed if the stream knows its position.
+        SavedGameIndex index = (getPosition(in) != -1 ? new SavedGameIndex() : null);
+        markSpan(index, Span.HEADER, in);
+        readHeader(in, gameState);
+
+        if (lastSection == SavedGameSection.HEADER) return finishRead(in, gameState, index);
+
+        markSpan(index, Span.PLAYER_SHIP, in);
+        readSpan(in, gameState, Span.PLAYER_SHIP);
+
+        // Nearby ships have no cargo, so this isn't in readShip().
+        markSpan(index, Span.SECTOR, in);
+        readCargo(in, gameState);
+
+        if (lastSection == SavedGameSection.PLAYER_SHIP) return finishRead(in, gameState, index);
+
+        readSectorFields(in, gameState);
+
+        if (lastSection == SavedGameSection.SECTOR) return finishRead(in, gameState, index);
+
+        markSpan(index, Span.BEACONS, in);
+        readSpan(in, gameState, Span.BEACONS);
+
+        markSpan(index, Span.ENCOUNTER, in);
+        readQuestEvents(in, gameState);
+
+        if (lastSection == SavedGameSection.BEACONS) return finishRead(in, gameState, index);
+
+        boolean shipNearby = readEncounterFields(in, gameState);
+        if (shipNearby) {
+            markSpan(index, Span.NEARBY_SHIP, in);
+            readSpan(in, gameState, Span.NEARBY_SHIP);
+        }
+
+        if (gameState.getFileFormat() != 2) {
+            markSpan(index, Span.ENVIRONMENT, in);
+            readSpan(in, gameState, Span.ENVIRONMENT);
+
+            // Flagship state is set much later.
+
+            markSpan(index, Span.PROJECTILES, in);
+            readSpan(in, gameState, Span.PROJECTILES);
+
+            markSpan(index, Span.PLAYER_SHIP_EXTENDED, in);
+            readSpan(in, gameState, Span.PLAYER_SHIP_EXTENDED);
+
+            if (gameState.getNearbyShip() != null) {
+                markSpan(index, Span.NEARBY_SHIP_EXTENDED, in);
+                readSpan(in, gameState, Span.NEARBY_SHIP_EXTENDED);
+            }
+        }
+
+        markSpan(index, Span.TRAILER, in);
+        readSpan(in, gameState, Span.TRAILER);
+
+        // The stream should end here.
+        finishRead(in, gameState, index);
+
+        int bytesRemaining;
+        if (in instanceof FileInputStream) {
+            FileChannel channel = ((FileInputStream) in).getChannel();
+            bytesRemaining = (int) (channel.size() - channel.position());
+        } else {
+            bytesRemaining = in.available();
+        }
+        if (bytesRemaining > 0) {
+            gameState.addMysteryBytes(new MysteryBytes(in, bytesRemaining));
+        }
+
+        return gameState;
+    }
+
+    /**
+     * Reads one span into a gameState, replacing what it held before.
+     * <p>
+     * Spans after the header depend on fields from earlier spans (file
+     * format, DLC, and the nearby ship's presence), which must already be
+     * set. A ship's extended info is read into its existing ShipState, so
+     * a ship's span must be read before its extended span.
+     * <p>
+     * The NEARBY_SHIP span is only present if ENCOUNTER said so.
+     */
+    private void readSpan(InputStream in, SavedGameState gameState, Span span) throws IOException {
+        int fileFormat = gameState.getFileFormat();
+
+        switch (span) {
+            case HEADER:
+                readHeader(in, gameState);
+                break;
+
+            case PLAYER_SHIP:
+                gameState.setPlayerShip(readShip(in, false, fileFormat, gameState.isDLCEnabled()));
+                break;
+
+            case SECTOR:
+                readCargo(in, gameState);
+                readSectorFields(in, gameState);
+                break;
+
+            case BEACONS:
+                gameState.getBeaconList().clear();
+                int beaconCount = readInt(in);
+                for (int i = 0; i < beaconCount; i++) {
+                    gameState.addBeacon(readBeacon(in, fileFormat));
+                }
+                break;
+
+            case ENCOUNTER:
+                readQuestEvents(in, gameState);
+                readEncounterFields(in, gameState);
+                break;
+
+            case NEARBY_SHIP:
+                gameState.setNearbyShip(readShip(in, true, fileFormat, gameState.isDLCEnabled()));
+
+                if (fileFormat != 2) {
+                    gameState.setNearbyShipAI(readNearbyShipAI(in));
+                }
+                break;
+
+            case ENVIRONMENT:
+                gameState.setEnvironment(readEnvironment(in));
+                break;
+
+            case PROJECTILES:
+                gameState.getProjectileList().clear();
+                int projectileCount = readInt(in);
+                for (int i = 0; i < projectileCount; i++) {
+                    gameState.addProjectile(readProjectile(in, fileFormat));
+                }
+                break;
+
+            case PLAYER_SHIP_EXTENDED:
+                readExtendedShipInfo(in, gameState.getPlayerShip(), fileFormat);
+                break;
+
+            case NEARBY_SHIP_EXTENDED:
+                readExtendedShipInfo(in, gameState.getNearbyShip(), fileFormat);
+                break;
+
+            case TRAILER:
+                readTrailer(in, gameState);
+                break;
+        }
+    }
 
+    private void readHeader(InputStream in, SavedGameState gameState) throws IOException {
         int fileFormat = readInt(in);
         gameState.setFileFormat(fileFormat);
 
@@ -146,25 +374,34 @@ public class SavedGameParser extends Parser {
         gameState.setPlayerShipBlueprintId(playerShipBlueprintId);
 
         int oneBasedSectorNumber = readInt(in);  // Redundant.
+        gameState.setSectorNumber(oneBasedSectorNumber - 1);  // Until the real one, if reading that far.
 
         // Always 0?
         gameState.setUnknownBeta(readInt(in));
 
+        gameState.getStateVars().clear();
         int stateVarCount = readInt(in);
         for (int i = 0; i < stateVarCount; i++) {
             String stateVarId = readString(in);
             Integer stateVarValue = readInt(in);
             gameState.setStateVar(stateVarId, stateVarValue);
         }
+    }
 
-        ShipState playerShipState = readShip(in, false, fileFormat, gameState.isDLCEnabled());
-        gameState.setPlayerShip(playerShipState);
-
-        // Nearby ships have no cargo, so this isn't in readShip().
+    private void readCargo(InputStream in, SavedGameState gameState) throws IOException {
         int cargoCount = readInt(in);
+        List<String> cargoIdList = new ArrayList<>(cargoCount);
         for (int i = 0; i < cargoCount; i++) {
-            gameState.addCargoItemId(readString(in));
+            cargoIdList.add(readString(in));
         }
+        gameState.setCargoList(cargoIdList);
+    }
+
+    /**
+     * Reads the rest of the SECTOR span, after cargo.
+     */
+    private void readSectorFields(InputStream in, SavedGameState gameState) throws IOException {
+        int fileFormat = gameState.getFileFormat();
 
         gameState.setSectorTreeSeed(readInt(in));
 
@@ -209,12 +446,10 @@ public class SavedGameParser extends Parser {
         gameState.setSectorNumber(sectorNumber);
 
         gameState.setSectorIsHiddenCrystalWorlds(readBool(in));
+    }
 
-        int beaconCount = readInt(in);
-        for (int i = 0; i < beaconCount; i++) {
-            gameState.addBeacon(readBeacon(in, fileFormat));
-        }
-
+    private void readQuestEvents(InputStream in, SavedGameState gameState) throws IOException {
+        gameState.getQuestEventMap().clear();
         int questEventCount = readInt(in);
         for (int i = 0; i < questEventCount; i++) {
             String questEventId = readString(in);
@@ -222,112 +457,448 @@ public class SavedGameParser extends Parser {
             gameState.addQuestEvent(questEventId, questBeaconId);
         }
 
+        gameState.getDistantQuestEventList().clear();
         int distantQuestEventCount = readInt(in);
         for (int i = 0; i < distantQuestEventCount; i++) {
             String distantQuestEventId = readString(in);
             gameState.addDistantQuestEvent(distantQuestEventId);
         }
+    }
+
+    /**
+     * Reads the rest of the ENCOUNTER span, after quest events.
+     *
+     * @return true if a nearby ship follows
+     */
+    private boolean readEncounterFields(InputStream in, SavedGameState gameState) throws IOException {
+        int fileFormat = gameState.getFileFormat();
 
         if (fileFormat == 2) {
             gameState.setCurrentBeaconId(readInt(in));
 
-            boolean shipNearby = readBool(in);
-            if (shipNearby) {
-                ShipState nearbyShipState = readShip(in, true, fileFormat, gameState.isDLCEnabled());
-                gameState.setNearbyShip(nearbyShipState);
-            }
+            return readBool(in);
+        }
+
+        // Current beaconId was set earlier.
+
+        gameState.setUnknownMu(readInt(in));
+
+        EncounterState encounter = readEncounter(in, fileFormat);
+        gameState.setEncounter(encounter);
 
+        boolean shipNearby = readBool(in);
+        gameState.setRebelFlagshipNearby(shipNearby && readBool(in));
+        return shipNearby;
+    }
+
+    private void readTrailer(InputStream in, SavedGameState gameState) throws IOException {
+        if (gameState.getFileFormat() == 2) {
             RebelFlagshipState flagshipState = readRebelFlagship(in);
             gameState.setRebelFlagshipState(flagshipState);
-        } else if (fileFormat == 7 || fileFormat == 8 || fileFormat == 9 || fileFormat == 11) {
-            // Current beaconId was set earlier.
+            return;
+        }
 
-            gameState.setUnknownMu(readInt(in));
+        gameState.setUnknownNu(readInt(in));
 
-            EncounterState encounter = readEncounter(in, fileFormat);
-            gameState.setEncounter(encounter);
+        if (gameState.getNearbyShip() != null) {
+            gameState.setUnknownXi(readInt(in));
+        } else {
+            gameState.setUnknownXi(null);
+        }
 
-            boolean shipNearby = readBool(in);
-            if (shipNearby) {
-                gameState.setRebelFlagshipNearby(readBool(in));
+        gameState.setAutofire(readBool(in));
 
-                ShipState nearbyShipState = readShip(in, true, fileFormat, gameState.isDLCEnabled());
-                gameState.setNearbyShip(nearbyShipState);
+        RebelFlagshipState flagship = new RebelFlagshipState();
 
-                gameState.setNearbyShipAI(readNearbyShipAI(in));
-            }
+        flagship.setUnknownAlpha(readInt(in));
+        flagship.setPendingStage(readInt(in));
+        flagship.setUnknownGamma(readInt(in));
+        flagship.setUnknownDelta(readInt(in));
 
-            gameState.setEnvironment(readEnvironment(in));
+        int flagshipOccupancyCount = readInt(in);
+        for (int i = 0; i < flagshipOccupancyCount; i++) {
+            flagship.setPreviousOccupancy(i, readInt(in));
+        }
 
-            // Flagship state is set much later.
+        gameState.setRebelFlagshipState(flagship);
+    }
 
-            int projectileCount = readInt(in);
-            for (int i = 0; i < projectileCount; i++) {
-                gameState.addProjectile(readProjectile(in, fileFormat));
-            }
+    /**
+     * Returns a stream's offset, or -1 if it can't tell.
+     */
+    private static long getPosition(InputStream in) throws IOException {
+        if (in instanceof ByteBufferInputStream) {
+            return ((ByteBufferInputStream) in).position();
+        }
+        if (in instanceof FileInputStream) {
+            return ((FileInputStream) in).getChannel().position();
+        }
+        return -1;
+    }
 
-            readExtendedShipInfo(in, gameState.getPlayerShip(), fileFormat);
+    private static void markSpan(SavedGameIndex index, Span span, InputStream in) throws IOException {
+        if (index != null) index.mark(span, getPosition(in));
+    }
 
-            if (gameState.getNearbyShip() != null) {
-                readExtendedShipInfo(in, gameState.getNearbyShip(), fileFormat);
+    /**
+     * Ends the index where reading stopped, and attaches it to a gameState.
+     */
+    private static SavedGameState finishRead(InputStream in, SavedGameState gameState, SavedGameIndex index) throws IOException {
+        if (index != null) {
+            long sourceLength;
+            if (in instanceof ByteBufferInputStream) {
+                sourceLength = ((ByteBufferInputStream) in).size();
+            } else {
+                sourceLength = ((FileInputStream) in).getChannel().size();
             }
+            index.finish(getPosition(in), sourceLength);
+            gameState.setFileIndex(index);
+        }
+        return gameState;
+    }
 
-            gameState.setUnknownNu(readInt(in));
+    /**
+     * Writes a gameState to a stream.
+     * <p>
+     * Any MysteryBytes will be omitted.
+     */
+    public void writeSavedGame(OutputStream out, SavedGameState gameState) throws IOException {
+        checkWritable(gameState);
 
-            if (gameState.getNearbyShip() != null) {
-                gameState.setUnknownXi(readInt(in));
-            }
+        for (Span span : getSpans(gameState)) {
+            writeSpan(out, gameState, span);
+        }
+    }
 
-            gameState.setAutofire(readBool(in));
+    /**
+     * Writes a gameState to a channel, copying unchanged spans from the
+     * file it was read from.
+     * <p>
+     * Clean spans are transferred verbatim, per the gameState's index,
+     * without passing through the heap. Dirty spans are re-encoded. If a
+     * nearby ship has come or gone since the file was read, flags in other
+     * spans depend on it, so everything is re-encoded. Without a src,
+     * everything is encoded.
+     * <p>
+     * The caller must check that src is still the indexed file (see
+     * SavedGameIndex.isCurrentFor()), and dst must be a different file.
+     * Any MysteryBytes will be omitted.
+     *
+     * @param dst        a channel to write to, from its current position
+     * @param src        the original file, or null
+     * @param dirtySpans spans that might have changed
+     * @return an index of what was written, for the gameState to adopt
+     * @see SavedGameState#getDirtySpans()
+     */
+    public SavedGameIndex writeSavedGame(FileChannel dst, SavedGameState gameState, FileChannel src, Set<Span> dirtySpans) throws IOException {
+        checkWritable(gameState);
 
-            RebelFlagshipState flagship = new RebelFlagshipState();
+        SavedGameIndex srcIndex = gameState.getFileIndex();
+        if (src != null && srcIndex == null) {
+            throw new IllegalArgumentException("The gameState has no file index to copy spans from");
+        }
+        if (src != null && src.size() != srcIndex.getSourceLength()) {
+            throw new IOException(String.format("The original file's size changed since it was indexed (%d, was %d)", src.size(), srcIndex.getSourceLength()));
+        }
+        boolean sameShape = (src != null && srcIndex.contains(Span.NEARBY_SHIP) == (gameState.getNearbyShip() != null));
 
-            flagship.setUnknownAlpha(readInt(in));
-            flagship.setPendingStage(readInt(in));
-            flagship.setUnknownGamma(readInt(in));
-            flagship.setUnknownDelta(readInt(in));
+        SavedGameIndex dstIndex = new SavedGameIndex();
+        ByteBufferOutputStream pending = new ByteBufferOutputStream();
+        long offset = 0;
+        int copiedCount = 0;
 
-            int flagshipOccupancyCount = readInt(in);
-            for (int i = 0; i < flagshipOccupancyCount; i++) {
-                flagship.setPreviousOccupancy(i, readInt(in));
+        for (Span span : getSpans(gameState)) {
+            dstIndex.mark(span, offset);
+
+            if (sameShape && !dirtySpans.contains(span) && srcIndex.contains(span)) {
+                pending.writeTo(dst);
+                pending.reset();
+
+                long length = srcIndex.getLength(span);
+                transferFully(src, srcIndex.getOffset(span), length, dst);
+                offset += length;
+                copiedCount++;
+            } else {
+                int oldSize = pending.size();
+                writeSpan(pending, gameState, span);
+                offset += pending.size() - oldSize;
             }
+        }
+        pending.writeTo(dst);
+
+        log.debug("Saved game written with {} spans copied verbatim", copiedCount);
 
-            gameState.setRebelFlagshipState(flagship);
+        dstIndex.finish(offset, offset);
+        return dstIndex;
+    }
+
+    /**
+     * Encodes each span of a gameState separately.
+     * <p>
+     * Comparing these before and after an edit reveals which spans it
+     * touched, whichever objects were modified. They can be decoded again
+     * with readSpans().
+     *
+     * @return every span, in file order
+     */
+    public Map<Span, byte[]> encodeSpans(SavedGameState gameState) throws IOException {
+        return encodeSpans(gameState, EnumSet.allOf(Span.class));
+    }
+
+    /**
+     * Encodes some spans of a gameState separately.
+     * <p>
+     * Requested spans the gameState wouldn't be written with (e.g., the
+     * nearby ship's, when there isn't one) are left out.
+     *
+     * @param spans the spans to encode, usually those changed since they
+     *              were last encoded
+     * @return the requested spans, in file order
+     * @see SavedGameState#getChangedSpans()
+     */
+    public Map<Span, byte[]> encodeSpans(SavedGameState gameState, Set<Span> spans) throws IOException {
+        Map<Span, byte[]> result = new EnumMap<Span, byte[]>(Span.class);
+        ByteBufferOutputStream buf = new ByteBufferOutputStream(64 * 1024);
+
+        for (Span span : getSpans(gameState)) {
+            if (!spans.contains(span)) continue;
+
+            buf.reset();
+            writeSpan(buf, gameState, span);
+            result.put(span, buf.toByteArray());
         }
+        return result;
+    }
 
-        // The stream should end here.
+    /**
+     * Decodes some spans into an existing gameState, replacing those parts.
+     * <p>
+     * Only the given spans are decoded, plus any that can't be decoded
+     * without them: a ship and its extended info go together. Whether
+     * there's a nearby ship at all is decided by the encoded map.
+     * <p>
+     * The encoded map must come from a gameState with the same file
+     * format, and the result is only consistent if every span that differs
+     * from the gameState's current encoding is included.
+     *
+     * @param encoded every span, as returned by encodeSpans()
+     * @param spans   the spans to decode
+     * @see #encodeSpans(SavedGameState)
+     */
+    public void readSpans(SavedGameState gameState, Map<Span, byte[]> encoded, Set<Span> spans) throws IOException {
+        int fileFormat = gameState.getFileFormat();
+        super.setUnicode(fileFormat >= 11);
 
-        int bytesRemaining = (int) (in.getChannel().size() - in.getChannel().position());
-        if (bytesRemaining > 0) {
-            gameState.addMysteryBytes(new MysteryBytes(in, bytesRemaining));
+        boolean nearby = encoded.containsKey(Span.NEARBY_SHIP);
+
+        Set<Span> todo = EnumSet.noneOf(Span.class);
+        todo.addAll(spans);
+        if (todo.contains(Span.PLAYER_SHIP) || todo.contains(Span.PLAYER_SHIP_EXTENDED)) {
+            todo.add(Span.PLAYER_SHIP);
+            todo.add(Span.PLAYER_SHIP_EXTENDED);
+        }
+        if (todo.contains(Span.NEARBY_SHIP) || todo.contains(Span.NEARBY_SHIP_EXTENDED) || nearby != (gameState.getNearbyShip() != null)) {
+            todo.add(Span.NEARBY_SHIP);
+            todo.add(Span.NEARBY_SHIP_EXTENDED);
         }
 
-        return gameState;
+        for (Span span : todo) {
+            byte[] bytes = encoded.get(span);
+
+            if (bytes == null) {
+                if (span == Span.NEARBY_SHIP) {
+                    gameState.setNearbyShip(null);
+                    gameState.setNearbyShipAI(null);
+                }
+                continue;
+            }
+
+            ByteBufferInputStream in = new ByteBufferInputStream(bytes);
+            readSpan(in, gameState, span);
+
+            if (in.available() > 0) {
+                throw new IOException(String.format("Decoding the %s span left %d bytes unread", span, in.available()));
+            }
+            if (span == Span.HEADER && gameState.getFileFormat() != fileFormat) {
+                throw new IOException(String.format("Encoded spans have a different fileFormat (%d, was %d)", gameState.getFileFormat(), fileFormat));
+            }
+        }
     }
 
     /**
-     * Writes a gameState to a stream.
+     * Decodes a new gameState from encoded spans.
      * <p>
-     * Any MysteryBytes will be omitted.
+     * This touches nothing but the map and the new gameState, so it can
+     * decode another thread's snapshot, as long as that isn't modified.
+     *
+     * @param encoded every span, as returned by encodeSpans()
+     * @see SavedGameHistory#getCurrentSpans()
      */
-    public void writeSavedGame(OutputStream out, SavedGameState gameState) throws IOException {
+    public SavedGameState readSpans(Map<Span, byte[]> encoded) throws IOException {
+        byte[] headerBytes = encoded.get(Span.HEADER);
+        if (headerBytes == null) {
+            throw new IllegalArgumentException("Encoded spans must include the header");
+        }
+
+        SavedGameState gameState = new SavedGameState();
+        gameState.setFileFormat(readInt(new ByteBufferInputStream(headerBytes)));
+
+        readSpans(gameState, encoded, encoded.keySet());
+        gameState.clearChangedSpans();
+        return gameState;
+    }
+
+    private static void transferFully(FileChannel src, long position, long count, FileChannel dst) throws IOException {
+        long done = 0;
+        while (done < count) {
+            long n = src.transferTo(position + done, count - done, dst);
+            if (n <= 0) {
+                throw new IOException(String.format("Could not copy bytes %d-%d from the original file", position + done, position + count));
+            }
+            done += n;
+        }
+    }
+
+    private void checkWritable(SavedGameState gameState) throws IOException {
+        if (gameState.isPartial()) {
+            throw new IOException(String.format("Cannot write a partially parsed saved game (sections: %s)", gameState.getParsedSections()));
+        }
+
+        // TODO fix for ff==2
+        int fileFormat = gameState.getFileFormat();
+        if (!(fileFormat == 7 || fileFormat == 8 || fileFormat == 9 || fileFormat == 11)) {
+            throw new IOException("Unsupported fileFormat: " + fileFormat);
+        }
+    }
 
+    /**
+     * Returns the spans a gameState will be written as, in order.
+     */
+    private static List<Span> getSpans(SavedGameState gameState) {
+        int fileFormat = gameState.getFileFormat();
+        boolean nearby = (gameState.getNearbyShip() != null);
+
+        List<Span> result = new ArrayList<>();
+        result.add(Span.HEADER);
+        result.add(Span.PLAYER_SHIP);
+        result.add(Span.SECTOR);
+        result.add(Span.BEACONS);
+        result.add(Span.ENCOUNTER);
+        if (nearby) result.add(Span.NEARBY_SHIP);
+
+        if (fileFormat != 2) {
+            result.add(Span.ENVIRONMENT);
+            result.add(Span.PROJECTILES);
+            result.add(Span.PLAYER_SHIP_EXTENDED);
+            if (nearby) result.add(Span.NEARBY_SHIP_EXTENDED);
+        }
+        result.add(Span.TRAILER);
+        return result;
+    }
+
+    /**
+     * Writes one span of a gameState.
+     */
+    private void writeSpan(OutputStream out, SavedGameState gameState, Span span) throws IOException {
         int fileFormat = gameState.getFileFormat();
-        writeInt(out, fileFormat);
 
         // FTL 1.6.1 introduced UTF-8 strings.
         super.setUnicode(fileFormat >= 11);
 
+        switch (span) {
+            case HEADER:
+                writeHeader(out, gameState);
+                break;
+
+            case PLAYER_SHIP:
+                writeShip(out, gameState.getPlayerShip(), fileFormat);
+                break;
+
+            case SECTOR:
+                writeSector(out, gameState);
+                break;
+
+            case BEACONS:
+                writeInt(out, gameState.getBeaconList().size());
+                for (BeaconState beacon : gameState.getBeaconList()) {
+                    writeBeacon(out, beacon, fileFormat);
+                }
+                break;
+
+            case ENCOUNTER:
+                writeInt(out, gameState.getQuestEventMap().size());
+                for (Map.Entry<String, Integer> entry : gameState.getQuestEventMap().entrySet()) {
+                    writeString(out, entry.getKey());
+                    writeInt(out, entry.getValue());
+                }
+
+                writeInt(out, gameState.getDistantQuestEventList().size());
+                for (String questEventId : gameState.getDistantQuestEventList()) {
+                    writeString(out, questEventId);
+                }
+
+                if (fileFormat == 2) {
+                    writeInt(out, gameState.getCurrentBeaconId());
+
+                    writeBool(out, (gameState.getNearbyShip() != null));
+                } else {
+                    // Current beaconId was set earlier.
+
+                    writeInt(out, gameState.getUnknownMu());
+
+                    writeEncounter(out, gameState.getEncounter(), fileFormat);
+
+                    writeBool(out, (gameState.getNearbyShip() != null));
+                    if (gameState.getNearbyShip() != null) {
+                        writeBool(out, gameState.isRebelFlagshipNearby());
+                    }
+                }
+                break;
+
+            case NEARBY_SHIP:
+                writeShip(out, gameState.getNearbyShip(), fileFormat);
+
+                if (fileFormat != 2) {
+                    writeNearbyShipAI(out, gameState.getNearbyShipAI());
+                }
+                break;
+
+            case ENVIRONMENT:
+                writeEnvironment(out, gameState.getEnvironment());
+                break;
+
+            case PROJECTILES:
+                // Flagship state is set much later.
+
+                writeInt(out, gameState.getProjectileList().size());
+                for (ProjectileState projectile : gameState.getProjectileList()) {
+                    writeProjectile(out, projectile, fileFormat);
+                }
+                break;
+
+            case PLAYER_SHIP_EXTENDED:
+                writeExtendedShipInfo(out, gameState.getPlayerShip(), fileFormat);
+                break;
+
+            case NEARBY_SHIP_EXTENDED:
+                writeExtendedShipInfo(out, gameState.getNearbyShip(), fileFormat);
+                break;
+
+            case TRAILER:
+                writeTrailer(out, gameState);
+                break;
+        }
+    }
+
+    private void writeHeader(OutputStream out, SavedGameState gameState) throws IOException {
+        int fileFormat = gameState.getFileFormat();
+        writeInt(out, fileFormat);
+
         if (fileFormat == 11) {
             writeBool(out, gameState.isRandomNative());
         }
 
-        // TODO fix for ff==2
-        if (fileFormat == 7 || fileFormat == 8 || fileFormat == 9 || fileFormat == 11) {
-            writeBool(out, gameState.isDLCEnabled());
-        } else {
-            throw new IOException("Unsupported fileFormat: " + fileFormat);
-        }
+        writeBool(out, gameState.isDLCEnabled());
 
         int diffFlag = 0;
         if (gameState.getDifficulty() == Difficulty.EASY) {
@@ -359,8 +930,10 @@ public class SavedGameParser extends Parser {
             writeString(out, entry.getKey());
             writeInt(out, entry.getValue());
         }
+    }
 
-        writeShip(out, gameState.getPlayerShip(), fileFormat);
+    private void writeSector(OutputStream out, SavedGameState gameState) throws IOException {
+        int fileFormat = gameState.getFileFormat();
 
         writeInt(out, gameState.getCargoIdList().size());
         for (String cargoItemId : gameState.getCargoIdList()) {
@@ -399,85 +972,33 @@ public class SavedGameParser extends Parser {
 
         writeInt(out, gameState.getSectorNumber());
         writeBool(out, gameState.isSectorHiddenCrystalWorlds());
+    }
 
-        writeInt(out, gameState.getBeaconList().size());
-        for (BeaconState beacon : gameState.getBeaconList()) {
-            writeBeacon(out, beacon, fileFormat);
+    private void writeTrailer(OutputStream out, SavedGameState gameState) throws IOException {
+        if (gameState.getFileFormat() == 2) {
+            writeRebelFlagship(out, gameState.getRebelFlagshipState());
+            return;
         }
 
-        writeInt(out, gameState.getQuestEventMap().size());
-        for (Map.Entry<String, Integer> entry : gameState.getQuestEventMap().entrySet()) {
-            writeString(out, entry.getKey());
-            writeInt(out, entry.getValue());
-        }
+        writeInt(out, gameState.getUnknownNu());
 
-        writeInt(out, gameState.getDistantQuestEventList().size());
-        for (String questEventId : gameState.getDistantQuestEventList()) {
-            writeString(out, questEventId);
+        if (gameState.getNearbyShip() != null) {
+            writeInt(out, gameState.getUnknownXi());
         }
 
-        if (fileFormat == 2) {
-            writeInt(out, gameState.getCurrentBeaconId());
-
-            ShipState nearbyShip = gameState.getNearbyShip();
-            writeBool(out, (nearbyShip != null));
-            if (nearbyShip != null) {
-                writeShip(out, nearbyShip, fileFormat);
-            }
-
-            writeRebelFlagship(out, gameState.getRebelFlagshipState());
-        } else if (fileFormat == 7 || fileFormat == 8 || fileFormat == 9 || fileFormat == 11) {
-            // Current beaconId was set earlier.
-
-            writeInt(out, gameState.getUnknownMu());
-
-            writeEncounter(out, gameState.getEncounter(), fileFormat);
-
-            ShipState nearbyShip = gameState.getNearbyShip();
-            writeBool(out, (nearbyShip != null));
-            if (nearbyShip != null) {
-                writeBool(out, gameState.isRebelFlagshipNearby());
-
-                writeShip(out, nearbyShip, fileFormat);
-
-                writeNearbyShipAI(out, gameState.getNearbyShipAI());
-            }
-
-            writeEnvironment(out, gameState.getEnvironment());
-
-            // Flagship state is set much later.
-
-            writeInt(out, gameState.getProjectileList().size());
-            for (ProjectileState projectile : gameState.getProjectileList()) {
-                writeProjectile(out, projectile, fileFormat);
-            }
-
-            writeExtendedShipInfo(out, gameState.getPlayerShip(), fileFormat);
-
-            if (gameState.getNearbyShip() != null) {
-                writeExtendedShipInfo(out, gameState.getNearbyShip(), fileFormat);
-            }
-
-            writeInt(out, gameState.getUnknownNu());
-
-            if (gameState.getNearbyShip() != null) {
-                writeInt(out, gameState.getUnknownXi());
-            }
-
-            writeBool(out, gameState.getAutofire());
+        writeBool(out, gameState.getAutofire());
 
-            RebelFlagshipState flagship = gameState.getRebelFlagshipState();
+        RebelFlagshipState flagship = gameState.getRebelFlagshipState();
 
-            writeInt(out, flagship.getUnknownAlpha());
-            writeInt(out, flagship.getPendingStage());
-            writeInt(out, flagship.getUnknownGamma());
-            writeInt(out, flagship.getUnknownDelta());
+        writeInt(out, flagship.getUnknownAlpha());
+        writeInt(out, flagship.getPendingStage());
+        writeInt(out, flagship.getUnknownGamma());
+        writeInt(out, flagship.getUnknownDelta());
 
-            writeInt(out, flagship.getOccupancyMap().size());
-            for (Map.Entry<Integer, Integer> entry : flagship.getOccupancyMap().entrySet()) {
-                int occupantCount = entry.getValue();
-                writeInt(out, occupantCount);
-            }
+        writeInt(out, flagship.getOccupancyMap().size());
+        for (Map.Entry<Integer, Integer> entry : flagship.getOccupancyMap().entrySet()) {
+            int occupantCount = entry.getValue();
+            writeInt(out, occupantCount);
         }
     }
 
@@ -1545,7 +2066,7 @@ public class SavedGameParser extends Parser {
         }
     }
 
-    private NearbyShipAIState readNearbyShipAI(FileInputStream in) throws IOException {
+    private NearbyShipAIState readNearbyShipAI(InputStream in) throws IOException {
         NearbyShipAIState ai = new NearbyShipAIState();
 
         ai.setSurrendered(readBool(in));
@@ -1575,7 +2096,7 @@ public class SavedGameParser extends Parser {
         writeInt(out, ai.getBoardersNeeded());
     }
 
-    private EnvironmentState readEnvironment(FileInputStream in) throws IOException {
+    private EnvironmentState readEnvironment(InputStream in) throws IOException {
         EnvironmentState env = new EnvironmentState();
 
         env.setRedGiantPresent(readBool(in));
@@ -1692,7 +2213,7 @@ public class SavedGameParser extends Parser {
         writeInt(out, anim.getY());
     }
 
-    private ProjectileState readProjectile(FileInputStream in, int fileFormat) throws IOException {
+    private ProjectileState readProjectile(InputStream in, int fileFormat) throws IOException {
 //        log.debug( "Projectile: {}", in.getChannel().position() )
 
         ProjectileState projectile = new ProjectileState();
@@ -1909,7 +2430,7 @@ public class SavedGameParser extends Parser {
         writeInt(out, damage.getStunAmount());
     }
 
-    private BeamProjectileInfo readBeamProjectileInfo(FileInputStream in) throws IOException {
+    private BeamProjectileInfo readBeamProjectileInfo(InputStream in) throws IOException {
         BeamProjectileInfo beamInfo = new BeamProjectileInfo();
 
         beamInfo.setEmissionEndX(readInt(in));
@@ -1981,7 +2502,7 @@ public class SavedGameParser extends Parser {
         writeBool(out, beamInfo.getUnknownNu());
     }
 
-    private BombProjectileInfo readBombProjectileInfo(FileInputStream in) throws IOException {
+    private BombProjectileInfo readBombProjectileInfo(InputStream in) throws IOException {
         BombProjectileInfo bombInfo = new BombProjectileInfo();
 
         bombInfo.setUnknownAlpha(readInt(in));
@@ -2001,7 +2522,7 @@ public class SavedGameParser extends Parser {
         writeBool(out, bombInfo.hasArrived());
     }
 
-    private LaserProjectileInfo readLaserProjectileInfo(FileInputStream in) throws IOException {
+    private LaserProjectileInfo readLaserProjectileInfo(InputStream in) throws IOException {
         LaserProjectileInfo laserInfo = new LaserProjectileInfo();
 
         laserInfo.setUnknownAlpha(readInt(in));
@@ -2015,7 +2536,7 @@ public class SavedGameParser extends Parser {
         writeInt(out, laserInfo.getSpin());
     }
 
-    private PDSProjectileInfo readPDSProjectileInfo(FileInputStream in) throws IOException {
+    private PDSProjectileInfo readPDSProjectileInfo(InputStream in) throws IOException {
         PDSProjectileInfo pdsInfo = new PDSProjectileInfo();
 
         pdsInfo.setUnknownAlpha(readInt(in));
@@ -2067,7 +2588,7 @@ public class SavedGameParser extends Parser {
      * <p>
      * This method does not involve a dedicated class.
      */
-    private void readExtendedShipInfo(FileInputStream in, ShipState shipState, int fileFormat) throws IOException {
+    private void readExtendedShipInfo(InputStream in, ShipState shipState, int fileFormat) throws IOException {
         // There is no explicit list count for drones.
         for (DroneState drone : shipState.getDroneList()) {
             ExtendedDroneInfo droneInfo = new ExtendedDroneInfo();
@@ -2297,7 +2818,7 @@ public class SavedGameParser extends Parser {
         }
     }
 
-    private DronePodState readDronePod(FileInputStream in, DroneType droneType) throws IOException {
+    private DronePodState readDronePod(InputStream in, DroneType droneType) throws IOException {
         if (droneType == null) throw new IllegalArgumentException("DroneType cannot be null.");
 
 //        log.debug("Drone Pod: {}", in.getChannel().position())
@@ -2472,7 +2993,7 @@ public class SavedGameParser extends Parser {
         }
     }
 
-    private WeaponModuleState readWeaponModule(FileInputStream in, int fileFormat) throws IOException {
+    private WeaponModuleState readWeaponModule(InputStream in, int fileFormat) throws IOException {
         WeaponModuleState weaponMod = new WeaponModuleState();
 
         weaponMod.setCooldownTicks(readInt(in));
@@ -2568,7 +3089,7 @@ public class SavedGameParser extends Parser {
         }
     }
 
-    private XYPair readReticleCoordinate(FileInputStream in) throws IOException {
+    private XYPair readReticleCoordinate(InputStream in) throws IOException {
         int reticleX = readInt(in);
         int reticleY = readInt(in);
 
@@ -0,0 +1,75 @@
+package net.blerf.ftl.parser;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Interns string ids as dense integer symbols.
+ * <p>
+ * Symbols are assigned in order, starting at 0, and never change once
+ * assigned. They're only meaningful to the table that issued them.
+ * <p>
+ * A DataManager may keep interning ids as it lazily loads resources, so
+ * interning is synchronized and lookups are safe from any thread at any
+ * time, without locking.
+ *
+ * @see DataManager#getSymbol(String)
+ */
+public final class SymbolTable {
+
+    /**
+     * The symbol returned for ids that were never interned.
+     */
+    public static final int NO_SYMBOL = -1;
+
+    private final ConcurrentHashMap<String, Integer> symbolMap = new ConcurrentHashMap<String, Integer>();
+    private volatile String[] names = new String[256];
+    private int count = 0;
+
+
+    /**
+     * Returns the symbol for an id, assigning a new one if necessary.
+     */
+    public synchronized int intern(String id) {
+        if (id == null) throw new IllegalArgumentException("Symbol ids cannot be null");
+
+        Integer result = symbolMap.get(id);
+        if (result == null) {
+            result = count;
+            if (count == names.length) {
+                names = Arrays.copyOf(names, count * 2);
+            }
+            // Set the name before publishing the symbol.
+            names[count++] = id;
+            symbolMap.put(id, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the symbol for an id, or NO_SYMBOL.
+     */
+    public int lookup(String id) {
+        if (id == null) return NO_SYMBOL;
+
+        Integer result = symbolMap.get(id);
+        return (result != null ? result : NO_SYMBOL);
+    }
+
+    /**
+     * Returns the id a symbol was assigned to, or null.
+     */
+    public String getName(int symbol) {
+        String[] tmpNames = names;
+        if (symbol < 0 || symbol >= tmpNames.length) return null;
+        return tmpNames[symbol];
+    }
+
+    /**
+     * Returns the number of symbols assigned so far.
+     */
+    public int size() {
+        return symbolMap.size();
+    }
+}
@@ -1,7 +1,6 @@
 package net.blerf.ftl.parser.sectormap;
 
 import java.awt.Point;
-import net.blerf.ftl.xml.FTLEvent;
 
 
 /**
@@ -21,7 +20,7 @@ public class GeneratedBeacon {
     public int row = 0;
     protected int x = 0;
     protected int y = 0;
-    protected FTLEvent event = null;
+    protected GeneratedEvent event = null;
 
     /* Distance from begin to finish, or -1 if not part of an optimal path */
     public int distance = -1;
@@ -73,11 +72,11 @@ public class GeneratedBeacon {
     /**
      * Sets the event for this beacon
      */
-    public void setEvent(FTLEvent newEvent) {
+    public void setEvent(GeneratedEvent newEvent) {
         event = newEvent;
     }
 
-    public FTLEvent getEvent() {
+    public GeneratedEvent getEvent() {
         return event;
     }
 
@@ -0,0 +1,326 @@
+package net.blerf.ftl.parser.sectormap;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.blerf.ftl.xml.Choice;
+import net.blerf.ftl.xml.FTLEvent;
+import net.blerf.ftl.xml.NamedText;
+import net.blerf.ftl.xml.ship.ShipEvent;
+
+
+/**
+ * Event values FTL would generate at runtime for a beacon.
+ * <p>
+ * The FTLEvent parsed from xml is a template shared by every beacon and must
+ * not be modified. This holds only what was randomized while loading it:
+ * item_modify quantities, the crewMember race and name, RANDOM weapon /
+ * augment / drone picks, the autoReward, the ship seed, and each choice's
+ * resolved event.
+ *
+ * @see RandomEvent#loadEventId(String, net.blerf.ftl.parser.random.RandRNG)
+ */
+public class GeneratedEvent {
+
+    private final FTLEvent template;
+
+    protected NamedText text = null;
+
+    protected int[] itemValues = null;
+
+    protected String crewId = null;
+    protected String crewName = null;
+
+    protected String weaponName = null;
+    protected String augmentName = null;
+    protected String droneName = null;
+
+    protected int rewardScrap = 0;
+    protected int[] rewardResources = {0, 0, 0};
+    protected String rewardWeapon = null;
+    protected String rewardAugment = null;
+    protected String rewardDrone = null;
+
+    protected int shipSeed = 0;
+
+    protected List<GeneratedEvent> choiceEvents = null;
+    protected List<NamedText> choiceTexts = null;
+
+
+    public GeneratedEvent(FTLEvent template) {
+        this.template = template;
+
+        text = template.getText();
+
+        FTLEvent.ItemList itemList = template.getItemList();
+        if (itemList != null && itemList.items != null) {
+            itemValues = new int[itemList.items.size()];
+        }
+
+        FTLEvent.CrewMember crewMember = template.getCrewMember();
+        if (crewMember != null) {
+            crewId = crewMember.id;
+            crewName = crewMember.name;
+        }
+
+        if (template.getWeapon() != null) weaponName = template.getWeapon().name;
+        if (template.getAugment() != null) augmentName = template.getAugment().name;
+        if (template.getDrone() != null) droneName = template.getDrone().name;
+
+        List<Choice> choiceList = template.getChoiceList();
+        if (choiceList != null) {
+            choiceEvents = new ArrayList<GeneratedEvent>(choiceList.size());
+            choiceTexts = new ArrayList<NamedText>(choiceList.size());
+            for (Choice choice : choiceList) {
+                choiceEvents.add(null);
+                choiceTexts.add(choice.getText());
+            }
+        }
+    }
+
+    /**
+     * Returns the shared, unmodified event this was generated from.
+     */
+    public FTLEvent getTemplate() {
+        return template;
+    }
+
+    public String getId() {
+        return template.getId();
+    }
+
+    public boolean isUnique() {
+        return template.isUnique();
+    }
+
+    public NamedText getText() {
+        return text;
+    }
+
+    public ShipEvent getShip() {
+        return template.getShip();
+    }
+
+    /**
+     * Returns the seed FTL would use to generate this event's ship.
+     */
+    public int getShipSeed() {
+        return shipSeed;
+    }
+
+    public FTLEvent.Boarders getBoarders() {
+        return template.getBoarders();
+    }
+
+    /**
+     * Returns the number of item_modify entries.
+     */
+    public int getItemCount() {
+        return (itemValues != null ? itemValues.length : 0);
+    }
+
+    public String getItemType(int index) {
+        return template.getItemList().items.get(index).type;
+    }
+
+    /**
+     * Returns the randomized quantity of the nth item_modify entry.
+     */
+    public int getItemValue(int index) {
+        return itemValues[index];
+    }
+
+    /**
+     * Returns the crewMember amount, or 0 if there's no crewMember.
+     */
+    public int getCrewAmount() {
+        FTLEvent.CrewMember crewMember = template.getCrewMember();
+        return (crewMember != null ? crewMember.amount : 0);
+    }
+
+    /**
+     * Returns the crewMember race, with "random" resolved.
+     */
+    public String getCrewId() {
+        return crewId;
+    }
+
+    public String getCrewName() {
+        return crewName;
+    }
+
+    /**
+     * Returns the weapon id, with "RANDOM" resolved, or null.
+     */
+    public String getWeaponName() {
+        return weaponName;
+    }
+
+    /**
+     * Returns the augment id, with "RANDOM" resolved, or null.
+     */
+    public String getAugmentName() {
+        return augmentName;
+    }
+
+    /**
+     * Returns the drone id, with "RANDOM" resolved, or null.
+     */
+    public String getDroneName() {
+        return droneName;
+    }
+
+    public boolean hasAutoReward() {
+        return (template.getAutoReward() != null);
+    }
+
+    public int getRewardScrap() {
+        return rewardScrap;
+    }
+
+    /**
+     * Returns an autoReward resource quantity.
+     *
+     * @param index 0=fuel, 1=missiles, 2=droneparts
+     */
+    public int getRewardResource(int index) {
+        return rewardResources[index];
+    }
+
+    public String getRewardWeapon() {
+        return rewardWeapon;
+    }
+
+    public String getRewardAugment() {
+        return rewardAugment;
+    }
+
+    public String getRewardDrone() {
+        return rewardDrone;
+    }
+
+    /**
+     * Returns the number of choices.
+     */
+    public int getChoiceCount() {
+        return (choiceEvents != null ? choiceEvents.size() : 0);
+    }
+
+    public Choice getChoice(int index) {
+        return template.getChoiceList().get(index);
+    }
+
+    /**
+     * Returns the resolved event of the nth choice.
+     * <p>
+     * This may be null, if it pointed to a unique event that had already
+     * been chosen elsewhere.
+     */
+    public GeneratedEvent getChoiceEvent(int index) {
+        return choiceEvents.get(index);
+    }
+
+    public NamedText getChoiceText(int index) {
+        return choiceTexts.get(index);
+    }
+
+
+    private StringBuilder indent(StringBuilder sb, int level) {
+        for (int i = 0; i < level; i++) {
+            sb.append("    ");
+        }
+        return sb;
+    }
+
+    public String toDescription(int level) {
+        StringBuilder sb = new StringBuilder();
+        appendDescription(sb, level);
+        return sb.toString();
+    }
+
+    private void appendDescription(StringBuilder sb, int level) {
+        if (template.getId() != null)
+            indent(sb, level).append("id: ").append(template.getId()).append("\n");
+
+        if (template.isUnique())
+            indent(sb, level).append("unique: true\n");
+
+        if (text != null)
+            indent(sb, level).append("text: ").append(text.getText()).append("\n");
+
+        if (template.getShip() != null)
+            indent(sb, level).append("ship: ").append(template.getShip().toString()).append("\n");
+
+        for (int i = 0; i < getItemCount(); i++)
+            indent(sb, level).append("item_modify: ").append(getItemType(i)).append(" with quantity ").append(itemValues[i]).append("\n");
+
+        FTLEvent.AutoReward autoReward = template.getAutoReward();
+        if (autoReward != null) {
+            indent(sb, level).append("autoreward level ").append(autoReward.level).append(" and reward ").append(autoReward.reward).append(":\n");
+            indent(sb, level + 1).append("scrap: ").append(rewardScrap).append("\n");
+            indent(sb, level + 1).append("fuel: ").append(rewardResources[0]).append("\n");
+            indent(sb, level + 1).append("missiles: ").append(rewardResources[1]).append("\n");
+            indent(sb, level + 1).append("droneparts: ").append(rewardResources[2]).append("\n");
+            if (rewardWeapon != null)
+                indent(sb, level + 1).append("weapon: ").append(rewardWeapon).append("\n");
+            if (rewardAugment != null)
+                indent(sb, level + 1).append("augment: ").append(rewardAugment).append("\n");
+            if (rewardDrone != null)
+                indent(sb, level + 1).append("drone: ").append(rewardDrone).append("\n");
+        }
+
+        if (template.getWeapon() != null)
+            indent(sb, level).append("weapon: ").append(weaponName).append("\n");
+
+        if (template.getAugment() != null)
+            indent(sb, level).append("augment: ").append(augmentName).append("\n");
+
+        if (template.getDrone() != null)
+            indent(sb, level).append("drone: ").append(droneName).append("\n");
+
+        FTLEvent.Boarders boarders = template.getBoarders();
+        if (boarders != null) {
+            indent(sb, level).append("boarders: ").append("\n");
+            indent(sb, level + 1).append("min: ").append(boarders.min).append("\n");
+            indent(sb, level + 1).append("max: ").append(boarders.max).append("\n");
+            indent(sb, level + 1).append("class: ").append(boarders.name).append("\n");
+        }
+
+        FTLEvent.CrewMember crewMember = template.getCrewMember();
+        if (crewMember != null) {
+            indent(sb, level).append("crew: ").append("\n");
+            indent(sb, level + 1).append("amount: ").append(crewMember.amount).append("\n");
+            if (crewId != null)
+                indent(sb, level + 1).append("id: ").append(crewId).append("\n");
+            indent(sb, level + 1).append("weapons: ").append(crewMember.weapons).append("\n");
+            indent(sb, level + 1).append("shields: ").append(crewMember.shields).append("\n");
+            indent(sb, level + 1).append("pilot: ").append(crewMember.pilot).append("\n");
+            indent(sb, level + 1).append("engines: ").append(crewMember.engines).append("\n");
+            indent(sb, level + 1).append("combat: ").append(crewMember.combat).append("\n");
+            indent(sb, level + 1).append("repair: ").append(crewMember.repair).append("\n");
+            indent(sb, level + 1).append("all_skills: ").append(crewMember.all_skills).append("\n");
+            if (crewName != null)
+                indent(sb, level + 1).append("name: ").append(crewName).append("\n");
+        }
+
+        sb.append("\n");
+
+        for (int i = 0; i < getChoiceCount(); i++) {
+            indent(sb, level).append("choice:\n");
+
+            NamedText cText = choiceTexts.get(i);
+            if (cText != null)
+                indent(sb, level + 1).append("text: ").append(cText.getText()).append("\n");
+
+            GeneratedEvent cEvent = choiceEvents.get(i);
+            if (cEvent != null) {
+                indent(sb, level + 1).append("event: \n");
+                cEvent.appendDescription(sb, level + 2);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GeneratedEvent(id=%s, load=%s, text=%s)", template.getId(), template.getLoad(), text);
+    }
+}
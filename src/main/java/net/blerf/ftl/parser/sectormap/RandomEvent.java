@@ -1,9 +1,7 @@
 package net.blerf.ftl.parser.sectormap;
 
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import net.blerf.ftl.constants.Difficulty;
@@ -16,7 +14,6 @@ import net.blerf.ftl.xml.DroneBlueprint;
 import net.blerf.ftl.xml.FTLEvent;
 import net.blerf.ftl.xml.FTLEventList;
 import net.blerf.ftl.xml.NamedText;
-import net.blerf.ftl.xml.SectorDescription;
 import net.blerf.ftl.xml.TextList;
 import net.blerf.ftl.xml.WeaponBlueprint;
 import net.blerf.ftl.xml.ship.ShipEvent;
@@ -39,16 +36,15 @@ public final class RandomEvent {
 
     private static Set<Integer> uniqueCrewNames = null;
 
+    private static SectorRarityTables rarityTables = null;
+
     public static void setUniqueNames(Set<Integer> un) {
         uniqueCrewNames = un;
     }
 
     public static void setSectorId(String si) {
         sectorId = si;
-        crewRarities.clear();
-        weaponRarities.clear();
-        augRarities.clear();
-        droneRarities.clear();
+        rarityTables = null;
     }
 
     public static void setSectorNumber(int sn) {
@@ -61,6 +57,7 @@ public final class RandomEvent {
 
     public static void setDlc(boolean d) {
         dlcEnabled = d;
+        rarityTables = null;
     }
 
     public static void resetUniqueSectors() {
@@ -69,39 +66,67 @@ public final class RandomEvent {
 
     /**
      * Load an event from an event id.
+     *
+     * @return the event, or null if the id is unknown, named a unique
+     * event that was already chosen, or named a list of such events
      */
-    public static FTLEvent loadEventId(String id, RandRNG rng) {
+    public static GeneratedEvent loadEventId(String id, RandRNG rng) {
 
         log.debug("Load event id {}", id);
 
+        /* Resolve the id once; events and event lists share a namespace */
+        DataManager dm = DataManager.getInstance();
+        int symbol = dm.getSymbol(id);
+
         /* First, check if the id correspond to an event list */
 
-        FTLEventList list = DataManager.getInstance().getEventListById(id, dlcEnabled);
+        FTLEventList list = dm.getEventListById(symbol, dlcEnabled);
         if (list != null) {
             List<FTLEvent> eventList = list.getEventList();
+            if (eventList.isEmpty()) {
+                log.error("Event list {} is empty", id);
+                return null;
+            }
 
-            FTLEvent ev = null;
+            GeneratedEvent ev = null;
 
             /* Choose a random event from the list, retry if we chose a
-             * unique event that was already chosen.
+             * unique event that was already chosen, or an unknown id.
+             * Those fail every time, so give up once every entry has.
              */
+            Set<Integer> failed = new HashSet<Integer>();
             do {
                 log.debug("Choose random event from eventList");
                 int e = rng.rand() % eventList.size();
-                ev = loadEvent((FTLEvent) eventList.get(e).clone(), rng);
+                if (failed.contains(e)) continue;
+
+                ev = loadEvent(eventList.get(e), rng);
+                if (ev == null) failed.add(e);
+            }
+            while (ev == null && failed.size() < eventList.size());
+
+            if (ev == null) {
+                log.error("No event in list {} could be loaded", id);
             }
-            while (ev == null);
             return ev;
         }
 
         /* Get the event */
-        FTLEvent event = (FTLEvent) DataManager.getInstance().getEventById(id, dlcEnabled).clone();
+        FTLEvent event = dm.getEventById(symbol, dlcEnabled);
+        if (event == null) {
+            log.error("No Event found for id: {}", id);
+            return null;
+        }
 
         return loadEvent(event, rng);
     }
 
     /**
      * Load an event.
+     * <p>
+     * The event is used as a read-only template. Randomized values are
+     * stored in the returned GeneratedEvent.
+     * <p>
      * To print which event is loaded on the game, use gdb with:
      * break *0x4a2c38
      * commands
@@ -110,22 +135,27 @@ public final class RandomEvent {
      * cont
      * end
      */
-    public static FTLEvent loadEvent(FTLEvent event, RandRNG rng) {
-        log.debug("Load event {}", event);
+    public static GeneratedEvent loadEvent(FTLEvent event, RandRNG rng) {
+        return loadEvent(event, event.getLoad(), rng);
+    }
+
+    private static GeneratedEvent loadEvent(FTLEvent template, String load, RandRNG rng) {
+        log.debug("Load event {}", template);
 
         /* If unique, check if it was already chosen */
-        if (event.isUnique()) {
-            if (uniqueSectors.contains(event.getId()))
+        if (template.isUnique()) {
+            if (uniqueSectors.contains(template.getId()))
                 return null;
-            uniqueSectors.add(event.getId());
+            uniqueSectors.add(template.getId());
         }
 
         /* If there's a load attribute, load the corresponding event */
-        String load = event.getLoad();
         if (load != null) {
             return loadEventId(load, rng);
         }
 
+        GeneratedEvent event = new GeneratedEvent(template);
+
         /* Handle text */
         NamedText text = event.getText();
         if (text != null) {
@@ -146,7 +176,7 @@ public final class RandomEvent {
 
                     log.debug("Choose random text from textList");
                     int n = rng.rand() % textList.size();
-                    event.setText(textList.get(n));
+                    event.text = textList.get(n);
                 }
             }
         }
@@ -198,27 +228,27 @@ public final class RandomEvent {
         }
 
         /* crewMember */
-        FTLEvent.CrewMember crewMember = event.getCrewMember();
+        FTLEvent.CrewMember crewMember = template.getCrewMember();
         if ((crewMember != null) && (crewMember.amount > 0)) {
 
             log.debug("Generating crewMember");
 
-            if (crewMember.id == null)
-                crewMember.id = "random";
+            if (event.crewId == null)
+                event.crewId = "random";
 
             CrewBlueprint cb = null;
 
-            if (crewMember.id.equals("traitor")) {
+            if (event.crewId.equals("traitor")) {
                 log.debug("Traitor with crewMember.amount > 0 ???");
-            } else if (crewMember.id.equals("random")) {
+            } else if (event.crewId.equals("random")) {
                 /* Pick a random race (0x47f52c) */
                 log.debug("Generating crewMember race");
                 cb = pickRandomCrew(rng);
 
-                crewMember.id = cb.getId();
-                log.debug(String.format("   got %s", crewMember.id));
+                event.crewId = cb.getId();
+                log.debug(String.format("   got %s", event.crewId));
             } else {
-                cb = DataManager.getInstance().getCrew(crewMember.id, dlcEnabled);
+                cb = DataManager.getInstance().getCrew(event.crewId, dlcEnabled);
                 /* Choose a random name here, that will be overwritten later? */
 
                 n = rng.rand() % 169; // TODO: Magic number, look at (sorted?) crew names
@@ -241,7 +271,7 @@ public final class RandomEvent {
             }
 
             /* Pick a random name if not set (0x4a3bc4) */
-            if (crewMember.name.equals("")) {
+            if (event.crewName.equals("")) {
                 log.debug("Generating crewMember name");
                 n = rng.rand() % 169; // TODO: Magic number, look at (sorted?) crew names
 
@@ -250,7 +280,7 @@ public final class RandomEvent {
                 }
                 uniqueCrewNames.add(n);
 
-                crewMember.name = "TODO";
+                event.crewName = "TODO";
             }
 
             /* If no skill is set, take two random ones */
@@ -288,34 +318,25 @@ public final class RandomEvent {
         }
 
         /* Weapon */
-        FTLEvent.Item weapon = event.getWeapon();
-        if (weapon != null) {
-            if ((weapon.name != null) && weapon.name.equals("RANDOM")) {
-                WeaponBlueprint wb = pickRandomWeapon(rng);
-                weapon.name = wb.getId();
-            }
+        if ("RANDOM".equals(event.weaponName)) {
+            WeaponBlueprint wb = pickRandomWeapon(rng);
+            event.weaponName = wb.getId();
         }
 
         /* Augment */
-        FTLEvent.Item augment = event.getAugment();
-        if (augment != null) {
-            if ((augment.name != null) && augment.name.equals("RANDOM")) {
-                AugBlueprint ab = pickRandomAugment(rng);
-                augment.name = ab.getId();
-            }
+        if ("RANDOM".equals(event.augmentName)) {
+            AugBlueprint ab = pickRandomAugment(rng);
+            event.augmentName = ab.getId();
         }
 
         /* Drone */
-        FTLEvent.Item drone = event.getDrone();
-        if (drone != null) {
-            if ((drone.name != null) && drone.name.equals("RANDOM")) {
-                DroneBlueprint db = pickRandomDrone(rng);
-                drone.name = db.getId();
-            }
+        if ("RANDOM".equals(event.droneName)) {
+            DroneBlueprint db = pickRandomDrone(rng);
+            event.droneName = db.getId();
         }
 
         /* autoReward */
-        FTLEvent.AutoReward autoReward = event.getAutoReward();
+        FTLEvent.AutoReward autoReward = template.getAutoReward();
         if (autoReward != null) {
 
             log.debug("Generating autoReward with level {} and type {}", autoReward.level, autoReward.reward);
@@ -349,47 +370,47 @@ public final class RandomEvent {
 
             /* Standard reward */
             if (autoReward.reward.equals("standard")) {
-                autoReward.scrap = autoRewardQuantity(rng, "scrap", rewardLevel, newSectorNumber);
+                event.rewardScrap = autoRewardQuantity(rng, "scrap", rewardLevel, newSectorNumber);
                 int resourceOne = rng.rand() % 3;
                 int resourceTwo = rng.rand() % 3;
                 while (resourceTwo == resourceOne)
                     resourceTwo = rng.rand() % 3;
 
-                autoReward.resources[resourceOne] = autoRewardQuantity(rng, resources[resourceOne], 0, 0);
-                autoReward.resources[resourceTwo] = autoRewardQuantity(rng, resources[resourceTwo], 0, 0);
+                event.rewardResources[resourceOne] = autoRewardQuantity(rng, resources[resourceOne], 0, 0);
+                event.rewardResources[resourceTwo] = autoRewardQuantity(rng, resources[resourceTwo], 0, 0);
 
                 if ((rng.rand() % 100) < 3)
                     extraItem = true;
             } else if (autoReward.reward.equals("stuff")) {
-                autoReward.scrap = autoRewardQuantity(rng, "scrap", 0, newSectorNumber);
+                event.rewardScrap = autoRewardQuantity(rng, "scrap", 0, newSectorNumber);
                 int resourceOne = rng.rand() % 3;
                 int resourceTwo = rng.rand() % 3;
                 while (resourceTwo == resourceOne)
                     resourceTwo = rng.rand() % 3;
 
-                autoReward.resources[resourceOne] = autoRewardQuantity(rng, resources[resourceOne], rewardLevel, 0);
-                autoReward.resources[resourceTwo] = autoRewardQuantity(rng, resources[resourceTwo], rewardLevel, 0);
+                event.rewardResources[resourceOne] = autoRewardQuantity(rng, resources[resourceOne], rewardLevel, 0);
+                event.rewardResources[resourceTwo] = autoRewardQuantity(rng, resources[resourceTwo], rewardLevel, 0);
 
                 if ((rng.rand() % 100) < 6)
                     extraItem = true;
 
             } else if (autoReward.reward.equals("scrap_only")) {
-                autoReward.scrap = autoRewardQuantity(rng, "scrap", rewardLevel, newSectorNumber);
+                event.rewardScrap = autoRewardQuantity(rng, "scrap", rewardLevel, newSectorNumber);
             } else if (autoReward.reward.equals("fuel")) {
-                autoReward.scrap = autoRewardQuantity(rng, "scrap", rewardLevel, newSectorNumber);
-                autoReward.resources[0] = autoRewardQuantity(rng, "fuel", rewardLevel, 0);
+                event.rewardScrap = autoRewardQuantity(rng, "scrap", rewardLevel, newSectorNumber);
+                event.rewardResources[0] = autoRewardQuantity(rng, "fuel", rewardLevel, 0);
             } else if (autoReward.reward.equals("missiles")) {
-                autoReward.scrap = autoRewardQuantity(rng, "scrap", rewardLevel, newSectorNumber);
-                autoReward.resources[1] = autoRewardQuantity(rng, "missiles", rewardLevel, 0);
+                event.rewardScrap = autoRewardQuantity(rng, "scrap", rewardLevel, newSectorNumber);
+                event.rewardResources[1] = autoRewardQuantity(rng, "missiles", rewardLevel, 0);
             } else if (autoReward.reward.equals("droneparts")) {
-                autoReward.scrap = autoRewardQuantity(rng, "scrap", rewardLevel, newSectorNumber);
-                autoReward.resources[2] = autoRewardQuantity(rng, "droneparts", rewardLevel, 0);
+                event.rewardScrap = autoRewardQuantity(rng, "scrap", rewardLevel, newSectorNumber);
+                event.rewardResources[2] = autoRewardQuantity(rng, "droneparts", rewardLevel, 0);
             } else if (autoReward.reward.equals("fuel_only")) {
-                autoReward.resources[0] = autoRewardQuantity(rng, "fuel", rewardLevel, 0);
+                event.rewardResources[0] = autoRewardQuantity(rng, "fuel", rewardLevel, 0);
             } else if (autoReward.reward.equals("missiles_only")) {
-                autoReward.resources[1] = autoRewardQuantity(rng, "missiles", rewardLevel, 0);
+                event.rewardResources[1] = autoRewardQuantity(rng, "missiles", rewardLevel, 0);
             } else if (autoReward.reward.equals("droneparts_only")) {
-                autoReward.resources[2] = autoRewardQuantity(rng, "droneparts", rewardLevel, 0);
+                event.rewardResources[2] = autoRewardQuantity(rng, "droneparts", rewardLevel, 0);
             }
 
             int extraItemType = -1;
@@ -399,29 +420,29 @@ public final class RandomEvent {
 
             if ((extraItemType == 0) || autoReward.reward.equals("weapon")) {
                 WeaponBlueprint wb = pickRandomWeapon(rng);
-                autoReward.weapon = wb.getId();
-                autoReward.scrap = autoRewardQuantity(rng, "scrap", rewardLevel, newSectorNumber);
+                event.rewardWeapon = wb.getId();
+                event.rewardScrap = autoRewardQuantity(rng, "scrap", rewardLevel, newSectorNumber);
             } else if ((extraItemType == 2) || autoReward.reward.equals("augment")) {
                 AugBlueprint ab = pickRandomAugment(rng);
-                autoReward.augment = ab.getId();
-                autoReward.scrap = autoRewardQuantity(rng, "scrap", rewardLevel, newSectorNumber);
+                event.rewardAugment = ab.getId();
+                event.rewardScrap = autoRewardQuantity(rng, "scrap", rewardLevel, newSectorNumber);
             } else if ((extraItemType == 1) || autoReward.reward.equals("drone")) {
                 DroneBlueprint db = pickRandomDrone(rng);
-                autoReward.drone = db.getId();
-                autoReward.scrap = autoRewardQuantity(rng, "scrap", rewardLevel, newSectorNumber);
+                event.rewardDrone = db.getId();
+                event.rewardScrap = autoRewardQuantity(rng, "scrap", rewardLevel, newSectorNumber);
             }
         }
 
         /* Ship event: generate the seed */
-        ShipEvent se = event.getShip();
+        ShipEvent se = template.getShip();
         if (se != null) {
             log.debug("Ship seed value, generating");
-            se.setSeed(rng.rand());
-            log.debug("Ship seed value, set to {}", se.getSeed());
+            event.shipSeed = rng.rand();
+            log.debug("Ship seed value, set to {}", event.shipSeed);
         }
 
         /* Browse each choice, and load the corresponding event */
-        List<Choice> choiceList = event.getChoiceList();
+        List<Choice> choiceList = template.getChoiceList();
         if (choiceList != null) {
             for (int i = 0; i < choiceList.size(); i++) {
                 Choice choice = choiceList.get(i);
@@ -432,10 +453,11 @@ public final class RandomEvent {
                 /* Fix: in the data file, at least one event has the field
                  * 'name' filled, where it should be 'load' instead.
                  */
+                String choiceLoad = choiceEvent.getLoad();
                 if (choiceEvent.getId() != null)
-                    choiceEvent.setLoad(choiceEvent.getId());
+                    choiceLoad = choiceEvent.getId();
 
-                choice.setEvent(loadEvent(choiceEvent, rng));
+                event.choiceEvents.set(i, loadEvent(choiceEvent, choiceLoad, rng));
 
                 /* Load text it any. It is done after loading the event */
                 NamedText cText = choice.getText();
@@ -457,7 +479,7 @@ public final class RandomEvent {
 
                             log.debug("Choose random text from textList");
                             n = rng.rand() % textList.size();
-                            choice.setText(textList.get(n));
+                            event.choiceTexts.set(i, textList.get(n));
                         }
                     }
                 }
@@ -479,9 +501,9 @@ public final class RandomEvent {
     /**
      * Randomize an item quantity
      */
-    private static int itemOfferQuantity(FTLEvent event, RandRNG rng, String id) {
+    private static int itemOfferQuantity(GeneratedEvent event, RandRNG rng, String id) {
 
-        FTLEvent.ItemList itemList = event.getItemList();
+        FTLEvent.ItemList itemList = event.getTemplate().getItemList();
         if (itemList == null)
             return 0;
 
@@ -490,11 +512,9 @@ public final class RandomEvent {
             if (item.type.equals(id)) {
                 if (item.max != 0) {
                     int r = item.max + 1 - item.min;
-                    item.value = (rng.rand() % r) + item.min;
-                    itemList.items.set(i, item);
-                    event.setItemList(itemList);
-                    log.debug(String.format("Random quantity of %s is %d", id, item.value));
-                    return item.value;
+                    event.itemValues[i] = (rng.rand() % r) + item.min;
+                    log.debug(String.format("Random quantity of %s is %d", id, event.itemValues[i]));
+                    return event.itemValues[i];
                 }
                 return 0;
             }
@@ -549,247 +569,41 @@ public final class RandomEvent {
         return r;
     }
 
-    private static class ItemRarity {
-        public String id = null;
-        public int rarity = 0;
-        public int rarityChildren = 0;
+    /**
+     * Returns compiled rarity tables for the current sector.
+     */
+    private static SectorRarityTables getRarityTables() {
+        if (rarityTables == null) {
+            rarityTables = SectorRarityTables.get(sectorId, dlcEnabled);
+        }
+        return rarityTables;
     }
 
-    private static final List<ItemRarity> crewRarities = new ArrayList<ItemRarity>();
-
     /**
-     * Pick a random weapon, accounting for rarity
+     * Pick a random crew, accounting for rarity
      */
     private static CrewBlueprint pickRandomCrew(RandRNG rng) {
-        Map<String, CrewBlueprint> crews = DataManager.getInstance().getCrews(dlcEnabled);
-
-        /* Compute sum and binary tree of non-zero rarities */
-        if (crewRarities.isEmpty()) {
-
-            /* Use 1-based array */
-            crewRarities.add(new ItemRarity());
-
-            /* Sector data can overwrite rarities */
-            SectorDescription tmpDesc = DataManager.getInstance().getSectorDescriptionById(sectorId);
-            SectorDescription.RarityList rarityList = tmpDesc.getRarityList();
-            List<SectorDescription.BlueprintRarity> blueprints = null;
-            if (rarityList != null)
-                blueprints = rarityList.blueprints;
-
-            for (Map.Entry<String, CrewBlueprint> entry : crews.entrySet()) {
-                int r = entry.getValue().getRarity();
-
-                /* Check if a new rarity value is specified by sector description */
-                if (blueprints != null) {
-                    for (SectorDescription.BlueprintRarity b : blueprints) {
-                        if (b.id.equals(entry.getKey())) {
-                            r = b.rarity;
-                            log.debug(String.format("crew %s rarity %d override", b.id, b.rarity));
-                        }
-                    }
-                }
-
-                if (r != 0) {
-                    ItemRarity dr = new ItemRarity();
-                    dr.id = entry.getKey();
-                    dr.rarity = 6 - r;
-                    dr.rarityChildren = 6 - r;
-                    crewRarities.add(dr);
-                }
-            }
-
-            /* Compute the binary tree */
-            for (int i = crewRarities.size() - 1; i >= 1; i--) {
-                crewRarities.get(i >> 1).rarityChildren += crewRarities.get(i).rarityChildren;
-            }
-        }
-
-        /* Pick a crew with rarity */
-        String id = pickRandomBinaryTree(rng, crewRarities);
-        return crews.get(id);
+        return getRarityTables().crews.pick(rng);
     }
 
-
-    private static final List<ItemRarity> weaponRarities = new ArrayList<ItemRarity>();
-
     /**
      * Pick a random weapon, accounting for rarity
      */
     private static WeaponBlueprint pickRandomWeapon(RandRNG rng) {
-        Map<String, WeaponBlueprint> weapons = DataManager.getInstance().getWeapons(dlcEnabled);
-
-        /* Compute sum and binary tree of non-zero rarities */
-        if (weaponRarities.isEmpty()) {
-
-            /* Use 1-based array */
-            weaponRarities.add(new ItemRarity());
-
-            /* Sector data can overwrite rarities */
-            SectorDescription tmpDesc = DataManager.getInstance().getSectorDescriptionById(sectorId);
-            SectorDescription.RarityList rarityList = tmpDesc.getRarityList();
-            List<SectorDescription.BlueprintRarity> blueprints = null;
-            if (rarityList != null)
-                blueprints = rarityList.blueprints;
-
-            for (Map.Entry<String, WeaponBlueprint> entry : weapons.entrySet()) {
-                int r = entry.getValue().getRarity();
-
-                /* Check if a new rarity value is specified by sector description */
-                if (blueprints != null) {
-                    for (SectorDescription.BlueprintRarity b : blueprints) {
-                        if (b.id.equals(entry.getKey())) {
-                            r = b.rarity;
-                        }
-                    }
-                }
-
-                if (r != 0) {
-                    ItemRarity dr = new ItemRarity();
-                    dr.id = entry.getKey();
-                    dr.rarity = 6 - r;
-                    dr.rarityChildren = 6 - r;
-                    weaponRarities.add(dr);
-                }
-            }
-
-            /* Compute the binary tree */
-            for (int i = weaponRarities.size() - 1; i >= 1; i--) {
-                weaponRarities.get(i >> 1).rarityChildren += weaponRarities.get(i).rarityChildren;
-            }
-        }
-
-        /* Pick a weapon with rarity */
-        String id = pickRandomBinaryTree(rng, weaponRarities);
-        return weapons.get(id);
+        return getRarityTables().weapons.pick(rng);
     }
 
-
-    private static final List<ItemRarity> augRarities = new ArrayList<ItemRarity>();
-
     /**
      * Pick a random augment, accounting for rarity
      */
     private static AugBlueprint pickRandomAugment(RandRNG rng) {
-        Map<String, AugBlueprint> augs = DataManager.getInstance().getAugments(dlcEnabled);
-
-        /* Compute sum and binary tree of non-zero rarities */
-        if (augRarities.isEmpty()) {
-
-            /* Use 1-based array */
-            augRarities.add(new ItemRarity());
-
-            /* Sector data can overwrite rarities */
-            SectorDescription tmpDesc = DataManager.getInstance().getSectorDescriptionById(sectorId);
-            SectorDescription.RarityList rarityList = tmpDesc.getRarityList();
-            List<SectorDescription.BlueprintRarity> blueprints = null;
-            if (rarityList != null)
-                blueprints = rarityList.blueprints;
-
-            for (Map.Entry<String, AugBlueprint> entry : augs.entrySet()) {
-                int r = entry.getValue().getRarity();
-
-                /* Check if a new rarity value is specified by sector description */
-                if (blueprints != null) {
-                    for (SectorDescription.BlueprintRarity b : blueprints) {
-                        if (b.id.equals(entry.getKey())) {
-                            r = b.rarity;
-                        }
-                    }
-                }
-
-                if (r != 0) {
-                    ItemRarity dr = new ItemRarity();
-                    dr.id = entry.getKey();
-                    dr.rarity = 6 - r;
-                    dr.rarityChildren = 6 - r;
-                    augRarities.add(dr);
-                }
-            }
-
-            /* Compute the binary tree */
-            for (int i = augRarities.size() - 1; i >= 1; i--) {
-                augRarities.get(i >> 1).rarityChildren += augRarities.get(i).rarityChildren;
-            }
-        }
-
-        /* Pick an augment with rarity */
-        String id = pickRandomBinaryTree(rng, augRarities);
-        return augs.get(id);
+        return getRarityTables().augments.pick(rng);
     }
 
-    private static final List<ItemRarity> droneRarities = new ArrayList<ItemRarity>();
-
     /**
      * Pick a random drone, accounting for rarity
      */
     private static DroneBlueprint pickRandomDrone(RandRNG rng) {
-        Map<String, DroneBlueprint> drones = DataManager.getInstance().getDrones(dlcEnabled);
-
-        /* Compute sum and binary tree of non-zero rarities */
-        if (droneRarities.isEmpty()) {
-
-            /* Use 1-based array */
-            droneRarities.add(new ItemRarity());
-
-            /* Sector data can overwrite rarities */
-            SectorDescription tmpDesc = DataManager.getInstance().getSectorDescriptionById(sectorId);
-            SectorDescription.RarityList rarityList = tmpDesc.getRarityList();
-            List<SectorDescription.BlueprintRarity> blueprints = null;
-            if (rarityList != null)
-                blueprints = rarityList.blueprints;
-
-            for (Map.Entry<String, DroneBlueprint> entry : drones.entrySet()) {
-                int r = entry.getValue().getRarity();
-
-                /* Check if a new rarity value is specified by sector description */
-                if (blueprints != null) {
-                    for (SectorDescription.BlueprintRarity b : blueprints) {
-                        if (b.id.equals(entry.getKey())) {
-                            r = b.rarity;
-                        }
-                    }
-                }
-
-                if (r != 0) {
-                    ItemRarity dr = new ItemRarity();
-                    dr.id = entry.getKey();
-                    dr.rarity = 6 - r;
-                    dr.rarityChildren = 6 - r;
-                    droneRarities.add(dr);
-                }
-            }
-
-            /* Compute the binary tree */
-            for (int i = droneRarities.size() - 1; i >= 1; i--) {
-                droneRarities.get(i >> 1).rarityChildren += droneRarities.get(i).rarityChildren;
-            }
-        }
-
-        /* Pick a drone with rarity */
-        String id = pickRandomBinaryTree(rng, droneRarities);
-        return drones.get(id);
+        return getRarityTables().drones.pick(rng);
     }
-
-    /**
-     * Pick a random item from a binary tree
-     */
-    private static String pickRandomBinaryTree(RandRNG rng, List<ItemRarity> itemRarities) {
-
-        /* Pick a value among sum of rarities */
-        int i = rng.rand() % itemRarities.get(1).rarityChildren;
-        int j = 1;
-
-        while (i >= itemRarities.get(j).rarity) {
-            i -= itemRarities.get(j).rarity;
-            j <<= 1;
-            if (i >= itemRarities.get(j).rarityChildren) {
-                i -= itemRarities.get(j).rarityChildren;
-                j++;
-            }
-        }
-
-        return itemRarities.get(j).id;
-    }
-
-
 }
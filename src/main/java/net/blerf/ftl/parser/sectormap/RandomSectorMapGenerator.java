@@ -10,7 +10,6 @@ import lombok.extern.slf4j.Slf4j;
 import net.blerf.ftl.constants.Difficulty;
 import net.blerf.ftl.parser.DataManager;
 import net.blerf.ftl.parser.random.RandRNG;
-import net.blerf.ftl.xml.FTLEvent;
 import net.blerf.ftl.xml.SectorDescription;
 
 
@@ -67,7 +66,7 @@ public class RandomSectorMapGenerator {
         public int id;
         public int x;
         public int y;
-        public FTLEvent event;
+        public GeneratedEvent event;
     }
 
     public static class NebulaRect {
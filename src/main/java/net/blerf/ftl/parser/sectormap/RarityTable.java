@@ -0,0 +1,128 @@
+package net.blerf.ftl.parser.sectormap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import net.blerf.ftl.parser.random.RandRNG;
+
+
+/**
+ * An immutable rarity-weighted pool of blueprints, as FTL picks from.
+ * <p>
+ * FTL stores non-zero rarities in a 1-based binary tree, where each node
+ * holds its own weight (6 - rarity) plus the sum of its children. A pick
+ * draws one random number modulo the total weight, then walks down the
+ * tree. That walk has to be reproduced exactly to stay in sync with the
+ * game's RNG, so a flat cumulative table or an alias table can't be
+ * substituted here. The walk is already O(log n); what this class saves
+ * is rebuilding the tree for every generated map.
+ * <p>
+ * Tables are compiled once per (sector, dlc) and shared.
+ *
+ * @see SectorRarityTables
+ */
+public final class RarityTable<T> {
+
+    private final String[] ids;
+    private final List<T> items;
+    private final int[] rarity;
+    private final int[] rarityChildren;
+
+
+    private RarityTable(String[] ids, List<T> items, int[] rarity, int[] rarityChildren) {
+        this.ids = ids;
+        this.items = items;
+        this.rarity = rarity;
+        this.rarityChildren = rarityChildren;
+    }
+
+    /**
+     * Compiles a table.
+     *
+     * @param blueprints blueprints mapped to ids, in FTL's iteration order
+     * @param rarities   each blueprint's base rarity, parallel to blueprints' iteration order
+     * @param overrides  rarities that replace base ones (from a SectorDescription), or null
+     */
+    public static <T> RarityTable<T> compile(Map<String, T> blueprints, int[] rarities, Map<String, Integer> overrides) {
+        List<String> idList = new ArrayList<String>(blueprints.size() + 1);
+        List<T> itemList = new ArrayList<T>(blueprints.size() + 1);
+        List<Integer> weightList = new ArrayList<Integer>(blueprints.size() + 1);
+
+        /* Use 1-based array */
+        idList.add(null);
+        itemList.add(null);
+        weightList.add(0);
+
+        int b = 0;
+        for (Map.Entry<String, T> entry : blueprints.entrySet()) {
+            int r = rarities[b++];
+
+            /* Check if a new rarity value is specified by sector description */
+            if (overrides != null) {
+                Integer overrideRarity = overrides.get(entry.getKey());
+                if (overrideRarity != null) r = overrideRarity;
+            }
+
+            if (r != 0) {
+                idList.add(entry.getKey());
+                itemList.add(entry.getValue());
+                weightList.add(6 - r);
+            }
+        }
+
+        int count = idList.size();
+        int[] rarity = new int[count];
+        int[] rarityChildren = new int[count];
+        for (int i = 0; i < count; i++) {
+            rarity[i] = weightList.get(i);
+            rarityChildren[i] = weightList.get(i);
+        }
+
+        /* Compute the binary tree */
+        for (int i = count - 1; i >= 1; i--) {
+            rarityChildren[i >> 1] += rarityChildren[i];
+        }
+
+        return new RarityTable<T>(idList.toArray(new String[count]), Collections.unmodifiableList(itemList), rarity, rarityChildren);
+    }
+
+    /**
+     * Returns the number of pickable (non-zero rarity) blueprints.
+     */
+    public int size() {
+        return ids.length - 1;
+    }
+
+    /**
+     * Pick a random item from the binary tree.
+     */
+    public T pick(RandRNG rng) {
+        return items.get(pickIndex(rng));
+    }
+
+    /**
+     * Pick a random id from the binary tree.
+     */
+    public String pickId(RandRNG rng) {
+        return ids[pickIndex(rng)];
+    }
+
+    private int pickIndex(RandRNG rng) {
+
+        /* Pick a value among sum of rarities */
+        int i = rng.rand() % rarityChildren[1];
+        int j = 1;
+
+        while (i >= rarity[j]) {
+            i -= rarity[j];
+            j <<= 1;
+            if (i >= rarityChildren[j]) {
+                i -= rarityChildren[j];
+                j++;
+            }
+        }
+
+        return j;
+    }
+}
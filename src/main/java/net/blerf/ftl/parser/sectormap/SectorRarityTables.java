@@ -0,0 +1,106 @@
+package net.blerf.ftl.parser.sectormap;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import net.blerf.ftl.parser.DataManager;
+import net.blerf.ftl.xml.AugBlueprint;
+import net.blerf.ftl.xml.CrewBlueprint;
+import net.blerf.ftl.xml.DroneBlueprint;
+import net.blerf.ftl.xml.SectorDescription;
+import net.blerf.ftl.xml.WeaponBlueprint;
+
+
+/**
+ * Compiled rarity tables for crew, weapons, augments and drones in a sector.
+ * <p>
+ * Sector descriptions can override blueprint rarities, so each
+ * (sectorId, dlcEnabled) pair gets its own set. Difficulty doesn't affect
+ * rarities.
+ * <p>
+ * Sets are compiled on first request and cached until the global
+ * DataManager instance changes.
+ *
+ * @see RandomEvent
+ */
+@Slf4j
+public final class SectorRarityTables {
+
+    private static final Map<String, SectorRarityTables> cachedTables = new HashMap<String, SectorRarityTables>();
+    private static DataManager cachedDataManager = null;
+
+    public final RarityTable<CrewBlueprint> crews;
+    public final RarityTable<WeaponBlueprint> weapons;
+    public final RarityTable<AugBlueprint> augments;
+    public final RarityTable<DroneBlueprint> drones;
+
+
+    private SectorRarityTables(DataManager dm, String sectorId, boolean dlcEnabled) {
+        Map<String, Integer> overrides = null;
+
+        /* Sector data can overwrite rarities */
+        SectorDescription tmpDesc = dm.getSectorDescriptionById(sectorId);
+        if (tmpDesc != null && tmpDesc.getRarityList() != null) {
+            List<SectorDescription.BlueprintRarity> blueprints = tmpDesc.getRarityList().blueprints;
+            if (blueprints != null) {
+                overrides = new HashMap<String, Integer>(blueprints.size());
+                for (SectorDescription.BlueprintRarity b : blueprints) {
+                    overrides.put(b.id, b.rarity);
+                    log.debug(String.format("%s rarity %d override in sector %s", b.id, b.rarity, sectorId));
+                }
+            }
+        }
+
+        Map<String, CrewBlueprint> crewMap = dm.getCrews(dlcEnabled);
+        int[] crewRarities = new int[crewMap.size()];
+        int i = 0;
+        for (CrewBlueprint crew : crewMap.values()) {
+            crewRarities[i++] = crew.getRarity();
+        }
+        crews = RarityTable.compile(crewMap, crewRarities, overrides);
+
+        Map<String, WeaponBlueprint> weaponMap = dm.getWeapons(dlcEnabled);
+        int[] weaponRarities = new int[weaponMap.size()];
+        i = 0;
+        for (WeaponBlueprint weapon : weaponMap.values()) {
+            weaponRarities[i++] = weapon.getRarity();
+        }
+        weapons = RarityTable.compile(weaponMap, weaponRarities, overrides);
+
+        Map<String, AugBlueprint> augMap = dm.getAugments(dlcEnabled);
+        int[] augRarities = new int[augMap.size()];
+        i = 0;
+        for (AugBlueprint aug : augMap.values()) {
+            augRarities[i++] = aug.getRarity();
+        }
+        augments = RarityTable.compile(augMap, augRarities, overrides);
+
+        Map<String, DroneBlueprint> droneMap = dm.getDrones(dlcEnabled);
+        int[] droneRarities = new int[droneMap.size()];
+        i = 0;
+        for (DroneBlueprint drone : droneMap.values()) {
+            droneRarities[i++] = drone.getRarity();
+        }
+        drones = RarityTable.compile(droneMap, droneRarities, overrides);
+    }
+
+    /**
+     * Returns the tables for a sector, compiling them if necessary.
+     */
+    public static synchronized SectorRarityTables get(String sectorId, boolean dlcEnabled) {
+        DataManager dm = DataManager.getInstance();
+        if (dm != cachedDataManager) {
+            cachedTables.clear();
+            cachedDataManager = dm;
+        }
+
+        String key = (dlcEnabled ? "dlc:" : "std:") + sectorId;
+        SectorRarityTables result = cachedTables.get(key);
+        if (result == null) {
+            result = new SectorRarityTables(dm, sectorId, dlcEnabled);
+            cachedTables.put(key, result);
+        }
+        return result;
+    }
+}
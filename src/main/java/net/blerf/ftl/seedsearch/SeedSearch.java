@@ -11,12 +11,12 @@ import net.blerf.ftl.constants.Difficulty;
 import net.blerf.ftl.parser.random.NativeRandom;
 import net.blerf.ftl.parser.random.RandRNG;
 import net.blerf.ftl.parser.sectormap.GeneratedBeacon;
+import net.blerf.ftl.parser.sectormap.GeneratedEvent;
 import net.blerf.ftl.parser.sectormap.GeneratedSectorMap;
 import net.blerf.ftl.parser.sectormap.RandomSectorMapGenerator;
 import net.blerf.ftl.parser.sectortree.RandomSectorTreeGenerator;
 import net.blerf.ftl.parser.shiplayout.RandomShipLayout;
 import net.blerf.ftl.xml.Choice;
-import net.blerf.ftl.xml.FTLEvent;
 import net.blerf.ftl.xml.ship.ShipEvent;
 
 /**
@@ -330,7 +330,7 @@ public class SeedSearch {
 
         /* Examine current beacon event */
         GeneratedBeacon gb = beaconList.get(currentBeacon);
-        FTLEvent event = gb.getEvent();
+        GeneratedEvent event = gb.getEvent();
 
         /* Check if finish beacon */
         if (currentBeacon == map.endBeacon) {
@@ -380,7 +380,7 @@ public class SeedSearch {
         // int w = -1;
         // for (int b : beaconPath) {
         // 	GeneratedBeacon bec = beaconList.get(b);
-        // 	FTLEvent event = bec.getEvent();
+        // 	GeneratedEvent event = bec.getEvent();
         // 	if (eventItem(event, "BEAM_HULL")) {
         // 		ret = true;
         // 		w = b;
@@ -396,7 +396,7 @@ public class SeedSearch {
         // 	if (b == w)
         // 		continue;
         // 	GeneratedBeacon bec = beaconList.get(b);
-        // 	FTLEvent event = bec.getEvent();
+        // 	GeneratedEvent event = bec.getEvent();
         // 	if (eventItem(event, "SHOTGUN_2")) {
         // 		ret = true;
         // 		break;
@@ -408,7 +408,7 @@ public class SeedSearch {
 
         for (int b : beaconPath) {
             GeneratedBeacon bec = beaconList.get(b);
-            FTLEvent event = bec.getEvent();
+            GeneratedEvent event = bec.getEvent();
             log.debug("Got beacon {}", b);
             log.debug(event.toDescription(0));
         }
@@ -416,7 +416,7 @@ public class SeedSearch {
         return true;
     }
 
-    private boolean eventHostile(FTLEvent event, boolean hostile) {
+    private boolean eventHostile(GeneratedEvent event, boolean hostile) {
         if (event.getBoarders() != null)
             return true;
 
@@ -425,65 +425,55 @@ public class SeedSearch {
             hostile = se.isHostile();
 
         /* Browse each choice, and load the corresponding event */
-        List<Choice> choiceList = event.getChoiceList();
-
-        if (choiceList == null)
+        if (event.getChoiceCount() == 0)
             return hostile;
 
         boolean childHostile = true;
-        for (int i = 0; i < choiceList.size(); i++) {
-            Choice choice = choiceList.get(i);
+        for (int i = 0; i < event.getChoiceCount(); i++) {
+            Choice choice = event.getChoice(i);
             /* We skip if any requirement, we probably don't meet any */
             if (choice.getReq() != null)
                 continue;
 
-            FTLEvent choiceEvent = choice.getEvent();
+            GeneratedEvent choiceEvent = event.getChoiceEvent(i);
             childHostile = childHostile && eventHostile(choiceEvent, hostile);
         }
 
         return childHostile;
     }
 
-    private boolean eventItem(FTLEvent event, String item) {
+    private boolean eventItem(GeneratedEvent event, String item) {
         boolean gotItem = false;
 
-        FTLEvent.Item weapon = event.getWeapon();
-        if (weapon != null && weapon.name.equals(item))
+        if (event.getTemplate().getWeapon() != null && event.getWeaponName().equals(item))
             gotItem = true;
 
-        FTLEvent.Item augment = event.getAugment();
-        if (augment != null && augment.name.equals(item))
+        if (event.getTemplate().getAugment() != null && event.getAugmentName().equals(item))
             gotItem = true;
 
-        FTLEvent.Item drone = event.getDrone();
-        if (drone != null && drone.name.equals(item))
+        if (event.getTemplate().getDrone() != null && event.getDroneName().equals(item))
             gotItem = true;
 
-        FTLEvent.AutoReward autoReward = event.getAutoReward();
-        if (autoReward != null) {
-            if (autoReward.weapon != null && autoReward.weapon.equals(item))
+        if (event.hasAutoReward()) {
+            if (event.getRewardWeapon() != null && event.getRewardWeapon().equals(item))
                 gotItem = true;
 
-            if (autoReward.augment != null && autoReward.augment.equals(item))
+            if (event.getRewardAugment() != null && event.getRewardAugment().equals(item))
                 gotItem = true;
 
-            if (autoReward.drone != null && autoReward.drone.equals(item))
+            if (event.getRewardDrone() != null && event.getRewardDrone().equals(item))
                 gotItem = true;
         }
 
         if (gotItem) {
             /* Check if loosing crew */
-            FTLEvent.CrewMember cm = event.getCrewMember();
-            if ((cm != null) && (cm.amount < 0))
+            if (event.getCrewAmount() < 0)
                 gotItem = false;
 
             /* Check if loosing stuff */
-            FTLEvent.ItemList il = event.getItemList();
-            if (il != null) {
-                for (FTLEvent.Reward r : il.items) {
-                    if (r.value < 0)
-                        gotItem = false;
-                }
+            for (int i = 0; i < event.getItemCount(); i++) {
+                if (event.getItemValue(i) < 0)
+                    gotItem = false;
             }
         }
 
@@ -491,18 +481,13 @@ public class SeedSearch {
             return true;
 
         /* Browse each choice, and load the corresponding event */
-        List<Choice> choiceList = event.getChoiceList();
-
-        if (choiceList == null)
-            return false;
-
-        for (int i = 0; i < choiceList.size(); i++) {
-            Choice choice = choiceList.get(i);
+        for (int i = 0; i < event.getChoiceCount(); i++) {
+            Choice choice = event.getChoice(i);
             /* We skip if any requirement, we probably don't meet any */
             if (choice.getReq() != null)
                 continue;
 
-            FTLEvent choiceEvent = choice.getEvent();
+            GeneratedEvent choiceEvent = event.getChoiceEvent(i);
             if (eventItem(choiceEvent, item))
                 return true;
         }
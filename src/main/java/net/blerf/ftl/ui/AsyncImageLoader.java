@@ -0,0 +1,151 @@
+package net.blerf.ftl.ui;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingUtilities;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Decodes and scales images on a pool of worker threads, off the EDT.
+ * <p>
+ * Callers show a placeholder right away, and get the real result in a
+ * callback on the EDT. Requests with equal keys that arrive while one is
+ * still in flight are coalesced: the work runs once, and every callback
+ * receives the same result.
+ * <p>
+ * Results aren't retained here. Tasks should consult an ImageCache, so
+ * later requests for the same image return quickly.
+ * <p>
+ * Resources are read with DataManager, whose packs use positional reads,
+ * so concurrent tasks don't disturb each other.
+ */
+@Slf4j
+public class AsyncImageLoader {
+
+    private static final AsyncImageLoader instance = new AsyncImageLoader(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)));
+
+    private final ExecutorService executor;
+    private final Map<Object, List<Callback<?>>> pendingMap = new HashMap<>();
+
+
+    /**
+     * Returns the loader shared by the application's panels.
+     */
+    public static AsyncImageLoader get() {
+        return instance;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param threadCount the number of worker threads
+     */
+    public AsyncImageLoader(int threadCount) {
+        final AtomicInteger threadNum = new AtomicInteger(0);
+
+        executor = Executors.newFixedThreadPool(threadCount, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "ImageLoader-" + threadNum.incrementAndGet());
+                t.setDaemon(true);
+                t.setPriority(Thread.NORM_PRIORITY - 1);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Runs a task in the background, unless an equal one is in flight.
+     * <p>
+     * If the task throws, the error is logged, and every callback's
+     * failed() is called instead.
+     *
+     * @param key identifies the result, to coalesce duplicate requests
+     *            (equal keys must have tasks of the same type)
+     * @param task produces the result
+     * @param callback receives the result on the EDT
+     */
+    public <T> void load(final Object key, final Callable<T> task, Callback<T> callback) {
+        synchronized (pendingMap) {
+            List<Callback<?>> callbacks = pendingMap.get(key);
+            if (callbacks != null) {
+                callbacks.add(callback);
+                return;
+            }
+            callbacks = new ArrayList<>(1);
+            callbacks.add(callback);
+            pendingMap.put(key, callbacks);
+        }
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                T result = null;
+                Throwable error = null;
+                try {
+                    result = task.call();
+                } catch (Exception | OutOfMemoryError e) {
+                    // Large images can exhaust the heap; that needn't end the app.
+                    error = e;
+                }
+
+                final List<Callback<?>> callbacks;
+                synchronized (pendingMap) {
+                    callbacks = pendingMap.remove(key);
+                }
+
+                if (error != null) {
+                    log.error("Failed to load image in the background: {}", key, error);
+                }
+
+                final T finalResult = result;
+                final Throwable finalError = error;
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public void run() {
+                        for (Callback<?> callback : callbacks) {
+                            if (finalError != null) {
+                                callback.failed(finalError);
+                            } else {
+                                ((Callback<T>) callback).loaded(finalResult);
+                            }
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Returns the number of distinct requests in flight.
+     */
+    public int getPendingCount() {
+        synchronized (pendingMap) {
+            return pendingMap.size();
+        }
+    }
+
+
+    /**
+     * Receives the result of a background load, on the EDT.
+     * <p>
+     * Failures have already been logged. By default, nothing else happens,
+     * so callers that need to recover (e.g., to stop waiting for the
+     * result) should override failed().
+     */
+    public abstract static class Callback<T> {
+        public abstract void loaded(T result);
+
+        public void failed(Throwable error) {
+        }
+    }
+}
@@ -11,6 +11,7 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
 import javax.swing.WindowConstants;
+import net.blerf.ftl.parser.ByteBufferOutputStream;
 
 
 /**
@@ -101,7 +102,7 @@ public class BugReportDialog extends JDialog {
         if (attachmentName != null && attachmentContent != null) {
             reportBuf.append(String.format("File (\"%s\")...%n", attachmentName));
             reportBuf.append("[code]\n");
-            reportBuf.append(attachmentContent);
+            reportBuf.append(attachmentContent.toString());
             reportBuf.append("\n[/code]\n");
             reportBuf.append("\n");
         }
@@ -153,25 +154,22 @@ public class BugReportDialog extends JDialog {
      * Reads a stream to attach, encoded as hex.
      */
     public void setAttachment(InputStream in, String attachmentName) throws IOException {
-        StringBuilder hexBuf = new StringBuilder();
+        ByteBufferOutputStream tmpOut = new ByteBufferOutputStream();
 
         byte[] buf = new byte[4096];
         int len = 0;
         while ((len = in.read(buf)) >= 0) {
-            for (int i = 0; i < len; i++) {
-                hexBuf.append(String.format("%02x", buf[i]));
-                if ((i + 1) % 32 == 0) {
-                    hexBuf.append("\n");
-                }
-            }
+            tmpOut.write(buf, 0, len);
         }
 
-        attachmentContent = hexBuf;
-        attachmentName = attachmentName;
+        this.attachmentContent = new HexDump(tmpOut.asReadOnlyBuffer());
+        this.attachmentName = attachmentName;
     }
 
     /**
      * Sets a pre-encoded attachment.
+     * <p>
+     * A lazy CharSequence, like HexDump, is only formatted by build().
      */
     public void setAttachment(CharSequence attachmentContent, String attachmentName) {
         this.attachmentContent = attachmentContent;
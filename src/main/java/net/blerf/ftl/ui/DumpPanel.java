@@ -3,14 +3,27 @@ package net.blerf.ftl.ui;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Font;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
+import javax.swing.SwingWorker;
+import javax.swing.text.DefaultCaret;
+import lombok.extern.slf4j.Slf4j;
+import net.blerf.ftl.model.DumpWriter;
+import net.blerf.ftl.model.Dumpable;
 
 
+@Slf4j
 public class DumpPanel extends JPanel {
 
+    /** Characters to accumulate before handing a chunk to the EDT. */
+    private static final int CHUNK_SIZE = 32 * 1024;
+
     private JTextArea dumpArea = null;
+    private DumpWorker dumpWorker = null;
 
 
     public DumpPanel() {
@@ -21,13 +34,131 @@ public class DumpPanel extends JPanel {
         dumpArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, dumpArea.getFont().getSize()));
         //dumpArea.setOpaque( false );
         dumpArea.setBackground(new Color(212, 208, 200));
+
+        // Keep the view at the top while chunks are appended.
+        ((DefaultCaret) dumpArea.getCaret()).setUpdatePolicy(DefaultCaret.NEVER_UPDATE);
+
         JScrollPane dumpScrollPane = new JScrollPane(dumpArea);
         this.add(dumpScrollPane, BorderLayout.CENTER);
     }
 
     public void setText(String s) {
+        cancelDump();
+
         dumpArea.setText(s);
         dumpArea.setCaretPosition(0);
         dumpArea.repaint();
     }
+
+    /**
+     * Shows an object's dump, streamed in as it's written.
+     * <p>
+     * The text is generated on a background thread and appended in
+     * chunks, so the first screenful appears right away and the EDT never
+     * formats or lays out the whole thing at once. A pending dump is
+     * abandoned if another is requested.
+     * <p>
+     * The source is called on that thread too, so it mustn't return
+     * anything the EDT might modify meanwhile. Typically it decodes a
+     * copy from bytes the caller encoded.
+     *
+     * @param source provides the object to dump, or null to clear
+     */
+    public void setDump(Callable<? extends Dumpable> source) {
+        setText("");
+        if (source == null) return;
+
+        dumpWorker = new DumpWorker(source);
+        dumpWorker.execute();
+    }
+
+    private void cancelDump() {
+        if (dumpWorker != null) {
+            dumpWorker.cancel(false);
+            dumpWorker = null;
+        }
+    }
+
+
+
+    private class DumpWorker extends SwingWorker<Void, String> {
+        private final Callable<? extends Dumpable> source;
+
+        public DumpWorker(Callable<? extends Dumpable> source) {
+            this.source = source;
+        }
+
+        @Override
+        protected Void doInBackground() throws Exception {
+            Dumpable dumpable = source.call();
+            if (isCancelled()) return null;
+
+            final StringBuilder chunk = new StringBuilder(CHUNK_SIZE + 256);
+
+            // Flushes whenever a chunk fills. Once cancelled, text is dropped.
+            Appendable chunker = new Appendable() {
+                @Override
+                public Appendable append(CharSequence csq) {
+                    return append(csq, 0, csq.length());
+                }
+
+                @Override
+                public Appendable append(CharSequence csq, int start, int end) {
+                    if (isCancelled()) return this;
+
+                    chunk.append(csq, start, end);
+                    if (chunk.length() >= CHUNK_SIZE) flush();
+                    return this;
+                }
+
+                @Override
+                public Appendable append(char c) {
+                    if (isCancelled()) return this;
+
+                    chunk.append(c);
+                    if (chunk.length() >= CHUNK_SIZE) flush();
+                    return this;
+                }
+
+                private void flush() {
+                    publish(chunk.toString());
+                    chunk.setLength(0);
+                }
+            };
+
+            dumpable.dump(new DumpWriter(chunker));
+            if (chunk.length() > 0 && !isCancelled()) publish(chunk.toString());
+            return null;
+        }
+
+        @Override
+        protected void process(List<String> chunks) {
+            if (isCancelled()) return;
+
+            if (chunks.size() == 1) {
+                dumpArea.append(chunks.get(0));
+            } else {
+                StringBuilder buf = new StringBuilder();
+                for (String s : chunks) {
+                    buf.append(s);
+                }
+                dumpArea.append(buf.toString());
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) return;
+
+            try {
+                get();
+            } catch (InterruptedException e) {
+                log.error("Interrupted while dumping", e);
+            } catch (ExecutionException e) {
+                log.error("Error dumping", e.getCause());
+                dumpArea.append(String.format("%n%nError dumping: %s%n", e.getCause()));
+            }
+            if (dumpWorker == this) dumpWorker = null;
+        }
+    }
 }
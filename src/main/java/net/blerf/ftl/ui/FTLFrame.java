@@ -12,8 +12,6 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -23,13 +21,17 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.net.URL;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.imageio.ImageIO;
@@ -55,13 +57,20 @@ import javax.swing.event.HyperlinkListener;
 import javax.swing.filechooser.FileFilter;
 import lombok.extern.slf4j.Slf4j;
 import net.blerf.ftl.core.EditorConfig;
+import net.blerf.ftl.model.DumpWriter;
 import net.blerf.ftl.model.Profile;
 import net.blerf.ftl.model.state.SavedGameState;
+import net.blerf.ftl.parser.AtomicFileWriter;
+import net.blerf.ftl.parser.ByteBufferInputStream;
+import net.blerf.ftl.parser.ByteBufferOutputStream;
+import net.blerf.ftl.parser.ComparingOutputStream;
 import net.blerf.ftl.parser.DataManager;
 import net.blerf.ftl.parser.MysteryBytes;
 import net.blerf.ftl.parser.ProfileParser;
+import net.blerf.ftl.parser.SavedGameHistory;
+import net.blerf.ftl.parser.SavedGameIndex;
+import net.blerf.ftl.parser.SavedGameIndex.Span;
 import net.blerf.ftl.parser.SavedGameParser;
-import net.vhati.ftldat.PackUtilities;
 import net.vhati.modmanager.core.FTLUtilities;
 
 @Slf4j
@@ -81,10 +90,21 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
     private static final String SAVE_SECTOR_TREE = "Sector Tree";
     private static final String SAVE_STATE_VARS = "State Vars";
 
+    // Spans each saved game panel shows, to skip refreshing the others,
+    // and may edit, to note changes when its fields are applied.
+    // Everything depends on the file format, in the header.
+    private static final Set<Span> GENERAL_SPANS = EnumSet.of(Span.HEADER, Span.SECTOR, Span.ENCOUNTER, Span.NEARBY_SHIP, Span.ENVIRONMENT, Span.TRAILER);
+    private static final Set<Span> FLOORPLAN_SPANS = EnumSet.of(Span.HEADER, Span.PLAYER_SHIP, Span.NEARBY_SHIP, Span.PLAYER_SHIP_EXTENDED, Span.NEARBY_SHIP_EXTENDED);
+    private static final Set<Span> HANGAR_SPANS = EnumSet.of(Span.HEADER, Span.PLAYER_SHIP, Span.SECTOR, Span.ENCOUNTER, Span.NEARBY_SHIP, Span.PROJECTILES);
+    private static final Set<Span> SECTOR_MAP_SPANS = EnumSet.of(Span.HEADER, Span.SECTOR, Span.BEACONS, Span.ENCOUNTER, Span.TRAILER);
+    private static final Set<Span> SECTOR_TREE_SPANS = EnumSet.of(Span.HEADER, Span.SECTOR);
+    private static final Set<Span> STATE_VARS_SPANS = EnumSet.of(Span.HEADER);
+
     private Profile profile = null;
     private SavedGameState gameState = null;
-    private StringBuilder profileHex = null;
-    private StringBuilder gameStateHex = null;
+    private final SavedGameHistory gameStateHistory = new SavedGameHistory(200);
+    private HexDump profileHex = null;
+    private HexDump gameStateHex = null;
 
     private final URL aboutPageURL = FTLFrame.class.getResource("about.html");
     private final URL historyTemplateMainURL = FTLFrame.class.getResource("history_template_main.html");
@@ -132,8 +152,11 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
     private JButton gameStateOpenBtn;
     private JButton gameStateSaveBtn;
     private JButton gameStateDumpBtn;
+    private JButton gameStateUndoBtn;
+    private JButton gameStateRedoBtn;
 
     private final JTabbedPane savedGameTabsPane;
+    private final TouchedPanelTracker touchedPanels;
     private final DumpPanel savedGameDumpPanel;
     private final SavedGameGeneralPanel savedGameGeneralPanel;
     private final SavedGameFloorplanPanel savedGameFloorplanPanel;
@@ -262,6 +285,14 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
         savedGameTabsPane.addTab(SAVE_SECTOR_TREE, savedGameSectorTreeScroll);
         savedGameTabsPane.addTab(SAVE_STATE_VARS, savedGameStateVarsPanel);
 
+        touchedPanels = new TouchedPanelTracker(contentPane);
+        touchedPanels.addPanel(savedGameGeneralPanel);
+        touchedPanels.addPanel(savedGameFloorplanPanel);
+        touchedPanels.addPanel(savedGameSectorMapPanel);
+        touchedPanels.addPanel(savedGameSectorTreePanel);
+        touchedPanels.addPanel(savedGameStateVarsPanel);
+        touchedPanels.install();
+
         JPanel statusPanel = new JPanel();
         statusPanel.setLayout(new BoxLayout(statusPanel, BoxLayout.Y_AXIS));
         statusPanel.setBorder(BorderFactory.createLoweredBevelBorder());
@@ -284,6 +315,8 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
             public void windowClosed(WindowEvent e) {
                 // dispose() was called.
 
+                touchedPanels.uninstall();
+
                 // Restore the previous exception handler.
                 if (ranInit) Thread.setDefaultUncaughtExceptionHandler(previousUncaughtExceptionHandler);
 
@@ -463,6 +496,18 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
         gameStateDumpBtn.addMouseListener(new StatusbarMouseListener(this, "Dump unmodified game state info to a text file."));
         toolbar.add(gameStateDumpBtn);
 
+        gameStateUndoBtn = new JButton("Undo");
+        gameStateUndoBtn.setEnabled(false);
+        gameStateUndoBtn.addActionListener(this);
+        gameStateUndoBtn.addMouseListener(new StatusbarMouseListener(this, "Revert the last change (pending edits count as one)."));
+        toolbar.add(gameStateUndoBtn);
+
+        gameStateRedoBtn = new JButton("Redo");
+        gameStateRedoBtn.setEnabled(false);
+        gameStateRedoBtn.addActionListener(this);
+        gameStateRedoBtn.addMouseListener(new StatusbarMouseListener(this, "Reapply the last undone change."));
+        toolbar.add(gameStateRedoBtn);
+
         toolbar.add(Box.createHorizontalGlue());
 
         JButton gameStateAboutBtn = createAboutButton();
@@ -524,32 +569,19 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
             }
 
             if (chooserResponse == JFileChooser.APPROVE_OPTION && !sillyMistake) {
-                FileInputStream in = null;
-                StringBuilder hexBuf = new StringBuilder();
-                boolean hashFailed = false;
+                HexDump hexDump = null;
+                long mismatchOffset = -1;
                 Exception exception = null;
 
                 try {
                     log.info("Opening profile: {}", chosenFile.getAbsolutePath());
 
-                    in = new FileInputStream(chosenFile);
+                    // Read the whole file once. Everything below works from memory.
+                    ByteBufferInputStream in = ByteBufferInputStream.readFile(chosenFile);
 
-                    // Hash whole file, then go back to the beginning.
-                    String readHash = PackUtilities.calcStreamMD5(in);
-                    in.getChannel().position(0);
-
-                    // Read the content in advance, in case an error occurs.
-                    byte[] buf = new byte[4096];
-                    int len = 0;
-                    while ((len = in.read(buf)) >= 0) {
-                        for (int i = 0; i < len; i++) {
-                            hexBuf.append(String.format("%02x", buf[i]));
-                            if ((i + 1) % 32 == 0) {
-                                hexBuf.append("\n");
-                            }
-                        }
-                    }
-                    in.getChannel().position(0);
+                    // Keep the content in advance, in case an error occurs.
+                    // It's only formatted as hex if a bug report needs it.
+                    hexDump = new HexDump(in.asReadOnlyBuffer());
 
                     // Parse file data.
                     ProfileParser parser = new ProfileParser();
@@ -559,27 +591,20 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
                     Profile mockProfile = new Profile(p);
                     FTLFrame.this.loadProfile(mockProfile);
 
-                    // Perform mock write.
+                    // Perform mock write, comparing against the original as it goes.
                     // The update() incidentally triggers load() of the modified profile.
-                    ByteArrayOutputStream mockOut = new ByteArrayOutputStream();
+                    ComparingOutputStream mockOut = new ComparingOutputStream(in.asReadOnlyBuffer());
                     FTLFrame.this.updateProfile(mockProfile);
                     parser.writeProfile(mockOut, mockProfile);
-                    mockOut.close();
-
-                    // Hash result.
-                    ByteArrayInputStream mockIn = new ByteArrayInputStream(mockOut.toByteArray());
-                    String writeHash = PackUtilities.calcStreamMD5(mockIn);
-                    mockIn.close();
 
-                    // Compare hashes.
-                    if (!writeHash.equals(readHash)) {
-                        log.error("Hashes did not match after a mock write; editing may not be safe");
-                        hashFailed = true;
+                    mismatchOffset = mockOut.getMismatchOffset();
+                    if (mismatchOffset != -1) {
+                        log.error("A mock write differed from the original at offset {} (0x{}); editing may not be safe", mismatchOffset, Long.toHexString(mismatchOffset));
                     }
 
                     // Reload the original unmodified profile.
                     FTLFrame.this.loadProfile(p);
-                    profileHex = hexBuf;
+                    profileHex = hexDump;
                 } catch (FileNotFoundException f) {
                     // Don't log a whole stack trace.
                     log.error(String.format("Reading profile (\"%s\") failed: %s", chosenFile.getName(), f.getMessage()));
@@ -589,18 +614,14 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
                     log.error(String.format("Error reading profile (\"%s\").", chosenFile.getName()), f);
                     showErrorDialog(String.format("Error reading profile (\"%s\"):\n%s: %s", chosenFile.getName(), f.getClass().getSimpleName(), f.getMessage()));
                     exception = f;
-                } finally {
-                    try {
-                        if (in != null) in.close();
-                    } catch (IOException f) {
-                    }
                 }
 
-                if (hashFailed || exception != null) {
+                if (mismatchOffset != -1 || exception != null) {
                     String message;
-                    if (hashFailed && exception == null) {
+                    if (mismatchOffset != -1 && exception == null) {
                         message = ""
                                 + "Your profile loaded, but re-saving will not create an identical file.<br/>"
+                                + String.format("The first difference is at byte offset %d (0x%x).<br/>", mismatchOffset, mismatchOffset)
                                 + "You CAN technically proceed anyway, but there is risk of corruption.<br/>";
                     } else {
                         message = "Your profile could not be interpreted correctly.<br/>";
@@ -619,8 +640,8 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
                         reportDlg.setException(exception);
                     }
 
-                    if (hexBuf.length() > 0) {
-                        reportDlg.setAttachment(hexBuf, chosenFile.getName());
+                    if (hexDump != null && hexDump.getByteCount() > 0) {
+                        reportDlg.setAttachment(hexDump, chosenFile.getName());
                     }
 
                     reportDlg.build();
@@ -663,64 +684,25 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
             }
 
             if (chooserResponse == JFileChooser.APPROVE_OPTION && !sillyMistake) {
-                boolean backupCreated = false;
-                boolean saveSucceeded = false;
                 Exception exception = null;
 
                 String bakName = chosenFile.getName() + ".bak";
                 File bakFile = new File(chosenFile.getParentFile(), bakName);
 
-                FileOutputStream out = null;
                 try {
                     log.info("Writing profile: {}", chosenFile.getAbsolutePath());
 
-                    if (chosenFile.exists()) {
-
-                        if (bakFile.exists() && !bakFile.delete()) {
-                            log.warn("Could not delete the previous backup: {}", bakName);
-                        }
-
-                        backupCreated = chosenFile.renameTo(bakFile);
-                        if (backupCreated) {
-                            log.info("Existing file was backed up: {}", bakName);
-                        } else {
-                            log.warn("Could not rename the existing file: {}", chosenFile.getName());
-                        }
-                    }
-
-                    out = new FileOutputStream(chosenFile);
-
+                    // Encode everything in memory, then replace the file in one go.
+                    ByteBufferOutputStream out = new ByteBufferOutputStream();
                     ProfileParser parser = new ProfileParser();
                     FTLFrame.this.updateProfile(profile);
                     parser.writeProfile(out, profile);
 
-                    saveSucceeded = true;
+                    AtomicFileWriter.write(chosenFile, out, bakFile);
                 } catch (IOException f) {
                     log.error("Error writing profile to file {}", chosenFile.getName(), f);
                     showErrorDialog(String.format("Error writing profile (\"%s\"):%n%s: %s", chosenFile.getName(), f.getClass().getSimpleName(), f.getMessage()));
                     exception = f;
-                } finally {
-                    try {
-                        if (out != null) out.close();
-                    } catch (IOException f) {
-                    }
-                }
-
-                if (!saveSucceeded) {
-                    if (backupCreated) {
-                        if (chosenFile.exists() && !chosenFile.delete()) {
-                            log.warn("Could not delete the corrupt file: {}", chosenFile.getAbsolutePath());
-                        }
-
-                        boolean backupRestored = bakFile.renameTo(chosenFile);
-                        if (backupRestored) {
-                            log.info("The backup was restored from {}", chosenFile.getAbsolutePath());
-                            JOptionPane.showMessageDialog(FTLFrame.this, "A backup, created beforehand, was restored.", "Disaster Averted", JOptionPane.INFORMATION_MESSAGE);
-                        } else {
-                            log.warn("A backup was created, but it could not be renamed: {}", bakName);
-                            JOptionPane.showMessageDialog(FTLFrame.this, "A backup was created, but it could not be renamed.", "Error", JOptionPane.ERROR_MESSAGE);
-                        }
-                    }
                 }
 
                 if (exception != null) {
@@ -821,46 +803,59 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
             }
 
             if (chooserResponse == JFileChooser.APPROVE_OPTION && !sillyMistake) {
-                FileInputStream in = null;
-                StringBuilder hexBuf = new StringBuilder();
+                HexDump hexDump = null;
                 Exception exception = null;
 
                 try {
                     log.info("Reading game state: {}", chosenFile.getAbsolutePath());
 
-                    in = new FileInputStream(chosenFile);
+                    // Read the whole file once. Everything below works from memory.
+                    long chosenFileModified = chosenFile.lastModified();
+                    ByteBufferInputStream in = ByteBufferInputStream.readFile(chosenFile);
 
-                    // Read the content in advance, in case an error occurs.
-                    byte[] buf = new byte[4096];
-                    int len = 0;
-                    while ((len = in.read(buf)) >= 0) {
-                        for (int i = 0; i < len; i++) {
-                            hexBuf.append(String.format("%02x", buf[i]));
-                            if ((i + 1) % 32 == 0) {
-                                hexBuf.append("\n");
-                            }
-                        }
-                    }
-                    in.getChannel().position(0);
+                    // Keep the content in advance, in case an error occurs.
+                    // It's only formatted as hex if a bug report needs it.
+                    hexDump = new HexDump(in.asReadOnlyBuffer());
 
                     SavedGameParser parser = new SavedGameParser();
                     SavedGameState gs = parser.readSavedGame(in);
+                    gs.getFileIndex().setSourceFile(chosenFile, chosenFileModified);
                     loadGameState(gs);
-                    gameStateHex = hexBuf;
+                    gameStateHex = hexDump;
 
                     log.debug("Game state read successfully");
 
+                    // Mystery bytes are never written, so only check clean files.
+                    if (gs.getMysteryList().isEmpty()) {
+                        try {
+                            ComparingOutputStream mockOut = new ComparingOutputStream(in.asReadOnlyBuffer());
+                            parser.writeSavedGame(mockOut, gs);
+
+                            long mismatchOffset = mockOut.getMismatchOffset();
+                            if (mismatchOffset != -1) {
+                                log.warn("Re-saving this game state would differ from the original at offset {} (0x{})", mismatchOffset, Long.toHexString(mismatchOffset));
+                            }
+                        } catch (IOException f) {
+                            log.warn("A mock write of this game state failed: {}", f.getMessage());
+                        }
+                    }
+
                     if (!gameState.getMysteryList().isEmpty()) {
+                        for (MysteryBytes m : gameState.getMysteryList()) {
+                            hexDump.markMysteryBytes(m);
+                        }
+
                         StringBuilder mysteryBuf = new StringBuilder();
-                        mysteryBuf.append("This file contains unexpected mystery bytes!\n");
+                        DumpWriter mysteryDump = new DumpWriter(mysteryBuf);
+                        mysteryDump.append("This file contains unexpected mystery bytes!\n");
                         boolean first = true;
                         for (MysteryBytes m : gameState.getMysteryList()) {
                             if (first) {
                                 first = false;
                             } else {
-                                mysteryBuf.append(",\n");
+                                mysteryDump.append(",\n");
                             }
-                            mysteryBuf.append(m.toString().replaceAll("(^|\n)(.+)", "$1  $2"));
+                            mysteryDump.appendChild(m);
                         }
                         log.warn(mysteryBuf.toString());
                     }
@@ -873,11 +868,6 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
                     log.error("Reading game state from file {} failed.", chosenFile.getAbsolutePath(), f);
                     showErrorDialog(String.format("Error reading game state (\"%s\"):%n%s: %s", chosenFile.getName(), f.getClass().getSimpleName(), f.getMessage()));
                     exception = f;
-                } finally {
-                    try {
-                        if (in != null) in.close();
-                    } catch (IOException f) {
-                    }
                 }
 
                 if (exception != null) {
@@ -893,8 +883,8 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
 
                     reportDlg.setException(exception);
 
-                    if (hexBuf.length() > 0) {
-                        reportDlg.setAttachment(hexBuf, chosenFile.getName());
+                    if (hexDump != null && hexDump.getByteCount() > 0) {
+                        reportDlg.setAttachment(hexDump, chosenFile.getName());
                     }
 
                     reportDlg.build();
@@ -924,64 +914,46 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
             }
 
             if (chooserResponse == JFileChooser.APPROVE_OPTION && !sillyMistake) {
-                boolean backupCreated = false;
-                boolean saveSucceeded = false;
                 Exception exception = null;
 
                 String bakName = chosenFile.getName() + ".bak";
                 File bakFile = new File(chosenFile.getParentFile(), bakName);
 
-                FileOutputStream out = null;
                 try {
                     log.info("Writing game state: {}", chosenFile.getAbsolutePath());
 
-                    if (chosenFile.exists()) {
-
-                        if (bakFile.exists() && !bakFile.delete()) {
-                            log.warn("Could not delete the previous backup: {}", bakName);
-                        }
-
-                        backupCreated = chosenFile.renameTo(bakFile);
-                        if (backupCreated) {
-                            log.info("Existing file was backed up: {}", bakName);
-                        } else {
-                            log.warn("Could not rename the existing file: {}", chosenFile.getName());
+                    final SavedGameParser parser = new SavedGameParser();
+                    final SavedGameState gs = gameState;
+                    FTLFrame.this.updateGameState(gs);
+
+                    // Spans that weren't edited can be copied from the original
+                    // file, if this is still it. Otherwise, encode everything.
+                    final File srcFile = chosenFile;
+                    final boolean splice = (gs.getFileIndex() != null && gs.getFileIndex().isCurrentFor(srcFile));
+                    final SavedGameIndex[] newIndex = new SavedGameIndex[1];
+
+                    AtomicFileWriter.write(chosenFile, new AtomicFileWriter.ContentWriter() {
+                        @Override
+                        public void writeTo(FileChannel channel) throws IOException {
+                            if (splice) {
+                                try (FileInputStream srcIn = new FileInputStream(srcFile)) {
+                                    newIndex[0] = parser.writeSavedGame(channel, gs, srcIn.getChannel(), gs.getDirtySpans());
+                                }
+                            } else {
+                                newIndex[0] = parser.writeSavedGame(channel, gs, null, gs.getDirtySpans());
+                            }
                         }
-                    }
+                    }, bakFile);
 
-                    out = new FileOutputStream(chosenFile);
-
-                    SavedGameParser parser = new SavedGameParser();
-                    FTLFrame.this.updateGameState(gameState);
-                    parser.writeSavedGame(out, gameState);
-
-                    saveSucceeded = true;
+                    // The new file is now the original.
+                    newIndex[0].setSourceFile(chosenFile, chosenFile.lastModified());
+                    gs.setFileIndex(newIndex[0]);
+                    gameStateHistory.markSaved();
+                    gs.clearDirty();
                 } catch (IOException f) {
                     log.error("Error writing game state to file {}", chosenFile.getName(), f);
                     showErrorDialog(String.format("Error writing game state (\"%s\"):%n%s: %s", chosenFile.getName(), f.getClass().getSimpleName(), f.getMessage()));
                     exception = f;
-                } finally {
-                    try {
-                        if (out != null) out.close();
-                    } catch (IOException f) {
-                    }
-                }
-
-                if (!saveSucceeded) {
-                    if (backupCreated) {
-                        if (chosenFile.exists() && !chosenFile.delete()) {
-                            log.warn("Could not delete the corrupt file: {}", chosenFile.getName());
-                        }
-
-                        boolean backupRestored = bakFile.renameTo(chosenFile);
-                        if (backupRestored) {
-                            log.info("The backup was restored");
-                            JOptionPane.showMessageDialog(FTLFrame.this, "A backup, created beforehand, was restored.", "Disaster Averted", JOptionPane.INFORMATION_MESSAGE);
-                        } else {
-                            log.warn("A backup was created, but it could not be renamed: {}", bakName);
-                            JOptionPane.showMessageDialog(FTLFrame.this, "A backup was created, but it could not be renamed.", "Error", JOptionPane.ERROR_MESSAGE);
-                        }
-                    }
                 }
 
                 if (exception != null) {
@@ -1005,6 +977,10 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
                     reportDlg.setVisible(true);
                 }
             }
+        } else if (source == gameStateUndoBtn) {
+            undoGameState(false);
+        } else if (source == gameStateRedoBtn) {
+            undoGameState(true);
         } else if (source == gameStateDumpBtn) {
 
             if (gameState == null) return;
@@ -1207,7 +1183,7 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
         profileGeneralAchsPanel.setProfile(p);
         profileGeneralStatsPanel.setProfile(p);
         profileShipStatsPanel.setProfile(p);
-        profileDumpPanel.setText((p != null ? p.toString() : ""));
+        showProfileDump(p);
 
         profileSaveBtn.setEnabled((p != null));
         profileDumpBtn.setEnabled((p != null));
@@ -1218,6 +1194,37 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
         this.repaint();
     }
 
+    /**
+     * Dumps a copy of a profile in the background.
+     * <p>
+     * The copy is encoded here, on the EDT, and decoded by the dump's
+     * worker, so later edits can't race with it.
+     */
+    private void showProfileDump(Profile p) {
+        if (p == null) {
+            profileDumpPanel.setText("");
+            return;
+        }
+
+        final byte[] snapshot;
+        try {
+            ByteBufferOutputStream out = new ByteBufferOutputStream();
+            new ProfileParser().writeProfile(out, p);
+            snapshot = out.toByteArray();
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not snapshot the profile, dumping it directly", e);
+            profileDumpPanel.setText(DumpWriter.toString(p));
+            return;
+        }
+
+        profileDumpPanel.setDump(new Callable<Profile>() {
+            @Override
+            public Profile call() throws IOException {
+                return new ProfileParser().readProfile(new ByteBufferInputStream(snapshot));
+            }
+        });
+    }
+
     public void updateProfile(Profile p) throws IOException {
 
         if (p == null) {
@@ -1243,6 +1250,9 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
         return gameState;
     }
 
+    /**
+     * Replaces the game state, and pushes all of it into every panel.
+     */
     public void loadGameState(SavedGameState gs) {
 
         Runnable scrollAll = new Runnable() {
@@ -1273,9 +1283,10 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
             gameStateDumpBtn.setEnabled(false);
 
             gameState = null;
+            touchedPanels.clearAll();
+            resetHistory(null);
             SwingUtilities.invokeLater(scrollAll);
         } else if (Arrays.binarySearch(new int[]{2, 7, 8, 9, 11}, gs.getFileFormat()) >= 0) {
-            savedGameDumpPanel.setText(gs.toString());
             savedGameGeneralPanel.setGameState(gs);
             savedGameFloorplanPanel.setGameState(gs);
             savedGameHangarPanel.setGameState(gs);
@@ -1294,6 +1305,9 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
             gameStateDumpBtn.setEnabled(true);
 
             gameState = gs;
+            touchedPanels.clearAll();
+            resetHistory(gs);
+            showGameStateDump(gs);
             SwingUtilities.invokeLater(scrollAll);
         } else {
             log.error("Unsupported game state fileFormat: {} ", gs.getFileFormat());
@@ -1303,25 +1317,190 @@ public class FTLFrame extends JFrame implements ActionListener, Statusbar, Threa
         }
     }
 
+    /**
+     * Dumps the current game state in the background.
+     * <p>
+     * What's dumped is decoded from the undo history's current snapshot,
+     * which is never modified, so later edits can't race with it. The
+     * history must be as of the latest change.
+     */
+    private void showGameStateDump(SavedGameState gs) {
+        if (!gameStateHistory.isActive()) {
+            // Without a snapshot, there's nothing safe to hand off.
+            savedGameDumpPanel.setText(DumpWriter.toString(gs));
+            return;
+        }
+
+        final Map<Span, byte[]> snapshot = gameStateHistory.getCurrentSpans();
+        final List<MysteryBytes> mysteryList = new ArrayList<>(gs.getMysteryList());
+
+        savedGameDumpPanel.setDump(new Callable<SavedGameState>() {
+            @Override
+            public SavedGameState call() throws IOException {
+                SavedGameState result = new SavedGameParser().readSpans(snapshot);
+                for (MysteryBytes m : mysteryList) {
+                    result.addMysteryBytes(m);
+                }
+                return result;
+            }
+        });
+    }
+
+    /**
+     * Starts a new undo history, with a game state as it is on disk.
+     */
+    private void resetHistory(SavedGameState gs) {
+        try {
+            gameStateHistory.reset(gs);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not snapshot the game state, undo is unavailable", e);
+            try {
+                gameStateHistory.reset(null);
+            } catch (IOException f) {
+                // Clearing doesn't encode anything.
+            }
+        }
+        updateHistoryButtons();
+    }
+
+    /**
+     * Applies pending edits in the panels to a game state, then refreshes.
+     * <p>
+     * Only panels the user has touched since they were last applied are
+     * read, and their spans are noted as changed in the model, since
+     * panels modify nested objects directly.
+     */
     public void updateGameState(SavedGameState gs) {
 
 
         // todo jesus, get rid of all these numbers everywhere, create an enum
         if (Arrays.binarySearch(new int[]{2, 7, 8, 9, 11}, gs.getFileFormat()) >= 0) {
             // savedGameDumpPanel doesn't modify anything.
-            savedGameGeneralPanel.updateGameState(gs);
-            savedGameFloorplanPanel.updateGameState(gs);
-            // savedGameHangarPanel doesn't modify anything.
-            savedGameSectorMapPanel.updateGameState(gs);
-            savedGameSectorTreePanel.updateGameState(gs);
-            savedGameStateVarsPanel.updateGameState(gs);
+            if (touchedPanels.isTouched(savedGameGeneralPanel)) {
+                savedGameGeneralPanel.updateGameState(gs);
+                gs.markChanged(GENERAL_SPANS);
+            }
+            if (touchedPanels.isTouched(savedGameFloorplanPanel)) {
+                savedGameFloorplanPanel.updateGameState(gs);
+                gs.markChanged(FLOORPLAN_SPANS);
+            }
+            // savedGameHangarPanel makes its changes immediately.
+            if (touchedPanels.isTouched(savedGameSectorMapPanel)) {
+                savedGameSectorMapPanel.updateGameState(gs);
+                gs.markChanged(SECTOR_MAP_SPANS);
+            }
+            if (touchedPanels.isTouched(savedGameSectorTreePanel)) {
+                savedGameSectorTreePanel.updateGameState(gs);
+                gs.markChanged(SECTOR_TREE_SPANS);
+            }
+            if (touchedPanels.isTouched(savedGameStateVarsPanel)) {
+                savedGameStateVarsPanel.updateGameState(gs);
+                gs.markChanged(STATE_VARS_SPANS);
+            }
+            touchedPanels.clearAll();
 
             // Sync session's redundant ship info with player ship.
             gs.setPlayerShipName(gs.getPlayerShip().getShipName());
             gs.setPlayerShipBlueprintId(gs.getPlayerShip().getShipBlueprintId());
         }
 
-        loadGameState(gs);
+        refreshGameState(gs);
+    }
+
+    /**
+     * Pushes whatever changed in the current game state into the panels
+     * that show it, and records an undo step.
+     * <p>
+     * Changes are found from the game state's change log: only spans
+     * marked there are re-encoded and compared to the last snapshot.
+     * Panels that don't show a changed span keep their existing
+     * components.
+     * <p>
+     * Unlike loadGameState(), the selected tab is left alone.
+     */
+    public void refreshGameState(SavedGameState gs) {
+        if (gs == null || gs != gameState || !gameStateHistory.isActive()) {
+            loadGameState(gs);
+            if (gs != null) gs.markDirty(EnumSet.allOf(Span.class));
+            return;
+        }
+
+        Set<Span> changed;
+        try {
+            changed = gameStateHistory.record(gs);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not snapshot the game state, assuming it all changed", e);
+            loadGameState(gs);
+            gs.markDirty(EnumSet.allOf(Span.class));
+            return;
+        }
+        showChangedSpans(gs, changed);
+    }
+
+    /**
+     * Reverts the current game state to its previous snapshot.
+     * <p>
+     * Pending edits in touched panels are applied first, as a step of
+     * their own.
+     */
+    private void undoGameState(boolean redo) {
+        if (gameState == null || !gameStateHistory.isActive()) return;
+
+        SavedGameState gs = gameState;
+        updateGameState(gs);
+        if (gs != gameState || !gameStateHistory.isActive()) return;
+
+        try {
+            Set<Span> changed = (redo ? gameStateHistory.redo(gs) : gameStateHistory.undo(gs));
+            if (changed != null) showChangedSpans(gs, changed);
+        } catch (IOException e) {
+            log.error("Error restoring a game state snapshot", e);
+            showErrorDialog(String.format("Error restoring a game state snapshot:%n%s: %s", e.getClass().getSimpleName(), e.getMessage()));
+
+            // The state may be half-restored. Start over from it.
+            loadGameState(gs);
+            gs.markDirty(EnumSet.allOf(Span.class));
+        }
+    }
+
+    /**
+     * Pushes changed spans into the panels that show them, and updates
+     * what's unsaved.
+     */
+    private void showChangedSpans(SavedGameState gs, Set<Span> changed) {
+        if (!changed.isEmpty()) {
+            log.debug("Game state spans changed: {}", changed);
+
+            showGameStateDump(gs);
+            if (!Collections.disjoint(changed, GENERAL_SPANS)) {
+                savedGameGeneralPanel.setGameState(gs);
+            }
+            if (!Collections.disjoint(changed, FLOORPLAN_SPANS)) {
+                savedGameFloorplanPanel.setGameState(gs);
+            }
+            if (!Collections.disjoint(changed, HANGAR_SPANS)) {
+                savedGameHangarPanel.setGameState(gs);
+            }
+            if (!Collections.disjoint(changed, SECTOR_MAP_SPANS)) {
+                savedGameSectorMapPanel.setGameState(gs);
+            }
+            if (!Collections.disjoint(changed, SECTOR_TREE_SPANS)) {
+                savedGameSectorTreePanel.setGameState(gs);
+            }
+            if (!Collections.disjoint(changed, STATE_VARS_SPANS)) {
+                savedGameStateVarsPanel.setGameState(gs);
+            }
+        }
+
+        gs.clearDirty();
+        gs.markDirty(gameStateHistory.getUnsavedSpans());
+        updateHistoryButtons();
+    }
+
+    private void updateHistoryButtons() {
+        boolean active = (gameState != null && gameStateHistory.isActive());
+        gameStateUndoBtn.setEnabled(active && gameStateHistory.canUndo());
+        gameStateRedoBtn.setEnabled(active && gameStateHistory.canRedo());
     }
 
     @Override
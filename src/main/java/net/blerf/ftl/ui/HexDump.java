@@ -0,0 +1,121 @@
+package net.blerf.ftl.ui;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import net.blerf.ftl.parser.MysteryBytes;
+
+
+/**
+ * A hex dump of a file, for bug report attachments.
+ * <p>
+ * Nothing is formatted until the text is first requested, which usually
+ * never happens: dumps are only read when a bug report is shown. The text
+ * is then built in one pass with a nibble lookup table, and cached.
+ * <p>
+ * Each line holds 32 bytes, prefixed with their offset. Lines overlapping
+ * a marked region (e.g., MysteryBytes) are flagged at the end.
+ */
+public class HexDump implements CharSequence {
+
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+    private static final int BYTES_PER_LINE = 32;
+    private static final String MYSTERY_FLAG = "  <- mystery bytes";
+
+    private final ByteBuffer bytes;
+    private final List<long[]> mysteryRegions = new ArrayList<long[]>();
+    private String dump = null;
+
+
+    /**
+     * Constructor.
+     *
+     * @param bytes the file's content, from position 0 to the limit; not copied
+     */
+    public HexDump(ByteBuffer bytes) {
+        this.bytes = bytes.asReadOnlyBuffer();
+        this.bytes.clear();
+    }
+
+    /**
+     * Flags the lines covering some MysteryBytes.
+     * <p>
+     * Ignored if their offset is unknown.
+     */
+    public synchronized void markMysteryBytes(MysteryBytes m) {
+        if (m.getOffset() < 0) return;
+
+        mysteryRegions.add(new long[]{m.getOffset(), m.getOffset() + m.getLength()});
+        dump = null;
+    }
+
+    /**
+     * Returns the number of bytes dumped, without formatting anything.
+     */
+    public int getByteCount() {
+        return bytes.limit();
+    }
+
+    private boolean isMysteryLine(long lineStart, long lineEnd) {
+        for (long[] region : mysteryRegions) {
+            if (region[0] < lineEnd && region[1] > lineStart) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized String toString() {
+        if (dump != null) return dump;
+
+        int byteCount = bytes.limit();
+        int lineCount = (byteCount + BYTES_PER_LINE - 1) / BYTES_PER_LINE;
+
+        // Offset, 2 spaces, hex pairs, newline.
+        int capacity = byteCount * 2 + lineCount * 11;
+        if (!mysteryRegions.isEmpty()) capacity += lineCount * MYSTERY_FLAG.length();
+
+        char[] line = new char[10 + BYTES_PER_LINE * 2];
+        StringBuilder buf = new StringBuilder(capacity);
+
+        for (int lineStart = 0; lineStart < byteCount; lineStart += BYTES_PER_LINE) {
+            int lineEnd = Math.min(lineStart + BYTES_PER_LINE, byteCount);
+
+            int c = 0;
+            for (int shift = 28; shift >= 0; shift -= 4) {
+                line[c++] = HEX_CHARS[(lineStart >>> shift) & 0xF];
+            }
+            line[c++] = ' ';
+            line[c++] = ' ';
+
+            for (int i = lineStart; i < lineEnd; i++) {
+                int b = bytes.get(i);
+                line[c++] = HEX_CHARS[(b >> 4) & 0xF];
+                line[c++] = HEX_CHARS[b & 0xF];
+            }
+            buf.append(line, 0, c);
+
+            if (!mysteryRegions.isEmpty() && isMysteryLine(lineStart, lineEnd)) {
+                buf.append(MYSTERY_FLAG);
+            }
+            buf.append('\n');
+        }
+
+        dump = buf.toString();
+        return dump;
+    }
+
+    @Override
+    public int length() {
+        return toString().length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+}
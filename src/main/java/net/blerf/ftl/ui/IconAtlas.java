@@ -0,0 +1,302 @@
+package net.blerf.ftl.ui;
+
+import java.awt.AlphaComposite;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import javax.swing.Icon;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Every state of every cycle button's icon, drawn once into shared pages.
+ * <p>
+ * Each base image gets a run of cells on a page: a locked state, then
+ * either unlocked or one per difficulty. Icons handed out are just regions
+ * of those pages. Asking for the same base image again, as when panels are
+ * rebuilt, reuses its cells instead of creating new images.
+ * <p>
+ * Cells are drawn in the background, in batches, on the AsyncImageLoader.
+ * Each batch is drawn onto one staging image, which is then copied into
+ * the pages on the EDT. Pages are only touched on the EDT, so painting
+ * never races with drawing. Until a base image's cells are ready, its
+ * icons paint nothing, at full size, so layout is unaffected.
+ * <p>
+ * There's one atlas for lock/unlock buttons, and one for difficulty
+ * buttons, shared by all panels. Except for constructing icons'
+ * images, methods must be called on the EDT.
+ *
+ * @see ImageUtilities#createCycleButton(String, boolean)
+ */
+@Slf4j
+public class IconAtlas {
+
+    private static final int PAGE_COLUMNS = 16;
+    private static final int PAGE_ROWS = 16;
+
+    private static final IconAtlas lockAtlas = new IconAtlas("lock", false);
+    private static final IconAtlas difficultyAtlas = new IconAtlas("difficulty", true);
+
+    private final String name;
+    private final String[] labels;
+    private final int stateCount;
+    private final int cellW;
+    private final int cellH;
+    private final int slotsPerRow;
+    private final int slotsPerPage;
+
+    private final Map<String, Slot> slotMap = new HashMap<String, Slot>();
+    private final List<BufferedImage> pages = new ArrayList<BufferedImage>();
+
+    private final List<Slot> pendingSlots = new ArrayList<Slot>();
+    private boolean flushScheduled = false;
+    private int flushCount = 0;
+
+
+    /**
+     * Returns the shared atlas for a kind of cycle button.
+     */
+    public static IconAtlas get(boolean cycleDifficulty) {
+        return (cycleDifficulty ? difficultyAtlas : lockAtlas);
+    }
+
+    private IconAtlas(String name, boolean cycleDifficulty) {
+        this.name = name;
+        this.labels = ImageUtilities.getCycleLabels(cycleDifficulty);
+        this.stateCount = 1 + labels.length;
+        this.cellW = ImageUtilities.getMaxIconWidth();
+        this.cellH = ImageUtilities.getMaxIconHeight();
+        this.slotsPerRow = PAGE_COLUMNS / stateCount;
+        this.slotsPerPage = slotsPerRow * PAGE_ROWS;
+    }
+
+    /**
+     * Returns the number of states each base image has.
+     */
+    public int getStateCount() {
+        return stateCount;
+    }
+
+    /**
+     * Returns icons for every state of a base image, drawing them if new.
+     *
+     * @param baseImagePath the innerPath of an image, which will be scaled
+     *                      to fit the max icon size
+     */
+    public Icon[] getIcons(String baseImagePath) {
+        Slot slot = getSlot(baseImagePath);
+
+        Icon[] result = new Icon[stateCount];
+        for (int i = 0; i < stateCount; i++) {
+            result[i] = new AtlasIcon(slot, i);
+        }
+        return result;
+    }
+
+    /**
+     * Repaints a component once a base image's icons are ready.
+     * <p>
+     * If they're ready already, nothing happens.
+     */
+    public void repaintWhenReady(String baseImagePath, Component c) {
+        Slot slot = getSlot(baseImagePath);
+        if (slot.page == null) slot.waiters.add(c);
+    }
+
+    /**
+     * Returns the number of base images with cells.
+     */
+    public int getSlotCount() {
+        return slotMap.size();
+    }
+
+    private Slot getSlot(String baseImagePath) {
+        Slot slot = slotMap.get(baseImagePath);
+        if (slot == null) {
+            slot = new Slot(baseImagePath, slotMap.size());
+            slotMap.put(baseImagePath, slot);
+
+            pendingSlots.add(slot);
+            if (!flushScheduled) scheduleFlush();
+        }
+        return slot;
+    }
+
+    /**
+     * Draws all pending slots in the background, then copies them into
+     * pages. Only one batch is in flight at a time; whatever arrives
+     * meanwhile is drawn in the next one.
+     * <p>
+     * If a whole batch fails, its icons stay blank, but later batches
+     * still go ahead.
+     */
+    private void scheduleFlush() {
+        final List<Slot> batchSlots = new ArrayList<Slot>(pendingSlots);
+        pendingSlots.clear();
+        flushScheduled = true;
+
+        Callable<BufferedImage> task = new Callable<BufferedImage>() {
+            @Override
+            public BufferedImage call() {
+                return drawBatch(batchSlots);
+            }
+        };
+        AsyncImageLoader.Callback<BufferedImage> callback = new AsyncImageLoader.Callback<BufferedImage>() {
+            @Override
+            public void loaded(BufferedImage batchImage) {
+                storeBatch(batchSlots, batchImage);
+                flushNext();
+            }
+
+            @Override
+            public void failed(Throwable error) {
+                for (Slot slot : batchSlots) {
+                    slot.waiters.clear();
+                }
+                flushNext();
+            }
+        };
+        AsyncImageLoader.get().load(ImageCache.key("iconAtlas", name, flushCount++), task, callback);
+    }
+
+    private void flushNext() {
+        flushScheduled = false;
+        if (!pendingSlots.isEmpty()) scheduleFlush();
+    }
+
+    /**
+     * Draws slots' cells onto a staging image, one slot per row.
+     * <p>
+     * This only draws on a new image, so it's safe to call off the EDT.
+     */
+    private BufferedImage drawBatch(List<Slot> batchSlots) {
+        BufferedImage result = ImageUtilities.createCompatibleImage(stateCount * cellW, batchSlots.size() * cellH, Transparency.TRANSLUCENT);
+        Graphics2D g2d = result.createGraphics();
+        try {
+            for (int i = 0; i < batchSlots.size(); i++) {
+                Slot slot = batchSlots.get(i);
+                try {
+                    BufferedImage baseImage = ImageUtilities.getProportionallyScaledImage(slot.baseImagePath, cellW, cellH, ImageCache.get());
+
+                    for (int state = 0; state < stateCount; state++) {
+                        Graphics2D cellG = (Graphics2D) g2d.create(state * cellW, i * cellH, cellW, cellH);
+                        try {
+                            boolean locked = (state == 0);
+                            ImageUtilities.paintCycleIcon(cellG, baseImage, cellW, cellH, locked, (locked ? null : labels[state - 1]));
+                        } finally {
+                            cellG.dispose();
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    // Leave the cells blank, rather than stall later batches.
+                    log.error("Failed to draw cycle icons: {}", slot.baseImagePath, e);
+                }
+            }
+        } finally {
+            g2d.dispose();
+        }
+        return result;
+    }
+
+    /**
+     * Copies a drawn batch into pages, and repaints whoever was waiting.
+     */
+    private void storeBatch(List<Slot> batchSlots, BufferedImage batchImage) {
+        BufferedImage page = null;
+        Graphics2D pageG = null;
+        try {
+            for (int i = 0; i < batchSlots.size(); i++) {
+                Slot slot = batchSlots.get(i);
+
+                BufferedImage slotPage = getPage(slot.index / slotsPerPage);
+                if (slotPage != page) {
+                    if (pageG != null) pageG.dispose();
+                    page = slotPage;
+                    pageG = page.createGraphics();
+                    pageG.setComposite(AlphaComposite.Src);
+                }
+
+                int local = slot.index % slotsPerPage;
+                slot.x = (local % slotsPerRow) * stateCount * cellW;
+                slot.y = (local / slotsPerRow) * cellH;
+
+                int w = stateCount * cellW;
+                pageG.drawImage(batchImage, slot.x, slot.y, slot.x + w, slot.y + cellH, 0, i * cellH, w, (i + 1) * cellH, null);
+                slot.page = page;
+
+                for (Component c : slot.waiters) {
+                    c.repaint();
+                }
+                slot.waiters.clear();
+            }
+        } finally {
+            if (pageG != null) pageG.dispose();
+        }
+    }
+
+    private BufferedImage getPage(int pageIndex) {
+        while (pages.size() <= pageIndex) {
+            pages.add(ImageUtilities.createCompatibleImage(PAGE_COLUMNS * cellW, PAGE_ROWS * cellH, Transparency.TRANSLUCENT));
+        }
+        return pages.get(pageIndex);
+    }
+
+
+    /**
+     * A base image's run of cells.
+     */
+    private static class Slot {
+        public final String baseImagePath;
+        public final int index;
+        public final List<Component> waiters = new ArrayList<Component>(1);
+
+        /** The page holding this slot's cells, or null until they're drawn. */
+        public BufferedImage page = null;
+        public int x = 0;
+        public int y = 0;
+
+        public Slot(String baseImagePath, int index) {
+            this.baseImagePath = baseImagePath;
+            this.index = index;
+        }
+    }
+
+
+    /**
+     * One state's cell, painted straight from its page.
+     */
+    private class AtlasIcon implements Icon {
+        private final Slot slot;
+        private final int state;
+
+        public AtlasIcon(Slot slot, int state) {
+            this.slot = slot;
+            this.state = state;
+        }
+
+        @Override
+        public int getIconWidth() {
+            return cellW;
+        }
+
+        @Override
+        public int getIconHeight() {
+            return cellH;
+        }
+
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            if (slot.page == null) return;
+
+            int srcX = slot.x + state * cellW;
+            g.drawImage(slot.page, x, y, x + cellW, y + cellH, srcX, slot.y, srcX + cellW, slot.y + cellH, null);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package net.blerf.ftl.ui;
+
+import java.awt.image.BufferedImage;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * A bounded cache of derived images (scaled, cropped, tinted, etc).
+ * <p>
+ * Images are weighed at width * height * 4 bytes, roughly what an ARGB
+ * raster costs. Once the total exceeds the budget, the least recently used
+ * images are evicted until it fits again.
+ * <p>
+ * Evicted images aren't dropped outright. They're demoted to soft
+ * references, which the garbage collector may clear under memory pressure.
+ * Until then, a lookup will find them and promote them again. That keeps
+ * the budget a hard limit on what the cache pins, without throwing away
+ * work while there's memory to spare.
+ * <p>
+ * Hits, misses, and evictions are counted, to judge whether the budget is
+ * adequate.
+ * <p>
+ * This class is thread-safe.
+ */
+public class ImageCache {
+
+    /** The default budget for the shared instance: 64 MiB. */
+    public static final long DEFAULT_BYTE_BUDGET = 64L * 1024 * 1024;
+
+    private static final ImageCache instance = new ImageCache(DEFAULT_BYTE_BUDGET);
+
+    private final LinkedHashMap<Object, BufferedImage> strongMap = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<Object, KeyedReference> softMap = new HashMap<>();
+    private final ReferenceQueue<BufferedImage> softQueue = new ReferenceQueue<>();
+
+    private long byteBudget;
+    private long byteCount = 0;
+
+    private long hitCount = 0;
+    private long softHitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+
+    /**
+     * Returns the cache shared by the application's panels.
+     */
+    public static ImageCache get() {
+        return instance;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param byteBudget the most bytes to hold strongly
+     */
+    public ImageCache(long byteBudget) {
+        this.byteBudget = byteBudget;
+    }
+
+    /**
+     * Returns a key made of several parts, compared by value.
+     * <p>
+     * The first part should name the kind of derivation, so the same
+     * arguments to different operations won't collide.
+     */
+    public static Object key(Object... parts) {
+        return Arrays.asList(parts);
+    }
+
+    /**
+     * Returns the cost in bytes of holding an image.
+     */
+    public static long weigh(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    /**
+     * Returns a cached image, or null.
+     */
+    public synchronized BufferedImage get(Object key) {
+        purgeCleared();
+
+        BufferedImage result = strongMap.get(key);
+        if (result != null) {
+            hitCount++;
+            return result;
+        }
+
+        KeyedReference ref = softMap.remove(key);
+        if (ref != null) {
+            result = ref.get();
+            if (result != null) {
+                hitCount++;
+                softHitCount++;
+                putStrong(key, result);
+                return result;
+            }
+        }
+
+        missCount++;
+        return null;
+    }
+
+    /**
+     * Caches an image, evicting others if the budget is exceeded.
+     */
+    public synchronized void put(Object key, BufferedImage image) {
+        if (image == null) throw new IllegalArgumentException("Cannot cache a null image");
+        purgeCleared();
+
+        softMap.remove(key);
+        putStrong(key, image);
+    }
+
+    private void putStrong(Object key, BufferedImage image) {
+        BufferedImage prev = strongMap.put(key, image);
+        if (prev != null) byteCount -= weigh(prev);
+        byteCount += weigh(image);
+
+        trim();
+    }
+
+    /**
+     * Demotes least recently used images until the budget is met.
+     */
+    private void trim() {
+        Iterator<Map.Entry<Object, BufferedImage>> it = strongMap.entrySet().iterator();
+        while (byteCount > byteBudget && it.hasNext()) {
+            Map.Entry<Object, BufferedImage> entry = it.next();
+            it.remove();
+            byteCount -= weigh(entry.getValue());
+            evictionCount++;
+
+            softMap.put(entry.getKey(), new KeyedReference(entry.getKey(), entry.getValue(), softQueue));
+        }
+    }
+
+    /**
+     * Forgets soft entries whose images have been collected.
+     */
+    private void purgeCleared() {
+        Reference<? extends BufferedImage> ref;
+        while ((ref = softQueue.poll()) != null) {
+            KeyedReference keyedRef = (KeyedReference) ref;
+            if (softMap.get(keyedRef.key) == keyedRef) softMap.remove(keyedRef.key);
+        }
+    }
+
+    /**
+     * Changes the budget, evicting images if it shrank.
+     */
+    public synchronized void setByteBudget(long byteBudget) {
+        this.byteBudget = byteBudget;
+        trim();
+    }
+
+    public synchronized long getByteBudget() {
+        return byteBudget;
+    }
+
+    /**
+     * Drops all images, strong and soft.
+     * <p>
+     * The counters are kept.
+     */
+    public synchronized void clear() {
+        strongMap.clear();
+        softMap.clear();
+        byteCount = 0;
+    }
+
+    /**
+     * Returns the bytes held strongly.
+     */
+    public synchronized long getByteCount() {
+        return byteCount;
+    }
+
+    /**
+     * Returns the number of images held strongly.
+     */
+    public synchronized int getEntryCount() {
+        return strongMap.size();
+    }
+
+    /**
+     * Returns the number of evicted images not yet collected.
+     */
+    public synchronized int getSoftEntryCount() {
+        purgeCleared();
+        return softMap.size();
+    }
+
+    /**
+     * Returns the number of lookups that found an image, including
+     * revived soft entries.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of hits that were revived from soft entries.
+     */
+    public synchronized long getSoftHitCount() {
+        return softHitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns hits / lookups, or 0 if there were no lookups.
+     */
+    public synchronized double getHitRate() {
+        long lookups = hitCount + missCount;
+        return (lookups > 0 ? (double) hitCount / lookups : 0);
+    }
+
+    public synchronized void resetCounters() {
+        hitCount = 0;
+        softHitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d images, %d/%d KiB, %d soft; %d hits (%d soft), %d misses, %.1f%% hit rate, %d evictions",
+            strongMap.size(), byteCount / 1024, byteBudget / 1024, softMap.size(),
+            hitCount, softHitCount, missCount, getHitRate() * 100, evictionCount);
+    }
+
+
+    /**
+     * A soft reference that remembers its key, to purge it once cleared.
+     */
+    private static class KeyedReference extends SoftReference<BufferedImage> {
+        private final Object key;
+
+        public KeyedReference(Object key, BufferedImage image, ReferenceQueue<BufferedImage> queue) {
+            super(image, queue);
+            this.key = key;
+        }
+    }
+}
@@ -12,14 +12,29 @@ import java.awt.RenderingHints;
 import java.awt.Transparency;
 import java.awt.font.LineMetrics;
 import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.PixelInterleavedSampleModel;
 import java.awt.image.RasterFormatException;
-import java.awt.image.RescaleOp;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import javax.imageio.ImageIO;
 import javax.swing.BorderFactory;
 import javax.swing.Icon;
@@ -36,9 +51,8 @@ public class ImageUtilities {
 
     private static BufferedImage lockImage = null;
 
-    private static final GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-    private static final GraphicsDevice gs = ge.getDefaultScreenDevice();
-    private static final GraphicsConfiguration gc = gs.getDefaultConfiguration();
+    /** The screen's configuration, or null when headless (as in batch mode). */
+    private static final GraphicsConfiguration gc = getDefaultConfiguration();
 
     private ImageUtilities() {
     }
@@ -61,6 +75,27 @@ public class ImageUtilities {
     };
 
 
+    private static GraphicsConfiguration getDefaultConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) return null;
+
+        GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
+        GraphicsDevice gs = ge.getDefaultScreenDevice();
+        return gs.getDefaultConfiguration();
+    }
+
+    /**
+     * Creates an image suited to the screen, or a plain (A)RGB image when
+     * headless.
+     *
+     * @param transparency one of Transparency's constants
+     */
+    public static BufferedImage createCompatibleImage(int w, int h, int transparency) {
+        if (gc != null) return gc.createCompatibleImage(w, h, transparency);
+
+        return new BufferedImage(w, h, (transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB));
+    }
+
+
     public static int getMaxIconWidth() {
         return MAX_ICON_WIDTH;
     }
@@ -89,85 +124,105 @@ public class ImageUtilities {
 
 
     /**
-     * Constructs a multi-state button.
+     * Constructs a multi-state button, drawing its icons in the background.
      * <p>
      * The button can either toggle between locked and unlocked, or cycle
      * through locked/easy/normal/hard.
+     * <p>
+     * Icons are regions of a shared IconAtlas, so building many buttons
+     * won't stall the EDT, and building them again reuses what was drawn.
+     * They're blank, at full size, until ready, so layout is unaffected.
      *
      * @param baseImagePath   the innerPath of an image
      * @param cycleDifficulty
+     * @see IconAtlas
      */
     public static IconCycleButton createCycleButton(String baseImagePath, boolean cycleDifficulty) {
-        BufferedImage origImage = getProportionallyScaledImage(baseImagePath, MAX_ICON_WIDTH, MAX_ICON_HEIGHT, null);
+        IconAtlas atlas = IconAtlas.get(cycleDifficulty);
 
-        BufferedImage baseImage;
-        if (origImage.getWidth() == MAX_ICON_WIDTH && origImage.getHeight() == MAX_ICON_HEIGHT) {
-            baseImage = origImage;
-        } else {
-            BufferedImage paddedImage = gc.createCompatibleImage(MAX_ICON_WIDTH, MAX_ICON_HEIGHT, Transparency.TRANSLUCENT);
-            Graphics2D paddedG = paddedImage.createGraphics();
-            int padOffsetX = (paddedImage.getWidth() - origImage.getWidth()) / 2;
-            int padOffsetY = (paddedImage.getHeight() - origImage.getHeight()) / 2;
-            paddedG.drawImage(origImage, padOffsetX, padOffsetY, null);
-            paddedG.dispose();
-            baseImage = paddedImage;
-        }
-
-        return createCycleButton(baseImage, cycleDifficulty);
+        IconCycleButton result = new IconCycleButton(atlas.getIcons(baseImagePath));
+        atlas.repaintWhenReady(baseImagePath, result);
+        return result;
     }
 
 
     public static IconCycleButton createCycleButton(BufferedImage baseImage, boolean cycleDifficulty) {
+        return new IconCycleButton(createCycleIcons(baseImage, cycleDifficulty));
+    }
+
+    /**
+     * Creates the icons of a cycle button: a locked state, then either
+     * unlocked or one per difficulty.
+     * <p>
+     * This only draws on new images, so it's safe to call off the EDT.
+     */
+    private static Icon[] createCycleIcons(BufferedImage baseImage, boolean cycleDifficulty) {
+        String[] labels = getCycleLabels(cycleDifficulty);
+        int w = baseImage.getWidth();
+        int h = baseImage.getHeight();
 
-        // Create a darkened image with a small lock over the center.
-        BufferedImage lockedImage = gc.createCompatibleImage(baseImage.getWidth(), baseImage.getHeight(), Transparency.TRANSLUCENT);
-        Graphics2D lockedG = lockedImage.createGraphics();
-        lockedG.drawImage(baseImage, 0, 0, null);
-        lockedG.setColor(new Color(0, 0, 0, 150));
-        lockedG.fillRect(0, 0, baseImage.getWidth(), baseImage.getHeight());
-        if (lockImage != null) {
-            int lockOffsetX = (baseImage.getWidth() - lockImage.getWidth()) / 2;
-            int lockOffsetY = (baseImage.getHeight() - lockImage.getHeight()) / 2;
-            lockedG.drawImage(lockImage, lockOffsetX, lockOffsetY, null);
+        ImageIcon[] icons = new ImageIcon[1 + labels.length];
+        for (int i = 0; i < icons.length; i++) {
+            boolean locked = (i == 0);
+            BufferedImage tempImage = createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+            Graphics2D tempG = tempImage.createGraphics();
+            paintCycleIcon(tempG, baseImage, w, h, locked, (locked ? null : labels[i - 1]));
+            tempG.dispose();
+            icons[i] = new ImageIcon(tempImage);
         }
-        lockedG.dispose();
 
-        String[] labels = null;
+        return icons;
+    }
+
+    /**
+     * Returns the labels of a cycle button's states after the locked one.
+     * <p>
+     * Null labels are drawn as the plain image.
+     */
+    static String[] getCycleLabels(boolean cycleDifficulty) {
         if (cycleDifficulty) {
             Difficulty[] difficulties = Difficulty.values();
-            labels = new String[difficulties.length];
+            String[] labels = new String[difficulties.length];
             for (int i = difficulties.length - 1; i >= 0; i--) {
                 labels[i] = difficulties[i].toString();
             }
+            return labels;
         } else {                                            // Locked / Unlocked.
-            labels = new String[]{null};
+            return new String[]{null};
         }
+    }
 
-        ImageIcon[] icons = new ImageIcon[1 + labels.length];
-        icons[0] = new ImageIcon(lockedImage);
-
-        // Create the other icons, drawing any non-null labels.
-        for (int i = 0; i < labels.length; i++) {
-            String label = labels[i];
-            BufferedImage tempImage = gc.createCompatibleImage(baseImage.getWidth(), baseImage.getHeight(), Transparency.TRANSLUCENT);
-            Graphics2D tempG = tempImage.createGraphics();
-            tempG.drawImage(baseImage, 0, 0, null);
-            if (label != null) {
-                LineMetrics labelMetrics = tempG.getFontMetrics().getLineMetrics(label, tempG);
-                int labelWidth = tempG.getFontMetrics().stringWidth(label);
-                int labelHeight = (int) labelMetrics.getAscent() + (int) labelMetrics.getDescent();
-                int labelX = tempImage.getWidth() / 2 - labelWidth / 2;
-                int labelY = tempImage.getHeight() - (int) labelMetrics.getDescent();
-                tempG.setColor(Color.BLACK);
-                tempG.fillRect(labelX - 4, tempImage.getHeight() - labelHeight, labelWidth + 8, labelHeight);
-                tempG.setColor(Color.WHITE);
-                tempG.drawString(label, labelX, labelY);
+    /**
+     * Draws one state of a cycle button's icon onto a blank w x h area.
+     * <p>
+     * The base image is centered. A locked state is darkened, with a small
+     * lock over the center. Otherwise any non-null label is drawn along the
+     * bottom.
+     */
+    static void paintCycleIcon(Graphics2D g2d, BufferedImage baseImage, int w, int h, boolean locked, String label) {
+        int baseX = (w - baseImage.getWidth()) / 2;
+        int baseY = (h - baseImage.getHeight()) / 2;
+        g2d.drawImage(baseImage, baseX, baseY, null);
+
+        if (locked) {
+            g2d.setColor(new Color(0, 0, 0, 150));
+            g2d.fillRect(0, 0, w, h);
+            if (lockImage != null) {
+                int lockOffsetX = (w - lockImage.getWidth()) / 2;
+                int lockOffsetY = (h - lockImage.getHeight()) / 2;
+                g2d.drawImage(lockImage, lockOffsetX, lockOffsetY, null);
             }
-            tempG.dispose();
-            icons[1 + i] = new ImageIcon(tempImage);
+        } else if (label != null) {
+            LineMetrics labelMetrics = g2d.getFontMetrics().getLineMetrics(label, g2d);
+            int labelWidth = g2d.getFontMetrics().stringWidth(label);
+            int labelHeight = (int) labelMetrics.getAscent() + (int) labelMetrics.getDescent();
+            int labelX = w / 2 - labelWidth / 2;
+            int labelY = h - (int) labelMetrics.getDescent();
+            g2d.setColor(Color.BLACK);
+            g2d.fillRect(labelX - 4, h - labelHeight, labelWidth + 8, labelHeight);
+            g2d.setColor(Color.WHITE);
+            g2d.drawString(label, labelX, labelY);
         }
-
-        return new IconCycleButton(icons);
     }
 
 
@@ -208,14 +263,12 @@ public class ImageUtilities {
      * @param h
      * @param cachedImages an existing cache to use, or null for no caching
      */
-    public static BufferedImage getScaledImage(String innerPath, int w, int h, Map<String, Map<Rectangle, BufferedImage>> cachedImages) {
-        Rectangle keyRect = new Rectangle(0, 0, w, h);
+    public static BufferedImage getScaledImage(String innerPath, int w, int h, ImageCache cachedImages) {
+        Object cacheKey = ImageCache.key("scaled", innerPath, w, h);
         BufferedImage result = null;
-        Map<Rectangle, BufferedImage> cacheMap = null;
 
         if (cachedImages != null) {
-            cacheMap = cachedImages.get(innerPath);
-            if (cacheMap != null) result = cacheMap.get(keyRect);
+            result = cachedImages.get(cacheKey);
             if (result != null) return result;
             log.trace("Image not in cache, loading and scaling: {}", innerPath);
         }
@@ -226,7 +279,7 @@ public class ImageUtilities {
             if (w <= 0 || h <= 0 || (origImage.getWidth() == w && origImage.getHeight() == h)) {
                 result = origImage;
             } else {
-                BufferedImage scaledImage = gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+                BufferedImage scaledImage = createCompatibleImage(w, h, Transparency.TRANSLUCENT);
                 Graphics2D g2d = scaledImage.createGraphics();
                 g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
                 g2d.drawImage(origImage, 0, 0, w, h, null);
@@ -242,7 +295,7 @@ public class ImageUtilities {
         if (result == null) {  // Guarantee a returned image, with a stand-in.
             w = Math.abs(w);
             h = Math.abs(h);
-            result = gc.createCompatibleImage(w, h, Transparency.OPAQUE);
+            result = createCompatibleImage(w, h, Transparency.OPAQUE);
             Graphics2D g2d = result.createGraphics();
             g2d.setColor(new Color(150, 150, 200));
             g2d.fillRect(0, 0, w - 1, h - 1);
@@ -250,11 +303,7 @@ public class ImageUtilities {
         }
 
         if (cachedImages != null) {
-            if (cacheMap == null) {
-                cacheMap = new HashMap<>();
-                cachedImages.put(innerPath, cacheMap);
-            }
-            cacheMap.put(keyRect, result);
+            cachedImages.put(cacheKey, result);
         }
 
         return result;
@@ -274,22 +323,14 @@ public class ImageUtilities {
      * @param h
      * @param cachedImages an existing cache to use, or null for no caching
      */
-    public static BufferedImage getProportionallyScaledImage(String innerPath, int maxW, int maxH, Map<String, Map<Rectangle, BufferedImage>> cachedImages) {
-        Rectangle widthKeyRect = new Rectangle(0, 0, maxW, 0);
-        Rectangle heightKeyRect = new Rectangle(0, 0, 0, maxH);
+    public static BufferedImage getProportionallyScaledImage(String innerPath, int maxW, int maxH, ImageCache cachedImages) {
+        // The result is cached under its smaller max axis.
+        Object cacheKey = ((maxW < maxH) ? ImageCache.key("proportional", innerPath, maxW, 0) : ImageCache.key("proportional", innerPath, 0, maxH));
         BufferedImage result = null;
-        Map<Rectangle, BufferedImage> cacheMap = null;
 
         if (cachedImages != null) {
-            cacheMap = cachedImages.get(innerPath);
-            if (cacheMap != null) {
-                // Look up the smaller axis first.
-                Rectangle[] maxRects = ((maxW < maxH) ? new Rectangle[]{widthKeyRect, heightKeyRect} : new Rectangle[]{heightKeyRect, widthKeyRect});
-                for (Rectangle maxRect : maxRects) {
-                    result = cacheMap.get(maxRect);
-                    if (result != null) return result;
-                }
-            }
+            result = cachedImages.get(cacheKey);
+            if (result != null) return result;
             log.trace("Image not in cache, loading and proportionally scaling {} ", innerPath);
         }
 
@@ -309,7 +350,7 @@ public class ImageUtilities {
             if (origImage.getWidth() == width && origImage.getHeight() == height) {
                 result = origImage;
             } else {
-                BufferedImage scaledImage = gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+                BufferedImage scaledImage = createCompatibleImage(width, height, Transparency.TRANSLUCENT);
                 Graphics2D g2d = scaledImage.createGraphics();
                 g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
                 g2d.drawImage(origImage, 0, 0, width, height, null);
@@ -323,7 +364,7 @@ public class ImageUtilities {
         }
 
         if (result == null) {  // Guarantee a returned image, with a stand-in.
-            result = gc.createCompatibleImage(maxW, maxH, Transparency.OPAQUE);
+            result = createCompatibleImage(maxW, maxH, Transparency.OPAQUE);
             Graphics2D g2d = result.createGraphics();
             g2d.setColor(new Color(150, 150, 200));
             g2d.fillRect(0, 0, result.getWidth() - 1, result.getHeight() - 1);
@@ -331,15 +372,7 @@ public class ImageUtilities {
         }
 
         if (cachedImages != null) {
-            if (cacheMap == null) {
-                cacheMap = new HashMap<>();
-                cachedImages.put(innerPath, cacheMap);
-            }
-            if (maxW < maxH) {
-                cacheMap.put(widthKeyRect, result);
-            } else {
-                cacheMap.put(heightKeyRect, result);
-            }
+            cachedImages.put(cacheKey, result);
         }
 
         return result;
@@ -358,30 +391,54 @@ public class ImageUtilities {
      * @param w
      * @param h
      * @param cachedImages an existing cache to use, or null for no caching
+     * @see #getCroppedImage(String, int, int, int, int, ImageCache, Map)
      */
-    public static BufferedImage getCroppedImage(String innerPath, int x, int y, int w, int h, Map<String, Map<Rectangle, BufferedImage>> cachedImages) {
-        Rectangle keyRect = new Rectangle(x, y, w, h);
+    public static BufferedImage getCroppedImage(String innerPath, int x, int y, int w, int h, ImageCache cachedImages) {
+        return getCroppedImage(innerPath, x, y, w, h, cachedImages, null);
+    }
+
+    /**
+     * Gets a cropped area of an image and caches the result, decoding each
+     * sheet only once.
+     * <p>
+     * Sheets with many frames are decoded into cachedSheets, to serve
+     * later crops from other frames. The crop is a compact copy that
+     * doesn't share the sheet's raster, so cachedSheets can be cleared
+     * (e.g., once a batch of sprites is built) without affecting it.
+     * <p>
+     * If something goes wrong, a dummy image will be created with
+     * the expected dimensions.
+     *
+     * @param cachedImages an existing cache to use, or null for no caching
+     * @param cachedSheets decoded whole images, or null to decode every time
+     */
+    public static BufferedImage getCroppedImage(String innerPath, int x, int y, int w, int h, ImageCache cachedImages, Map<String, BufferedImage> cachedSheets) {
+        Object cacheKey = getCroppedImageKey(innerPath, x, y, w, h);
         BufferedImage result = null;
-        Map<Rectangle, BufferedImage> cacheMap = null;
 
         if (cachedImages != null) {
-            cacheMap = cachedImages.get(innerPath);
-            if (cacheMap != null) result = cacheMap.get(keyRect);
+            result = cachedImages.get(cacheKey);
             if (result != null) return result;
-            log.trace("Image not in cache, loading and cropping: {}", innerPath);
+            log.trace("Image not in cache, cropping: {}", innerPath);
         }
 
-        try (InputStream in = DataManager.get().getResourceInputStream(innerPath)) {
-            BufferedImage bigImage = ImageIO.read(in);
-            result = bigImage.getSubimage(x, y, w, h);
-        } catch (FileNotFoundException e) {
-            log.error("Failed to load and crop image , innerPath was not found: {}", innerPath);
-        } catch (RasterFormatException | IOException e) {
-            log.error("Failed to load and crop image: {}", innerPath, e);
+        BufferedImage sheetImage = getSheetImage(innerPath, cachedSheets);
+        if (sheetImage != null) {
+            try {
+                BufferedImage areaImage = sheetImage.getSubimage(x, y, w, h);
+
+                // Copy, so the crop doesn't keep the whole sheet's raster alive.
+                result = createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+                Graphics2D g2d = result.createGraphics();
+                g2d.drawImage(areaImage, 0, 0, null);
+                g2d.dispose();
+            } catch (RasterFormatException e) {
+                log.error("Failed to crop image: {}", innerPath, e);
+            }
         }
 
         if (result == null) {  // Guarantee a returned image, with a stand-in.
-            result = gc.createCompatibleImage(w, h, Transparency.OPAQUE);
+            result = createCompatibleImage(w, h, Transparency.OPAQUE);
             Graphics2D g2d = result.createGraphics();
             g2d.setColor(new Color(150, 150, 200));
             g2d.fillRect(0, 0, w - 1, h - 1);
@@ -389,58 +446,115 @@ public class ImageUtilities {
         }
 
         if (cachedImages != null) {
-            if (cacheMap == null) {
-                cacheMap = new HashMap<>();
-                cachedImages.put(innerPath, cacheMap);
-            }
-            cacheMap.put(keyRect, result);
+            cachedImages.put(cacheKey, result);
         }
 
         return result;
     }
 
+    /**
+     * Decodes a whole image, such as a sprite sheet, and caches the result.
+     *
+     * @param cachedSheets an existing cache to use, or null for no caching
+     * @return the image, or null if it couldn't be read
+     */
+    public static BufferedImage getSheetImage(String innerPath, Map<String, BufferedImage> cachedSheets) {
+        BufferedImage result = null;
+
+        if (cachedSheets != null) {
+            result = cachedSheets.get(innerPath);
+            if (result != null) return result;
+            log.trace("Sheet not in cache, loading: {}", innerPath);
+        }
+
+        try (InputStream in = DataManager.get().getResourceInputStream(innerPath)) {
+            result = ImageIO.read(in);
+        } catch (FileNotFoundException e) {
+            log.error("Failed to load image, innerPath was not found: {}", innerPath);
+        } catch (IOException e) {
+            log.error("Failed to load image: {}", innerPath, e);
+        }
+
+        if (result != null && cachedSheets != null) {
+            cachedSheets.put(innerPath, result);
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Returns the key getCroppedImage() caches a crop under.
+     */
+    public static Object getCroppedImageKey(String innerPath, int x, int y, int w, int h) {
+        return ImageCache.key("cropped", innerPath, x, y, w, h);
+    }
 
     /**
-     * Applies a RescaleOp to the palette of an image, and caches the result.
+     * Scales and offsets each channel of an image, and caches the result.
+     * <p>
+     * This matches what a RescaleOp would do to an ARGB copy of srcImage.
+     * <p>
+     * The result is keyed by srcKey rather than srcImage, since the cache
+     * holds keys strongly, and the budget wouldn't count a source image
+     * held that way.
      *
      * @param srcImage
+     * @param srcKey identifies srcImage's content by value, such as the key
+     *               it was cached under (e.g., getCroppedImageKey())
      * @param tint
      * @param cachedTintedImages an existing cache to use, or null for no caching
+     * @see #tintImage(BufferedImage, Tint)
      */
-    public static BufferedImage getTintedImage(BufferedImage srcImage, Tint tint, Map<BufferedImage, Map<Tint, BufferedImage>> cachedTintedImages) {
+    public static BufferedImage getTintedImage(BufferedImage srcImage, Object srcKey, Tint tint, ImageCache cachedTintedImages) {
+        Object cacheKey = ImageCache.key("tinted", srcKey, tint);
         BufferedImage result = null;
-        Map<Tint, BufferedImage> cacheMap = null;
 
         if (cachedTintedImages != null) {
-            cacheMap = cachedTintedImages.get(srcImage);
-            if (cacheMap != null) result = cacheMap.get(tint);
+            result = cachedTintedImages.get(cacheKey);
             if (result != null) return result;
         }
 
-        BufferedImage canvas = gc.createCompatibleImage(srcImage.getWidth(), srcImage.getHeight(), Transparency.TRANSLUCENT);
-        Graphics2D g2d = canvas.createGraphics();
-        g2d.drawImage(srcImage, 0, 0, null);
-        g2d.dispose();
-        RescaleOp op = new RescaleOp(tint.scaleFactors, tint.offsets, null);
-        result = op.filter(canvas, null);
+        result = tintImage(srcImage, tint);
 
         if (cachedTintedImages != null) {
-            if (cacheMap == null) {
-                cacheMap = new HashMap<>();
-                cachedTintedImages.put(srcImage, cacheMap);
-            }
-            cacheMap.put(tint, result);
+            cachedTintedImages.put(cacheKey, result);
         }
 
         return result;
     }
 
+    /**
+     * Scales and offsets each channel of an image, without caching.
+     * <p>
+     * Pixels are read in bulk as non-premultiplied ARGB ints, mapped
+     * through the tint's lookup tables, and written once into the result.
+     * There's no intermediate canvas, and srcImage's raster is only read,
+     * so it stays eligible for acceleration.
+     */
+    public static BufferedImage tintImage(BufferedImage srcImage, Tint tint) {
+        int w = srcImage.getWidth();
+        int h = srcImage.getHeight();
+
+        int[] pixels = srcImage.getRGB(0, 0, w, h, null, 0, w);
+        tint.apply(pixels);
+
+        BufferedImage result = createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+        if (result.getType() == BufferedImage.TYPE_INT_ARGB) {
+            result.getRaster().setDataElements(0, 0, w, h, pixels);  // Same layout, copied as-is.
+        } else {
+            result.setRGB(0, 0, w, h, pixels, 0, w);
+        }
+        return result;
+    }
+
 
     /**
      * Crops transparent pixels from an image, and caches the result.
      *
      * @param srcImage
      * @param cachedTrimmedImages an existing cache to use, or null for no caching
+     * @see #getOpaqueBounds(BufferedImage)
      */
     public static BufferedImage getTrimmedImage(BufferedImage srcImage, Map<BufferedImage, BufferedImage> cachedTrimmedImages) {
         BufferedImage result = null;
@@ -450,57 +564,422 @@ public class ImageUtilities {
             if (result != null) return result;
         }
 
-        result = srcImage;
-
-        // Shrink the crop area until non-transparent pixels are hit.
-        int origW = srcImage.getWidth();
-        int origH = srcImage.getHeight();
-        int lowX = Integer.MAX_VALUE;
-        int lowY = Integer.MAX_VALUE;
-        int highX = -1;
-        int highY = -1;
-        for (int testY = 0; testY < origH; testY++) {
-            for (int testX = 0; testX < origW; testX++) {
-                int pixel = result.getRGB(testX, testY);
-                int alpha = (pixel >> 24) & 0xFF;  // 24:A, 16:R, 8:G, 0:B.
-                if (alpha != 0) {
-                    if (testX > highX) highX = testX;
-                    if (testY > highY) highY = testY;
-                    if (testX < lowX) lowX = testX;
-                    if (testY < lowY) lowY = testY;
+        result = trimImage(srcImage);
+
+        if (cachedTrimmedImages != null) {
+            cachedTrimmedImages.put(srcImage, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Crops transparent pixels from many images at once, in parallel.
+     * <p>
+     * The cache is only touched on the calling thread, so it needn't be
+     * thread-safe. Misses are trimmed on the executor, and the call blocks
+     * until they're all done.
+     *
+     * @param srcImages
+     * @param cachedTrimmedImages an existing cache to use, or null for no caching
+     * @param executor            threads to trim on, or null to trim on the calling thread
+     * @return trimmed images, in the same order as srcImages
+     */
+    public static List<BufferedImage> getTrimmedImages(List<BufferedImage> srcImages, Map<BufferedImage, BufferedImage> cachedTrimmedImages, ExecutorService executor) throws InterruptedException {
+        List<BufferedImage> results = new ArrayList<BufferedImage>(srcImages.size());
+        List<Future<BufferedImage>> futures = new ArrayList<Future<BufferedImage>>(srcImages.size());
+
+        for (final BufferedImage srcImage : srcImages) {
+            BufferedImage result = null;
+            if (cachedTrimmedImages != null) {
+                result = cachedTrimmedImages.get(srcImage);
+            }
+
+            if (result == null && executor == null) {
+                result = trimImage(srcImage);
+            }
+            if (result != null || executor == null) {
+                results.add(result);
+                futures.add(null);
+                continue;
+            }
+
+            results.add(null);
+            futures.add(executor.submit(new Callable<BufferedImage>() {
+                @Override
+                public BufferedImage call() {
+                    return trimImage(srcImage);
+                }
+            }));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            Future<BufferedImage> future = futures.get(i);
+            if (future != null) {
+                try {
+                    results.set(i, future.get());
+                } catch (ExecutionException e) {
+                    for (Future<BufferedImage> f : futures) {
+                        if (f != null) f.cancel(false);
+                    }
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                    if (cause instanceof Error) throw (Error) cause;
+                    throw new RuntimeException(cause);
                 }
             }
+
+            if (cachedTrimmedImages != null) {
+                cachedTrimmedImages.put(srcImages.get(i), results.get(i));
+            }
         }
-        log.trace("Image Trimmed to Bounds: {},{} {}x{}", lowX, lowY, highX, highY);
-        if (highX < origW && highY < origH && lowX < highX && lowY < highY) {
-            result = result.getSubimage(lowX, lowY, highX - lowX + 1, highY - lowY + 1);
+
+        return results;
+    }
+
+    /**
+     * Crops transparent pixels from an image, without caching.
+     * <p>
+     * Images that are entirely transparent, or whose visible pixels are
+     * only one pixel wide or tall, are returned as-is. Otherwise the result
+     * shares srcImage's raster.
+     */
+    private static BufferedImage trimImage(BufferedImage srcImage) {
+        Rectangle bounds = getOpaqueBounds(srcImage);
+        log.trace("Image Trimmed to Bounds: {}", bounds);
+
+        if (bounds == null || bounds.width <= 1 || bounds.height <= 1) return srcImage;
+        if (bounds.width == srcImage.getWidth() && bounds.height == srcImage.getHeight()) return srcImage;
+
+        return srcImage.getSubimage(bounds.x, bounds.y, bounds.width, bounds.height);
+    }
+
+    /**
+     * Returns the smallest region containing every pixel with non-zero alpha.
+     * <p>
+     * Edges are scanned inward, each stopping at the first row or column
+     * with a visible pixel, so pixels inside the result are never visited.
+     * INT (A)RGB and interleaved BYTE images, which include everything
+     * ImageIO decodes from 32-bit PNGs, are read straight from their
+     * DataBuffers, without converting colors or stealing their arrays from
+     * Java2D. Other images are read a row or column at a time, via getRGB().
+     *
+     * @return a region in srcImage's coordinates, or null if every pixel
+     * is transparent
+     */
+    public static Rectangle getOpaqueBounds(BufferedImage srcImage) {
+        int w = srcImage.getWidth();
+        int h = srcImage.getHeight();
+        if (w == 0 || h == 0) return null;
+        if (!srcImage.getColorModel().hasAlpha()) return new Rectangle(0, 0, w, h);
+
+        AlphaScanner scanner = AlphaScanner.create(srcImage);
+
+        int top = 0;
+        while (top < h && scanner.isRowClear(top, 0, w - 1)) top++;
+        if (top == h) return null;
+
+        int bottom = h - 1;
+        while (scanner.isRowClear(bottom, 0, w - 1)) bottom--;
+
+        int left = 0;
+        while (scanner.isColumnClear(left, top, bottom)) left++;
+
+        int right = w - 1;
+        while (scanner.isColumnClear(right, top, bottom)) right--;
+
+        return new Rectangle(left, top, right - left + 1, bottom - top + 1);
+    }
+
+
+    /**
+     * Tests runs of pixels for zero alpha, reading an image's raster as
+     * directly as its layout allows.
+     */
+    private static abstract class AlphaScanner {
+
+        public static AlphaScanner create(BufferedImage image) {
+            WritableRaster raster = image.getRaster();
+            DataBuffer db = raster.getDataBuffer();
+            SampleModel sm = raster.getSampleModel();
+            ColorModel cm = image.getColorModel();
+
+            // Subimages share their parent's buffer, with a translated origin.
+            int originX = -raster.getSampleModelTranslateX();
+            int originY = -raster.getSampleModelTranslateY();
+
+            if (db instanceof DataBufferInt && db.getNumBanks() == 1 && sm instanceof SinglePixelPackedSampleModel && cm instanceof DirectColorModel) {
+                SinglePixelPackedSampleModel sppsm = (SinglePixelPackedSampleModel) sm;
+                int alphaMask = ((DirectColorModel) cm).getAlphaMask();
+                return new IntAlphaScanner((DataBufferInt) db, sppsm.getOffset(originX, originY), sppsm.getScanlineStride(), alphaMask);
+            }
+
+            if (db instanceof DataBufferByte && db.getNumBanks() == 1 && sm instanceof PixelInterleavedSampleModel && cm instanceof ComponentColorModel) {
+                PixelInterleavedSampleModel pism = (PixelInterleavedSampleModel) sm;
+                int alphaBand = cm.getNumComponents() - 1;  // ComponentColorModel puts alpha last.
+                if (cm.getComponentSize(alphaBand) == 8) {
+                    int origin = pism.getOffset(originX, originY, alphaBand);
+                    return new ByteAlphaScanner((DataBufferByte) db, origin, pism.getScanlineStride(), pism.getPixelStride());
+                }
+            }
+
+            return new RGBAlphaScanner(image);
         }
 
-        if (cachedTrimmedImages != null) {
-            cachedTrimmedImages.put(srcImage, result);
+        /**
+         * Returns true if pixels x0..x1 (inclusive) in row y are all transparent.
+         */
+        public abstract boolean isRowClear(int y, int x0, int x1);
+
+        /**
+         * Returns true if pixels y0..y1 (inclusive) in column x are all transparent.
+         */
+        public abstract boolean isColumnClear(int x, int y0, int y1);
+    }
+
+    /**
+     * Scans packed int pixels, masking out alpha.
+     * <p>
+     * getElem() is used rather than getData(), so the buffer remains
+     * eligible for acceleration.
+     */
+    private static class IntAlphaScanner extends AlphaScanner {
+        private final DataBufferInt db;
+        private final int origin;
+        private final int stride;
+        private final int alphaMask;
+
+        public IntAlphaScanner(DataBufferInt db, int origin, int stride, int alphaMask) {
+            this.db = db;
+            this.origin = origin;
+            this.stride = stride;
+            this.alphaMask = alphaMask;
         }
 
-        return result;
+        @Override
+        public boolean isRowClear(int y, int x0, int x1) {
+            int rowStart = origin + y * stride;
+            for (int i = rowStart + x0; i <= rowStart + x1; i++) {
+                if ((db.getElem(i) & alphaMask) != 0) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isColumnClear(int x, int y0, int y1) {
+            int end = origin + y1 * stride + x;
+            for (int i = origin + y0 * stride + x; i <= end; i += stride) {
+                if ((db.getElem(i) & alphaMask) != 0) return false;
+            }
+            return true;
+        }
     }
 
+    /**
+     * Scans the alpha samples of interleaved byte pixels (e.g., 4BYTE_ABGR).
+     */
+    private static class ByteAlphaScanner extends AlphaScanner {
+        private final DataBufferByte db;
+        private final int origin;
+        private final int stride;
+        private final int pixelStride;
+
+        public ByteAlphaScanner(DataBufferByte db, int origin, int stride, int pixelStride) {
+            this.db = db;
+            this.origin = origin;
+            this.stride = stride;
+            this.pixelStride = pixelStride;
+        }
+
+        @Override
+        public boolean isRowClear(int y, int x0, int x1) {
+            int rowStart = origin + y * stride;
+            int end = rowStart + x1 * pixelStride;
+            for (int i = rowStart + x0 * pixelStride; i <= end; i += pixelStride) {
+                if (db.getElem(i) != 0) return false;
+            }
+            return true;
+        }
 
+        @Override
+        public boolean isColumnClear(int x, int y0, int y1) {
+            int end = origin + y1 * stride + x * pixelStride;
+            for (int i = origin + y0 * stride + x * pixelStride; i <= end; i += stride) {
+                if (db.getElem(i) != 0) return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Scans any image, converting a row or column to ARGB at a time.
+     */
+    private static class RGBAlphaScanner extends AlphaScanner {
+        private final BufferedImage image;
+        private int[] pixels;
+
+        public RGBAlphaScanner(BufferedImage image) {
+            this.image = image;
+            this.pixels = new int[Math.max(image.getWidth(), image.getHeight())];
+        }
+
+        @Override
+        public boolean isRowClear(int y, int x0, int x1) {
+            int n = x1 - x0 + 1;
+            image.getRGB(x0, y, n, 1, pixels, 0, n);
+            return isClear(n);
+        }
+
+        @Override
+        public boolean isColumnClear(int x, int y0, int y1) {
+            int n = y1 - y0 + 1;
+            image.getRGB(x, y0, 1, n, pixels, 0, 1);
+            return isClear(n);
+        }
+
+        private boolean isClear(int n) {
+            for (int i = 0; i < n; i++) {
+                if ((pixels[i] >>> 24) != 0) return false;  // 24:A, 16:R, 8:G, 0:B.
+            }
+            return true;
+        }
+    }
+
+
+    /**
+     * Per-channel scale factors and offsets, as a RescaleOp would take.
+     * <p>
+     * With one or three factors, color channels are affected and alpha is
+     * not. With four, they're ordered RGBA.
+     * <p>
+     * Tints are immutable and compare by value, for use in cache keys.
+     */
     public static class Tint {
+
+        /**
+         * Color values after premultiplying by alpha and dividing back out,
+         * indexed by [alpha][color], with Java2D's 8-bit rounding.
+         */
+        private static final byte[][] PREMULTIPLY_ROUND_TRIP = createRoundTripTable();
+
         private final float[] scaleFactors;
         private final float[] offsets;
 
+        private volatile int[][] luts = null;
+
         public Tint(float[] scaleFactors, float[] offsets) {
-            this.scaleFactors = scaleFactors;
-            this.offsets = offsets;
+            if (scaleFactors.length != offsets.length) {
+                throw new IllegalArgumentException(String.format("Tint has %d scale factors but %d offsets", scaleFactors.length, offsets.length));
+            }
+            if (scaleFactors.length != 1 && scaleFactors.length != 3 && scaleFactors.length != 4) {
+                throw new IllegalArgumentException(String.format("Tint needs 1, 3, or 4 scale factors, not %d", scaleFactors.length));
+            }
+            this.scaleFactors = Arrays.copyOf(scaleFactors, scaleFactors.length);
+            this.offsets = Arrays.copyOf(offsets, offsets.length);
+        }
+
+        public float[] getScaleFactors() {
+            return Arrays.copyOf(scaleFactors, scaleFactors.length);
+        }
+
+        public float[] getOffsets() {
+            return Arrays.copyOf(offsets, offsets.length);
+        }
+
+        /**
+         * Tints non-premultiplied ARGB pixels in place.
+         * <p>
+         * Translucent pixels' colors are first rounded through
+         * premultiplication, as drawing them onto a blank canvas would.
+         * Fully transparent pixels become transparent black. That way the
+         * result is identical, pixel for pixel, to a RescaleOp applied to
+         * such a canvas.
+         */
+        public void apply(int[] pixels) {
+            int[][] tables = getLookupTables();
+            int[] lutA = tables[0];
+            int[] lutR = tables[1];
+            int[] lutG = tables[2];
+            int[] lutB = tables[3];
+            int transparent = lutA[0] | lutR[0] | lutG[0] | lutB[0];
+
+            for (int i = 0; i < pixels.length; i++) {
+                int p = pixels[i];
+                int a = p >>> 24;
+                if (a == 0xFF) {
+                    pixels[i] = lutA[a] | lutR[(p >> 16) & 0xFF] | lutG[(p >> 8) & 0xFF] | lutB[p & 0xFF];
+                } else if (a == 0) {
+                    pixels[i] = transparent;
+                } else {
+                    byte[] roundTrip = PREMULTIPLY_ROUND_TRIP[a];
+                    pixels[i] = lutA[a] | lutR[roundTrip[(p >> 16) & 0xFF] & 0xFF] | lutG[roundTrip[(p >> 8) & 0xFF] & 0xFF] | lutB[roundTrip[p & 0xFF] & 0xFF];
+                }
+            }
         }
 
+        /**
+         * Returns ARGB tables mapping each channel's old value to its new
+         * value, already shifted into place.
+         */
+        private int[][] getLookupTables() {
+            int[][] result = luts;
+            if (result != null) return result;
+
+            result = new int[4][];
+            if (scaleFactors.length == 4) {
+                result[0] = createLookupTable(scaleFactors[3], offsets[3], 24);
+            } else {
+                result[0] = createLookupTable(1f, 0f, 24);
+            }
+            for (int c = 0; c < 3; c++) {
+                int n = (scaleFactors.length == 1 ? 0 : c);
+                result[1 + c] = createLookupTable(scaleFactors[n], offsets[n], 16 - c * 8);
+            }
+
+            luts = result;  // Racing threads would build equal tables, harmlessly.
+            return result;
+        }
+
+        private static byte[][] createRoundTripTable() {
+            byte[][] result = new byte[256][256];
+            for (int a = 1; a < 255; a++) {
+                long divInc = ((0xFFL << 24) + a / 2) / a;
+                for (int c = 0; c < 256; c++) {
+                    long premul = ((long) a * c * 0x010101 + (1 << 23)) >>> 24;
+                    long unpremul = (premul < a ? (premul * divInc + (1 << 23)) >>> 24 : 0xFF);
+                    result[a][c] = (byte) unpremul;
+                }
+            }
+            return result;
+        }
+
+        private static int[] createLookupTable(float scale, float offset, int shift) {
+            int[] result = new int[256];
+            for (int i = 0; i < 256; i++) {
+                int v = (int) (i * scale + offset);  // Truncated, as RescaleOp does.
+                v = Math.max(0, Math.min(255, v));
+                result[i] = v << shift;
+            }
+            return result;
+        }
+
+        @Override
         public boolean equals(Object o) {
             if (o == this) return true;
-            if (o instanceof Tint) return this.hashCode() == o.hashCode();
-            return false;
+            if (!(o instanceof Tint)) return false;
+
+            Tint other = (Tint) o;
+            return Arrays.equals(scaleFactors, other.scaleFactors) && Arrays.equals(offsets, other.offsets);
         }
 
+        @Override
         public int hashCode() {
-            return (java.util.Arrays.hashCode(scaleFactors) ^ java.util.Arrays.hashCode(offsets));
+            return 31 * Arrays.hashCode(scaleFactors) + Arrays.hashCode(offsets);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Tint(%s, %s)", Arrays.toString(scaleFactors), Arrays.toString(offsets));
         }
     }
 }
@@ -1,13 +1,9 @@
 package net.blerf.ftl.ui;
 
 import java.awt.GridLayout;
-import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
 import javax.swing.JPanel;
@@ -27,7 +23,7 @@ public class ProfileGeneralStatsPanel extends JPanel {
 
     private final FTLFrame frame;
 
-    private final Map<String, Map<Rectangle, BufferedImage>> cachedImages = new HashMap<String, Map<Rectangle, BufferedImage>>();
+    private final ImageCache cachedImages = ImageCache.get();
 
     private final JPanel topScoresPanel;
     private final StatsSubPanel sessionRecordsPanel;
@@ -3,7 +3,6 @@ package net.blerf.ftl.ui;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.GridLayout;
-import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.image.BufferedImage;
@@ -34,7 +33,7 @@ public class ProfileShipStatsPanel extends JPanel implements ActionListener {
 
     private final FTLFrame frame;
 
-    private final Map<String, Map<Rectangle, BufferedImage>> cachedImages = new HashMap<String, Map<Rectangle, BufferedImage>>();
+    private final ImageCache cachedImages = ImageCache.get();
     private BufferedImage questImage = null;
     private BufferedImage victoryAImage = null;
     private BufferedImage victoryBImage = null;
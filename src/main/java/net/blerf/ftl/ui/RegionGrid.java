@@ -0,0 +1,196 @@
+package net.blerf.ftl.ui;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * A spatial index of items by rectangular region, bucketed in a uniform grid.
+ * <p>
+ * Each item is listed in every cell its region overlaps, so point lookups
+ * only examine the few items in one cell, regardless of how many exist.
+ * Items are compared by identity, and may be indexed more than once under
+ * different regions.
+ * <p>
+ * Within a cell, items are kept in the order they were added. Point lookups
+ * report matches in that order, which lets callers give precedence to
+ * earlier items where regions overlap.
+ */
+public class RegionGrid<T> {
+
+    private final int cellSize;
+    private final Map<Long, List<Entry<T>>> cellMap = new HashMap<Long, List<Entry<T>>>();
+    private int entryCount = 0;
+
+
+    /**
+     * Constructor.
+     *
+     * @param cellSize the width and height of each cell, ideally a bit
+     *                 larger than typical regions
+     */
+    public RegionGrid(int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException(String.format("Cell size must be positive: %d", cellSize));
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Indexes an item under a region.
+     * <p>
+     * An item with an empty region (e.g., a component not sized yet) is
+     * filed in the cell at its location, so it can still be removed, and
+     * is listed by getIntersecting(null). But an empty region contains and
+     * intersects nothing, so point and region lookups never return it.
+     */
+    public void add(T item, Rectangle region) {
+        Entry<T> entry = new Entry<T>(item, new Rectangle(region));
+        Rectangle r = toIndexedRect(region);
+
+        for (int cy = toCell(r.y); cy <= toCell(r.y + r.height - 1); cy++) {
+            for (int cx = toCell(r.x); cx <= toCell(r.x + r.width - 1); cx++) {
+                Long key = cellKey(cx, cy);
+                List<Entry<T>> cell = cellMap.get(key);
+                if (cell == null) {
+                    cell = new ArrayList<Entry<T>>(2);
+                    cellMap.put(key, cell);
+                }
+                cell.add(entry);
+            }
+        }
+        entryCount++;
+    }
+
+    /**
+     * Removes an item that was indexed under a given region.
+     *
+     * @return true if the item was found, false otherwise
+     */
+    public boolean remove(T item, Rectangle region) {
+        Rectangle r = toIndexedRect(region);
+        boolean found = false;
+
+        for (int cy = toCell(r.y); cy <= toCell(r.y + r.height - 1); cy++) {
+            for (int cx = toCell(r.x); cx <= toCell(r.x + r.width - 1); cx++) {
+                Long key = cellKey(cx, cy);
+                List<Entry<T>> cell = cellMap.get(key);
+                if (cell == null) continue;
+
+                for (int i = cell.size() - 1; i >= 0; i--) {
+                    Entry<T> entry = cell.get(i);
+                    if (entry.item == item && entry.region.equals(region)) {
+                        cell.remove(i);
+                        found = true;
+                        break;
+                    }
+                }
+                if (cell.isEmpty()) cellMap.remove(key);
+            }
+        }
+        if (found) entryCount--;
+        return found;
+    }
+
+    public void clear() {
+        cellMap.clear();
+        entryCount = 0;
+    }
+
+    /**
+     * Returns the number of indexed entries.
+     */
+    public int size() {
+        return entryCount;
+    }
+
+    /**
+     * Returns the earliest-added item whose region contains a point, or null.
+     */
+    public T getFirstAt(Point p) {
+        List<Entry<T>> cell = cellMap.get(cellKey(toCell(p.x), toCell(p.y)));
+        if (cell != null) {
+            for (Entry<T> entry : cell) {
+                if (entry.region.contains(p)) return entry.item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns all items whose regions contain a point, in the order added.
+     */
+    public List<T> getAllAt(Point p) {
+        List<T> result = new ArrayList<T>(1);
+
+        List<Entry<T>> cell = cellMap.get(cellKey(toCell(p.x), toCell(p.y)));
+        if (cell != null) {
+            for (Entry<T> entry : cell) {
+                if (entry.region.contains(p)) result.add(entry.item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns distinct items whose regions intersect another, in no particular order.
+     *
+     * @param region an area to search, or null for everything
+     */
+    public List<T> getIntersecting(Rectangle region) {
+        Map<T, Boolean> found = new IdentityHashMap<T, Boolean>();
+
+        if (region == null) {
+            for (List<Entry<T>> cell : cellMap.values()) {
+                for (Entry<T> entry : cell) {
+                    found.put(entry.item, Boolean.TRUE);
+                }
+            }
+        } else if (!region.isEmpty()) {
+            for (int cy = toCell(region.y); cy <= toCell(region.y + region.height - 1); cy++) {
+                for (int cx = toCell(region.x); cx <= toCell(region.x + region.width - 1); cx++) {
+                    List<Entry<T>> cell = cellMap.get(cellKey(cx, cy));
+                    if (cell == null) continue;
+
+                    for (Entry<T> entry : cell) {
+                        if (entry.region.intersects(region)) found.put(entry.item, Boolean.TRUE);
+                    }
+                }
+            }
+        }
+
+        return new ArrayList<T>(found.keySet());
+    }
+
+    private static Rectangle toIndexedRect(Rectangle r) {
+        if (r.isEmpty()) return new Rectangle(r.x, r.y, 1, 1);  // Filed somewhere, but never hit.
+        return r;
+    }
+
+    /**
+     * Returns the cell containing a coordinate, rounding down for negatives.
+     */
+    private int toCell(int v) {
+        return (v >= 0 ? v / cellSize : -1 - (-1 - v) / cellSize);
+    }
+
+    private static Long cellKey(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+
+    private static class Entry<T> {
+        public final T item;
+        public final Rectangle region;
+
+        public Entry(T item, Rectangle region) {
+            this.item = item;
+            this.region = region;
+        }
+    }
+}
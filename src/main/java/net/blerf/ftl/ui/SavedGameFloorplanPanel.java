@@ -21,10 +21,10 @@ import java.awt.event.ItemListener;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
@@ -84,7 +84,10 @@ import net.blerf.ftl.ui.floorplan.DroneBodySprite;
 import net.blerf.ftl.ui.floorplan.DroneBoxSprite;
 import net.blerf.ftl.ui.floorplan.FireSprite;
 import net.blerf.ftl.ui.floorplan.FloorplanCoord;
+import net.blerf.ftl.ui.floorplan.FloorplanRenderer;
 import net.blerf.ftl.ui.floorplan.RoomSprite;
+import net.blerf.ftl.ui.floorplan.SceneLayer;
+import net.blerf.ftl.ui.floorplan.SceneSprite;
 import net.blerf.ftl.ui.floorplan.ShipBundle;
 import net.blerf.ftl.ui.floorplan.ShipInteriorComponent;
 import net.blerf.ftl.ui.floorplan.SystemRoomSprite;
@@ -151,13 +154,15 @@ public class SavedGameFloorplanPanel extends JPanel {
     private ShipBundle nearbyBundle = null;
 
     private final DefaultSpriteImageProvider spriteImageProvider = new DefaultSpriteImageProvider();
-    private final Map<String, Map<Rectangle, BufferedImage>> cachedImages = new HashMap<>();
+    private final ImageCache cachedImages = ImageCache.get();
 
     private JLayeredPane shipPanel = null;
     private StatusViewport shipViewport = null;
     private JPanel sidePanel = null;
     private JScrollPane sideScroll = null;
 
+    private SceneLayer breachLayer = null;
+    private SceneLayer fireLayer = null;
     private SpriteSelector defaultSelector = null;
     private SpriteSelector miscSelector = null;
     private SquareSelector<FloorplanCoord> squareSelector = null;
@@ -176,6 +181,14 @@ public class SavedGameFloorplanPanel extends JPanel {
         sidePanel.setLayout(new BoxLayout(sidePanel, BoxLayout.Y_AXIS));
         sidePanel.setBorder(BorderFactory.createEmptyBorder(4, 4, 4, 6));
 
+        breachLayer = new SceneLayer();
+        breachLayer.setBounds(0, 0, 50, 50);
+        shipPanel.add(breachLayer, BREACH_LAYER);
+
+        fireLayer = new SceneLayer();
+        fireLayer.setBounds(0, 0, 50, 50);
+        shipPanel.add(fireLayer, FIRE_LAYER);
+
         defaultSelector = new SpriteSelector();
         defaultSelector.setOpaque(false);
         defaultSelector.setBounds(0, 0, 50, 50);
@@ -500,10 +513,9 @@ public class SavedGameFloorplanPanel extends JPanel {
                     for (SpriteReference<RoomState> roomRef : playerBundle.getRoomRefs()) {
                         if (roomRef.get().getOxygen() != 100) {
                             roomRef.get().setOxygen(100);
-                            roomRef.fireReferenceChange();
+                            roomRef.fireReferenceChange();  // The sprite repaints itself.
                         }
                     }
-                    shipViewport.repaint();
                 } else if (source == resetSystemsBtn) {
                     clearSidePanel();
                     for (SpriteReference<SystemState> systemRef : playerBundle.getSystemRefs()) {
@@ -515,36 +527,32 @@ public class SavedGameFloorplanPanel extends JPanel {
                         systemRef.get().setTemporaryCapacityCap(1000);
                         systemRef.get().setTemporaryCapacityLoss(0);
                         systemRef.get().setTemporaryCapacityDivisor(1);
-                        systemRef.fireReferenceChange();
+                        systemRef.fireReferenceChange();  // The sprite repaints itself.
                     }
-                    shipViewport.repaint();
                 } else if (source == resetIntrudersBtn) {
                     clearSidePanel();
+                    Rectangle dirtyRect = null;
                     for (ListIterator<SpriteReference<CrewState>> it = playerBundle.getCrewRefs().listIterator(); it.hasNext(); ) {
                         SpriteReference<CrewState> crewRef = it.next();
 
                         if (!crewRef.get().isPlayerControlled()) {
                             CrewSprite crewSprite = crewRef.getSprite(CrewSprite.class);
+                            dirtyRect = (dirtyRect != null ? dirtyRect.union(crewSprite.getBounds()) : crewSprite.getBounds());
                             shipPanel.remove(crewSprite);
                             playerBundle.getCrewSprites().remove(crewSprite);
                             it.remove();
                         }
                     }
-                    shipViewport.repaint();
+                    miscSelector.invalidateIndex();
+                    if (dirtyRect != null) shipPanel.repaint(dirtyRect);
                 } else if (source == resetBreachesBtn) {
                     clearSidePanel();
-                    for (BreachSprite breachSprite : playerBundle.getBreachSprites()) {
-                        shipPanel.remove(breachSprite);
-                    }
+                    breachLayer.removeSprites(playerBundle.getBreachSprites());
                     playerBundle.getBreachSprites().clear();
-                    shipViewport.repaint();
                 } else if (source == resetFiresBtn) {
                     clearSidePanel();
-                    for (FireSprite fireSprite : playerBundle.getFireSprites()) {
-                        shipPanel.remove(fireSprite);
-                    }
+                    fireLayer.removeSprites(playerBundle.getFireSprites());
                     playerBundle.getFireSprites().clear();
-                    shipViewport.repaint();
                 } else if (source == otherGeneralBtn) {
                     selectGeneral();
                 } else if (source == otherAugmentsBtn) {
@@ -712,35 +720,72 @@ public class SavedGameFloorplanPanel extends JPanel {
             }
         }
 
+        // Hull and floor images are large, so they're decoded in the background.
+        // The labels stay empty until then; nothing else depends on them.
+
         // Hull.
-        JLabel baseLbl = new JLabel();
+        final JLabel baseLbl = new JLabel();
         baseLbl.setOpaque(false);
         baseLbl.setSize(shipChassis.getImageBounds().w, shipChassis.getImageBounds().h);
         baseLbl.setLocation(shipBundle.getLayoutX() + shipChassis.getImageBounds().x, shipBundle.getLayoutY() + shipChassis.getImageBounds().y);
         shipPanel.add(baseLbl, BASE_LAYER);
 
-        BufferedImage baseImage = spriteImageProvider.getShipBaseImage(shipGfxBaseName, shipChassis.getImageBounds().w, shipChassis.getImageBounds().h);
-        baseLbl.setIcon(new ImageIcon(baseImage));
+        final String baseGfxName = shipGfxBaseName;
+        final int baseW = shipChassis.getImageBounds().w;
+        final int baseH = shipChassis.getImageBounds().h;
+        final Object baseKey = ImageCache.key("shipBase", baseGfxName, baseW, baseH);
+        AsyncImageLoader.get().load(baseKey, new Callable<BufferedImage>() {
+            @Override
+            public BufferedImage call() {
+                BufferedImage result = cachedImages.get(baseKey);
+                if (result == null) {
+                    result = spriteImageProvider.getShipBaseImage(baseGfxName, baseW, baseH);
+                    cachedImages.put(baseKey, result);
+                }
+                return result;
+            }
+        }, new AsyncImageLoader.Callback<BufferedImage>() {
+            @Override
+            public void loaded(BufferedImage baseImage) {
+                baseLbl.setIcon(new ImageIcon(baseImage));
+                baseLbl.repaint();
+            }
+        });
         shipBundle.setBaseLbl(baseLbl);
 
         // Floor.
-        JLabel floorLbl = new JLabel();
+        final JLabel floorLbl = new JLabel();
         floorLbl.setOpaque(false);
         floorLbl.setLocation(shipBundle.getLayoutX() + shipChassis.getImageBounds().x, shipBundle.getLayoutY() + shipChassis.getImageBounds().y);
+        if (shipChassis.getOffsets() != null) {
+            Offset floorOffset = shipChassis.getOffsets().floorOffset;
+            if (floorOffset != null) {
+                floorLbl.setLocation(shipBundle.getLayoutX() + shipChassis.getImageBounds().x + floorOffset.x, shipBundle.getLayoutY() + shipChassis.getImageBounds().y + floorOffset.y);
+            }
+        }
         shipPanel.add(floorLbl, FLOOR_LAYER);
 
-        BufferedImage floorImage = spriteImageProvider.getShipFloorImage(shipGfxBaseName);
-        if (floorImage != null) {
-            floorLbl.setIcon(new ImageIcon(floorImage));
-            floorLbl.setSize(floorImage.getWidth(), floorImage.getHeight());
-
-            if (shipChassis.getOffsets() != null) {
-                Offset floorOffset = shipChassis.getOffsets().floorOffset;
-                if (floorOffset != null) {
-                    floorLbl.setLocation(shipBundle.getLayoutX() + shipChassis.getImageBounds().x + floorOffset.x, shipBundle.getLayoutY() + shipChassis.getImageBounds().y + floorOffset.y);
+        final Object floorKey = ImageCache.key("shipFloor", baseGfxName);
+        AsyncImageLoader.get().load(floorKey, new Callable<BufferedImage>() {
+            @Override
+            public BufferedImage call() {
+                BufferedImage result = cachedImages.get(floorKey);
+                if (result == null) {
+                    result = spriteImageProvider.getShipFloorImage(baseGfxName);
+                    if (result != null) cachedImages.put(floorKey, result);
                 }
+                return result;
             }
-        }
+        }, new AsyncImageLoader.Callback<BufferedImage>() {
+            @Override
+            public void loaded(BufferedImage floorImage) {
+                if (floorImage == null) return;
+
+                floorLbl.setIcon(new ImageIcon(floorImage));
+                floorLbl.setSize(floorImage.getWidth(), floorImage.getHeight());
+                floorLbl.repaint();
+            }
+        });
         shipBundle.setFloorLbl(floorLbl);
 
         // Floor cracks, decor, and walls.
@@ -756,16 +801,7 @@ public class SavedGameFloorplanPanel extends JPanel {
             int squaresH = layoutRoom.squaresH;
             int squaresV = layoutRoom.squaresV;
 
-            String decorName = systemRoom.getImg();
-
-            // TODO: Looks like when medbay omits img, it's "room_medbay.png".
-
-            if (decorName == null) {
-                if (systemRoom == shipBlueprint.getSystemList().getTeleporterRoom()) {
-                    decorName = "teleporter_off";  // Draw a teleporter pad on each square.
-                }
-            }
-
+            String decorName = FloorplanRenderer.getRoomDecorName(shipBlueprint, systemRoom);
             if (decorName != null) {
                 BufferedImage decorImage = spriteImageProvider.getRoomDecorImage(decorName, squaresH, squaresV);
 
@@ -1020,12 +1056,8 @@ public class SavedGameFloorplanPanel extends JPanel {
             for (SystemRoomSprite systemRoomSprite : bundle.getSystemRoomSprites()) {
                 shipPanel.remove(systemRoomSprite);
             }
-            for (BreachSprite breachSprite : bundle.getBreachSprites()) {
-                shipPanel.remove(breachSprite);
-            }
-            for (FireSprite fireSprite : bundle.getFireSprites()) {
-                shipPanel.remove(fireSprite);
-            }
+            breachLayer.removeSprites(bundle.getBreachSprites());
+            fireLayer.removeSprites(bundle.getFireSprites());
             for (DoorSprite doorSprite : bundle.getDoorSprites()) {
                 shipPanel.remove(doorSprite);
             }
@@ -1042,7 +1074,7 @@ public class SavedGameFloorplanPanel extends JPanel {
         if (gameState == null) {
             fitViewToViewport();
             shipPanel.revalidate();
-            shipViewport.repaint();
+            shipViewport.repaint();  // Every sprite was removed.
             return;
         }
 
@@ -1106,6 +1138,10 @@ public class SavedGameFloorplanPanel extends JPanel {
             }
         }
 
+        // Crops are cached, so the sheets they came from can go.
+        spriteImageProvider.releaseSheets();
+        log.debug("Image cache: {}", ImageCache.get());
+
         fitViewToViewport();
 
         for (ShipBundle bundle : shipBundles) {
@@ -1116,7 +1152,7 @@ public class SavedGameFloorplanPanel extends JPanel {
         defaultSelector.setVisible(true);
 
         shipPanel.revalidate();
-        shipViewport.repaint();
+        shipViewport.repaint();  // Every sprite is new.
 
         SwingUtilities.invokeLater(new Runnable() {
             @Override
@@ -1280,10 +1316,16 @@ public class SavedGameFloorplanPanel extends JPanel {
         int neededWidth = 0, neededHaight = 0;
         for (Component c : shipPanel.getComponents()) {
             if (c == defaultSelector || c == miscSelector || c == squareSelector) continue;
+            if (c == breachLayer || c == fireLayer) continue;
 
             neededWidth = Math.max(c.getX() + c.getWidth(), neededWidth);
             neededHaight = Math.max(c.getY() + c.getHeight(), neededHaight);
         }
+        for (SceneLayer layer : new SceneLayer[] {breachLayer, fireLayer}) {
+            Rectangle contentBounds = layer.getContentBounds();
+            neededWidth = Math.max(contentBounds.x + contentBounds.width, neededWidth);
+            neededHaight = Math.max(contentBounds.y + contentBounds.height, neededHaight);
+        }
 
         Dimension viewExtents = shipViewport.getExtentSize();
         // Possibly account for scrollbar thickness?
@@ -1292,6 +1334,8 @@ public class SavedGameFloorplanPanel extends JPanel {
         int desiredHeight = Math.max(viewExtents.height, neededHaight);
         shipPanel.setPreferredSize(new Dimension(desiredWidth, desiredHeight));
 
+        breachLayer.setSize(desiredWidth, desiredHeight);
+        fireLayer.setSize(desiredWidth, desiredHeight);
         defaultSelector.setSize(desiredWidth, desiredHeight);
         miscSelector.setSize(desiredWidth, desiredHeight);
         squareSelector.setSize(desiredWidth, desiredHeight);
@@ -1440,14 +1484,7 @@ public class SavedGameFloorplanPanel extends JPanel {
             @Override
             public boolean isSquareValid(SquareSelector squareSelector, FloorplanCoord squareCoord) {
                 if (squareCoord == null) return false;
-                ShipBundle shipBundle = shipBundles.get(squareCoord.bundleId);
-
-                for (BreachSprite breachSprite : shipBundle.getBreachSprites()) {
-                    if (breachSprite.getRoomId() == squareCoord.roomId && breachSprite.getSquareId() == squareCoord.squareId) {
-                        return true;
-                    }
-                }
-                return false;
+                return (findBreachSprite(squareSelector.getSquareCenter(), squareCoord) != null);
             }
         });
         squareSelector.setCallback(new SquareSelectionCallback<FloorplanCoord>() {
@@ -1455,12 +1492,8 @@ public class SavedGameFloorplanPanel extends JPanel {
             public boolean squareSelected(SquareSelector squareSelector, FloorplanCoord squareCoord) {
                 ShipBundle shipBundle = shipBundles.get(squareCoord.bundleId);
 
-                for (BreachSprite breachSprite : shipBundle.getBreachSprites()) {
-                    if (breachSprite.getRoomId() == squareCoord.roomId && breachSprite.getSquareId() == squareCoord.squareId) {
-                        showBreachEditor(shipBundle, breachSprite);
-                        break;
-                    }
-                }
+                BreachSprite breachSprite = findBreachSprite(squareSelector.getSquareCenter(), squareCoord);
+                if (breachSprite != null) showBreachEditor(shipBundle, breachSprite);
                 return true;
             }
         });
@@ -1486,14 +1519,7 @@ public class SavedGameFloorplanPanel extends JPanel {
             @Override
             public boolean isSquareValid(SquareSelector squareSelector, FloorplanCoord squareCoord) {
                 if (squareCoord == null) return false;
-                ShipBundle shipBundle = shipBundles.get(squareCoord.bundleId);
-
-                for (FireSprite fireSprite : shipBundle.getFireSprites()) {
-                    if (fireSprite.getRoomId() == squareCoord.roomId && fireSprite.getSquareId() == squareCoord.squareId) {
-                        return true;
-                    }
-                }
-                return false;
+                return (findFireSprite(squareSelector.getSquareCenter(), squareCoord) != null);
             }
         });
         squareSelector.setCallback(new SquareSelectionCallback<FloorplanCoord>() {
@@ -1501,12 +1527,8 @@ public class SavedGameFloorplanPanel extends JPanel {
             public boolean squareSelected(SquareSelector squareSelector, FloorplanCoord squareCoord) {
                 ShipBundle shipBundle = shipBundles.get(squareCoord.bundleId);
 
-                for (FireSprite fireSprite : shipBundle.getFireSprites()) {
-                    if (fireSprite.getRoomId() == squareCoord.roomId && fireSprite.getSquareId() == squareCoord.squareId) {
-                        showFireEditor(shipBundle, fireSprite);
-                        break;
-                    }
-                }
+                FireSprite fireSprite = findFireSprite(squareSelector.getSquareCenter(), squareCoord);
+                if (fireSprite != null) showFireEditor(shipBundle, fireSprite);
                 return true;
             }
         });
@@ -1571,7 +1593,6 @@ public class SavedGameFloorplanPanel extends JPanel {
                 shipBundle.getCrewRefs().add(crewRef);
 
                 addCrewSprite(shipBundle, crewRef, center.x, center.y);
-                shipViewport.repaint();
                 return true;
             }
         });
@@ -1604,12 +1625,7 @@ public class SavedGameFloorplanPanel extends JPanel {
                     if (ras.roomId == squareCoord.roomId && ras.squareId == squareCoord.squareId) return false;
                 }
 
-                for (BreachSprite breachSprite : shipBundle.getBreachSprites()) {
-                    if (breachSprite.getRoomId() == squareCoord.roomId && breachSprite.getSquareId() == squareCoord.squareId) {
-                        return false;
-                    }
-                }
-                return true;
+                return (findBreachSprite(squareSelector.getSquareCenter(), squareCoord) == null);
             }
         });
         squareSelector.setCallback(new SquareSelectionCallback<FloorplanCoord>() {
@@ -1619,7 +1635,6 @@ public class SavedGameFloorplanPanel extends JPanel {
 
                 Point center = squareSelector.getSquareCenter();
                 addBreachSprite(shipBundle, center.x, center.y, squareCoord.roomId, squareCoord.squareId, 100);
-                shipViewport.repaint();
                 return true;
             }
         });
@@ -1652,12 +1667,7 @@ public class SavedGameFloorplanPanel extends JPanel {
                     if (ras.roomId == squareCoord.roomId && ras.squareId == squareCoord.squareId) return false;
                 }
 
-                for (FireSprite fireSprite : shipBundle.getFireSprites()) {
-                    if (fireSprite.getRoomId() == squareCoord.roomId && fireSprite.getSquareId() == squareCoord.squareId) {
-                        return false;
-                    }
-                }
-                return true;
+                return (findFireSprite(squareSelector.getSquareCenter(), squareCoord) == null);
             }
         });
         squareSelector.setCallback(new SquareSelectionCallback<FloorplanCoord>() {
@@ -1667,7 +1677,6 @@ public class SavedGameFloorplanPanel extends JPanel {
 
                 Point center = squareSelector.getSquareCenter();
                 addFireSprite(shipBundle, center.x, center.y, squareCoord.roomId, squareCoord.squareId, 100);
-                shipViewport.repaint();
                 return true;
             }
         });
@@ -1811,6 +1820,7 @@ public class SavedGameFloorplanPanel extends JPanel {
         droneBoxSprite.setLocation(centerX - droneBoxSprite.getPreferredSize().width / 2, centerY - droneBoxSprite.getPreferredSize().height / 2);
         shipBundle.getDroneBoxSprites().add(droneBoxSprite);
         shipPanel.add(droneBoxSprite, DRONE_LAYER);
+        defaultSelector.invalidateIndex();
 
         if (droneRef.get() != null) {
             DroneBlueprint droneBlueprint = DataManager.get().getDrone(droneRef.get().getDroneId());
@@ -1846,6 +1856,7 @@ public class SavedGameFloorplanPanel extends JPanel {
         }
         shipBundle.getWeaponSprites().add(weaponSprite);
         shipPanel.add(weaponSprite, WEAPON_LAYER);
+        defaultSelector.invalidateIndex();
     }
 
     private void addDoorSprite(ShipBundle shipBundle, SpriteReference<DoorState> doorRef, int centerX, int centerY, int level, DoorCoordinate doorCoord) {
@@ -1856,6 +1867,7 @@ public class SavedGameFloorplanPanel extends JPanel {
         doorSprite.setLocation(centerX - doorSprite.getPreferredSize().width / 2, centerY - doorSprite.getPreferredSize().height / 2);
         shipBundle.getDoorSprites().add(doorSprite);
         shipPanel.add(doorSprite, DOOR_LAYER);
+        defaultSelector.invalidateIndex();
     }
 
     private void addSystemRoomSprite(ShipBundle shipBundle, SpriteReference<SystemState> systemRef, int centerX, int centerY) {
@@ -1866,6 +1878,45 @@ public class SavedGameFloorplanPanel extends JPanel {
         systemRoomSprite.setLocation(centerX - systemRoomSprite.getPreferredSize().width / 2, centerY - systemRoomSprite.getPreferredSize().height / 2);
         shipBundle.getSystemRoomSprites().add(systemRoomSprite);
         shipPanel.add(systemRoomSprite, SYSTEM_LAYER);
+        miscSelector.invalidateIndex();
+    }
+
+    /**
+     * Returns the breach on a square, or null.
+     * <p>
+     * The layer's index only offers sprites overlapping the square's
+     * center, so this doesn't scan every breach aboard.
+     *
+     * @param center the square's center, in shipPanel coordinates
+     */
+    private BreachSprite findBreachSprite(Point center, FloorplanCoord squareCoord) {
+        if (center == null) return null;
+
+        for (SceneSprite sprite : breachLayer.getSpritesAt(center)) {
+            BreachSprite breachSprite = (BreachSprite) sprite;
+            if (breachSprite.getRoomId() == squareCoord.roomId && breachSprite.getSquareId() == squareCoord.squareId) {
+                return breachSprite;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the fire on a square, or null.
+     *
+     * @param center the square's center, in shipPanel coordinates
+     * @see #findBreachSprite(Point, FloorplanCoord)
+     */
+    private FireSprite findFireSprite(Point center, FloorplanCoord squareCoord) {
+        if (center == null) return null;
+
+        for (SceneSprite sprite : fireLayer.getSpritesAt(center)) {
+            FireSprite fireSprite = (FireSprite) sprite;
+            if (fireSprite.getRoomId() == squareCoord.roomId && fireSprite.getSquareId() == squareCoord.squareId) {
+                return fireSprite;
+            }
+        }
+        return null;
     }
 
     private void addBreachSprite(ShipBundle shipBundle, int centerX, int centerY, int roomId, int squareId, int health) {
@@ -1875,7 +1926,7 @@ public class SavedGameFloorplanPanel extends JPanel {
         breachSprite.setSize(breachSprite.getPreferredSize());
         breachSprite.setLocation(centerX - breachSprite.getPreferredSize().width / 2, centerY - breachSprite.getPreferredSize().height / 2);
         shipBundle.getBreachSprites().add(breachSprite);
-        shipPanel.add(breachSprite, BREACH_LAYER);
+        breachLayer.addSprite(breachSprite);
     }
 
     private void addFireSprite(ShipBundle shipBundle, int centerX, int centerY, int roomId, int squareId, int health) {
@@ -1885,7 +1936,7 @@ public class SavedGameFloorplanPanel extends JPanel {
         fireSprite.setSize(fireSprite.getPreferredSize());
         fireSprite.setLocation(centerX - fireSprite.getPreferredSize().width / 2, centerY - fireSprite.getPreferredSize().height / 2);
         shipBundle.getFireSprites().add(fireSprite);
-        shipPanel.add(fireSprite, FIRE_LAYER);
+        fireLayer.addSprite(fireSprite);
     }
 
     private void addCrewSprite(ShipBundle shipBundle, SpriteReference<CrewState> crewRef, int centerX, int centerY) {
@@ -1894,6 +1945,8 @@ public class SavedGameFloorplanPanel extends JPanel {
         crewSprite.setLocation(centerX - crewSprite.getPreferredSize().width / 2, centerY - crewSprite.getPreferredSize().height / 2);
         shipBundle.getCrewSprites().add(crewSprite);
         shipPanel.add(crewSprite, CREW_LAYER);
+        crewSprite.repaint();
+        miscSelector.invalidateIndex();
     }
 
     /**
@@ -3279,7 +3332,7 @@ public class SavedGameFloorplanPanel extends JPanel {
             public void actionPerformed(ActionEvent e) {
                 clearSidePanel();
                 shipBundle.getBreachSprites().remove(breachSprite);
-                shipPanel.remove(breachSprite);
+                breachLayer.removeSprite(breachSprite);
             }
         });
 
@@ -3317,7 +3370,7 @@ public class SavedGameFloorplanPanel extends JPanel {
             public void actionPerformed(ActionEvent e) {
                 clearSidePanel();
                 shipBundle.getFireSprites().remove(fireSprite);
-                shipPanel.remove(fireSprite);
+                fireLayer.removeSprite(fireSprite);
             }
         });
 
@@ -3814,8 +3867,10 @@ public class SavedGameFloorplanPanel extends JPanel {
                 CrewSprite crewSprite = crewRef.getSprite(CrewSprite.class);
 
                 shipPanel.remove(crewSprite);
+                shipPanel.repaint(crewSprite.getBounds());
                 shipBundle.getCrewSprites().remove(crewSprite);
                 shipBundle.getCrewRefs().remove(crewRef);
+                miscSelector.invalidateIndex();
             }
         });
 
@@ -17,6 +17,7 @@ import javax.swing.JPanel;
 import net.blerf.ftl.model.state.SavedGameState;
 import net.blerf.ftl.model.state.ShipState;
 import net.blerf.ftl.parser.DataManager;
+import net.blerf.ftl.parser.SavedGameIndex.Span;
 import net.blerf.ftl.xml.ship.ShipBlueprint;
 
 
@@ -160,7 +161,7 @@ public class SavedGameHangarPanel extends JPanel {
         gameState.setPlayerShipName(gameState.getPlayerShip().getShipName());
         gameState.setPlayerShipBlueprintId(gameState.getPlayerShip().getShipBlueprintId());
 
-        frame.loadGameState(gameState);
+        frame.refreshGameState(gameState);
     }
 
     private void stealNearbyShip() {
@@ -192,6 +193,7 @@ public class SavedGameHangarPanel extends JPanel {
         gameState.setPlayerShip(shipState);
 
         gameState.getProjectileList().clear();
+        gameState.markChanged(Span.PROJECTILES);
 
         if (gameState.isRebelFlagshipNearby()) {
             // Stole the flagship!? Have the enemy approach this beacon again.
@@ -208,7 +210,7 @@ public class SavedGameHangarPanel extends JPanel {
         gameState.setPlayerShipName(gameState.getPlayerShip().getShipName());
         gameState.setPlayerShipBlueprintId(gameState.getPlayerShip().getShipBlueprintId());
 
-        frame.loadGameState(gameState);
+        frame.refreshGameState(gameState);
     }
 
 
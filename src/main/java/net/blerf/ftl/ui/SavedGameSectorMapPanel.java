@@ -13,7 +13,6 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.awt.Point;
-import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -26,7 +25,6 @@ import java.awt.geom.Ellipse2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -71,6 +69,7 @@ import net.blerf.ftl.parser.random.MsRandom;
 import net.blerf.ftl.parser.random.NativeRandom;
 import net.blerf.ftl.parser.random.RandRNG;
 import net.blerf.ftl.parser.sectormap.GeneratedBeacon;
+import net.blerf.ftl.parser.sectormap.GeneratedEvent;
 import net.blerf.ftl.parser.sectormap.GeneratedSectorMap;
 import net.blerf.ftl.parser.sectormap.GridSectorMapGenerator;
 import net.blerf.ftl.parser.sectormap.RandomSectorMapGenerator;
@@ -111,7 +110,7 @@ public class SavedGameSectorMapPanel extends JPanel {
     private final List<QuestSprite> questSprites = new ArrayList<QuestSprite>();
     private final List<PlayerShipSprite> playerShipSprites = new ArrayList<PlayerShipSprite>();
 
-    private final Map<String, Map<Rectangle, BufferedImage>> cachedImages = new HashMap<String, Map<Rectangle, BufferedImage>>();
+    private final ImageCache cachedImages = ImageCache.get();
 
     private final Random javaRandom = new Random();
     private int fileFormat = 2;
@@ -396,6 +395,7 @@ public class SavedGameSectorMapPanel extends JPanel {
         storeSprites.clear();
         questSprites.clear();
         playerShipSprites.clear();
+        miscSelector.invalidateIndex();
 
         beaconRefs.clear();
 
@@ -426,8 +426,7 @@ public class SavedGameSectorMapPanel extends JPanel {
 
         sectorLayoutSeed = gameState.getSectorLayoutSeed();
 
-        GridSectorMapGenerator gridMapGen = new GridSectorMapGenerator();
-        GeneratedSectorMap newGenMap = gridMapGen.generateSectorMap(GRID_GEN_COLS, GRID_GEN_ROWS, GRID_GEN_COL_W, GRID_GEN_ROW_H);
+        GeneratedSectorMap newGenMap = createGridSectorMap();
 
         List<GeneratedBeacon> genBeacons = newGenMap.getGeneratedBeaconList();
         List<Point> newLocations = new ArrayList<Point>(genBeacons.size());
@@ -480,6 +479,7 @@ public class SavedGameSectorMapPanel extends JPanel {
         playerShipC.setBeaconId(gameState.getCurrentBeaconId());
         playerShipSprites.add(playerShipSprite);
         mapPanel.add(playerShipSprite, playerShipC);
+        miscSelector.invalidateIndex();
 
         // General.
         rebelFleetOffset = gameState.getRebelFleetOffset();
@@ -569,6 +569,7 @@ public class SavedGameSectorMapPanel extends JPanel {
         storeSprites.clear();
         questSprites.clear();
         playerShipSprites.clear();
+        miscSelector.invalidateIndex();
 
         beaconRefs.clear();
 
@@ -600,6 +601,7 @@ public class SavedGameSectorMapPanel extends JPanel {
         playerShipC.setBeaconId(0);  // TODO: Magic number.
         playerShipSprites.add(playerShipSprite);
         mapPanel.add(playerShipSprite, playerShipC);
+        miscSelector.invalidateIndex();
 
         mapPanel.revalidate();
         fitViewToViewport();
@@ -804,6 +806,7 @@ public class SavedGameSectorMapPanel extends JPanel {
                         storeC.setBeaconId(beaconId);
                         storeSprites.add(storeSprite);
                         mapPanel.add(storeSprite, storeC);
+                        miscSelector.invalidateIndex();
 
                         mapPanel.revalidate();
                         mapViewport.repaint();
@@ -851,6 +854,7 @@ public class SavedGameSectorMapPanel extends JPanel {
                         questC.setBeaconId(beaconId);
                         questSprites.add(questSprite);
                         mapPanel.add(questSprite, questC);
+                        miscSelector.invalidateIndex();
 
                         mapPanel.revalidate();
                         mapViewport.repaint();
@@ -1129,7 +1133,7 @@ public class SavedGameSectorMapPanel extends JPanel {
 
                     for (GeneratedBeacon genBeacon : genBeacons) {
                         newLocations.add(genBeacon.getLocation());
-                        FTLEvent e = genBeacon.getEvent();
+                        GeneratedEvent e = genBeacon.getEvent();
                         if (e != null)
                             newDescriptions.add(e.toDescription(0));
                         else
@@ -1981,6 +1985,7 @@ public class SavedGameSectorMapPanel extends JPanel {
                 clearSidePanel();
                 storeSprites.remove(storeSprite);
                 mapPanel.remove(storeSprite);
+                miscSelector.invalidateIndex();
                 beaconRef.get().setStore(null);
 
                 beaconRef.fireReferenceChange();
@@ -2104,6 +2109,7 @@ public class SavedGameSectorMapPanel extends JPanel {
                 clearSidePanel();
                 questSprites.remove(questSprite);
                 mapPanel.remove(questSprite);
+                miscSelector.invalidateIndex();
             }
         });
 
@@ -2135,22 +2141,34 @@ public class SavedGameSectorMapPanel extends JPanel {
      */
     public static class MapBoxComponent extends JComponent {
 
-        private final Font titleFont = new Font(Font.SANS_SERIF, Font.BOLD, 8);
-        private final Insets boxMargin = new Insets(6, 12, 12, 8);
-        private final Insets boxPadding = new Insets(2, 3, 2, 3);
-        private final int boxThickness = 2;
-        private final int reticleInner = 0;  // Stroke extends inward already.
-        private final int reticleOuter = 2;
-        private final BasicStroke boxStroke = new BasicStroke(boxThickness);
+        private static final Font titleFont = new Font(Font.SANS_SERIF, Font.BOLD, 8);
+        private static final Insets boxMargin = new Insets(6, 12, 12, 8);
+        private static final Insets boxPadding = new Insets(2, 3, 2, 3);
+        private static final int boxThickness = 2;
+        private static final int reticleInner = 0;  // Stroke extends inward already.
+        private static final int reticleOuter = 2;
+        private static final BasicStroke boxStroke = new BasicStroke(boxThickness);
+
+        public static final Color DEFAULT_FOREGROUND = new Color(234, 245, 229);
+        public static final Color DEFAULT_BACKGROUND = new Color(40, 81, 84);
 
         private final String title;
 
 
         public MapBoxComponent(String title) {
             this.title = title;
-            this.setForeground(new Color(234, 245, 229));
-            this.setBackground(new Color(40, 81, 84));
+            this.setForeground(DEFAULT_FOREGROUND);
+            this.setBackground(DEFAULT_BACKGROUND);
+            this.setPreferredSize(getBoxSize(title));
 
+            // Converting text to a shape is more accurate than FontMetrics estimates.
+            //   https://stackoverflow.com/a/26955266
+        }
+
+        /**
+         * Returns the size needed to draw a box around a title.
+         */
+        public static Dimension getBoxSize(String title) {
             BufferedImage dummyImage = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
             Graphics2D g2d = dummyImage.createGraphics();
             try {
@@ -2168,26 +2186,32 @@ public class SavedGameSectorMapPanel extends JPanel {
 
                 int preferredWidth = boxMargin.left + boxWidth + boxMargin.right + reticleOuter;
                 int preferredHeight = boxMargin.top + boxHeight + boxMargin.bottom + reticleOuter;
-                this.setPreferredSize(new Dimension(preferredWidth, preferredHeight));
+                return new Dimension(preferredWidth, preferredHeight);
             } finally {
                 g2d.dispose();
             }
-
-            // Converting text to a shape is more accurate than FontMetrics estimates.
-            //   https://stackoverflow.com/a/26955266
         }
 
         @Override
         public void paintComponent(Graphics g) {
             super.paintComponent(g);
 
+            paintBox(g, title, this.getHeight(), this.getForeground(), this.getBackground());
+        }
+
+        /**
+         * Draws a box around a title, with its pointer at the bottom-left.
+         *
+         * @param height the height to fill, as from getBoxSize()
+         */
+        public static void paintBox(Graphics g, String title, int height, Color foreground, Color background) {
             // Painting on a copy means no need to undo changes afterward.
             Graphics2D g2d = (Graphics2D) g.create();
             try {
                 g2d.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
                 g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
                 g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_GASP);
-                g2d.setColor(this.getForeground());
+                g2d.setColor(foreground);
 
                 g2d.setFont(titleFont);
                 FontMetrics fm = g2d.getFontMetrics();
@@ -2195,18 +2219,18 @@ public class SavedGameSectorMapPanel extends JPanel {
                 int titleWidth = (int) titleBounds.getWidth();
                 int titleHeight = fm.getAscent();
                 int titleX = boxMargin.left + boxThickness + boxPadding.left;
-                int titleY = this.getHeight() - boxMargin.bottom - boxThickness - boxPadding.bottom;
+                int titleY = height - boxMargin.bottom - boxThickness - boxPadding.bottom;
                 // drawString()'s y it at the baseline.
 
                 int boxWidth = boxPadding.left + titleWidth + boxPadding.right + boxThickness * 2;
                 int boxHeight = boxPadding.top + titleHeight + boxPadding.bottom + boxThickness * 2;
                 int boxX = boxMargin.left;
-                int boxY = this.getHeight() - boxHeight - boxMargin.bottom;
+                int boxY = height - boxHeight - boxMargin.bottom;
 
-                g2d.setColor(this.getBackground());
+                g2d.setColor(background);
                 g2d.fillRect(boxX, boxY, boxWidth, boxHeight);
 
-                g2d.setColor(this.getForeground());
+                g2d.setColor(foreground);
                 g2d.drawString(title, titleX, titleY);
 
                 g2d.setStroke(boxStroke);
@@ -2305,13 +2329,7 @@ public class SavedGameSectorMapPanel extends JPanel {
 
         @Override
         public void referenceChanged() {
-            if (FleetPresence.REBEL.equals(beaconRef.get().getFleetPresence())) {
-                currentImage = ImageUtilities.getScaledImage("img/map/map_icon_warning.png", -1 * 32, -1 * 32, cachedImages);
-            } else if (beaconRef.get().getVisitCount() > 0) {
-                currentImage = ImageUtilities.getScaledImage("img/map/map_icon_diamond_blue.png", -1 * 32, -1 * 32, cachedImages);
-            } else {
-                currentImage = ImageUtilities.getScaledImage("img/map/map_icon_diamond_yellow.png", -1 * 32, -1 * 32, cachedImages);
-            }
+            currentImage = getBeaconImage(beaconRef.get(), cachedImages);
             this.setPreferredSize(new Dimension(currentImage.getWidth(), currentImage.getHeight()));
         }
 
@@ -2319,24 +2337,59 @@ public class SavedGameSectorMapPanel extends JPanel {
         public void paintComponent(Graphics g) {
             super.paintComponent(g);
 
-            Graphics2D g2d = (Graphics2D) g;
+            paintBeacon((Graphics2D) g, currentImage, beaconRef.get().isUnderAttack(), this.getWidth(), this.getHeight());
+        }
+    }
 
-            // If under attack, paint a 24x24 red (#AA2D1F) circle.
-            if (beaconRef.get().isUnderAttack()) {
-                g2d.setColor(new Color(170, 45, 31));
-                int diameter = 24;
-                g2d.fill(new Ellipse2D.Double(this.getWidth() / 2 - diameter / 2, this.getHeight() / 2 - diameter / 2, diameter, diameter));
-            }
-            g2d.drawImage(currentImage, 0, 0, this.getWidth(), this.getHeight(), this);
+
+    /**
+     * Returns an evenly spaced map, for when the real layout isn't known.
+     */
+    static GeneratedSectorMap createGridSectorMap() {
+        GridSectorMapGenerator gridMapGen = new GridSectorMapGenerator();
+        return gridMapGen.generateSectorMap(GRID_GEN_COLS, GRID_GEN_ROWS, GRID_GEN_COL_W, GRID_GEN_ROW_H);
+    }
+
+    /**
+     * Returns a beacon's icon: a warning if rebels are there, or a diamond,
+     * blue if visited and yellow otherwise.
+     */
+    static BufferedImage getBeaconImage(BeaconState beaconState, ImageCache cachedImages) {
+        if (FleetPresence.REBEL.equals(beaconState.getFleetPresence())) {
+            return ImageUtilities.getScaledImage("img/map/map_icon_warning.png", -1 * 32, -1 * 32, cachedImages);
+        } else if (beaconState.getVisitCount() > 0) {
+            return ImageUtilities.getScaledImage("img/map/map_icon_diamond_blue.png", -1 * 32, -1 * 32, cachedImages);
+        } else {
+            return ImageUtilities.getScaledImage("img/map/map_icon_diamond_yellow.png", -1 * 32, -1 * 32, cachedImages);
         }
     }
 
+    /**
+     * Draws a beacon's icon, atop a red circle if it's under attack.
+     */
+    static void paintBeacon(Graphics2D g2d, BufferedImage beaconImage, boolean underAttack, int w, int h) {
+        // If under attack, paint a 24x24 red (#AA2D1F) circle.
+        if (underAttack) {
+            g2d.setColor(new Color(170, 45, 31));
+            int diameter = 24;
+            g2d.fill(new Ellipse2D.Double(w / 2 - diameter / 2, h / 2 - diameter / 2, diameter, diameter));
+        }
+        g2d.drawImage(beaconImage, 0, 0, w, h, null);
+    }
+
+    /**
+     * Returns the player ship's map icon.
+     */
+    static BufferedImage getPlayerShipImage(ImageCache cachedImages) {
+        return ImageUtilities.getScaledImage("img/map/map_icon_ship.png", -1 * 64, -1 * 64, cachedImages);
+    }
+
 
     public class PlayerShipSprite extends JComponent {
         private BufferedImage currentImage = null;
 
         public PlayerShipSprite() {
-            currentImage = ImageUtilities.getScaledImage("img/map/map_icon_ship.png", -1 * 64, -1 * 64, cachedImages);
+            currentImage = getPlayerShipImage(cachedImages);
             this.setPreferredSize(new Dimension(currentImage.getWidth(), currentImage.getHeight()));
         }
 
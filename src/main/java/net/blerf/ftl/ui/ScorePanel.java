@@ -4,7 +4,6 @@ import java.awt.BorderLayout;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
-import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.image.BufferedImage;
@@ -34,7 +33,7 @@ public class ScorePanel extends JPanel {
     private static final String DLC_ENABLED = "DLC Enabled";
     private static final String REMOVE = "Remove";
 
-    private Map<String, Map<Rectangle, BufferedImage>> cachedImages = null;
+    private ImageCache cachedImages = null;
     private boolean blank = true;
     private boolean shipIdEditingEnabled = true;
     private boolean blankable = false;
@@ -482,10 +481,8 @@ public class ScorePanel extends JPanel {
 
     /**
      * Sets a shared cache to use.
-     * <p>
-     * The cache maps innerPath to (0,0,maxW,0)/(0,0,0,maxH) rects to images.
      */
-    public void setCacheMap(Map<String, Map<Rectangle, BufferedImage>> cachedImages) {
+    public void setCacheMap(ImageCache cachedImages) {
         this.cachedImages = cachedImages;
     }
 }
@@ -155,6 +155,33 @@ public class SectorMapLayout implements LayoutManager2 {
     public void invalidateLayout(Container target) {
     }
 
+    /**
+     * Returns where a beacon should be centered, margin included.
+     * <p>
+     * Beacons beyond the known locations overflow into a column on the
+     * right.
+     *
+     * @param beaconId    the nth beacon
+     * @param beaconCount the total number of beacons
+     */
+    public Point getBeaconCenter(int beaconId, int beaconCount) {
+        int beaconLocX;
+        int beaconLocY;
+
+        if (beaconId < beaconLocationList.size()) {
+            Point beaconLoc = beaconLocationList.get(beaconId);
+            beaconLocX = beaconLoc.x;
+            beaconLocY = beaconLoc.y;
+        } else {
+            int overflowCellW = 50;
+            int overflowCellH = beaconZoneH / (beaconCount - beaconLocationList.size());
+            beaconLocX = beaconZoneW - overflowCellW / 2;
+            beaconLocY = (beaconId - beaconLocationList.size()) * overflowCellH + overflowCellH / 2;
+        }
+
+        return new Point(margin.left + beaconLocX, margin.top + beaconLocY);
+    }
+
     @Override
     public void layoutContainer(Container parent) {
         if (bgComp != null) {
@@ -167,22 +194,9 @@ public class SectorMapLayout implements LayoutManager2 {
         for (int b = 0; b < beaconList.size(); b++) {
             Component comp = beaconList.get(b);
 
-            int beaconLocX;
-            int beaconLocY;
-
-            if (b < beaconLocationList.size()) {
-                Point beaconLoc = beaconLocationList.get(b);
-                beaconLocX = beaconLoc.x;
-                beaconLocY = beaconLoc.y;
-            } else {
-                int overflowCellW = 50;
-                int overflowCellH = beaconZoneH / (beaconList.size() - beaconLocationList.size());
-                beaconLocX = beaconZoneW - overflowCellW / 2;
-                beaconLocY = (b - beaconLocationList.size()) * overflowCellH + overflowCellH / 2;
-            }
-
-            int beaconX = margin.left + beaconLocX - comp.getPreferredSize().width / 2;
-            int beaconY = margin.top + beaconLocY - comp.getPreferredSize().height / 2;
+            Point beaconCenter = getBeaconCenter(b, beaconList.size());
+            int beaconX = beaconCenter.x - comp.getPreferredSize().width / 2;
+            int beaconY = beaconCenter.y - comp.getPreferredSize().height / 2;
             comp.setSize(comp.getPreferredSize());
             comp.setLocation(beaconX, beaconY);
         }
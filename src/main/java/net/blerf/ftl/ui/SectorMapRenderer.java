@@ -0,0 +1,176 @@
+package net.blerf.ftl.ui;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import net.blerf.ftl.model.state.BeaconState;
+import net.blerf.ftl.model.state.SavedGameState;
+import net.blerf.ftl.parser.sectormap.GeneratedBeacon;
+import net.blerf.ftl.parser.sectormap.GeneratedSectorMap;
+import net.blerf.ftl.ui.SavedGameSectorMapPanel.MapBoxComponent;
+
+
+/**
+ * Draws a sector map into an image, without creating components.
+ * <p>
+ * Beacons are placed by the same SectorMapLayout that
+ * SavedGameSectorMapPanel uses, and drawn the same way, with store and
+ * quest boxes and the player ship.
+ * <p>
+ * Renderers are safe to share across threads. Icons come from the shared
+ * ImageCache. This works in headless mode.
+ *
+ * @see net.blerf.ftl.ui.floorplan.FloorplanRenderer
+ */
+public class SectorMapRenderer {
+
+    private static final String STORE_TITLE = "STORE";
+    private static final String QUEST_TITLE = "QUEST";
+
+    private final ImageCache cachedImages = ImageCache.get();
+
+
+    public SectorMapRenderer() {
+    }
+
+    /**
+     * Draws a saved game's sector map.
+     * <p>
+     * As in the editor, beacons are laid out on a grid, since the real
+     * layout would need the sector's generator.
+     *
+     * @param scale a factor to resize the result by
+     */
+    public BufferedImage render(SavedGameState gameState, double scale) {
+        return render(SavedGameSectorMapPanel.createGridSectorMap(), gameState, scale);
+    }
+
+    /**
+     * Draws a saved game's beacons, laid out as a generated map.
+     *
+     * @param genMap    beacon locations, as from RandomSectorMapGenerator
+     * @param gameState beacons, stores, quests, and the player's location,
+     *                  or null to draw an unvisited map with the player at
+     *                  beacon 0
+     * @param scale     a factor to resize the result by
+     */
+    public BufferedImage render(GeneratedSectorMap genMap, SavedGameState gameState, double scale) {
+        if (scale <= 0) {
+            throw new IllegalArgumentException(String.format("Scale must be positive: %f", scale));
+        }
+
+        SectorMapLayout mapLayout = new SectorMapLayout();
+
+        List<GeneratedBeacon> genBeacons = genMap.getGeneratedBeaconList();
+        List<Point> locations = new ArrayList<Point>(genBeacons.size());
+        for (GeneratedBeacon genBeacon : genBeacons) {
+            locations.add(genBeacon.getLocation());
+        }
+        mapLayout.setBeaconLocations(locations);
+        mapLayout.setBeaconRegionSize(genMap.getPreferredSize());
+
+        List<BeaconState> beaconStates;
+        Collection<Integer> questBeaconIds;
+        int currentBeaconId;
+        if (gameState != null) {
+            beaconStates = gameState.getBeaconList();
+            questBeaconIds = gameState.getQuestEventMap().values();
+            currentBeaconId = gameState.getCurrentBeaconId();
+        } else {
+            beaconStates = new ArrayList<BeaconState>(genBeacons.size());
+            for (int i = 0; i < genBeacons.size(); i++) {
+                beaconStates.add(new BeaconState());
+            }
+            questBeaconIds = Collections.emptyList();
+            currentBeaconId = 0;  // TODO: Magic number.
+        }
+        int beaconCount = beaconStates.size();
+
+        Dimension mapSize = mapLayout.preferredLayoutSize(null);
+        int imageW = Math.max(1, (int) Math.ceil(mapSize.width * scale));
+        int imageH = Math.max(1, (int) Math.ceil(mapSize.height * scale));
+        BufferedImage result = ImageUtilities.createCompatibleImage(imageW, imageH, Transparency.OPAQUE);
+
+        Graphics2D g2d = result.createGraphics();
+        try {
+            g2d.setColor(Color.BLACK);
+            g2d.fillRect(0, 0, imageW, imageH);
+
+            if (scale != 1) {
+                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            }
+            g2d.scale(scale, scale);
+
+            // Paint in the panel's z-order, bottommost first: the player
+            // ship, quests, stores, then beacons.
+
+            if (currentBeaconId >= 0 && currentBeaconId < beaconCount) {
+                BufferedImage shipImage = SavedGameSectorMapPanel.getPlayerShipImage(cachedImages);
+                Point beaconCenter = mapLayout.getBeaconCenter(currentBeaconId, beaconCount);
+                int shipX = beaconCenter.x - shipImage.getWidth() / 4;
+                int shipY = beaconCenter.y - shipImage.getHeight() / 2;
+                g2d.drawImage(shipImage, shipX, shipY, null);
+            }
+
+            for (Integer questBeaconId : questBeaconIds) {
+                paintMiscBox(g2d, mapLayout, QUEST_TITLE, questBeaconId, beaconStates);
+            }
+
+            for (int i = 0; i < beaconCount; i++) {
+                if (beaconStates.get(i).getStore() != null) {
+                    paintMiscBox(g2d, mapLayout, STORE_TITLE, i, beaconStates);
+                }
+            }
+
+            for (int i = 0; i < beaconCount; i++) {
+                BeaconState beaconState = beaconStates.get(i);
+                BufferedImage beaconImage = SavedGameSectorMapPanel.getBeaconImage(beaconState, cachedImages);
+                int beaconW = beaconImage.getWidth();
+                int beaconH = beaconImage.getHeight();
+
+                Point beaconCenter = mapLayout.getBeaconCenter(i, beaconCount);
+                Graphics2D beaconG = (Graphics2D) g2d.create(beaconCenter.x - beaconW / 2, beaconCenter.y - beaconH / 2, beaconW, beaconH);
+                try {
+                    SavedGameSectorMapPanel.paintBeacon(beaconG, beaconImage, beaconState.isUnderAttack(), beaconW, beaconH);
+                } finally {
+                    beaconG.dispose();
+                }
+            }
+        } finally {
+            g2d.dispose();
+        }
+
+        return result;
+    }
+
+    /**
+     * Paints a store or quest box above a beacon.
+     */
+    private void paintMiscBox(Graphics2D g2d, SectorMapLayout mapLayout, String title, int beaconId, List<BeaconState> beaconStates) {
+        if (beaconId < 0 || beaconId >= beaconStates.size()) return;
+
+        BufferedImage beaconImage = SavedGameSectorMapPanel.getBeaconImage(beaconStates.get(beaconId), cachedImages);
+        Point beaconCenter = mapLayout.getBeaconCenter(beaconId, beaconStates.size());
+        Dimension boxSize = MapBoxComponent.getBoxSize(title);
+
+        int beaconY = beaconCenter.y - beaconImage.getHeight() / 2;
+        int boxX = beaconCenter.x;
+        int boxY = beaconY - beaconImage.getHeight() / 3 - boxSize.height / 2;
+
+        Graphics2D boxG = (Graphics2D) g2d.create(boxX, boxY, boxSize.width, boxSize.height);
+        try {
+            MapBoxComponent.paintBox(boxG, title, boxSize.height, MapBoxComponent.DEFAULT_FOREGROUND, MapBoxComponent.DEFAULT_BACKGROUND);
+        } finally {
+            boxG.dispose();
+        }
+    }
+}
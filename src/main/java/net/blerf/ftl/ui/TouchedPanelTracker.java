@@ -0,0 +1,99 @@
+package net.blerf.ftl.ui;
+
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Toolkit;
+import java.awt.event.AWTEventListener;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.JPopupMenu;
+
+
+/**
+ * Notes which panels the user has interacted with since they were last
+ * cleared, so that only those need their fields applied to the model.
+ * <p>
+ * A mouse or key press within a panel touches it. Popups (e.g., a combo
+ * box's list) count as part of the component that opened them. Presses
+ * elsewhere within the scope (toolbars, tabs, the status bar) touch
+ * nothing. Presses anywhere else, such as in a dialog, touch every panel,
+ * since there's no telling which one they were for.
+ * <p>
+ * Once installed, this sees every event in the application, until it's
+ * uninstalled. All other methods must be called on the EDT.
+ */
+public class TouchedPanelTracker implements AWTEventListener {
+
+    private final Container scope;
+    private final List<Component> panels = new ArrayList<Component>();
+    private final List<Component> touchedPanels = new ArrayList<Component>();
+
+
+    /**
+     * Constructor.
+     *
+     * @param scope a container holding all the panels, whose other
+     *              components can be pressed without touching any
+     */
+    public TouchedPanelTracker(Container scope) {
+        this.scope = scope;
+    }
+
+    public void addPanel(Component panel) {
+        panels.add(panel);
+    }
+
+    public void install() {
+        Toolkit.getDefaultToolkit().addAWTEventListener(this, AWTEvent.MOUSE_EVENT_MASK | AWTEvent.KEY_EVENT_MASK);
+    }
+
+    public void uninstall() {
+        Toolkit.getDefaultToolkit().removeAWTEventListener(this);
+    }
+
+    /**
+     * Returns true if a panel has been touched since it was last cleared.
+     */
+    public boolean isTouched(Component panel) {
+        return touchedPanels.contains(panel);
+    }
+
+    public void touchAll() {
+        for (Component panel : panels) {
+            if (!touchedPanels.contains(panel)) touchedPanels.add(panel);
+        }
+    }
+
+    public void clear(Component panel) {
+        touchedPanels.remove(panel);
+    }
+
+    public void clearAll() {
+        touchedPanels.clear();
+    }
+
+    @Override
+    public void eventDispatched(AWTEvent e) {
+        if (e.getID() != MouseEvent.MOUSE_PRESSED && e.getID() != KeyEvent.KEY_PRESSED) return;
+        if (!(e.getSource() instanceof Component)) return;
+
+        Component c = (Component) e.getSource();
+        while (c != null) {
+            if (panels.contains(c)) {
+                if (!touchedPanels.contains(c)) touchedPanels.add(c);
+                return;
+            }
+            if (c == scope) return;
+
+            if (c instanceof JPopupMenu) {
+                c = ((JPopupMenu) c).getInvoker();
+            } else {
+                c = c.getParent();
+            }
+        }
+        touchAll();
+    }
+}
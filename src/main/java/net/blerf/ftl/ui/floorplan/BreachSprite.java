@@ -2,10 +2,8 @@ package net.blerf.ftl.ui.floorplan;
 
 import java.awt.Color;
 import java.awt.Dimension;
-import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Point;
-import javax.swing.JComponent;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -13,13 +11,14 @@ import lombok.extern.slf4j.Slf4j;
 @Getter
 @Setter
 @Slf4j
-public class BreachSprite extends JComponent {
+public class BreachSprite extends SceneSprite {
 
     private static final String BREACH_ANIM = "breach";
 
     private final Color dummyColor = new Color(150, 150, 200);
 
     private Point currentFrame = null;
+    private final Dimension preferredSize;
 
     private AnimAtlas breachAtlas;
     private int roomId;
@@ -35,7 +34,7 @@ public class BreachSprite extends JComponent {
 
         int prefWidth = Math.max(breachAtlas.getFrameWidth(), 10);
         int prefHeight = Math.max(breachAtlas.getFrameHeight(), 10);
-        this.setPreferredSize(new Dimension(prefWidth, prefHeight));
+        preferredSize = new Dimension(prefWidth, prefHeight);
 
         // Get the last frame of the "breach" Anim.
         Point[] frameset = breachAtlas.getFrameset(BREACH_ANIM);
@@ -44,22 +43,21 @@ public class BreachSprite extends JComponent {
         } else {
             log.error("Expected Anim not present in Atlas: " + BREACH_ANIM);
         }
-
-        this.setOpaque(false);
     }
 
     @Override
-    public void paintComponent(Graphics g) {
-        super.paintComponent(g);
-
-        Graphics2D g2d = (Graphics2D) g;
+    public Dimension getPreferredSize() {
+        return new Dimension(preferredSize);
+    }
 
+    @Override
+    public void paint(Graphics2D g2d) {
         if (currentFrame != null) {
             int rX = currentFrame.x;
             int rY = currentFrame.y;
             int rW = breachAtlas.getFrameWidth();
             int rH = breachAtlas.getFrameHeight();
-            g2d.drawImage(breachAtlas.getSheetImage(), 0, 0, this.getWidth(), this.getHeight(), rX, rY, rX + rW - 1, rY + rH - 1, this);
+            g2d.drawImage(breachAtlas.getSheetImage(), 0, 0, this.getWidth(), this.getHeight(), rX, rY, rX + rW - 1, rY + rH - 1, null);
         } else {
             Color prevColor = g2d.getColor();
 
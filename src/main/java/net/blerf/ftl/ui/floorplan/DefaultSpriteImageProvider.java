@@ -2,11 +2,7 @@ package net.blerf.ftl.ui.floorplan;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
-import java.awt.GraphicsConfiguration;
-import java.awt.GraphicsDevice;
-import java.awt.GraphicsEnvironment;
 import java.awt.Point;
-import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.Transparency;
 import java.awt.image.BufferedImage;
@@ -23,6 +19,7 @@ import net.blerf.ftl.model.type.CrewType;
 import net.blerf.ftl.model.type.DroneType;
 import net.blerf.ftl.model.type.SystemType;
 import net.blerf.ftl.parser.DataManager;
+import net.blerf.ftl.ui.ImageCache;
 import net.blerf.ftl.ui.ImageUtilities;
 import net.blerf.ftl.ui.ImageUtilities.Tint;
 import net.blerf.ftl.xml.Anim;
@@ -30,6 +27,15 @@ import net.blerf.ftl.xml.AnimSheet;
 
 import static net.blerf.ftl.ui.UIConstants.SQUARE_SIZE;
 
+/**
+ * Reads and caches images for floorplan sprites.
+ * <p>
+ * Methods that touch this provider's caches are synchronized, so one
+ * instance can be shared by several rendering threads. Methods that
+ * return uncached images don't lock, and may run concurrently.
+ *
+ * @see FloorplanRenderer
+ */
 @Slf4j
 public class DefaultSpriteImageProvider implements SpriteImageProvider {
 
@@ -38,23 +44,37 @@ public class DefaultSpriteImageProvider implements SpriteImageProvider {
 
     private static final int squareSize = SQUARE_SIZE;
 
-    private final Color dummyColor = new Color(150, 150, 200);
+    /** Crew colors, applied to "[X]_color" masks (FTL 1.5.4+). */
+    public static final Tint PLAYER_CREW_TINT = new Tint(new float[]{0.957f, 0.859f, 0.184f, 1f}, new float[]{0, 0, 0, 0});
+    public static final Tint NPC_CREW_TINT = new Tint(new float[]{1.0f, 0.286f, 0.145f, 1f}, new float[]{0, 0, 0, 0});
+
+    /** Ghosts have reduced opacity. Not an exact color match, but close enough. */
+    public static final Tint GHOST_TINT = new Tint(new float[]{1f, 1f, 1f, 0.6f}, new float[]{0, 0, 0, 0});
 
-    private final GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-    private final GraphicsDevice gs = ge.getDefaultScreenDevice();
-    private final GraphicsConfiguration gc = gs.getDefaultConfiguration();
+    private final Color dummyColor = new Color(150, 150, 200);
 
     private DoorAtlas cachedDoorAtlas = null;
     private final Map<SystemType, BufferedImage> cachedSystemRoomsMap = new EnumMap<SystemType, BufferedImage>(SystemType.class);
     private final Map<String, AnimAtlas> cachedAnimAtlasMap = new HashMap<String, AnimAtlas>();
 
-    private final Map<String, Map<Rectangle, BufferedImage>> cachedImagesMap = new HashMap<String, Map<Rectangle, BufferedImage>>();
-    private final Map<BufferedImage, Map<Tint, BufferedImage>> cachedTintedImagesMap = new HashMap<BufferedImage, Map<Tint, BufferedImage>>();
+    private final ImageCache cachedImages = ImageCache.get();
+    private final Map<String, BufferedImage> cachedSheetsMap = new HashMap<String, BufferedImage>();
+    private final Map<String, BufferedImage> cachedCrewBodiesMap = new HashMap<String, BufferedImage>();
 
 
     public DefaultSpriteImageProvider() {
     }
 
+    /**
+     * Forgets decoded sprite sheets, keeping images already cropped from them.
+     * <p>
+     * Call this after building a batch of sprites, since whole sheets are
+     * much larger than the frames that get used.
+     */
+    public synchronized void releaseSheets() {
+        cachedSheetsMap.clear();
+    }
+
     /**
      * Returns a ship's base image.
      * <p>
@@ -62,7 +82,8 @@ public class DefaultSpriteImageProvider implements SpriteImageProvider {
      * FTL 1.5.4+: "img/ship/[X]_base.png" (Player ships).
      * FTL 1.5.4+: "img/ships_glow/[X]_base.png" (NPC ships).
      * <p>
-     * The result will NOT be cached.
+     * The result will NOT be cached. This touches no caches either, so it's
+     * safe to call from background threads.
      */
     @Override
     public BufferedImage getShipBaseImage(String shipGfxBaseName, int w, int h) {
@@ -89,7 +110,7 @@ public class DefaultSpriteImageProvider implements SpriteImageProvider {
         }
 
         if (result == null) {
-            result = gc.createCompatibleImage(w, h, Transparency.OPAQUE);
+            result = ImageUtilities.createCompatibleImage(w, h, Transparency.OPAQUE);
             Graphics2D g2d = result.createGraphics();
             g2d.setColor(dummyColor);
             g2d.fillRect(0, 0, result.getWidth() - 1, result.getHeight() - 1);
@@ -106,7 +127,8 @@ public class DefaultSpriteImageProvider implements SpriteImageProvider {
      * <p>
      * NPC ships don't have floor images.
      * <p>
-     * The result will NOT be cached.
+     * The result will NOT be cached. This is safe to call from background
+     * threads.
      * <p>
      * TODO: Can modded NPC ships have floor images?
      */
@@ -162,7 +184,7 @@ public class DefaultSpriteImageProvider implements SpriteImageProvider {
 
         if (decorImage != null) {
 
-            result = gc.createCompatibleImage(squaresH * squareSize, squaresV * squareSize, Transparency.TRANSLUCENT);
+            result = ImageUtilities.createCompatibleImage(squaresH * squareSize, squaresV * squareSize, Transparency.TRANSLUCENT);
             Graphics2D g2d = result.createGraphics();
             try {
                 if ("teleporter_off".equals(decorName)) {
@@ -195,7 +217,7 @@ public class DefaultSpriteImageProvider implements SpriteImageProvider {
      * @see #getCrewBodyImage(CrewType, boolean, boolean)
      */
     @Override
-    public BufferedImage getDroneBodyImage(DroneType droneType, boolean playerControlled) {
+    public synchronized BufferedImage getDroneBodyImage(DroneType droneType, boolean playerControlled) {
         BufferedImage result = null;
         String imgRace = "";
         String originalSuffix = "";
@@ -222,14 +244,14 @@ public class DefaultSpriteImageProvider implements SpriteImageProvider {
 
         if (DataManager.get().hasResourceInputStream(basePath)) {
             // FTL 1.5.4+
-            result = ImageUtilities.getCroppedImage(basePath, offsetX, offsetY, SQUARE_SIZE, SQUARE_SIZE, cachedImagesMap);
+            result = ImageUtilities.getCroppedImage(basePath, offsetX, offsetY, SQUARE_SIZE, SQUARE_SIZE, cachedImages, cachedSheetsMap);
         } else if (DataManager.get().hasResourceInputStream(originalPath)) {
             // FTL 1.01-1.03.3
-            result = ImageUtilities.getCroppedImage(originalPath, offsetX, offsetY, SQUARE_SIZE, SQUARE_SIZE, cachedImagesMap);
+            result = ImageUtilities.getCroppedImage(originalPath, offsetX, offsetY, SQUARE_SIZE, SQUARE_SIZE, cachedImages, cachedSheetsMap);
         } else {
             log.error("No body image found for drone: {}, {}", droneType.getId(), (playerControlled ? "playerControlled" : "NPC"));
 
-            result = gc.createCompatibleImage(SQUARE_SIZE, SQUARE_SIZE, Transparency.OPAQUE);
+            result = ImageUtilities.createCompatibleImage(SQUARE_SIZE, SQUARE_SIZE, Transparency.OPAQUE);
             Graphics2D g2d = result.createGraphics();
             g2d.setColor(dummyColor);
             g2d.fillRect(0, 0, result.getWidth() - 1, result.getHeight() - 1);
@@ -264,8 +286,10 @@ public class DefaultSpriteImageProvider implements SpriteImageProvider {
      * The result will be cached.
      */
     @Override
-    public BufferedImage getCrewBodyImage(CrewType crewType, boolean male, boolean playerControlled) {
-        BufferedImage result = null;
+    public synchronized BufferedImage getCrewBodyImage(CrewType crewType, boolean male, boolean playerControlled) {
+        String cacheKey = crewType.getId() + (male ? "_male" : "_female") + (playerControlled ? "_player" : "_npc");
+        BufferedImage result = cachedCrewBodiesMap.get(cacheKey);
+        if (result != null) return result;
         String imgRace = "";
         String originalSuffix = "";
 
@@ -292,26 +316,21 @@ public class DefaultSpriteImageProvider implements SpriteImageProvider {
 
         if (DataManager.get().hasResourceInputStream(basePath)) {
             // FTL 1.5.4+
-            BufferedImage baseImage = ImageUtilities.getCroppedImage(basePath, offsetX, offsetY, w, h, cachedImagesMap);
+            BufferedImage baseImage = ImageUtilities.getCroppedImage(basePath, offsetX, offsetY, w, h, cachedImages, cachedSheetsMap);
 
             // Ghosts have reduced opacity.
             if (CrewType.GHOST.equals(crewType)) {
-                // Not an exact color match, but close enough.
-                Tint ghostTint = new Tint(new float[]{1f, 1f, 1f, 0.6f}, new float[]{0, 0, 0, 0});
-
                 // TODO: This may need to be moved when crew tint layers are
                 // implemented.
-                ImageUtilities.getTintedImage(baseImage, ghostTint, cachedTintedImagesMap);
+                ImageUtilities.getTintedImage(baseImage, ImageUtilities.getCroppedImageKey(basePath, offsetX, offsetY, w, h), GHOST_TINT, cachedImages);
             }
 
             if (DataManager.get().hasResourceInputStream(colorPath)) {
-                BufferedImage colorImage = ImageUtilities.getCroppedImage(colorPath, offsetX, offsetY, w, h, cachedImagesMap);
-                float[] yellow = new float[]{0.957f, 0.859f, 0.184f, 1f};
-                float[] red = new float[]{1.0f, 0.286f, 0.145f, 1f};
-                Tint colorTint = new Tint((playerControlled ? yellow : red), new float[]{0, 0, 0, 0});
-                colorImage = ImageUtilities.getTintedImage(colorImage, colorTint, cachedTintedImagesMap);
+                BufferedImage colorImage = ImageUtilities.getCroppedImage(colorPath, offsetX, offsetY, w, h, cachedImages, cachedSheetsMap);
+                Object colorKey = ImageUtilities.getCroppedImageKey(colorPath, offsetX, offsetY, w, h);
+                colorImage = ImageUtilities.getTintedImage(colorImage, colorKey, (playerControlled ? PLAYER_CREW_TINT : NPC_CREW_TINT), cachedImages);
 
-                result = gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+                result = ImageUtilities.createCompatibleImage(w, h, Transparency.TRANSLUCENT);
                 Graphics2D g2d = result.createGraphics();
                 g2d.drawImage(colorImage, 0, 0, null);
                 g2d.drawImage(baseImage, 0, 0, null);
@@ -321,17 +340,19 @@ public class DefaultSpriteImageProvider implements SpriteImageProvider {
             }
         } else if (DataManager.get().hasResourceInputStream(originalPath)) {
             // FTL 1.01-1.03.3
-            result = ImageUtilities.getCroppedImage(originalPath, offsetX, offsetY, w, h, cachedImagesMap);
+            result = ImageUtilities.getCroppedImage(originalPath, offsetX, offsetY, w, h, cachedImages, cachedSheetsMap);
         } else {
             log.error(String.format("No body image found for crew: %s, %s, %s", crewType.getId(), (male ? "male" : "female"), (playerControlled ? "playerControlled" : "NPC")));
 
-            result = gc.createCompatibleImage(w, h, Transparency.OPAQUE);
+            result = ImageUtilities.createCompatibleImage(w, h, Transparency.OPAQUE);
             Graphics2D g2d = result.createGraphics();
             g2d.setColor(dummyColor);
             g2d.fillRect(0, 0, result.getWidth() - 1, result.getHeight() - 1);
             g2d.dispose();
         }
 
+        cachedCrewBodiesMap.put(cacheKey, result);
+
         return result;
     }
 
@@ -344,7 +365,7 @@ public class DefaultSpriteImageProvider implements SpriteImageProvider {
      * The result will be cached.
      */
     @Override
-    public DoorAtlas getDoorAtlas() {
+    public synchronized DoorAtlas getDoorAtlas() {
         if (cachedDoorAtlas != null) return cachedDoorAtlas;
 
         int frameW = 35;
@@ -399,7 +420,7 @@ public class DefaultSpriteImageProvider implements SpriteImageProvider {
      * The result will be cached.
      */
     @Override
-    public BufferedImage getSystemRoomImage(SystemType systemType) {
+    public synchronized BufferedImage getSystemRoomImage(SystemType systemType) {
         if (cachedSystemRoomsMap.containsKey(systemType)) return cachedSystemRoomsMap.get(systemType);
 
         String overlayPath = "img/icons/s_" + systemType.getId() + "_overlay.png";
@@ -431,7 +452,7 @@ public class DefaultSpriteImageProvider implements SpriteImageProvider {
      * Typical innerPath: "img/effects/breach.png".
      */
     @Override
-    public AnimAtlas getBreachAtlas() {
+    public synchronized AnimAtlas getBreachAtlas() {
         int frameW = 19;
         int frameH = 19;
 
@@ -457,7 +478,7 @@ public class DefaultSpriteImageProvider implements SpriteImageProvider {
      * Typical innerPath: "img/effects/fire_L1_strip8.png".
      */
     @Override
-    public AnimAtlas getFireAtlas() {
+    public synchronized AnimAtlas getFireAtlas() {
         int frameW = 32;
         int frameH = 32;
 
@@ -503,7 +524,7 @@ public class DefaultSpriteImageProvider implements SpriteImageProvider {
      * The result will NOT be cached.
      */
     public BufferedImage createDummyImage(int width, int height) {
-        BufferedImage dummyImage = gc.createCompatibleImage(width, height, Transparency.OPAQUE);
+        BufferedImage dummyImage = ImageUtilities.createCompatibleImage(width, height, Transparency.OPAQUE);
         Graphics2D g2d = dummyImage.createGraphics();
         g2d.setColor(dummyColor);
         g2d.fillRect(0, 0, width - 1, height - 1);
@@ -517,7 +538,7 @@ public class DefaultSpriteImageProvider implements SpriteImageProvider {
      * <p>
      * The result will be cached.
      */
-    public AnimAtlas getAnimAtlas(String sheetId) {
+    public synchronized AnimAtlas getAnimAtlas(String sheetId) {
         if (cachedAnimAtlasMap.containsKey(sheetId)) return cachedAnimAtlasMap.get(sheetId);
 
         AnimSheet sheet = DataManager.get().getAnimSheet(sheetId);
@@ -19,8 +19,8 @@ public class DoorSprite extends JComponent implements ReferenceSprite<DoorState>
     private static final int CLOSED_CELL = 0;
     private static final int OPEN_CELL = 4;
 
-    private final Color dummyColor = new Color(150, 150, 200);
-    int chop = 10;  // Chop 10 pixels off the sides for skinny doors.
+    private static final Color dummyColor = new Color(150, 150, 200);
+    private static final int chop = 10;  // Chop 10 pixels off the sides for skinny doors.
 
     private Point currentFrame = null;
 
@@ -36,14 +36,7 @@ public class DoorSprite extends JComponent implements ReferenceSprite<DoorState>
         this.level = level;
         this.doorCoord = doorCoord;
 
-        int shortSide = doorAtlas.getFrameWidth() - 2 * chop;
-        int longSide = doorAtlas.getFrameHeight();
-        if (doorCoord.v == 1) {
-            this.setPreferredSize(new Dimension(shortSide, longSide));
-        } else {
-            this.setPreferredSize(new Dimension(longSide, shortSide));
-        }
-
+        this.setPreferredSize(getDoorSize(doorAtlas, doorCoord));
         this.setOpaque(false);
 
         doorRef.addSprite(this);
@@ -76,16 +69,8 @@ public class DoorSprite extends JComponent implements ReferenceSprite<DoorState>
         // TODO: Do away with the sprite's "level" field.
         // Test against doorState's health fields?
 
-        Point[] openingFrameset = doorAtlas.getOpeningFrameset(level);
-        if (openingFrameset != null) {
-            if (doorRef.get().isOpen()) {
-                currentFrame = openingFrameset[OPEN_CELL];
-            } else {
-                currentFrame = openingFrameset[CLOSED_CELL];
-            }
-        } else {
-            currentFrame = null;  // Atlas didn't have that level.
-
+        currentFrame = getDoorFrame(doorAtlas, level, doorRef.get().isOpen());
+        if (currentFrame == null) {  // Atlas didn't have that level.
             log.error("Expected level not present in DoorAtlas: {}", level);
         }
 
@@ -96,9 +81,44 @@ public class DoorSprite extends JComponent implements ReferenceSprite<DoorState>
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
 
+        paintDoor(g, doorAtlas, currentFrame, doorCoord, this.getWidth(), this.getHeight());
+    }
+
+    /**
+     * Returns the size of a door, skinny across its wall.
+     */
+    public static Dimension getDoorSize(DoorAtlas doorAtlas, DoorCoordinate doorCoord) {
+        int shortSide = doorAtlas.getFrameWidth() - 2 * chop;
+        int longSide = doorAtlas.getFrameHeight();
+        if (doorCoord.v == 1) {
+            return new Dimension(shortSide, longSide);
+        } else {
+            return new Dimension(longSide, shortSide);
+        }
+    }
+
+    /**
+     * Returns the atlas frame for an open or closed door, or null if the
+     * atlas lacks that level.
+     */
+    public static Point getDoorFrame(DoorAtlas doorAtlas, int level, boolean open) {
+        Point[] openingFrameset = doorAtlas.getOpeningFrameset(level);
+        if (openingFrameset == null) return null;
+
+        return openingFrameset[(open ? OPEN_CELL : CLOSED_CELL)];
+    }
+
+    /**
+     * Draws a door frame, rotated to suit the door's orientation.
+     *
+     * @param currentFrame an atlas frame, or null for a placeholder
+     * @param width        the door's width, as from getDoorSize()
+     * @param height       the door's height, as from getDoorSize()
+     */
+    public static void paintDoor(Graphics g, DoorAtlas doorAtlas, Point currentFrame, DoorCoordinate doorCoord, int width, int height) {
         Graphics2D g2d = (Graphics2D) g.create();
         try {
-            int w = this.getWidth(), h = this.getHeight();
+            int w = width, h = height;
 
             // Shift origin to the component center.
             // Optionally involve rotation to draw *as if* vertical.
@@ -109,13 +129,13 @@ public class DoorSprite extends JComponent implements ReferenceSprite<DoorState>
                 // Transforms apply in reverse order.
                 at.translate(1, 0);               // TODO: Somewhere it's off by 1 on the long axis when horizontal!?
                 at.rotate(Math.toRadians(90));  // Clockwise.
-                at.translate(this.getHeight() / 2, -this.getWidth() / 2);
+                at.translate(height / 2, -width / 2);
 
-                w = this.getHeight();
-                h = this.getWidth();  // Ninty degrees, swap axes.
+                w = height;
+                h = width;  // Ninty degrees, swap axes.
             } else {
                 // Transforms apply in reverse order.
-                at.translate(this.getWidth() / 2, this.getHeight() / 2);
+                at.translate(width / 2, height / 2);
             }
             g2d.transform(at);
 
@@ -124,7 +144,7 @@ public class DoorSprite extends JComponent implements ReferenceSprite<DoorState>
                 int rY = currentFrame.y;
                 int rW = doorAtlas.getFrameWidth();
                 int rH = doorAtlas.getFrameHeight();
-                g2d.drawImage(doorAtlas.getSheetImage(), -rW / 2, -rH / 2, -rW / 2 + rW - 1, -rH / 2 + rH - 1, rX, rY, rX + rW - 1, rY + rH - 1, this);
+                g2d.drawImage(doorAtlas.getSheetImage(), -rW / 2, -rH / 2, -rW / 2 + rW - 1, -rH / 2 + rH - 1, rX, rY, rX + rW - 1, rY + rH - 1, null);
             } else {
                 g2d.setColor(dummyColor);
                 g2d.fillRect(-w / 2, -h / 2, w - 1, h - 1);
@@ -2,20 +2,19 @@ package net.blerf.ftl.ui.floorplan;
 
 import java.awt.Color;
 import java.awt.Dimension;
-import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Point;
-import javax.swing.JComponent;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-public class FireSprite extends JComponent {
+public class FireSprite extends SceneSprite {
 
     private static final String FIRE_ANIM = "fire_large";
 
     private final Color dummyColor = new Color(150, 150, 200);
 
     private Point currentFrame = null;
+    private final Dimension preferredSize;
 
     private final AnimAtlas fireAtlas;
     private int roomId;
@@ -31,7 +30,7 @@ public class FireSprite extends JComponent {
 
         int prefWidth = Math.max(fireAtlas.getFrameWidth(), 10);
         int prefHeight = Math.max(fireAtlas.getFrameHeight(), 10);
-        this.setPreferredSize(new Dimension(prefWidth, prefHeight));
+        preferredSize = new Dimension(prefWidth, prefHeight);
 
         // Get the first frame of the "fire_large" Anim.
         Point[] frameset = fireAtlas.getFrameset(FIRE_ANIM);
@@ -40,8 +39,6 @@ public class FireSprite extends JComponent {
         } else {
             log.error("Expected Anim not present in Atlas: " + FIRE_ANIM);
         }
-
-        this.setOpaque(false);
     }
 
     public void setRoomId(int n) {
@@ -69,17 +66,18 @@ public class FireSprite extends JComponent {
     }
 
     @Override
-    public void paintComponent(Graphics g) {
-        super.paintComponent(g);
-
-        Graphics2D g2d = (Graphics2D) g;
+    public Dimension getPreferredSize() {
+        return new Dimension(preferredSize);
+    }
 
+    @Override
+    public void paint(Graphics2D g2d) {
         if (currentFrame != null) {
             int rX = currentFrame.x;
             int rY = currentFrame.y;
             int rW = fireAtlas.getFrameWidth();
             int rH = fireAtlas.getFrameHeight();
-            g2d.drawImage(fireAtlas.getSheetImage(), 0, 0, this.getWidth(), this.getHeight(), rX, rY, rX + rW - 1, rY + rH - 1, this);
+            g2d.drawImage(fireAtlas.getSheetImage(), 0, 0, this.getWidth(), this.getHeight(), rX, rY, rX + rW - 1, rY + rH - 1, null);
         } else {
             Color prevColor = g2d.getColor();
 
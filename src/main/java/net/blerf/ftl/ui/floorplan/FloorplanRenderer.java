@@ -0,0 +1,407 @@
+package net.blerf.ftl.ui.floorplan;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import net.blerf.ftl.model.XYPair;
+import net.blerf.ftl.model.shiplayout.DoorCoordinate;
+import net.blerf.ftl.model.shiplayout.ShipLayout;
+import net.blerf.ftl.model.shiplayout.ShipLayoutRoom;
+import net.blerf.ftl.model.state.CrewState;
+import net.blerf.ftl.model.state.DoorState;
+import net.blerf.ftl.model.state.DroneState;
+import net.blerf.ftl.model.state.RoomState;
+import net.blerf.ftl.model.state.ShipState;
+import net.blerf.ftl.model.state.SystemState;
+import net.blerf.ftl.model.type.DroneType;
+import net.blerf.ftl.model.type.SystemType;
+import net.blerf.ftl.parser.DataManager;
+import net.blerf.ftl.ui.ImageCache;
+import net.blerf.ftl.ui.ImageUtilities;
+import net.blerf.ftl.xml.DroneBlueprint;
+import net.blerf.ftl.xml.Offset;
+import net.blerf.ftl.xml.ship.ShipBlueprint;
+import net.blerf.ftl.xml.ship.ShipChassis;
+import net.blerf.ftl.xml.ship.SystemRoom;
+
+import static net.blerf.ftl.ui.UIConstants.SQUARE_SIZE;
+
+
+/**
+ * Draws a ship's floorplan into an image, without creating components.
+ * <p>
+ * This follows SavedGameFloorplanPanel's layout, in the same stacking
+ * order: hull, floor, rooms, interior, systems, breaches, fires, crew,
+ * doors, and drone bodies. Editing affordances (weapon and drone slots)
+ * and dead crew are left out.
+ * <p>
+ * Renderers are safe to share across threads, and so is the
+ * DefaultSpriteImageProvider they draw from, so many ships can be drawn
+ * at once from one set of cached sprites. Hull, floor, and decor images
+ * are kept in the shared ImageCache. This works in headless mode.
+ *
+ * @see net.blerf.ftl.ui.SectorMapRenderer
+ */
+@Slf4j
+public class FloorplanRenderer {
+
+    private static final int squareSize = SQUARE_SIZE;
+
+    private final DefaultSpriteImageProvider spriteImageProvider;
+    private final ImageCache cachedImages = ImageCache.get();
+    private final int padding;
+
+
+    /**
+     * Constructor.
+     *
+     * @param spriteImageProvider a source of sprite images, to share
+     * @param padding             blank pixels to leave around the ship
+     */
+    public FloorplanRenderer(DefaultSpriteImageProvider spriteImageProvider, int padding) {
+        this.spriteImageProvider = spriteImageProvider;
+        this.padding = padding;
+    }
+
+    /**
+     * Returns the name of a system room's decor image, or null for none.
+     */
+    public static String getRoomDecorName(ShipBlueprint shipBlueprint, SystemRoom systemRoom) {
+        String decorName = systemRoom.getImg();
+
+        // TODO: Looks like when medbay omits img, it's "room_medbay.png".
+
+        if (decorName == null) {
+            if (systemRoom == shipBlueprint.getSystemList().getTeleporterRoom()) {
+                decorName = "teleporter_off";  // Draw a teleporter pad on each square.
+            }
+        }
+        return decorName;
+    }
+
+    /**
+     * Draws a ship.
+     *
+     * @param shipState        the ship to draw
+     * @param playerControlled true for player crew colors, false for NPC
+     * @param scale            a factor to resize the result by (e.g., 0.25
+     *                         for thumbnails)
+     * @return a translucent image, cropped to the ship and padding
+     */
+    public BufferedImage render(ShipState shipState, boolean playerControlled, double scale) {
+        if (scale <= 0) {
+            throw new IllegalArgumentException(String.format("Scale must be positive: %f", scale));
+        }
+
+        List<SceneSprite> sprites = layOut(shipState, playerControlled);
+
+        Rectangle contentBounds = null;
+        for (SceneSprite sprite : sprites) {
+            if (contentBounds == null) {
+                contentBounds = sprite.getBounds();
+            } else {
+                contentBounds.add(sprite.getBounds());
+            }
+        }
+        if (contentBounds == null) contentBounds = new Rectangle();
+        contentBounds.grow(padding, padding);
+
+        int imageW = Math.max(1, (int) Math.ceil(contentBounds.width * scale));
+        int imageH = Math.max(1, (int) Math.ceil(contentBounds.height * scale));
+        BufferedImage result = ImageUtilities.createCompatibleImage(imageW, imageH, Transparency.TRANSLUCENT);
+
+        Graphics2D g2d = result.createGraphics();
+        try {
+            if (scale != 1) {
+                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            }
+            g2d.scale(scale, scale);
+            g2d.translate(-contentBounds.x, -contentBounds.y);
+
+            for (SceneSprite sprite : sprites) {
+                Graphics2D spriteG = (Graphics2D) g2d.create(sprite.getX(), sprite.getY(), sprite.getWidth(), sprite.getHeight());
+                try {
+                    sprite.paint(spriteG);
+                } finally {
+                    spriteG.dispose();
+                }
+            }
+        } finally {
+            g2d.dispose();
+        }
+
+        return result;
+    }
+
+    /**
+     * Places everything to draw, bottommost first.
+     * <p>
+     * The hull's top-left corner is at 0,0, as for the player's ship in
+     * SavedGameFloorplanPanel.
+     */
+    private List<SceneSprite> layOut(ShipState shipState, boolean playerControlled) {
+        List<SceneSprite> sprites = new ArrayList<SceneSprite>();
+
+        ShipBlueprint shipBlueprint = DataManager.get().getShip(shipState.getShipBlueprintId());
+        ShipLayout shipLayout = DataManager.get().getShipLayout(shipState.getShipLayoutId());
+        ShipChassis shipChassis = DataManager.get().getShipChassis(shipState.getShipLayoutId());
+        String shipGfxBaseName = shipState.getShipGraphicsBaseName();
+
+        int originX = shipChassis.getImageBounds().x * -1;
+        int originY = shipChassis.getImageBounds().y * -1;
+        int layoutX = originX + shipLayout.getOffsetX() * squareSize;
+        int layoutY = originY + shipLayout.getOffsetY() * squareSize;
+
+        // Hull.
+        int baseW = shipChassis.getImageBounds().w;
+        int baseH = shipChassis.getImageBounds().h;
+        BufferedImage baseImage = getShipBaseImage(shipGfxBaseName, baseW, baseH);
+        sprites.add(new ImageSprite(baseImage, layoutX + shipChassis.getImageBounds().x, layoutY + shipChassis.getImageBounds().y, baseW, baseH));
+
+        // Floor.
+        BufferedImage floorImage = getShipFloorImage(shipGfxBaseName);
+        if (floorImage != null) {
+            int floorX = layoutX + shipChassis.getImageBounds().x;
+            int floorY = layoutY + shipChassis.getImageBounds().y;
+            if (shipChassis.getOffsets() != null) {
+                Offset floorOffset = shipChassis.getOffsets().floorOffset;
+                if (floorOffset != null) {
+                    floorX += floorOffset.x;
+                    floorY += floorOffset.y;
+                }
+            }
+            sprites.add(new ImageSprite(floorImage, floorX, floorY, floorImage.getWidth(), floorImage.getHeight()));
+        }
+
+        // Rooms.
+        for (int i = 0; i < shipLayout.getRoomCount(); i++) {
+            ShipLayoutRoom layoutRoom = shipLayout.getRoom(i);
+            final RoomState roomState = shipState.getRoom(i);
+
+            SceneSprite roomSprite = new SceneSprite() {
+                @Override
+                public Dimension getPreferredSize() {
+                    return new Dimension(getWidth(), getHeight());
+                }
+
+                @Override
+                public void paint(Graphics2D g) {
+                    RoomSprite.paintRoom(g, getWidth(), getHeight(), RoomSprite.getOxygenColor(roomState.getOxygen()), (roomState.getOxygen() == 0));
+                }
+            };
+            roomSprite.setLocation(layoutX + layoutRoom.locationX * squareSize, layoutY + layoutRoom.locationY * squareSize);
+            roomSprite.setSize(new Dimension(layoutRoom.squaresH * squareSize, layoutRoom.squaresV * squareSize));
+            sprites.add(roomSprite);
+        }
+
+        // Floor cracks, decor, and walls.
+        final ShipLayout finalShipLayout = shipLayout;
+        final Map<Integer, BufferedImage> decorMap = new LinkedHashMap<Integer, BufferedImage>();
+        for (SystemRoom systemRoom : shipBlueprint.getSystemList().getSystemRooms()) {
+            int roomId = systemRoom.getRoomId();
+            ShipLayoutRoom layoutRoom = shipLayout.getRoom(roomId);
+
+            String decorName = getRoomDecorName(shipBlueprint, systemRoom);
+            if (decorName != null) {
+                BufferedImage decorImage = getRoomDecorImage(decorName, layoutRoom.squaresH, layoutRoom.squaresV);
+                if (decorImage != null) decorMap.put(roomId, decorImage);
+            }
+        }
+        SceneSprite interiorSprite = new SceneSprite() {
+            @Override
+            public Dimension getPreferredSize() {
+                return ShipInteriorComponent.getInteriorSize(finalShipLayout);
+            }
+
+            @Override
+            public void paint(Graphics2D g) {
+                ShipInteriorComponent.paintInterior(g, finalShipLayout, decorMap);
+            }
+        };
+        interiorSprite.setSize(interiorSprite.getPreferredSize());
+        interiorSprite.setLocation(layoutX - ShipInteriorComponent.getInteriorMargin(), layoutY - ShipInteriorComponent.getInteriorMargin());
+        sprites.add(interiorSprite);
+
+        // Systems.
+        for (SystemType systemType : SystemType.values()) {
+            int[] roomIds = shipBlueprint.getSystemList().getRoomIdBySystemType(systemType);
+            if (roomIds == null) continue;
+
+            SystemState systemState = shipState.getSystem(systemType);
+            if (systemState == null) continue;
+
+            BufferedImage overlayImage = spriteImageProvider.getSystemRoomImage(systemType);
+            BufferedImage systemImage = ImageUtilities.getTintedImage(overlayImage, ImageCache.key("systemOverlay", systemType), SystemRoomSprite.getTint(systemState), cachedImages);
+
+            for (int roomId : roomIds) {
+                ShipLayoutRoom layoutRoom = shipLayout.getRoom(roomId);
+                int centerX = layoutX + layoutRoom.locationX * squareSize + layoutRoom.squaresH * squareSize / 2;
+                int centerY = layoutY + layoutRoom.locationY * squareSize + layoutRoom.squaresV * squareSize / 2;
+
+                sprites.add(new ImageSprite(systemImage, centerX - SystemRoomSprite.ICON_WIDTH / 2, centerY - SystemRoomSprite.ICON_HEIGHT / 2, SystemRoomSprite.ICON_WIDTH, SystemRoomSprite.ICON_HEIGHT));
+            }
+        }
+
+        // Breaches.
+        AnimAtlas breachAtlas = spriteImageProvider.getBreachAtlas();
+        for (Map.Entry<XYPair, Integer> breachEntry : shipState.getBreachMap().entrySet()) {
+            int breachCoordX = breachEntry.getKey().x - shipLayout.getOffsetX();  // Convert from goofy coords.
+            int breachCoordY = breachEntry.getKey().y - shipLayout.getOffsetY();
+            int centerX = layoutX + breachCoordX * squareSize + squareSize / 2;
+            int centerY = layoutY + breachCoordY * squareSize + squareSize / 2;
+
+            BreachSprite breachSprite = new BreachSprite(breachAtlas, -1, -1, breachEntry.getValue());
+            placeCentered(breachSprite, centerX, centerY);
+            sprites.add(breachSprite);
+        }
+
+        // Fires.
+        AnimAtlas fireAtlas = spriteImageProvider.getFireAtlas();
+        for (int i = 0; i < shipLayout.getRoomCount(); i++) {
+            ShipLayoutRoom layoutRoom = shipLayout.getRoom(i);
+            int squaresH = layoutRoom.squaresH;
+            int roomX = layoutX + layoutRoom.locationX * squareSize;
+            int roomY = layoutY + layoutRoom.locationY * squareSize;
+
+            RoomState roomState = shipState.getRoom(i);
+            for (int s = 0; s < squaresH * layoutRoom.squaresV; s++) {
+                int fireHealth = roomState.getSquare(s).getFireHealth();
+                if (fireHealth <= 0) continue;
+
+                FireSprite fireSprite = new FireSprite(fireAtlas, i, s, fireHealth);
+                placeCentered(fireSprite, roomX + (s % squaresH) * squareSize + squareSize / 2, roomY + (s / squaresH) * squareSize + squareSize / 2);
+                sprites.add(fireSprite);
+            }
+        }
+
+        // Crew (the dead have no room).
+        for (CrewState crewState : shipState.getCrewList()) {
+            if (crewState.getRoomId() == -1) continue;
+
+            BufferedImage crewImage = spriteImageProvider.getCrewBodyImage(crewState.getRace(), crewState.isMale(), crewState.isPlayerControlled());
+            int centerX = originX + crewState.getSpriteX();
+            int centerY = originY + crewState.getSpriteY();
+            sprites.add(new ImageSprite(crewImage, centerX - squareSize / 2, centerY - squareSize / 2, squareSize, squareSize));
+        }
+
+        // Doors.
+        final DoorAtlas doorAtlas = spriteImageProvider.getDoorAtlas();
+        int doorLevel = Math.max(0, shipState.getSystem(SystemType.DOORS).getCapacity() - 1);  // Convert to 0-based.
+        for (Map.Entry<DoorCoordinate, DoorState> entry : shipState.getDoorMap().entrySet()) {
+            final DoorCoordinate doorCoord = entry.getKey();
+            final Point doorFrame = DoorSprite.getDoorFrame(doorAtlas, doorLevel, entry.getValue().isOpen());
+            int centerX = layoutX + doorCoord.x * squareSize + (doorCoord.v == 1 ? 0 : squareSize / 2);
+            int centerY = layoutY + doorCoord.y * squareSize + (doorCoord.v == 1 ? squareSize / 2 : 0);
+
+            SceneSprite doorSprite = new SceneSprite() {
+                @Override
+                public Dimension getPreferredSize() {
+                    return DoorSprite.getDoorSize(doorAtlas, doorCoord);
+                }
+
+                @Override
+                public void paint(Graphics2D g) {
+                    DoorSprite.paintDoor(g, doorAtlas, doorFrame, doorCoord, getWidth(), getHeight());
+                }
+            };
+            placeCentered(doorSprite, centerX, centerY);
+            sprites.add(doorSprite);
+        }
+
+        // Drone bodies.
+        for (DroneState droneState : shipState.getDroneList()) {
+            DroneBlueprint droneBlueprint = DataManager.get().getDrone(droneState.getDroneId());
+            if (droneBlueprint == null) continue;
+
+            DroneType droneType = DroneType.findById(droneBlueprint.getType());
+            if (!DroneType.BATTLE.equals(droneType) && !DroneType.REPAIR.equals(droneType)) continue;
+
+            BufferedImage bodyImage = spriteImageProvider.getDroneBodyImage(droneType, droneState.isPlayerControlled());
+            int centerX = originX + droneState.getBodyX();
+            int centerY = originY + droneState.getBodyY();
+            sprites.add(new ImageSprite(bodyImage, centerX - bodyImage.getWidth() / 2, centerY - bodyImage.getHeight() / 2, bodyImage.getWidth(), bodyImage.getHeight()));
+        }
+
+        return sprites;
+    }
+
+    private static void placeCentered(SceneSprite sprite, int centerX, int centerY) {
+        Dimension size = sprite.getPreferredSize();
+        sprite.setSize(size);
+        sprite.setLocation(centerX - size.width / 2, centerY - size.height / 2);
+    }
+
+    /**
+     * Returns a ship's base image, via the shared cache.
+     */
+    private BufferedImage getShipBaseImage(String shipGfxBaseName, int w, int h) {
+        Object key = ImageCache.key("shipBase", shipGfxBaseName, w, h);
+        BufferedImage result = cachedImages.get(key);
+        if (result == null) {
+            result = spriteImageProvider.getShipBaseImage(shipGfxBaseName, w, h);
+            cachedImages.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a ship's floor image, via the shared cache, or null.
+     */
+    private BufferedImage getShipFloorImage(String shipGfxBaseName) {
+        Object key = ImageCache.key("shipFloor", shipGfxBaseName);
+        BufferedImage result = cachedImages.get(key);
+        if (result == null) {
+            result = spriteImageProvider.getShipFloorImage(shipGfxBaseName);
+            if (result != null) cachedImages.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a scaled room decoration, via the shared cache, or null.
+     */
+    private BufferedImage getRoomDecorImage(String decorName, int squaresH, int squaresV) {
+        Object key = ImageCache.key("roomDecor", decorName, squaresH, squaresV);
+        BufferedImage result = cachedImages.get(key);
+        if (result == null) {
+            result = spriteImageProvider.getRoomDecorImage(decorName, squaresH, squaresV);
+            if (result != null) cachedImages.put(key, result);
+        }
+        return result;
+    }
+
+
+
+    /**
+     * An image stretched to fill its bounds.
+     */
+    private static class ImageSprite extends SceneSprite {
+        private final BufferedImage image;
+
+        public ImageSprite(BufferedImage image, int x, int y, int w, int h) {
+            this.image = image;
+            setLocation(x, y);
+            setSize(new Dimension(w, h));
+        }
+
+        @Override
+        public Dimension getPreferredSize() {
+            return new Dimension(image.getWidth(), image.getHeight());
+        }
+
+        @Override
+        public void paint(Graphics2D g) {
+            g.drawImage(image, 0, 0, getWidth(), getHeight(), null);
+        }
+    }
+}
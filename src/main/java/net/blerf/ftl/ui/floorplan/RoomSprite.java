@@ -11,9 +11,9 @@ import net.blerf.ftl.ui.SpriteReference;
 
 public class RoomSprite extends JComponent implements ReferenceSprite<RoomState> {
 
-    private final Color maxColor = new Color(230, 226, 219);
-    private final Color minColor = new Color(255, 176, 169);
-    private final Color vacuumBorderColor = new Color(255, 180, 0);
+    private static final Color maxColor = new Color(230, 226, 219);
+    private static final Color minColor = new Color(255, 176, 169);
+    private static final Color vacuumBorderColor = new Color(255, 180, 0);
     private Color bgColor = maxColor;
 
     private final SpriteReference<RoomState> roomRef;
@@ -46,38 +46,53 @@ public class RoomSprite extends JComponent implements ReferenceSprite<RoomState>
 
     @Override
     public void referenceChanged() {
-        if (roomRef.get().getOxygen() == 100) {
-            bgColor = maxColor;
-        } else if (roomRef.get().getOxygen() == 0) {
-            bgColor = minColor;
+        bgColor = getOxygenColor(roomRef.get().getOxygen());
+
+        this.repaint();
+    }
+
+    /**
+     * Returns a floor color, blending from pink (0) to beige (100).
+     */
+    public static Color getOxygenColor(int oxygen) {
+        Color result;
+        if (oxygen == 100) {
+            result = maxColor;
+        } else if (oxygen == 0) {
+            result = minColor;
         } else {
-            double p = roomRef.get().getOxygen() / 100.0;
+            double p = oxygen / 100.0;
             int maxRed = maxColor.getRed();
             int maxGreen = maxColor.getGreen();
             int maxBlue = maxColor.getBlue();
             int minRed = minColor.getRed();
             int minGreen = minColor.getGreen();
             int minBlue = minColor.getBlue();
-            bgColor = new Color((int) (minRed + p * (maxRed - minRed)), (int) (minGreen + p * (maxGreen - minGreen)), (int) (minBlue + p * (maxBlue - minBlue)));
+            result = new Color((int) (minRed + p * (maxRed - minRed)), (int) (minGreen + p * (maxGreen - minGreen)), (int) (minBlue + p * (maxBlue - minBlue)));
         }
-
-        this.repaint();
+        return result;
     }
 
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
 
-        Graphics2D g2d = (Graphics2D) g;
+        paintRoom((Graphics2D) g, this.getWidth(), this.getHeight(), bgColor, (roomRef.get().getOxygen() == 0));
+    }
+
+    /**
+     * Draws a room's floor, with a yellow border if it's a vacuum.
+     */
+    public static void paintRoom(Graphics2D g2d, int w, int h, Color bgColor, boolean vacuum) {
         Color prevColor = g2d.getColor();
 
         g2d.setColor(bgColor);
-        g2d.fillRect(0, 0, this.getWidth(), this.getHeight());
+        g2d.fillRect(0, 0, w, h);
 
-        if (roomRef.get().getOxygen() == 0) {  // Draw the yellow border.
+        if (vacuum) {  // Draw the yellow border.
             g2d.setColor(vacuumBorderColor);
-            g2d.drawRect(2, 2, this.getWidth() - 4 - 1, this.getHeight() - 4 - 1);
-            g2d.drawRect(3, 3, this.getWidth() - 6 - 1, this.getHeight() - 6 - 1);
+            g2d.drawRect(2, 2, w - 4 - 1, h - 4 - 1);
+            g2d.drawRect(3, 3, w - 6 - 1, h - 6 - 1);
 
             // TODO: Draw pink stripes across floor instead of original-style outline.
         }
@@ -0,0 +1,151 @@
+package net.blerf.ftl.ui.floorplan;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import javax.swing.JComponent;
+import net.blerf.ftl.ui.RegionGrid;
+
+
+/**
+ * A single component that draws many SceneSprites, in the order added.
+ * <p>
+ * Numerous sprites (e.g., fires and breaches, up to one per square each)
+ * would otherwise be components of their own, and every repaint would walk
+ * them all. Here they're plain objects, bucketed in a grid by bounds.
+ * Painting only visits the cells under the clip, and changes repaint only
+ * the affected bounds, so costs scale with what changed rather than with
+ * how many sprites exist.
+ * <p>
+ * The same RegionGrid answers hit-tests.
+ *
+ * @see SceneSprite
+ */
+public class SceneLayer extends JComponent {
+
+    private static final int CELL_SIZE = 64;
+
+    private static final Comparator<SceneSprite> SEQUENCE_COMPARATOR = new Comparator<SceneSprite>() {
+        @Override
+        public int compare(SceneSprite a, SceneSprite b) {
+            return Long.compare(a.getSequence(), b.getSequence());
+        }
+    };
+
+    private final RegionGrid<SceneSprite> spriteGrid = new RegionGrid<SceneSprite>(CELL_SIZE);
+    private long nextSequence = 1;
+
+
+    public SceneLayer() {
+        this.setOpaque(false);
+    }
+
+    /**
+     * Adds a sprite atop the others, and repaints its bounds.
+     */
+    public void addSprite(SceneSprite sprite) {
+        if (sprite.getLayer() != null) {
+            throw new IllegalArgumentException("Sprite already belongs to a layer");
+        }
+        sprite.setLayer(this, nextSequence++);
+        spriteGrid.add(sprite, sprite.getBounds());
+        repaint(sprite.getBounds());
+    }
+
+    /**
+     * Removes a sprite, and repaints where it was.
+     */
+    public void removeSprite(SceneSprite sprite) {
+        if (sprite.getLayer() != this) return;
+
+        spriteGrid.remove(sprite, sprite.getBounds());
+        sprite.setLayer(null, 0);
+        repaint(sprite.getBounds());
+    }
+
+    /**
+     * Removes several sprites, repainting the union of their bounds once.
+     */
+    public void removeSprites(Collection<? extends SceneSprite> sprites) {
+        Rectangle dirtyRect = null;
+        for (SceneSprite sprite : sprites) {
+            if (sprite.getLayer() != this) continue;
+
+            spriteGrid.remove(sprite, sprite.getBounds());
+            sprite.setLayer(null, 0);
+            dirtyRect = union(dirtyRect, sprite.getBounds());
+        }
+        if (dirtyRect != null) repaint(dirtyRect);
+    }
+
+    /**
+     * Re-indexes a sprite after it moved, and repaints both places.
+     */
+    void spriteMoved(SceneSprite sprite, Rectangle oldBounds) {
+        Rectangle newBounds = sprite.getBounds();
+        spriteGrid.remove(sprite, oldBounds);
+        spriteGrid.add(sprite, newBounds);
+        repaint(union(new Rectangle(oldBounds), newBounds));
+    }
+
+    public int getSpriteCount() {
+        return spriteGrid.size();
+    }
+
+    /**
+     * Returns the union of all sprites' bounds, or an empty rect.
+     */
+    public Rectangle getContentBounds() {
+        Rectangle result = null;
+        for (SceneSprite sprite : getSpritesIn(null)) {
+            result = union(result, sprite.getBounds());
+        }
+        return (result != null ? result : new Rectangle());
+    }
+
+    /**
+     * Returns sprites containing a point, topmost first.
+     */
+    public List<SceneSprite> getSpritesAt(Point p) {
+        List<SceneSprite> result = spriteGrid.getAllAt(p);
+        Collections.sort(result, Collections.reverseOrder(SEQUENCE_COMPARATOR));
+        return result;
+    }
+
+    /**
+     * Returns sprites intersecting a region, bottommost first.
+     *
+     * @param region an area to search, or null for everything
+     */
+    public List<SceneSprite> getSpritesIn(Rectangle region) {
+        List<SceneSprite> result = spriteGrid.getIntersecting(region);
+        Collections.sort(result, SEQUENCE_COMPARATOR);
+        return result;
+    }
+
+    @Override
+    public void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+
+        for (SceneSprite sprite : getSpritesIn(clip)) {
+            Graphics2D spriteG = (Graphics2D) g.create(sprite.getX(), sprite.getY(), sprite.getWidth(), sprite.getHeight());
+            try {
+                sprite.paint(spriteG);
+            } finally {
+                spriteG.dispose();
+            }
+        }
+    }
+
+    private static Rectangle union(Rectangle a, Rectangle b) {
+        if (a == null) return new Rectangle(b);
+        a.add(b);
+        return a;
+    }
+}
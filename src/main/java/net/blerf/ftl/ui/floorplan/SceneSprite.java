@@ -0,0 +1,101 @@
+package net.blerf.ftl.ui.floorplan;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+
+
+/**
+ * A lightweight sprite, drawn by a SceneLayer rather than being a
+ * component itself.
+ * <p>
+ * Moving or resizing a sprite tells its layer, which repaints just the
+ * old and new bounds.
+ *
+ * @see SceneLayer
+ */
+public abstract class SceneSprite {
+
+    private final Rectangle bounds = new Rectangle();
+    private SceneLayer layer = null;
+    private long sequence = 0;
+
+
+    /**
+     * Returns the size this sprite would like to be.
+     */
+    public abstract Dimension getPreferredSize();
+
+    /**
+     * Paints this sprite, with the origin at its top-left corner.
+     *
+     * @param g a graphics context to use, which may be altered
+     */
+    public abstract void paint(Graphics2D g);
+
+    public void setLocation(int x, int y) {
+        Rectangle oldBounds = new Rectangle(bounds);
+        bounds.setLocation(x, y);
+        boundsChanged(oldBounds);
+    }
+
+    public void setSize(Dimension d) {
+        Rectangle oldBounds = new Rectangle(bounds);
+        bounds.setSize(d);
+        boundsChanged(oldBounds);
+    }
+
+    private void boundsChanged(Rectangle oldBounds) {
+        if (layer != null && !oldBounds.equals(bounds)) {
+            layer.spriteMoved(this, oldBounds);
+        }
+    }
+
+    /**
+     * Asks this sprite's layer, if any, to repaint it.
+     * <p>
+     * Call this after changing how the sprite looks.
+     */
+    public void repaint() {
+        if (layer != null) layer.repaint(bounds);
+    }
+
+    /**
+     * Returns a copy of this sprite's bounds, in its layer's coordinates.
+     */
+    public Rectangle getBounds() {
+        return new Rectangle(bounds);
+    }
+
+    public int getX() {
+        return bounds.x;
+    }
+
+    public int getY() {
+        return bounds.y;
+    }
+
+    public int getWidth() {
+        return bounds.width;
+    }
+
+    public int getHeight() {
+        return bounds.height;
+    }
+
+    void setLayer(SceneLayer layer, long sequence) {
+        this.layer = layer;
+        this.sequence = sequence;
+    }
+
+    SceneLayer getLayer() {
+        return layer;
+    }
+
+    /**
+     * Returns when this sprite was added to its layer, for z-order.
+     */
+    long getSequence() {
+        return sequence;
+    }
+}
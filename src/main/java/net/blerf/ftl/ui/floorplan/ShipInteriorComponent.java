@@ -6,6 +6,8 @@ import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Stroke;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -14,12 +16,18 @@ import net.blerf.ftl.model.shiplayout.DoorCoordinate;
 import net.blerf.ftl.model.shiplayout.ShipLayout;
 import net.blerf.ftl.model.shiplayout.ShipLayoutDoor;
 import net.blerf.ftl.model.shiplayout.ShipLayoutRoom;
+import net.blerf.ftl.ui.ImageUtilities;
 
 import static net.blerf.ftl.ui.UIConstants.SQUARE_SIZE;
 
 
 /**
  * A ship's floor cracks, decor, and walls.
+ * <p>
+ * None of that changes while a ship is shown, but the viewport repaints
+ * often (e.g., as selectors follow the mouse). So the interior is rendered
+ * once into an image, at the device's scale, and later paints just blit
+ * it. The image is redrawn if the size, scale, or decor changes.
  *
  * @see #getLocationFudge()
  * @see #getDecorMap()
@@ -30,19 +38,31 @@ public class ShipInteriorComponent extends JComponent {
     private static final int jambLength = 5;
     private static final int margin = 4;  // Claim to be a little bigger to avoid clipping thick walls.
 
-    private final Color floorCrackColor = new Color(125, 125, 125);
-    private final Stroke floorCrackStroke = new BasicStroke(1);
-    private final Color roomBorderColor = new Color(15, 15, 15);
-    private final Stroke roomBorderStroke = new BasicStroke(4);
+    private static final Color floorCrackColor = new Color(125, 125, 125);
+    private static final Stroke floorCrackStroke = new BasicStroke(1);
+    private static final Color roomBorderColor = new Color(15, 15, 15);
+    private static final Stroke roomBorderStroke = new BasicStroke(4);
 
     private final Map<Integer, BufferedImage> decorMap = new LinkedHashMap<Integer, BufferedImage>();
 
+    private BufferedImage cachedImage = null;
+    private Map<Integer, BufferedImage> cachedDecorMap = null;
+
     private final ShipLayout shipLayout;
 
 
     public ShipInteriorComponent(ShipLayout shipLayout) {
         this.shipLayout = shipLayout;
 
+        this.setPreferredSize(getInteriorSize(shipLayout));
+        this.setOpaque(false);
+    }
+
+    /**
+     * Returns the size needed to draw a layout's interior, including the
+     * location fudge on every side.
+     */
+    public static Dimension getInteriorSize(ShipLayout shipLayout) {
         int maxCoordX = -1;
         int maxCoordY = -1;
         for (ShipLayoutRoom layoutRoom : shipLayout.getRoomMap().values()) {
@@ -50,8 +70,7 @@ public class ShipInteriorComponent extends JComponent {
             maxCoordY = Math.max(maxCoordY, layoutRoom.locationY + layoutRoom.squaresV);
         }
 
-        this.setPreferredSize(new Dimension(maxCoordX * squareSize + 2 * margin, maxCoordY * squareSize + 2 * margin));
-        this.setOpaque(false);
+        return new Dimension(maxCoordX * squareSize + 2 * margin, maxCoordY * squareSize + 2 * margin);
     }
 
     /**
@@ -65,6 +84,15 @@ public class ShipInteriorComponent extends JComponent {
         return margin;
     }
 
+    /**
+     * Returns the location fudge, without needing a component.
+     *
+     * @see #getLocationFudge()
+     */
+    public static int getInteriorMargin() {
+        return margin;
+    }
+
     /**
      * Returns a Map to populate with roomIds and pre-scaled room decorations.
      */
@@ -72,8 +100,58 @@ public class ShipInteriorComponent extends JComponent {
         return decorMap;
     }
 
+    /**
+     * Discards the pre-rendered interior, to be redrawn on the next paint.
+     * <p>
+     * Changes to the decorMap are noticed without this.
+     */
+    public void invalidateCache() {
+        cachedImage = null;
+        cachedDecorMap = null;
+    }
+
     @Override
     public void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g;
+        int w = getWidth();
+        int h = getHeight();
+        if (w <= 0 || h <= 0) return;
+
+        // Render at the device's scale, so HiDPI screens blit 1:1.
+        AffineTransform tx = g2d.getTransform();
+        double scaleX = Math.abs(tx.getScaleX());
+        double scaleY = Math.abs(tx.getScaleY());
+        if (scaleX == 0 || scaleY == 0) {
+            scaleX = 1;
+            scaleY = 1;
+        }
+        int imageW = (int) Math.ceil(w * scaleX);
+        int imageH = (int) Math.ceil(h * scaleY);
+
+        if (cachedImage == null || cachedImage.getWidth() != imageW || cachedImage.getHeight() != imageH || !decorMap.equals(cachedDecorMap)) {
+            cachedImage = ImageUtilities.createCompatibleImage(imageW, imageH, Transparency.TRANSLUCENT);
+            cachedDecorMap = new LinkedHashMap<Integer, BufferedImage>(decorMap);
+
+            Graphics2D cacheG = cachedImage.createGraphics();
+            try {
+                cacheG.scale((double) imageW / w, (double) imageH / h);
+                paintInterior(cacheG, shipLayout, decorMap);
+            } finally {
+                cacheG.dispose();
+            }
+        }
+
+        g2d.drawImage(cachedImage, 0, 0, w, h, null);
+    }
+
+    /**
+     * Draws floor cracks, decor, and walls, from scratch.
+     * <p>
+     * The origin should be offset up and left by the location fudge.
+     *
+     * @param decorMap roomIds and pre-scaled room decorations
+     */
+    public static void paintInterior(Graphics g, ShipLayout shipLayout, Map<Integer, BufferedImage> decorMap) {
 
         Graphics2D g2d = (Graphics2D) g.create();
         try {
@@ -15,22 +15,24 @@ import net.blerf.ftl.ui.SpriteReference;
 public class SystemRoomSprite extends JComponent implements ReferenceSprite<SystemState> {
 
     // Absent, brown.
-    private final Tint absentTint = new Tint(new float[]{0.792f, 0.467f, 0.275f, 1f}, new float[]{0, 0, 0, 0});
+    private static final Tint absentTint = new Tint(new float[]{0.792f, 0.467f, 0.275f, 1f}, new float[]{0, 0, 0, 0});
 
     // Ionized, blue.
-    private final Tint ionizedTint = new Tint(new float[]{0.51f, 0.898f, 0.937f, 1f}, new float[]{0, 0, 0, 0});
+    private static final Tint ionizedTint = new Tint(new float[]{0.51f, 0.898f, 0.937f, 1f}, new float[]{0, 0, 0, 0});
 
     // Destroyed, red (softer shade than in-game).
-    private final Tint destroyedTint = new Tint(new float[]{0.85f, 0.24f, 0.24f, 1f}, new float[]{0, 0, 0, 0});
+    private static final Tint destroyedTint = new Tint(new float[]{0.85f, 0.24f, 0.24f, 1f}, new float[]{0, 0, 0, 0});
 
     // Damaged, orange.
-    private final Tint damagedTint = new Tint(new float[]{0.99f, 0.6f, 0.3f, 1f}, new float[]{0, 0, 0, 0});
+    private static final Tint damagedTint = new Tint(new float[]{0.99f, 0.6f, 0.3f, 1f}, new float[]{0, 0, 0, 0});
 
     // Default, gray.
-    private final Tint defaultTint = new Tint(new float[]{0.49f, 0.49f, 0.49f, 1f}, new float[]{0, 0, 0, 0});
+    private static final Tint defaultTint = new Tint(new float[]{0.49f, 0.49f, 0.49f, 1f}, new float[]{0, 0, 0, 0});
+
+    /** The size overlay icons are drawn at. */
+    public static final int ICON_WIDTH = 32;
+    public static final int ICON_HEIGHT = 32;
 
-    private final int scaleW = 32;
-    private final int scaleH = 32;
     private final BufferedImage overlayImage;
     private BufferedImage currentImage = null;
 
@@ -41,7 +43,7 @@ public class SystemRoomSprite extends JComponent implements ReferenceSprite<Syst
         this.systemRef = systemRef;
         this.overlayImage = overlayImage;
 
-        this.setPreferredSize(new Dimension(scaleW, scaleH));
+        this.setPreferredSize(new Dimension(ICON_WIDTH, ICON_HEIGHT));
         this.setOpaque(false);
 
         systemRef.addSprite(this);
@@ -55,24 +57,31 @@ public class SystemRoomSprite extends JComponent implements ReferenceSprite<Syst
 
     @Override
     public void referenceChanged() {
-        // The original overlayImage is white with a black border.
+        currentImage = ImageUtilities.tintImage(overlayImage, getTint(systemRef.get()));
+
+        this.repaint();
+    }
+
+    /**
+     * Returns a tint for a system's overlay icon, according to its status.
+     * <p>
+     * The original overlayImage is white with a black border.
+     */
+    public static Tint getTint(SystemState systemState) {
         Tint tint = null;
 
-        if (systemRef.get().getCapacity() == 0) {
+        if (systemState.getCapacity() == 0) {
             tint = absentTint;
-        } else if (systemRef.get().getIonizedBars() > 0) {
+        } else if (systemState.getIonizedBars() > 0) {
             tint = ionizedTint;
-        } else if (systemRef.get().getDamagedBars() == systemRef.get().getCapacity()) {
+        } else if (systemState.getDamagedBars() == systemState.getCapacity()) {
             tint = destroyedTint;
-        } else if (systemRef.get().getDamagedBars() > 0) {
+        } else if (systemState.getDamagedBars() > 0) {
             tint = damagedTint;
         } else {
             tint = defaultTint;
         }
-
-        currentImage = ImageUtilities.getTintedImage(overlayImage, tint, null);
-
-        this.repaint();
+        return tint;
     }
 
     @Override
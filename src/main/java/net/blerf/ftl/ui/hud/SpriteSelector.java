@@ -5,11 +5,15 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.Rectangle;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ComponentListener;
 import java.awt.font.LineMetrics;
 import java.util.ArrayList;
 import java.util.List;
 import javax.swing.JComponent;
 import javax.swing.SwingUtilities;
+import net.blerf.ftl.ui.RegionGrid;
 
 
 /**
@@ -17,12 +21,33 @@ import javax.swing.SwingUtilities;
  * <p>
  * Usage: setVisible(), setCriteria(), setCallback()
  * To cancel selection, call reset();
+ * <p>
+ * Sprite bounds are kept in a RegionGrid, so resolving the sprite under
+ * the mouse doesn't depend on how many sprites there are. The grid is
+ * rebuilt lazily, after an indexed sprite moves or resizes. Callers must
+ * call invalidateIndex() whenever they add or remove sprites in a list.
  */
 public class SpriteSelector extends JComponent {
 
     private final SpriteCriteria defaultCriteria = new SpriteCriteria();
 
+    private static final int GRID_CELL_SIZE = 64;
+
     private final ArrayList<List<? extends JComponent>> spriteLists = new ArrayList<List<? extends JComponent>>();
+    private final RegionGrid<JComponent> spriteGrid = new RegionGrid<JComponent>(GRID_CELL_SIZE);
+    private final List<JComponent> indexedSprites = new ArrayList<JComponent>();
+    private boolean indexValid = false;
+    private final ComponentListener boundsListener = new ComponentAdapter() {
+        @Override
+        public void componentMoved(ComponentEvent e) {
+            invalidateIndex();
+        }
+
+        @Override
+        public void componentResized(ComponentEvent e) {
+            invalidateIndex();
+        }
+    };
     private SpriteCriteria spriteCriteria = defaultCriteria;
     private SpriteSelectionCallback callback = null;
     private final Point mousePoint = new Point(-1, -1);
@@ -32,39 +57,76 @@ public class SpriteSelector extends JComponent {
 
 
     public SpriteSelector() {
+        this.addComponentListener(boundsListener);
     }
 
     public void clearSpriteLists() {
         currentSprite = null;
         spriteLists.clear();
+        invalidateIndex();
     }
 
     public void addSpriteList(List<? extends JComponent> spriteList) {
         spriteLists.add(spriteList);
+        invalidateIndex();
+    }
+
+    /**
+     * Schedules the sprite index to be rebuilt on the next lookup.
+     * <p>
+     * Moves and resizes are noticed automatically, but changes to the
+     * lists' contents aren't: a remove and an add leave a list's size
+     * unchanged, so this must be called after either.
+     */
+    public void invalidateIndex() {
+        indexValid = false;
+    }
+
+    /**
+     * Rebuilds the sprite index, if it's out of date.
+     */
+    private void validateIndex() {
+        if (indexValid) return;
+
+        for (JComponent sprite : indexedSprites) {
+            sprite.removeComponentListener(boundsListener);
+        }
+        indexedSprites.clear();
+        spriteGrid.clear();
+
+        for (List<? extends JComponent> spriteList : spriteLists) {
+            for (JComponent sprite : spriteList) {
+                sprite.addComponentListener(boundsListener);
+                indexedSprites.add(sprite);
+                if (sprite.getParent() == null) continue;  // Not on screen.
+
+                spriteGrid.add(sprite, getConvertedSpriteBounds(sprite));
+            }
+        }
+        indexValid = true;
     }
 
     public void setMousePoint(int x, int y) {
         if (mousePoint.x != x || mousePoint.y != y) {
             mousePoint.x = x;
             mousePoint.y = y;
+            updateCurrentSprite();
+        }
+    }
 
-            JComponent newSprite = null;
-            if (mousePoint.x > 0 && mousePoint.y > 0) {
-                for (List<? extends JComponent> spriteList : spriteLists) {
-                    for (JComponent sprite : spriteList) {
-                        if (getConvertedSpriteBounds(sprite).contains(mousePoint)) {
-                            newSprite = sprite;
-                            break;
-                        }
-                    }
-                    if (newSprite != null) break;
-                }
-            }
-            if (newSprite != currentSprite) {
-                if (currentSprite != null) this.repaint(getConvertedSpriteBounds(currentSprite));
-                currentSprite = newSprite;
-                if (currentSprite != null) this.repaint(getConvertedSpriteBounds(currentSprite));
-            }
+    /**
+     * Resolves the sprite under the mouse, repainting if it changed.
+     */
+    private void updateCurrentSprite() {
+        JComponent newSprite = null;
+        if (mousePoint.x > 0 && mousePoint.y > 0) {
+            validateIndex();
+            newSprite = spriteGrid.getFirstAt(mousePoint);
+        }
+        if (newSprite != currentSprite) {
+            if (currentSprite != null) this.repaint(getConvertedSpriteBounds(currentSprite));
+            currentSprite = newSprite;
+            if (currentSprite != null) this.repaint(getConvertedSpriteBounds(currentSprite));
         }
     }
 
@@ -74,7 +136,14 @@ public class SpriteSelector extends JComponent {
         return convertedRect;
     }
 
+    /**
+     * Returns the sprite under the mouse, or null.
+     * <p>
+     * If the index was invalidated since the mouse last moved, the
+     * sprite is resolved again, so a removed sprite isn't returned.
+     */
     public JComponent getSprite() {
+        if (!indexValid) updateCurrentSprite();
         return currentSprite;
     }
 
@@ -93,7 +162,7 @@ public class SpriteSelector extends JComponent {
     }
 
     public boolean isCurrentSpriteValid() {
-        return spriteCriteria.isSpriteValid(this, currentSprite);
+        return spriteCriteria.isSpriteValid(this, getSprite());
     }
 
     public void setCallback(SpriteSelectionCallback cb) {
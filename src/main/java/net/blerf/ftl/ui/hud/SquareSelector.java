@@ -9,6 +9,7 @@ import java.awt.font.LineMetrics;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import javax.swing.JComponent;
+import net.blerf.ftl.ui.RegionGrid;
 
 
 /**
@@ -16,12 +17,18 @@ import javax.swing.JComponent;
  * <p>
  * Usage: setVisible(), setCriteria(), setCallback()
  * To cancel selection, call reset();
+ * <p>
+ * Square regions are kept in a RegionGrid, so resolving the square under
+ * the mouse doesn't depend on how many squares there are.
  */
 public class SquareSelector<T> extends JComponent {
 
     private final SquareCriteria defaultCriteria = new SquareCriteria();
 
+    private static final int GRID_CELL_SIZE = 64;
+
     private final Map<Rectangle, T> squareRegionCoordMap = new LinkedHashMap<Rectangle, T>();
+    private final RegionGrid<Rectangle> squareGrid = new RegionGrid<Rectangle>(GRID_CELL_SIZE);
     private SquareCriteria squareCriteria = defaultCriteria;
     private SquareSelectionCallback callback = null;
     private final Point mousePoint = new Point(-1, -1);
@@ -35,10 +42,17 @@ public class SquareSelector<T> extends JComponent {
     public void clearSquarsCoordMap() {
         currentRect = null;
         squareRegionCoordMap.clear();
+        squareGrid.clear();
     }
 
     public void putSquareRegionCoordMap(Map<Rectangle, T> squareRegionCoordMap) {
-        this.squareRegionCoordMap.putAll(squareRegionCoordMap);
+        for (Map.Entry<Rectangle, T> entry : squareRegionCoordMap.entrySet()) {
+            Rectangle squareRect = entry.getKey();
+            if (!this.squareRegionCoordMap.containsKey(squareRect)) {
+                squareGrid.add(squareRect, squareRect);
+            }
+            this.squareRegionCoordMap.put(squareRect, entry.getValue());
+        }
     }
 
     public void setMousePoint(int x, int y) {
@@ -48,12 +62,7 @@ public class SquareSelector<T> extends JComponent {
 
             Rectangle newRect = null;
             if (mousePoint.x > 0 && mousePoint.y > 0) {
-                for (Rectangle k : squareRegionCoordMap.keySet()) {
-                    if (k.contains(mousePoint)) {
-                        newRect = k;
-                        break;
-                    }
-                }
+                newRect = squareGrid.getFirstAt(mousePoint);
             }
             if (newRect != currentRect) {
                 if (currentRect != null) this.repaint(currentRect);